@@ -0,0 +1,767 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2026 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.common;
+
+import java.awt.EventQueue;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import javax.swing.Timer;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.DockFrontend;
+import bibliothek.gui.DockStation;
+import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.common.event.CControlListener;
+import bibliothek.gui.dock.common.event.CDockableAdapter;
+import bibliothek.gui.dock.common.intern.CDockFrontend;
+import bibliothek.gui.dock.common.intern.CDockFrontendListener;
+import bibliothek.gui.dock.common.intern.CDockable;
+import bibliothek.gui.dock.common.intern.CSetting;
+import bibliothek.gui.dock.common.mode.ExtendedMode;
+import bibliothek.gui.dock.event.DockFrontendAdapter;
+import bibliothek.gui.dock.event.DockRegisterAdapter;
+import bibliothek.gui.dock.event.DockStationAdapter;
+import bibliothek.gui.dock.support.util.ApplicationResourceManager;
+import bibliothek.gui.dock.support.util.SnapshotApplicationResource;
+import bibliothek.util.xml.XElement;
+import bibliothek.util.xml.XIO;
+
+/**
+ * A {@link CAutosave} writes the layout of a {@link CControl} into a file whenever the layout changes.<br>
+ * The service observes the {@link CControl} and marks itself as dirty whenever a {@link CDockable} is added, removed,
+ * opened, closed, moved, changes its mode or one of its properties, whenever a {@link DockStation} moves its children
+ * around, e.g. because the user dragged a divider, and whenever a layout is {@link CControl#load(String) loaded}.
+ * Reading a layout, e.g. from the file written by this service, does not mark the service as dirty.
+ * Only changes of the application's own state, which this service cannot observe, need to be reported by calling
+ * {@link #markDirty()}.<br>
+ * Once the layout did not change for {@link #setDelay(int) some time}, a snapshot of the layout is taken on the
+ * event dispatch thread. The snapshot is encoded and written into the file by a background thread, only the
+ * {@link bibliothek.gui.dock.support.util.ApplicationResource}s which are not {@link SnapshotApplicationResource}s
+ * and the {@link MultipleCDockableLayout}s of the client are encoded on the event dispatch thread. The file is
+ * replaced only after all data was written into a temporary file, hence a crash while saving never leaves a half
+ * written file.<br>
+ * The service uses two buffers: while one buffer is written to disk, the other buffer can already receive the next 
+ * snapshot of the layout.<br>
+ * An autosave is created by {@link CControl#getAutosave()} and is disabled by default.
+ * @author Benjamin Sigg
+ */
+public class CAutosave {
+	/** the default value of {@link #getDelay()} in milliseconds */
+	public static final int DEFAULT_DELAY = 2000;
+	
+	/** the control whose layout is stored */
+	private CControl control;
+	
+	/** the file to write into */
+	private File file;
+	
+	/** whether the layout is stored in the xml format */
+	private boolean xml = false;
+	
+	/** whether this service is running */
+	private boolean enabled = false;
+	
+	/** whether the layout changed since the last snapshot */
+	private boolean dirty = false;
+	
+	/** the time when {@link #dirty} was set, used to enforce {@link #maxDelay} */
+	private long dirtySince;
+	
+	/** how long to wait after the last change before writing the layout */
+	private int delay = DEFAULT_DELAY;
+	
+	/** how long to wait at most after the first change before writing the layout */
+	private int maxDelay = DEFAULT_DELAY * 5;
+	
+	/** the timer implementing the debounce */
+	private Timer timer;
+	
+	/** the executor that writes the files, <code>null</code> if the default executor is to be used */
+	private Executor executor;
+	
+	/** the default executor, created lazily */
+	private ExecutorService defaultExecutor;
+	
+	/** observes the {@link #control} */
+	private Listener listener = new Listener();
+	
+	/** the two buffers used to store snapshots */
+	private Buffer[] buffers = { new Buffer(), new Buffer() };
+	
+	/** guards {@link #writing}, {@link #pending} and {@link #writerScheduled} */
+	private final Object lock = new Object();
+	
+	/** the buffer that is currently written to disk, can be <code>null</code> */
+	private Buffer writing;
+	
+	/** the latest snapshot that still has to be written to disk, can be <code>null</code> */
+	private Buffer pending;
+	
+	/** whether the background writer is scheduled or running */
+	private boolean writerScheduled = false;
+	
+	/** the last error that occurred while writing a file */
+	private volatile IOException lastError;
+	
+	/**
+	 * Creates a new service. Clients should use {@link CControl#getAutosave()} instead of calling this constructor.
+	 * @param control the control whose layout is stored, not <code>null</code>
+	 */
+	public CAutosave( CControl control ){
+		if( control == null ){
+			throw new IllegalArgumentException( "control must not be null" );
+		}
+		this.control = control;
+		
+		timer = new Timer( delay, new ActionListener(){
+			public void actionPerformed( ActionEvent e ){
+				snapshot();
+			}
+		});
+		timer.setRepeats( false );
+	}
+	
+	/**
+	 * Gets the {@link CControl} whose layout is stored by this service.
+	 * @return the control, not <code>null</code>
+	 */
+	public CControl getControl(){
+		return control;
+	}
+	
+	/**
+	 * Sets the file into which the layout is written.
+	 * @param file the file, can be <code>null</code> in which case this service does not write anything
+	 */
+	public void setFile( File file ){
+		this.file = file;
+	}
+	
+	/**
+	 * Gets the file into which the layout is written.
+	 * @return the file, can be <code>null</code>
+	 */
+	public File getFile(){
+		return file;
+	}
+	
+	/**
+	 * Sets whether the layout is written in the xml format like {@link CControl#writeXML(File)} does or
+	 * in the binary format like {@link CControl#write(File)} does.
+	 * @param xml <code>true</code> if xml should be written
+	 */
+	public void setXML( boolean xml ){
+		this.xml = xml;
+	}
+	
+	/**
+	 * Tells whether the layout is written in the xml format.
+	 * @return <code>true</code> for xml, <code>false</code> for the binary format
+	 * @see #setXML(boolean)
+	 */
+	public boolean isXML(){
+		return xml;
+	}
+	
+	/**
+	 * Sets how long this service waits after the last change before the layout is stored. Every change
+	 * restarts the delay, but no more than {@link #setMaxDelay(int) max delay} milliseconds pass between
+	 * the first change and writing the layout.
+	 * @param delay the delay in milliseconds, at least 0
+	 */
+	public void setDelay( int delay ){
+		if( delay < 0 ){
+			throw new IllegalArgumentException( "delay must not be negative: " + delay );
+		}
+		this.delay = delay;
+		timer.setInitialDelay( delay );
+	}
+	
+	/**
+	 * Gets the time this service waits after the last change before the layout is stored.
+	 * @return the delay in milliseconds
+	 */
+	public int getDelay(){
+		return delay;
+	}
+	
+	/**
+	 * Sets the maximum time that passes between the first change and writing the layout, this limit
+	 * makes sure that the layout is stored even if there is an endless stream of changes.
+	 * @param maxDelay the maximum delay in milliseconds, should be at least {@link #getDelay()}
+	 */
+	public void setMaxDelay( int maxDelay ){
+		if( maxDelay < 0 ){
+			throw new IllegalArgumentException( "maxDelay must not be negative: " + maxDelay );
+		}
+		this.maxDelay = maxDelay;
+	}
+	
+	/**
+	 * Gets the maximum time that passes between the first change and writing the layout.
+	 * @return the maximum delay in milliseconds
+	 */
+	public int getMaxDelay(){
+		return maxDelay;
+	}
+	
+	/**
+	 * Sets the {@link Executor} which writes the files. The executor should not run more than one task 
+	 * at the same time.
+	 * @param executor the executor, <code>null</code> to use a single daemon thread
+	 */
+	public void setExecutor( Executor executor ){
+		this.executor = executor;
+	}
+	
+	/**
+	 * Gets the {@link Executor} which writes the files.
+	 * @return the executor set by {@link #setExecutor(Executor)}, can be <code>null</code>
+	 */
+	public Executor getExecutor(){
+		return executor;
+	}
+	
+	/**
+	 * Enables or disables this service. While disabled no changes are tracked and no file is written.
+	 * @param enabled whether to automatically store the layout
+	 */
+	public void setEnabled( boolean enabled ){
+		if( this.enabled != enabled ){
+			this.enabled = enabled;
+			if( enabled ){
+				listener.install();
+			}
+			else{
+				listener.uninstall();
+				timer.stop();
+				dirty = false;
+			}
+		}
+	}
+	
+	/**
+	 * Tells whether this service is running.
+	 * @return <code>true</code> if changes are tracked and stored
+	 */
+	public boolean isEnabled(){
+		return enabled;
+	}
+	
+	/**
+	 * Tells whether the layout changed since the last time it was stored.
+	 * @return <code>true</code> if there are unsaved changes
+	 */
+	public boolean isDirty(){
+		return dirty;
+	}
+	
+	/**
+	 * Gets the last error that happened while writing a file. The error is not cleared
+	 * by later successful writes.
+	 * @return the last error or <code>null</code>
+	 */
+	public IOException getLastError(){
+		return lastError;
+	}
+	
+	/**
+	 * Informs this service that the layout changed. The layout will be stored after {@link #getDelay() a delay}.
+	 * This method has no effect if this service is not {@link #isEnabled() enabled}. This method must be
+	 * called from the event dispatch thread. Clients only need to call this method if they store their own
+	 * state in the layout, e.g. in a {@link MultipleCDockableLayout}, changes of the layout itself are
+	 * observed by this service.
+	 */
+	public void markDirty(){
+		if( !enabled ){
+			return;
+		}
+		long now = System.currentTimeMillis();
+		if( !dirty ){
+			dirty = true;
+			dirtySince = now;
+		}
+		
+		int wait = (int)Math.min( delay, Math.max( 0, dirtySince + maxDelay - now ));
+		timer.setInitialDelay( wait );
+		timer.restart();
+	}
+	
+	/**
+	 * Stores the layout right now if there are any unsaved changes. The snapshot is taken on the
+	 * calling thread, which must be the event dispatch thread, the file is written in the background.
+	 */
+	public void flush(){
+		if( dirty ){
+			snapshot();
+		}
+	}
+	
+	/**
+	 * Stops this service and frees the background thread. Snapshots that were already taken are still
+	 * written, changes that were not yet recorded in a snapshot are lost. Clients should call {@link #flush()}
+	 * before destroying the {@link CControl} if they need the latest layout.
+	 */
+	public void destroy(){
+		setEnabled( false );
+		synchronized( lock ){
+			if( defaultExecutor != null ){
+				defaultExecutor.shutdown();
+				defaultExecutor = null;
+			}
+		}
+	}
+	
+	/**
+	 * Takes a snapshot of the layout of {@link #control}, stores the snapshot in a free buffer and schedules
+	 * the buffer to be encoded and written to disk.
+	 */
+	private void snapshot(){
+		timer.stop();
+		dirty = false;
+		
+		File file = this.file;
+		if( file == null ){
+			return;
+		}
+		
+		Buffer buffer;
+		synchronized( lock ){
+			buffer = writing == buffers[0] ? buffers[1] : buffers[0];
+			if( pending == buffer ){
+				pending = null;
+			}
+		}
+		
+		buffer.file = file;
+		ApplicationResourceManager resources = control.getResources();
+		if( xml ){
+			buffer.stream = null;
+			buffer.xml = resources.prepareWriteXML( new XElement( "root" ) );
+		}
+		else{
+			try{
+				buffer.xml = null;
+				buffer.stream = resources.prepareWriteStream();
+			}
+			catch( IOException e ){
+				lastError = e;
+				return;
+			}
+		}
+		
+		Executor executor;
+		synchronized( lock ){
+			pending = buffer;
+			if( writerScheduled ){
+				return;
+			}
+			writerScheduled = true;
+			executor = getWriter();
+		}
+		executor.execute( new Runnable(){
+			public void run(){
+				write();
+			}
+		});
+	}
+	
+	/**
+	 * Gets the executor that writes the files. Must be called while holding {@link #lock}.
+	 * @return the executor, not <code>null</code>
+	 */
+	private Executor getWriter(){
+		if( executor != null ){
+			return executor;
+		}
+		if( defaultExecutor == null ){
+			defaultExecutor = Executors.newSingleThreadExecutor( new ThreadFactory(){
+				public Thread newThread( Runnable r ){
+					Thread thread = new Thread( r, "CAutosave" );
+					thread.setDaemon( true );
+					return thread;
+				}
+			});
+		}
+		return defaultExecutor;
+	}
+	
+	/**
+	 * Writes the pending buffers to disk until no buffer is left. Called on a background thread.
+	 */
+	private void write(){
+		while( true ){
+			Buffer buffer;
+			synchronized( lock ){
+				buffer = pending;
+				pending = null;
+				writing = buffer;
+				if( buffer == null ){
+					writerScheduled = false;
+					return;
+				}
+			}
+			
+			try{
+				buffer.encode();
+				buffer.writeFile();
+			}
+			catch( IOException e ){
+				lastError = e;
+			}
+			finally{
+				synchronized( lock ){
+					writing = null;
+				}
+			}
+		}
+	}
+	
+	/**
+	 * A buffer for one snapshot of the layout.
+	 * @author Benjamin Sigg
+	 */
+	private static class Buffer extends ByteArrayOutputStream{
+		/** the file into which this snapshot is to be written */
+		private File file;
+		
+		/** the encoder of the snapshot in the binary format, can be <code>null</code> */
+		private Callable<byte[]> stream;
+		
+		/** the encoder of the snapshot in the xml format, can be <code>null</code> */
+		private Callable<XElement> xml;
+		
+		public Buffer(){
+			super( 8192 );
+		}
+		
+		/**
+		 * Encodes the snapshot of this buffer, the encoders may access the event dispatch thread.
+		 * @throws IOException if the snapshot cannot be encoded
+		 */
+		public void encode() throws IOException{
+			reset();
+			try{
+				if( xml != null ){
+					XIO.writeUTF( xml.call(), this );
+				}
+				else{
+					write( stream.call() );
+				}
+			}
+			catch( IOException e ){
+				throw e;
+			}
+			catch( Exception e ){
+				throw new IOException( e );
+			}
+			finally{
+				stream = null;
+				xml = null;
+			}
+		}
+		
+		/**
+		 * Writes the content of this buffer into a temporary file and then replaces
+		 * {@link #file} with the temporary file.
+		 * @throws IOException if the file cannot be written
+		 */
+		public void writeFile() throws IOException{
+			File directory = file.getAbsoluteFile().getParentFile();
+			File temp = new File( directory, file.getName() + ".tmp" );
+			
+			FileOutputStream fileOut = new FileOutputStream( temp );
+			try{
+				BufferedOutputStream out = new BufferedOutputStream( fileOut );
+				writeTo( out );
+				out.flush();
+				fileOut.getFD().sync();
+			}
+			finally{
+				fileOut.close();
+			}
+			
+			if( !temp.renameTo( file ) ){
+				// some platforms do not allow to replace an existing file 
+				File backup = new File( directory, file.getName() + ".bak" );
+				backup.delete();
+				if( file.exists() && !file.renameTo( backup )){
+					throw new IOException( "cannot replace file '" + file + "'" );
+				}
+				if( !temp.renameTo( file )){
+					backup.renameTo( file );
+					throw new IOException( "cannot replace file '" + file + "'" );
+				}
+				backup.delete();
+			}
+		}
+	}
+	
+	/**
+	 * Observes the {@link CControl} and calls {@link CAutosave#markDirty()} whenever something changes.
+	 * @author Benjamin Sigg
+	 */
+	private class Listener extends CDockableAdapter implements CControlListener {
+		/** how many {@link CSetting}s are currently loaded, changes made by loading a layout are ignored */
+		private int loading = 0;
+		
+		/** the stations observed by {@link #station} */
+		private List<DockStation> stations = new ArrayList<DockStation>();
+		
+		/** observes the {@link DockController} for elements that are moved around */
+		private DockRegisterAdapter register = new DockRegisterAdapter(){
+			@Override
+			public void dockableRegistered( DockController controller, Dockable dockable ){
+				changed();
+			}
+			
+			@Override
+			public void dockableUnregistered( DockController controller, Dockable dockable ){
+				changed();
+			}
+			
+			@Override
+			public void dockableCycledRegister( DockController controller, Dockable dockable ){
+				changed();
+			}
+			
+			@Override
+			public void dockStationRegistered( DockController controller, DockStation station ){
+				observe( station );
+			}
+			
+			@Override
+			public void dockStationUnregistered( DockController controller, DockStation station ){
+				stations.remove( station );
+				station.removeDockStationListener( Listener.this.station );
+			}
+		};
+		
+		/** observes all {@link DockStation}s for children that are moved around, e.g. because a divider moved */
+		private DockStationAdapter station = new DockStationAdapter(){
+			@Override
+			public void dockableAdded( DockStation station, Dockable dockable ){
+				changed();
+			}
+			
+			@Override
+			public void dockableRemoved( DockStation station, Dockable dockable ){
+				changed();
+			}
+			
+			@Override
+			public void dockableSelected( DockStation station, Dockable oldSelection, Dockable newSelection ){
+				changed();
+			}
+			
+			@Override
+			public void dockablesRepositioned( DockStation station, Dockable[] dockables ){
+				changed();
+			}
+		};
+		
+		/** observes the {@link CDockFrontend} for layouts that are applied */
+		private CDockFrontendListener loader = new CDockFrontendListener(){
+			public void loading( CDockFrontend frontend, CSetting setting ){
+				loading++;
+			}
+			
+			public void loaded( CDockFrontend frontend, CSetting setting ){
+				loading--;
+			}
+		};
+		
+		/** observes the {@link DockFrontend} for layouts that are loaded by the client */
+		private DockFrontendAdapter frontend = new DockFrontendAdapter(){
+			@Override
+			public void loaded( DockFrontend frontend, String name ){
+				markDirty();
+			}
+		};
+		
+		/**
+		 * Adds this listener to the {@link CAutosave#control}.
+		 */
+		public void install(){
+			control.addControlListener( this );
+			control.addStateListener( this );
+			control.addPropertyListener( this );
+			control.intern().addListener( loader );
+			control.intern().addFrontendListener( frontend );
+			
+			DockController controller = control.getController();
+			controller.getRegister().addDockRegisterListener( register );
+			for( DockStation station : controller.getRegister().listDockStations() ){
+				observe( station );
+			}
+		}
+		
+		/**
+		 * Removes this listener from the {@link CAutosave#control}.
+		 */
+		public void uninstall(){
+			control.removeControlListener( this );
+			control.removeStateListener( this );
+			control.removePropertyListener( this );
+			control.intern().removeListener( loader );
+			control.intern().removeFrontendListener( frontend );
+			control.getController().getRegister().removeDockRegisterListener( register );
+			
+			for( DockStation station : stations ){
+				station.removeDockStationListener( this.station );
+			}
+			stations.clear();
+			loading = 0;
+		}
+		
+		/**
+		 * Adds the station listener to <code>station</code>.
+		 * @param station the new station to observe
+		 */
+		private void observe( DockStation station ){
+			stations.add( station );
+			station.addDockStationListener( this.station );
+		}
+		
+		/**
+		 * Calls {@link CAutosave#markDirty()} on the event dispatch thread, unless the change
+		 * is caused by loading a layout.
+		 */
+		private void changed(){
+			if( EventQueue.isDispatchThread() ){
+				if( loading == 0 ){
+					markDirty();
+				}
+			}
+			else{
+				EventQueue.invokeLater( new Runnable(){
+					public void run(){
+						markDirty();
+					}
+				});
+			}
+		}
+		
+		public void added( CControl control, CDockable dockable ){
+			changed();
+		}
+		
+		public void removed( CControl control, CDockable dockable ){
+			changed();
+		}
+		
+		public void opened( CControl control, CDockable dockable ){
+			changed();
+		}
+		
+		public void closed( CControl control, CDockable dockable ){
+			changed();
+		}
+		
+		@Override
+		public void visibilityChanged( CDockable dockable ){
+			changed();
+		}
+		
+		@Override
+		public void extendedModeChanged( CDockable dockable, ExtendedMode mode ){
+			changed();
+		}
+		
+		@Override
+		public void closeableChanged( CDockable dockable ){
+			changed();
+		}
+		
+		@Override
+		public void minimizableChanged( CDockable dockable ){
+			changed();
+		}
+		
+		@Override
+		public void maximizableChanged( CDockable dockable ){
+			changed();
+		}
+		
+		@Override
+		public void externalizableChanged( CDockable dockable ){
+			changed();
+		}
+		
+		@Override
+		public void normalizeableChanged( CDockable dockable ){
+			changed();
+		}
+		
+		@Override
+		public void resizeLockedChanged( CDockable dockable ){
+			changed();
+		}
+		
+		@Override
+		public void stickyChanged( CDockable dockable ){
+			changed();
+		}
+		
+		@Override
+		public void minimizeSizeChanged( CDockable dockable ){
+			changed();
+		}
+		
+		@Override
+		public void stickySwitchableChanged( CDockable dockable ){
+			changed();
+		}
+		
+		@Override
+		public void titleShownChanged( CDockable dockable ){
+			changed();
+		}
+		
+		@Override
+		public void singleTabShownChanged( CDockable dockable ){
+			changed();
+		}
+		
+		@Override
+		public void enabledChanged( CDockable dockable ){
+			changed();
+		}
+	}
+}
@@ -32,6 +32,8 @@ import java.awt.event.KeyListener;
 import java.awt.event.MouseEvent;
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.File;
@@ -46,6 +48,9 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.ResourceBundle;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
 
 import javax.swing.FocusManager;
 import javax.swing.Icon;
@@ -153,10 +158,14 @@ import bibliothek.gui.dock.facile.mode.LocationModeManager;
 import bibliothek.gui.dock.facile.station.split.ConflictResolver;
 import bibliothek.gui.dock.facile.station.split.DefaultConflictResolver;
 import bibliothek.gui.dock.focus.DockableSelection;
+import bibliothek.gui.dock.frontend.DefaultLayoutChangeStrategy;
 import bibliothek.gui.dock.frontend.FrontendEntry;
+import bibliothek.gui.dock.frontend.LayoutChangeStrategy;
 import bibliothek.gui.dock.frontend.MissingDockableStrategy;
+import bibliothek.gui.dock.frontend.SettingsBlop;
 import bibliothek.gui.dock.layout.DockSituationIgnore;
 import bibliothek.gui.dock.layout.DockableProperty;
+import bibliothek.gui.dock.layout.LayoutReaderTask;
 import bibliothek.gui.dock.perspective.PerspectiveDockable;
 import bibliothek.gui.dock.perspective.PerspectiveElement;
 import bibliothek.gui.dock.perspective.PerspectiveStation;
@@ -176,6 +185,7 @@ import bibliothek.gui.dock.station.support.PlaceholderStrategy;
 import bibliothek.gui.dock.support.mode.HistoryRewriter;
 import bibliothek.gui.dock.support.util.ApplicationResource;
 import bibliothek.gui.dock.support.util.ApplicationResourceManager;
+import bibliothek.gui.dock.support.util.SnapshotApplicationResource;
 import bibliothek.gui.dock.themes.BasicTheme;
 import bibliothek.gui.dock.themes.ColorScheme;
 import bibliothek.gui.dock.themes.ThemeFactory;
@@ -343,10 +353,16 @@ public class CControl {
 
     /** manager used to store and read configurations */
     private ApplicationResourceManager resources = new ApplicationResourceManager();
+    
+    /** the resource storing the layout of {@link #frontend} */
+    private FrontendResource frontendResource = new FrontendResource();
 
     /** a list of listeners which are to be informed when this control is no longer in use */
     private List<DestroyHook> hooks = new ArrayList<DestroyHook>();
 
+    /** the service writing the layout automatically into a file, created lazily */
+    private CAutosave autosave;
+
     /** factory used to create new elements for this control */
     private CControlFactory factory;
 
@@ -904,26 +920,7 @@ public class CControl {
         try{
         	addMultipleDockableFactory( "", NullMultipleCDockableFactory.NULL, false );
         	
-            resources.put( "ccontrol.frontend", new ApplicationResource(){
-                public void write( DataOutputStream out ) throws IOException {
-                    Version.write( out, Version.VERSION_1_1_1 );
-                    frontend.write( out );
-                }
-                public void read( DataInputStream in ) throws IOException {
-                    Version version = Version.read( in );
-                    version.checkCurrent();
-                    if( Version.VERSION_1_1_1.compareTo( version ) > 0 && Version.VERSION_1_0_4.compareTo( version ) <= 0 ){
-                    	readWorkingAreas( in );
-                    }
-                    frontend.read( in );
-                }
-                public void writeXML( XElement element ) {
-                    frontend.writeXML( element.addElement( "frontend" ) );
-                }
-                public void readXML( XElement element ) {
-                    frontend.readXML( element.getElement( "frontend" ) );
-                }
-            });
+            resources.put( "ccontrol.frontend", frontendResource );
 
             resources.put( "ccontrol.preferences", new ApplicationResource(){
                 public void read( DataInputStream in ) throws IOException {
@@ -1436,6 +1433,25 @@ public class CControl {
         hooks.remove( hook );
     }
 
+    /**
+     * Gets the service that automatically writes the layout of this control into a file whenever
+     * the layout changes. The service is created lazily and is disabled by default, clients
+     * have to call {@link CAutosave#setFile(File)} and {@link CAutosave#setEnabled(boolean)} to
+     * activate it. The service is shut down when this control is {@link #destroy() destroyed}.
+     * @return the autosave service, not <code>null</code>
+     */
+    public CAutosave getAutosave(){
+    	if( autosave == null ){
+    		autosave = new CAutosave( this );
+    		addDestroyHook( new DestroyHook(){
+    			public void destroy(){
+    				autosave.destroy();
+    			}
+    		});
+    	}
+    	return autosave;
+    }
+
     /**
      * Grants access to the manager that reads and stores configurations
      * of the common-project.<br>
@@ -2565,6 +2581,35 @@ public class CControl {
     	return intern().isRevertToBasicModes();
     }
     
+    /**
+     * Sets whether loading a layout leaves those root stations untouched whose layout does not change. The 
+     * {@link CDockable}s of these stations are neither removed nor added again, and keep their titles and
+     * displayers. The comparison is made for entire stations, see {@link DefaultLayoutChangeStrategy#setDiffing(boolean)}.<br>
+     * This property only has an effect if the {@link LayoutChangeStrategy} of the intern {@link DockFrontend} is a
+     * {@link DefaultLayoutChangeStrategy}, which is the case unless a client replaced the strategy. The default
+     * value is <code>false</code>.
+     * @param diffing whether to leave unchanged stations untouched
+     */
+    public void setLayoutDiffing( boolean diffing ){
+    	LayoutChangeStrategy strategy = frontend.getLayoutChangeStrategy();
+    	if( strategy instanceof DefaultLayoutChangeStrategy ){
+    		((DefaultLayoutChangeStrategy)strategy).setDiffing( diffing );
+    	}
+    }
+    
+    /**
+     * Tells whether loading a layout leaves those root stations untouched whose layout does not change.
+     * @return whether diffing is enabled
+     * @see #setLayoutDiffing(boolean)
+     */
+    public boolean isLayoutDiffing(){
+    	LayoutChangeStrategy strategy = frontend.getLayoutChangeStrategy();
+    	if( strategy instanceof DefaultLayoutChangeStrategy ){
+    		return ((DefaultLayoutChangeStrategy)strategy).isDiffing();
+    	}
+    	return false;
+    }
+    
     /**
      * If a {@link CDockable} is minimized, the focus can be automatically transferred to another {@link CDockable}. This
      * feature is implemented by the method {@link #initTransferFocusOnMinimize(DockController)}, which may be
@@ -2668,6 +2713,126 @@ public class CControl {
         in.close();
         readXML( element );
     }
+    
+    /**
+     * Reads the current and other known layouts from <code>file</code> without blocking the
+     * event dispatch thread while reading the file. The file is read by <code>executor</code>,
+     * which also decodes the layouts of the {@link DockFrontend}. The {@link bibliothek.gui.dock.frontend.Setting}s that are
+     * filled by <code>executor</code> are created on the event dispatch thread, as soon as 
+     * <code>executor</code> knows how many of them are stored in <code>file</code>. The layouts
+     * are then applied on the event dispatch thread like {@link #read(DataInputStream)} would do. Filling
+     * in missing layouts, removing invalid placeholders and estimating the locations of the 
+     * {@link Dockable}s happens while applying the layouts, as all of them need to access the
+     * factories and {@link Dockable}s of this control.
+     * @param file the file to read from
+     * @param executor the executor reading <code>file</code>, not <code>null</code>
+     * @return a future which is done once the layout has been applied, its value is the content of <code>file</code>
+     */
+    public Future<byte[]> readAsync( final File file, Executor executor ){
+    	return new LayoutReaderTask<byte[]>(){
+    		/** the settings of the frontend, decoded in advance */
+    		private SettingsBlop frontendSettings;
+    		
+    		@Override
+    		protected byte[] decode() throws Exception{
+    			byte[] data;
+    			BufferedInputStream in = new BufferedInputStream( new FileInputStream( file ));
+    			try{
+    				ByteArrayOutputStream out = new ByteArrayOutputStream();
+    				byte[] buffer = new byte[ 8192 ];
+    				int read;
+    				while( (read = in.read( buffer )) > 0 ){
+    					out.write( buffer, 0, read );
+    				}
+    				data = out.toByteArray();
+    			}
+    			finally{
+    				in.close();
+    			}
+    			
+    			DataInputStream din = new DataInputStream( new ByteArrayInputStream( data ));
+    			final byte[] frontendData = ApplicationResourceManager.findStream( din, "ccontrol.frontend" );
+    			din.close();
+    			if( frontendData != null ){
+    				Callable<SettingsBlop> decoder = invokeOnEventDispatchThread( new Callable<Callable<SettingsBlop>>(){
+    					public Callable<SettingsBlop> call() throws IOException{
+    						return frontendResource.prepareRead( frontendData );
+    					}
+    				});
+    				if( decoder != null ){
+    					frontendSettings = decoder.call();
+    				}
+    			}
+    			return data;
+    		}
+    		
+    		@Override
+    		protected void apply( byte[] data ) throws IOException{
+    			DataInputStream in = new DataInputStream( new ByteArrayInputStream( data ));
+    			frontendResource.setDecoded( frontendSettings );
+    			try{
+    				read( in );
+    			}
+    			finally{
+    				frontendResource.setDecoded( null );
+    				in.close();
+    			}
+    		}
+    	}.start( executor );
+    }
+    
+    /**
+     * Reads the current and other known layouts from <code>file</code> without blocking the
+     * event dispatch thread while parsing the xml file. The file is read and parsed by <code>executor</code>,
+     * which also decodes the layouts of the {@link DockFrontend}, the layouts are then applied on the 
+     * event dispatch thread like {@link #readXML(XElement)} would do. This method uses the threads like 
+     * {@link #readAsync(File, Executor)} does.
+     * @param file the file to read from
+     * @param executor the executor reading and parsing <code>file</code>, not <code>null</code>
+     * @return a future which is done once the layout has been applied, its value is the parsed content of <code>file</code>
+     */
+    public Future<XElement> readXMLAsync( final File file, Executor executor ){
+    	return new LayoutReaderTask<XElement>(){
+    		/** the settings of the frontend, decoded in advance */
+    		private SettingsBlop frontendSettings;
+    		
+    		@Override
+    		protected XElement decode() throws Exception{
+    			XElement element;
+    			BufferedInputStream in = new BufferedInputStream( new FileInputStream( file ));
+    			try{
+    				element = XIO.readUTF( in );
+    			}
+    			finally{
+    				in.close();
+    			}
+    			
+    			final XElement xfrontend = ApplicationResourceManager.findXML( element, "ccontrol.frontend" );
+    			if( xfrontend != null ){
+    				Callable<SettingsBlop> decoder = invokeOnEventDispatchThread( new Callable<Callable<SettingsBlop>>(){
+    					public Callable<SettingsBlop> call(){
+    						return frontendResource.prepareReadXML( xfrontend );
+    					}
+    				});
+    				if( decoder != null ){
+    					frontendSettings = decoder.call();
+    				}
+    			}
+    			return element;
+    		}
+    		
+    		@Override
+    		protected void apply( XElement element ){
+    			frontendResource.setDecoded( frontendSettings );
+    			try{
+    				readXML( element );
+    			}
+    			finally{
+    				frontendResource.setDecoded( null );
+    			}
+    		}
+    	}.start( executor );
+    }
 
     /**
      * Saves the current layout with the current name. Does nothing if there is no name for the current layout. 
@@ -2759,6 +2924,124 @@ public class CControl {
     	return frontend.getCurrentSetting();
     }
 
+    /**
+     * The {@link ApplicationResource} storing the layout of the {@link CControl#frontend}. The resource can
+     * apply {@link bibliothek.gui.dock.frontend.Setting}s that were decoded in advance by another thread.
+     * @author Benjamin Sigg
+     */
+    private class FrontendResource implements SnapshotApplicationResource{
+    	/** settings that were decoded in advance, applied instead of the data given to the next read */
+    	private SettingsBlop decoded;
+    	
+    	/**
+    	 * Sets settings that were decoded in advance. The next call to {@link #read(DataInputStream)} or
+    	 * {@link #readXML(XElement)} applies <code>decoded</code> instead of its argument.
+    	 * @param decoded the decoded settings, can be <code>null</code>
+    	 */
+    	public void setDecoded( SettingsBlop decoded ){
+			this.decoded = decoded;
+		}
+    	
+    	/**
+    	 * Prepares decoding the data of this resource on another thread, must be called on the event dispatch thread.
+    	 * @param data the data of this resource, as written by {@link #write(DataOutputStream)}
+    	 * @return the decoder or <code>null</code> if <code>data</code> has an old format that is read only on
+    	 * the event dispatch thread
+    	 * @throws IOException if <code>data</code> cannot be read
+    	 * @see DockFrontend#prepareRead(byte[])
+    	 */
+    	public Callable<SettingsBlop> prepareRead( byte[] data ) throws IOException{
+    		DataInputStream in = new DataInputStream( new ByteArrayInputStream( data ));
+    		try{
+	    		Version version = Version.read( in );
+	    		version.checkCurrent();
+	    		if( Version.VERSION_1_1_1.compareTo( version ) > 0 && Version.VERSION_1_0_4.compareTo( version ) <= 0 ){
+	    			return null;
+	    		}
+	    		byte[] settings = new byte[ in.available() ];
+	    		in.readFully( settings );
+	    		return frontend.prepareRead( settings );
+    		}
+    		finally{
+    			in.close();
+    		}
+    	}
+    	
+    	/**
+    	 * Prepares decoding the data of this resource on another thread, must be called on the event dispatch thread.
+    	 * @param element the data of this resource, as written by {@link #writeXML(XElement)}
+    	 * @return the decoder or <code>null</code> if <code>element</code> does not contain any settings
+    	 * @see DockFrontend#prepareReadXML(XElement)
+    	 */
+    	public Callable<SettingsBlop> prepareReadXML( XElement element ){
+    		XElement xfrontend = element.getElement( "frontend" );
+    		if( xfrontend == null ){
+    			return null;
+    		}
+    		return frontend.prepareReadXML( xfrontend );
+    	}
+    	
+        public void write( DataOutputStream out ) throws IOException {
+            Version.write( out, Version.VERSION_1_1_1 );
+            frontend.write( out );
+        }
+        
+        public Callable<byte[]> prepareWrite() throws IOException{
+        	final Callable<byte[]> settings = frontend.prepareWrite();
+        	return new Callable<byte[]>(){
+        		public byte[] call() throws Exception{
+        			ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        			DataOutputStream out = new DataOutputStream( bout );
+        			Version.write( out, Version.VERSION_1_1_1 );
+        			out.write( settings.call() );
+        			out.close();
+        			return bout.toByteArray();
+        		}
+        	};
+        }
+        
+        public void read( DataInputStream in ) throws IOException {
+            Version version = Version.read( in );
+            version.checkCurrent();
+            if( Version.VERSION_1_1_1.compareTo( version ) > 0 && Version.VERSION_1_0_4.compareTo( version ) <= 0 ){
+            	readWorkingAreas( in );
+            }
+            if( decoded != null ){
+            	SettingsBlop blop = decoded;
+            	decoded = null;
+            	frontend.readBlop( blop, false );
+            }
+            else{
+            	frontend.read( in );
+            }
+        }
+        
+        public void writeXML( XElement element ) {
+            frontend.writeXML( element.addElement( "frontend" ) );
+        }
+        
+        public Callable<XElement> prepareWriteXML( final XElement element ){
+        	final Callable<XElement> settings = frontend.prepareWriteXML( element.addElement( "frontend" ) );
+        	return new Callable<XElement>(){
+        		public XElement call() throws Exception{
+        			settings.call();
+        			return element;
+        		}
+        	};
+        }
+        
+        public void readXML( XElement element ) {
+        	if( decoded != null ){
+        		SettingsBlop blop = decoded;
+        		decoded = null;
+        		frontend.readBlop( blop, false );
+        	}
+        	else{
+        		frontend.readXML( element.getElement( "frontend" ) );
+        	}
+        }
+    }
+    
     /**
      * A class giving access to the internal methods of the enclosing
      * {@link CControl}.
@@ -56,7 +56,7 @@ public class CPlaceholderStrategy implements PlaceholderStrategy {
 	 * @return the placeholder for that dockable
 	 */
 	public static Path getSingleDockablePlaceholder( String id ){
-		return new Path( "dock", "single", id );
+		return Path.valueOfSegments( "dock", "single", id );
 	}
 	
 	/**
@@ -66,7 +66,7 @@ public class CPlaceholderStrategy implements PlaceholderStrategy {
 	 * @return the placeholder for that dockable
 	 */
 	public static Path getMultipleDockablePlaceholder( String id ){
-		return new Path( "dock", "multi", id );
+		return Path.valueOfSegments( "dock", "multi", id );
 	}
 	
 	/** the owner of this strategy */
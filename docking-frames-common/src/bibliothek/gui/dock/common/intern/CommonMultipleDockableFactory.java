@@ -25,10 +25,12 @@
  */
 package bibliothek.gui.dock.common.intern;
 
+import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.Callable;
 
 import bibliothek.gui.Dockable;
 import bibliothek.gui.dock.DockFactory;
@@ -45,8 +47,10 @@ import bibliothek.gui.dock.common.perspective.MultipleCDockablePerspective;
 import bibliothek.gui.dock.layout.LocationEstimationMap;
 import bibliothek.gui.dock.perspective.PerspectiveDockable;
 import bibliothek.gui.dock.station.support.PlaceholderStrategy;
+import bibliothek.gui.dock.util.DockUtilities;
 import bibliothek.util.Version;
 import bibliothek.util.xml.XElement;
+import bibliothek.util.xml.XException;
 
 /**
  * A factory used to create {@link CommonDockable}s. This factory is only
@@ -240,10 +244,32 @@ public class CommonMultipleDockableFactory implements DockFactory<CommonDockable
         return layout;
     }
 
-    public void write( CommonMultipleDockableLayout layout, DataOutputStream out ) throws IOException {
+    public void write( final CommonMultipleDockableLayout layout, DataOutputStream out ) throws IOException {
         Version.write( out, Version.VERSION_1_0_4 );
         
-        layout.getLayout().writeStream( out );
+        // the layout belongs to the client, it is only accessed by the event dispatch thread
+        byte[] content;
+        try{
+        	content = DockUtilities.callOnEventDispatchThread( new Callable<byte[]>(){
+        		public byte[] call() throws IOException{
+        			ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        			DataOutputStream dout = new DataOutputStream( bout );
+        			layout.getLayout().writeStream( dout );
+        			dout.close();
+        			return bout.toByteArray();
+        		}
+        	});
+        }
+        catch( IOException e ){
+        	throw e;
+        }
+        catch( RuntimeException e ){
+        	throw e;
+        }
+        catch( Exception e ){
+        	throw new IOException( e );
+        }
+        out.write( content );
         out.writeUTF( layout.getId() );
         if( layout.getArea() == null ){
             out.writeBoolean( false );
@@ -254,10 +280,27 @@ public class CommonMultipleDockableFactory implements DockFactory<CommonDockable
         }
     }
 
-    public void write( CommonMultipleDockableLayout layout, XElement element ) {
+    public void write( final CommonMultipleDockableLayout layout, XElement element ) {
         element.addElement( "id" ).setString( layout.getId() );
         if( layout.getArea() != null )
             element.addElement( "area" ).setString( layout.getArea() );
-        layout.getLayout().writeXML( element.addElement( "multiple" ) );
+        
+        // the layout belongs to the client, it is only accessed by the event dispatch thread
+        final XElement xmultiple = new XElement( "multiple" );
+        try{
+        	DockUtilities.callOnEventDispatchThread( new Callable<XElement>(){
+        		public XElement call(){
+        			layout.getLayout().writeXML( xmultiple );
+        			return xmultiple;
+        		}
+        	});
+        }
+        catch( RuntimeException e ){
+        	throw e;
+        }
+        catch( Exception e ){
+        	throw new XException( e );
+        }
+        element.addElement( xmultiple );
     }
 }
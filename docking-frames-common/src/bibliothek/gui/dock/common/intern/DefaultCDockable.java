@@ -35,6 +35,7 @@ import bibliothek.gui.dock.common.CStation;
 import bibliothek.gui.dock.common.action.CAction;
 import bibliothek.gui.dock.common.action.CSeparator;
 import bibliothek.gui.dock.dockable.IconHandling;
+import bibliothek.gui.dock.dockable.LazyContent;
 import bibliothek.util.FrameworkOnly;
 
 /**
@@ -256,6 +257,33 @@ public class DefaultCDockable extends AbstractCDockable{
         getContentPane().remove( component );
     }
     
+    /**
+     * Sets a {@link LazyContent} which fills the {@link #getContentPane() content pane} the first
+     * time this dockable is {@link #isShowing() showing}. Factories reading a layout can use lazy content
+     * to avoid creating the content of dockables that are hidden behind other tabs or that are minimized.
+     * @param content the content to create later, can be <code>null</code>
+     * @see #createContent()
+     */
+    public void setLazyContent( LazyContent content ){
+    	intern().setLazyContent( content );
+    }
+    
+    /**
+     * Gets the {@link LazyContent} whose content was not yet created.
+     * @return the content waiting to be created, or <code>null</code>
+     */
+    public LazyContent getLazyContent(){
+    	return intern().getLazyContent();
+    }
+    
+    /**
+     * Immediately creates the content that was set by {@link #setLazyContent(LazyContent)}, nothing
+     * happens if there is no such content or if the content was already created.
+     */
+    public void createContent(){
+    	intern().createContent();
+    }
+    
     /**
      * Sets the text that is shown as title.
      * @param text the title
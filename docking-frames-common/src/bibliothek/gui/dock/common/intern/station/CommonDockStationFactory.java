@@ -32,6 +32,7 @@ import java.io.DataOutputStream;
 import java.io.EOFException;
 import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.Callable;
 
 import bibliothek.gui.Dockable;
 import bibliothek.gui.dock.DockElement;
@@ -51,6 +52,7 @@ import bibliothek.gui.dock.layout.LocationEstimationMap;
 import bibliothek.gui.dock.perspective.PerspectiveDockable;
 import bibliothek.gui.dock.perspective.PerspectiveElement;
 import bibliothek.gui.dock.station.support.PlaceholderStrategy;
+import bibliothek.gui.dock.util.DockUtilities;
 import bibliothek.util.Version;
 import bibliothek.util.xml.XElement;
 import bibliothek.util.xml.XException;
@@ -289,19 +291,24 @@ public class CommonDockStationFactory implements DockFactory<CommonDockStation<?
 		return new CommonDockStationLayout( id, station.isRoot(), factoryId, new DockLayout<Object>( factoryId, data ) );
 	}
 
-	@SuppressWarnings("unchecked")
-	public void write( CommonDockStationLayout layout, XElement element ){
+	public void write( final CommonDockStationLayout layout, XElement element ){
 		String factoryId = layout.getFactoryId();
-		DockFactory<DockElement, ?, Object> factory = (DockFactory<DockElement, ?, Object>)control.intern().getDockFactory( factoryId );
 		XElement content = layout.getLayoutXML();
 		if( content == null ){
-			layout.updateLayout( factory, null );
-			DockLayout<?> data = layout.getLayout();
-			if( data == null ){
-				throw new XException( "data are null, but data were just updated" );
+			// the delegate factory and the layout belong to the event dispatch thread
+			try{
+				content = DockUtilities.callOnEventDispatchThread( new Callable<XElement>(){
+					public XElement call(){
+						return writeContentXML( layout );
+					}
+				});
+			}
+			catch( RuntimeException e ){
+				throw e;
+			}
+			catch( Exception e ){
+				throw new XException( e );
 			}
-			content = new XElement("content");
-			factory.write( data.getData(), content );
 		}
 		
 		String id = layout.getId();
@@ -314,6 +321,24 @@ public class CommonDockStationFactory implements DockFactory<CommonDockStation<?
 		element.addElement( content );
 	}
 	
+	/**
+	 * Writes the layout of the station that is described by <code>layout</code> using the delegate factory.
+	 * @param layout the layout to write
+	 * @return the written layout
+	 */
+	@SuppressWarnings("unchecked")
+	private XElement writeContentXML( CommonDockStationLayout layout ){
+		DockFactory<DockElement, ?, Object> factory = (DockFactory<DockElement, ?, Object>)control.intern().getDockFactory( layout.getFactoryId() );
+		layout.updateLayout( factory, null );
+		DockLayout<?> data = layout.getLayout();
+		if( data == null ){
+			throw new XException( "data are null, but data were just updated" );
+		}
+		XElement content = new XElement("content");
+		factory.write( data.getData(), content );
+		return content;
+	}
+	
 	@SuppressWarnings("unchecked")
 	public CommonDockStationLayout read( XElement element, PlaceholderStrategy placeholders ){
 		String id = null;
@@ -344,20 +369,27 @@ public class CommonDockStationFactory implements DockFactory<CommonDockStation<?
 		}
 	}
 
-	@SuppressWarnings("unchecked")
-	public void write( CommonDockStationLayout layout, DataOutputStream out ) throws IOException{
+	public void write( final CommonDockStationLayout layout, DataOutputStream out ) throws IOException{
 		String factoryId = layout.getFactoryId();
-		DockFactory<DockElement, ?, Object> factory = (DockFactory<DockElement, ?, Object>)control.intern().getDockFactory( factoryId );
 		byte[] content = layout.getLayoutBytes();
 		if( content == null ){
-			layout.updateLayout( factory, null );
-			DockLayout<?> data = layout.getLayout();
-			if( data == null ){
-				throw new IOException( "data are null, but data were just updated" );
+			// the delegate factory and the layout belong to the event dispatch thread
+			try{
+				content = DockUtilities.callOnEventDispatchThread( new Callable<byte[]>(){
+					public byte[] call() throws IOException{
+						return writeContent( layout );
+					}
+				});
+			}
+			catch( IOException e ){
+				throw e;
+			}
+			catch( RuntimeException e ){
+				throw e;
+			}
+			catch( Exception e ){
+				throw new IOException( e );
 			}
-			ByteArrayOutputStream bout = new ByteArrayOutputStream();
-			factory.write( data.getData(), new DataOutputStream( bout ) );
-			content = bout.toByteArray();
 		}
 		if( content == null ){
 			throw new IOException( "unable to write layout, it could not be converted into byte-array format" );
@@ -382,6 +414,25 @@ public class CommonDockStationFactory implements DockFactory<CommonDockStation<?
 		out.write( content );
 	}
 	
+	/**
+	 * Writes the layout of the station that is described by <code>layout</code> using the delegate factory.
+	 * @param layout the layout to write
+	 * @return the written layout
+	 * @throws IOException if the layout cannot be written
+	 */
+	@SuppressWarnings("unchecked")
+	private byte[] writeContent( CommonDockStationLayout layout ) throws IOException{
+		DockFactory<DockElement, ?, Object> factory = (DockFactory<DockElement, ?, Object>)control.intern().getDockFactory( layout.getFactoryId() );
+		layout.updateLayout( factory, null );
+		DockLayout<?> data = layout.getLayout();
+		if( data == null ){
+			throw new IOException( "data are null, but data were just updated" );
+		}
+		ByteArrayOutputStream bout = new ByteArrayOutputStream();
+		factory.write( data.getData(), new DataOutputStream( bout ) );
+		return bout.toByteArray();
+	}
+	
 	@SuppressWarnings("unchecked")
 	public CommonDockStationLayout read( DataInputStream in, PlaceholderStrategy placeholders ) throws IOException{
 		Version.read( in ).checkCurrent();
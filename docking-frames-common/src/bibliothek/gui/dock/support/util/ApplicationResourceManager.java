@@ -26,8 +26,12 @@
 package bibliothek.gui.dock.support.util;
 
 import java.io.*;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 import java.util.prefs.Preferences;
 
 import bibliothek.util.Version;
@@ -132,6 +136,74 @@ public class ApplicationResourceManager {
         }
     }
     
+    /**
+     * Prepares writing all currently known {@link ApplicationResource}s on another thread. This method must be
+     * called by the thread that owns the resources, usually the event dispatch thread. Any
+     * {@link SnapshotApplicationResource} is only asked to take a snapshot, all other resources are
+     * written immediately. The returned {@link Callable} can be called by any thread, it finishes
+     * writing the snapshots.
+     * @return the encoder, its result is the same data {@link #writeStream(DataOutputStream)} would write
+     * @throws IOException if a resource cannot be written
+     */
+    public Callable<byte[]> prepareWriteStream() throws IOException{
+    	final Map<String, Object> written = new LinkedHashMap<String, Object>();
+    	
+    	for( Map.Entry<String, ApplicationResource> resource : resources.entrySet() ){
+    		ApplicationResource value = resource.getValue();
+    		if( value instanceof SnapshotApplicationResource ){
+    			written.put( resource.getKey(), ((SnapshotApplicationResource)value).prepareWrite() );
+    		}
+    		else{
+    			ByteArrayOutputStream array = new ByteArrayOutputStream();
+    			DataOutputStream data = new DataOutputStream( array );
+    			value.write( data );
+    			data.close();
+    			written.put( resource.getKey(), array.toByteArray() );
+    		}
+    	}
+    	
+    	final Map<String, byte[]> unknown = new LinkedHashMap<String, byte[]>();
+    	for( Map.Entry<String, Object> unknownResource : buffer.entrySet() ){
+    		Object value = unknownResource.getValue();
+    		if( value instanceof byte[] ){
+    			unknown.put( unknownResource.getKey(), (byte[])value );
+    		}
+    	}
+    	
+    	return new Callable<byte[]>(){
+    		@SuppressWarnings("unchecked")
+			public byte[] call() throws Exception{
+    			ByteArrayOutputStream bout = new ByteArrayOutputStream();
+    			DataOutputStream out = new DataOutputStream( bout );
+    			
+    			Version.write( out, Version.VERSION_1_0_4 );
+    			out.writeInt( written.size() );
+    			for( Map.Entry<String, Object> resource : written.entrySet() ){
+    				out.writeUTF( resource.getKey() );
+    				Object value = resource.getValue();
+    				byte[] array;
+    				if( value instanceof byte[] ){
+    					array = (byte[])value;
+    				}
+    				else{
+    					array = ((Callable<byte[]>)value).call();
+    				}
+    				out.writeInt( array.length );
+    				out.write( array );
+    			}
+    			
+    			for( Map.Entry<String, byte[]> unknownResource : unknown.entrySet() ){
+    				out.writeUTF( unknownResource.getKey() );
+    				out.writeInt( unknownResource.getValue().length );
+    				out.write( unknownResource.getValue() );
+    			}
+    			
+    			out.close();
+    			return bout.toByteArray();
+    		}
+    	};
+    }
+    
     /**
      * Lets all {@link ApplicationResource}s read from <code>in</code>.
      * @param in the stream to read from
@@ -160,6 +232,50 @@ public class ApplicationResourceManager {
         }
     }
     
+    /**
+     * Searches the data of the resource <code>key</code> in <code>in</code>, without reading
+     * the data. This method does not access any {@link ApplicationResource} and can be called
+     * by any thread.
+     * @param in the data as written by {@link #writeStream(DataOutputStream)}
+     * @param key the key of the resource
+     * @return the data of the resource or <code>null</code> if <code>in</code> does not contain
+     * the resource
+     * @throws IOException if <code>in</code> cannot be read
+     */
+    public static byte[] findStream( DataInputStream in, String key ) throws IOException{
+        Version version = Version.read( in );
+        version.checkCurrent();
+        
+        int size = in.readInt();
+        for( int i = 0; i < size; i++ ){
+            String next = in.readUTF();
+            int length = in.readInt();
+            if( next.equals( key )){
+                byte[] input = new byte[ length ];
+                in.readFully( input );
+                return input;
+            }
+            in.skipBytes( length );
+        }
+        return null;
+    }
+    
+    /**
+     * Searches the element of the resource <code>key</code> in <code>element</code>. This method does not
+     * access any {@link ApplicationResource} and can be called by any thread.
+     * @param element the element as written by {@link #writeXML(XElement)}
+     * @param key the key of the resource
+     * @return the element of the resource or <code>null</code> if <code>element</code> does not contain the resource
+     */
+    public static XElement findXML( XElement element, String key ){
+        for( XElement xresource : element.getElements( "resource" )){
+            if( key.equals( xresource.getString( "name" ))){
+                return xresource;
+            }
+        }
+        return null;
+    }
+    
     /**
      * Writes the content of this manager in xml format.
      * @param element the element to write into, the attributes of this
@@ -181,6 +297,51 @@ public class ApplicationResourceManager {
         }
     }
     
+    /**
+     * Prepares writing the content of this manager in xml format on another thread. This method behaves
+     * like {@link #prepareWriteStream()}, it must be called by the thread that owns the resources while the
+     * returned {@link Callable} can be called by any thread.
+     * @param element the element to write into once the {@link Callable} is called, the attributes of this
+     * element will not be changed
+     * @return the encoder, writes the same data into <code>element</code> as {@link #writeXML(XElement)} would,
+     * its result is <code>element</code>
+     */
+    public Callable<XElement> prepareWriteXML( final XElement element ){
+    	final List<XElement> written = new ArrayList<XElement>();
+    	final List<Callable<XElement>> snapshots = new ArrayList<Callable<XElement>>();
+    	
+    	for( Map.Entry<String, ApplicationResource> resource : resources.entrySet() ){
+    		XElement xresource = new XElement( "resource" );
+    		xresource.addString( "name", resource.getKey() );
+    		ApplicationResource value = resource.getValue();
+    		if( value instanceof SnapshotApplicationResource ){
+    			snapshots.add( ((SnapshotApplicationResource)value).prepareWriteXML( xresource ) );
+    		}
+    		else{
+    			value.writeXML( xresource );
+    		}
+    		written.add( xresource );
+    	}
+    	
+    	for( Object value : buffer.values() ){
+    		if( value instanceof XElement ){
+    			written.add( (XElement)value );
+    		}
+    	}
+    	
+    	return new Callable<XElement>(){
+    		public XElement call() throws Exception{
+    			for( Callable<XElement> snapshot : snapshots ){
+    				snapshot.call();
+    			}
+    			for( XElement xresource : written ){
+    				element.addElement( xresource );
+    			}
+    			return element;
+    		}
+    	};
+    }
+    
     /**
      * Reads the contents of this manager from a xml element.
      * @param element the element to read
@@ -0,0 +1,59 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2012 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.support.util;
+
+import java.io.IOException;
+import java.util.concurrent.Callable;
+
+import bibliothek.util.xml.XElement;
+
+/**
+ * An {@link ApplicationResource} that can be written by another thread than the thread that
+ * owns the resource. The owner takes a snapshot of the resource, the snapshot is then encoded
+ * by any thread. The {@link ApplicationResourceManager} uses this interface if its contents are
+ * written by {@link ApplicationResourceManager#prepareWriteStream()} or
+ * {@link ApplicationResourceManager#prepareWriteXML(XElement)}.
+ * @author Benjamin Sigg
+ */
+public interface SnapshotApplicationResource extends ApplicationResource {
+	/**
+	 * Takes a snapshot of this resource. This method is called by the thread that owns
+	 * the resource, the result may be called by any thread.
+	 * @return the encoder of the snapshot, its result must be the same data as {@link #write(java.io.DataOutputStream)} writes
+	 * @throws IOException if the snapshot cannot be taken
+	 */
+	public Callable<byte[]> prepareWrite() throws IOException;
+	
+	/**
+	 * Takes a snapshot of this resource. This method is called by the thread that owns
+	 * the resource, the result may be called by any thread.
+	 * @param element the element to write into once the result is called, the attributes of
+	 * <code>element</code> should not be changed
+	 * @return the encoder of the snapshot, writes the same data as {@link #writeXML(XElement)} writes, its
+	 * result is <code>element</code>
+	 */
+	public Callable<XElement> prepareWriteXML( XElement element );
+}
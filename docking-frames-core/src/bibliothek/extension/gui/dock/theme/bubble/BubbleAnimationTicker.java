@@ -0,0 +1,179 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2007 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+
+package bibliothek.extension.gui.dock.theme.bubble;
+
+import java.awt.DisplayMode;
+import java.awt.GraphicsEnvironment;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.Timer;
+
+/**
+ * A single {@link Timer} that drives all the running {@link BubbleColorAnimation}s. Animations
+ * register themselves while they are running and unregister once they are finished, the 
+ * timer stops as soon as no animation is left.
+ * @author Benjamin Sigg
+ */
+final class BubbleAnimationTicker {
+	/** The frame rate that is used if no other rate was set */
+	public static final int DEFAULT_FRAME_RATE = 40;
+	
+	/** The one and only ticker */
+	private static final BubbleAnimationTicker TICKER = new BubbleAnimationTicker();
+	
+	/**
+	 * Gets the ticker shared by all animations.
+	 * @return the ticker, never <code>null</code>
+	 */
+	public static BubbleAnimationTicker getTicker(){
+		return TICKER;
+	}
+	
+	/** The animations that are currently running */
+	private List<BubbleColorAnimation> animations = new ArrayList<BubbleColorAnimation>();
+	
+	/** The animations that are pulsed during the current tick */
+	private List<BubbleColorAnimation> pulsing = new ArrayList<BubbleColorAnimation>();
+	
+	/** The frames per second, a value of <code>0</code> or less means to follow the display */
+	private int frameRate = DEFAULT_FRAME_RATE;
+	
+	/** The timer triggering the ticks */
+	private Timer timer;
+	
+	private BubbleAnimationTicker(){
+		timer = new Timer( getDelay(), new ActionListener(){
+			public void actionPerformed( ActionEvent e ){
+				tick();
+			}
+		});
+		timer.setCoalesce( true );
+	}
+	
+	/**
+	 * Sets the number of frames the animations try to paint per second.
+	 * @param frameRate the frames per second, a value of <code>0</code> or less means that the
+	 * refresh rate of the default screen should be used
+	 */
+	public void setFrameRate( int frameRate ){
+		this.frameRate = frameRate;
+		timer.setDelay( getDelay() );
+	}
+	
+	/**
+	 * Gets the number of frames the animations try to paint per second.
+	 * @return the frames per second, <code>0</code> or less if the refresh rate of
+	 * the default screen is used
+	 * @see #setFrameRate(int)
+	 */
+	public int getFrameRate(){
+		return frameRate;
+	}
+	
+	/**
+	 * Gets the time between two ticks.
+	 * @return the time in milliseconds
+	 */
+	private int getDelay(){
+		int rate = frameRate;
+		if( rate <= 0 ){
+			rate = getDisplayRefreshRate();
+		}
+		return Math.max( 1, 1000 / rate );
+	}
+	
+	/**
+	 * Gets the refresh rate of the default screen.
+	 * @return the refresh rate or {@link #DEFAULT_FRAME_RATE} if the rate is not known
+	 */
+	private int getDisplayRefreshRate(){
+		try{
+			if( !GraphicsEnvironment.isHeadless() ){
+				DisplayMode mode = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDisplayMode();
+				if( mode != null && mode.getRefreshRate() != DisplayMode.REFRESH_RATE_UNKNOWN ){
+					return mode.getRefreshRate();
+				}
+			}
+		}
+		catch( RuntimeException e ){
+			// the display cannot be accessed, use the default
+		}
+		return DEFAULT_FRAME_RATE;
+	}
+	
+	/**
+	 * Makes sure that <code>animation</code> gets pulsed until it is {@link #remove(BubbleColorAnimation) removed}.
+	 * @param animation the new animation
+	 */
+	public void add( BubbleColorAnimation animation ){
+		if( !animations.contains( animation )){
+			animations.add( animation );
+			if( !timer.isRunning() ){
+				timer.start();
+			}
+		}
+	}
+	
+	/**
+	 * Stops pulsing <code>animation</code>.
+	 * @param animation the animation to remove
+	 */
+	public void remove( BubbleColorAnimation animation ){
+		if( animations.remove( animation ) && animations.isEmpty() ){
+			timer.stop();
+		}
+	}
+	
+	/**
+	 * Tells whether <code>animation</code> is currently pulsed by this ticker.
+	 * @param animation the animation to search
+	 * @return <code>true</code> if <code>animation</code> was added
+	 */
+	public boolean isRunning( BubbleColorAnimation animation ){
+		return animations.contains( animation );
+	}
+	
+	/**
+	 * Pulses all the animations that are currently running.
+	 */
+	private void tick(){
+		pulsing.addAll( animations );
+		try{
+			for( BubbleColorAnimation animation : pulsing ){
+				if( animations.contains( animation )){
+					animation.pulse();
+				}
+			}
+		}
+		finally{
+			pulsing.clear();
+		}
+	}
+}
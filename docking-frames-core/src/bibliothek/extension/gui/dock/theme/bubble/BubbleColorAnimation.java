@@ -27,32 +27,91 @@
 package bibliothek.extension.gui.dock.theme.bubble;
 
 import java.awt.Color;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
-import javax.swing.Timer;
-
 /**
  * A <code>BubbleColorAnimation</code> has the ability to convert one or many color-pairs smoothly from source
  * to destination color. It basically is a map storing {@link String}-{@link Color} pairs. 
  * Clients have to call {@link #putColor(String, Color)} to start an animation. They
  * can call {@link #getColor(String)} any time to get the current intermediate color. Adding a {@link #addTask(Runnable) task}
  * will allow a client to be informed whenever the colors change.<br>
- * The animation itself takes {@link #setDuration(int) duration} milliseconds.  
+ * The animation itself takes {@link #setDuration(int) duration} milliseconds.<br>
+ * All animations are driven by one shared timer whose {@link #setFrameRate(int) frame rate} can be
+ * configured, and the intermediate colors are taken from precomputed color ramps which are shared
+ * between all animations.
  * @author Benjamin Sigg
  */
 public class BubbleColorAnimation {
+	/** The number of intermediate colors of a color ramp */
+	private static final int RAMP_STEPS = 64;
+	
+	/** The maximum number of color ramps that are cached */
+	private static final int RAMP_CACHE_SIZE = 128;
+	
+	/** The color ramps that were calculated recently, shared by all animations */
+	private static final Map<RampKey, Color[]> RAMPS = new LinkedHashMap<RampKey, Color[]>( 16, 0.75f, true ){
+		@Override
+		protected boolean removeEldestEntry( Map.Entry<RampKey, Color[]> eldest ){
+			return size() > RAMP_CACHE_SIZE;
+		}
+	};
+	
+	/**
+	 * Sets the number of frames all animations try to paint per second.
+	 * @param frameRate the frames per second, a value of <code>0</code> or less means
+	 * that the refresh rate of the default screen should be used
+	 */
+	public static void setFrameRate( int frameRate ){
+		BubbleAnimationTicker.getTicker().setFrameRate( frameRate );
+	}
+	
+	/**
+	 * Gets the number of frames all animations try to paint per second.
+	 * @return the frames per second, <code>0</code> or less if the refresh
+	 * rate of the default screen is used
+	 */
+	public static int getFrameRate(){
+		return BubbleAnimationTicker.getTicker().getFrameRate();
+	}
+	
+	/**
+	 * Gets a color ramp leading from <code>source</code> to <code>destination</code>. The
+	 * ramp is taken from a cache that is shared by all animations.
+	 * @param source the first color of the ramp
+	 * @param destination the last color of the ramp
+	 * @return the ramp, an array of {@link #RAMP_STEPS}+1 colors
+	 */
+	private static Color[] getRamp( Color source, Color destination ){
+		RampKey key = new RampKey( source.getRGB(), destination.getRGB() );
+		synchronized( RAMPS ){
+			Color[] ramp = RAMPS.get( key );
+			if( ramp == null ){
+				ramp = new Color[ RAMP_STEPS+1 ];
+				for( int i = 0; i <= RAMP_STEPS; i++ ){
+					double s = (RAMP_STEPS - i) / (double)RAMP_STEPS;
+					double d = i / (double)RAMP_STEPS;
+					ramp[i] = new Color(
+		                    Math.max( 0, Math.min( 255, (int)(s * source.getRed() + d * destination.getRed()))),
+		                    Math.max( 0, Math.min( 255, (int)(s * source.getGreen() + d * destination.getGreen()))),
+		                    Math.max( 0, Math.min( 255, (int)(s * source.getBlue() + d * destination.getBlue()))));
+				}
+				RAMPS.put( key, ramp );
+			}
+			return ramp;
+		}
+	}
+	
 	/** How long a transformation takes */
     private int duration = 1000;
     
     /** The color pairs that can be animated */
     private Map<String, Entry> colors = new HashMap<String, Entry>();
-    /** The timer that triggers steps of the animation */
-    private Timer timer;
+    /** Whether this animation is currently registered at the shared ticker */
+    private boolean running = false;
     /** The current time in milliseconds*/
     private long time = 0;
     
@@ -63,12 +122,7 @@ public class BubbleColorAnimation {
      * Creates a new animation.
      */
     public BubbleColorAnimation(){
-    	timer = new Timer( 25, new ActionListener(){
-            public void actionPerformed( ActionEvent e ) {
-                pulse();
-            }
-        });
-    	timer.setCoalesce( true );
+    	// nothing to do
     }
     
     /**
@@ -162,14 +216,17 @@ public class BubbleColorAnimation {
      *
      */
     public void stop(){
-        timer.stop();
+    	if( running ){
+    		running = false;
+    		BubbleAnimationTicker.getTicker().remove( this );
+    	}
     }
     
     /**
      * Immediately puts all colors to their final state and stops the animation.
      */
     public void kick(){
-        if( timer.isRunning() ){
+        if( running ){
             stop();
             for( Entry entry : colors.values() )
                 entry.kick();
@@ -183,9 +240,10 @@ public class BubbleColorAnimation {
      * Starts the animation if it is not yet running.
      */
     protected void start(){
-        if( !timer.isRunning() ){
+        if( !running ){
             time = System.currentTimeMillis();
-            timer.start();
+            running = true;
+            BubbleAnimationTicker.getTicker().add( this );
         }
     }
     
@@ -202,7 +260,7 @@ public class BubbleColorAnimation {
             run = entry.step( delta ) | run;
         
         if( !run )
-            timer.stop();
+            stop();
         
         for( Runnable task : tasks )
             task.run();
@@ -225,6 +283,13 @@ public class BubbleColorAnimation {
         /** The age of the current transition from source to destination */
         private int age;
         
+        /** The ramp that was used the last time {@link #getColor()} was called */
+        private Color[] ramp;
+        /** The first color of {@link #ramp} */
+        private Color rampSource;
+        /** The last color of {@link #ramp} */
+        private Color rampDestination;
+        
         /**
          * Gets the current color represented by this pair.
          * @return the color
@@ -252,12 +317,13 @@ public class BubbleColorAnimation {
             	return null;
             }
             
-            double s = (duration - age) / (double)duration;
-            double d = age / (double)duration;
-            return new Color(
-                    Math.max( 0, Math.min( 255, (int)(s * source.getRed() + d * destination.getRed()))),
-                    Math.max( 0, Math.min( 255, (int)(s * source.getGreen() + d * destination.getGreen()))),
-                    Math.max( 0, Math.min( 255, (int)(s * source.getBlue() + d * destination.getBlue()))));
+            if( ramp == null || rampSource != source || rampDestination != destination ){
+            	ramp = getRamp( source, destination );
+            	rampSource = source;
+            	rampDestination = destination;
+            }
+            
+            return ramp[ (int)(age * (long)RAMP_STEPS / duration) ];
         }
         
         /**
@@ -339,4 +405,42 @@ public class BubbleColorAnimation {
         	}
         }
     }
+    
+    /**
+     * The key of a color ramp in the cache.
+     * @author Benjamin Sigg
+     */
+    private static class RampKey{
+    	/** The rgb value of the first color */
+    	private final int source;
+    	/** The rgb value of the last color */
+    	private final int destination;
+    	
+    	/**
+    	 * Creates a new key.
+    	 * @param source the rgb value of the first color
+    	 * @param destination the rgb value of the last color
+    	 */
+    	public RampKey( int source, int destination ){
+    		this.source = source;
+    		this.destination = destination;
+    	}
+    	
+    	@Override
+    	public int hashCode(){
+    		return source * 31 + destination;
+    	}
+    	
+    	@Override
+    	public boolean equals( Object obj ){
+    		if( obj == this ){
+    			return true;
+    		}
+    		if( obj instanceof RampKey ){
+    			RampKey other = (RampKey)obj;
+    			return other.source == source && other.destination == destination;
+    		}
+    		return false;
+    	}
+    }
 }
@@ -27,7 +27,6 @@ package bibliothek.extension.gui.dock.theme.eclipse.stack.tab;
 
 import java.awt.Color;
 import java.awt.Dimension;
-import java.awt.GradientPaint;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.Insets;
@@ -88,6 +87,20 @@ public class ArchGradientPainter extends BaseTabComponent {
 	private Arch arch;
 	private boolean wasPreviousSelected = false;
 	
+	/** the left side of a selected tab used for painting */
+	private CachedSide paintedLeftSide = new CachedSide();
+	/** the left side of a selected tab used for {@link #contains(int, int)} */
+	private CachedSide containedLeftSide = new CachedSide();
+	/** the right side of a selected tab */
+	private CachedSide rightSide = new CachedSide();
+	
+	/** the color of the shadow of a selected tab, depends on {@link #shadowLine} and {@link #shadowBackground} */
+	private Color shadow;
+	/** the line color used to calculate {@link #shadow} */
+	private Color shadowLine;
+	/** the background color used to calculate {@link #shadow} */
+	private Color shadowBackground;
+	
 	/**
 	 * This factory creates instances of {@link ArchGradientPainter}.
 	 */
@@ -227,6 +240,15 @@ public class ArchGradientPainter extends BaseTabComponent {
 		update();
 	}
 	
+	@Override
+	protected void discardPaintCache(){
+		super.discardPaintCache();
+		paintedLeftSide.polygon = null;
+		containedLeftSide.polygon = null;
+		rightSide.polygon = null;
+		shadow = null;
+	}
+	
 	/**
 	 * Updates the layout information of this painter.
 	 */
@@ -347,12 +369,8 @@ public class ArchGradientPainter extends BaseTabComponent {
 		}
 		else{
 			if( getTransparency() != Transparency.TRANSPARENT ){
-				GradientPaint gradient = color1.equals( color2 ) ? null : new GradientPaint( x, y, color1, x, y + h, color2 );
 				Paint old = g2d.getPaint();
-				if( gradient != null )
-					g2d.setPaint(gradient);
-				else
-					g2d.setPaint( color1 );
+				g2d.setPaint( getGradient( color1, color2, w, h, true ) );
 	
 				g2d.fillRect( x, y, w, h-1 );
 				g2d.setPaint(old);
@@ -389,11 +407,11 @@ public class ArchGradientPainter extends BaseTabComponent {
 			int w = getWidth();
 			int h = getHeight();
 			
-			Polygon left = leftSide( 0, 0, w, h );
+			Polygon left = leftSide( 0, 0, w, h, containedLeftSide );
 			if( left.contains( x, y ))
 				return true;
 			
-			Polygon right = rightSide( 0, 0, w, h );
+			Polygon right = rightSide( 0, 0, w, h, rightSide );
 			if( right.contains( x, y ))
 				return true;
 			
@@ -441,47 +459,45 @@ public class ArchGradientPainter extends BaseTabComponent {
 		
 		Polygon left, right;
 		if( orientation.isHorizontal() ){
-			left = leftSide( x-1, y-1, w, h+1 );
+			left = leftSide( x-1, y-1, w, h+1, paintedLeftSide );
 		}
 		else{
-			left = leftSide( x-1, y-1, w+1, h );
+			left = leftSide( x-1, y-1, w+1, h, paintedLeftSide );
 		}
 		
-		right = rightSide( x, y, w, h );
+		right = rightSide( x, y, w, h, rightSide );
 		g2d.setRenderingHint( RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF );
 		
+		// the polygons are cached, all translations have to be undone at the end
+		int leftDelta = 0;
+		
 		// draw shadow
 		if ( firstTab ){
 			// draw under border if near border
 			// ... this is not a very good solution ...
 			if( orientation.isHorizontal() && getX() <= 1 )
-				left.translate( -1, 0 );
+				leftDelta = -1;
 			else if( orientation.isVertical() && getY() <= 1 )
-				left.translate( 0, -1 );
+				leftDelta = -1;
 		}
 		
-		g.setColor( Colors.between( lineColor, getBackground(), 0.75 ) );
+		if( orientation.isHorizontal() ){
+			left.translate( leftDelta, 0 );
+		}
+		else{
+			left.translate( 0, leftDelta );
+		}
+		
+		g.setColor( getShadow( lineColor, getBackground() ) );
 		
 		g.drawPolyline( left.xpoints, left.ypoints, left.npoints-1 );
 		g.drawPolyline( right.xpoints, right.ypoints, right.npoints-1 );
 		
-		GradientPaint gradient = null;
-		if( !top.equals( bottom )){
-			// fill inner areas
-			if( getOrientation().isHorizontal() ){
-				gradient = new GradientPaint( x, y, top, x, y + h, bottom );
-			}
-			else{
-				gradient = new GradientPaint( x, y, top, x+w, y, bottom );
-			}
-		}
-		
+		// fill inner areas
 		Paint old = g2d.getPaint();
-		if( gradient != null )
-			g2d.setPaint(gradient);
-		else
-			g2d.setPaint( top );
+		g2d.setPaint( getGradient( top, bottom, w, h, orientation.isHorizontal() ) );
 		
+		leftDelta++;
 		if( orientation.isHorizontal() ){
 			left.translate( 1, 0 );
 			right.translate( -1, 0 );
@@ -555,6 +571,30 @@ public class ArchGradientPainter extends BaseTabComponent {
 		
 		
 		g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_DEFAULT);
+		
+		if( orientation.isHorizontal() ){
+			left.translate( -leftDelta, 0 );
+			right.translate( 1, 0 );
+		}
+		else{
+			left.translate( 0, -leftDelta );
+			right.translate( 0, 1 );
+		}
+	}
+	
+	/**
+	 * Gets the color of the shadow around a selected tab.
+	 * @param line the color of the border
+	 * @param background the color of the background
+	 * @return the color between <code>line</code> and <code>background</code>
+	 */
+	private Color getShadow( Color line, Color background ){
+		if( shadow == null || !line.equals( shadowLine ) || !background.equals( shadowBackground )){
+			shadow = Colors.between( line, background, 0.75 );
+			shadowLine = line;
+			shadowBackground = background;
+		}
+		return shadow;
 	}
 	
 	/**
@@ -597,9 +637,16 @@ public class ArchGradientPainter extends BaseTabComponent {
 	 * @param y the y coordinate of the area in which to paint
 	 * @param w the with of the paintable area
 	 * @param h the height of the paintable area
-	 * @return the new polygon
+	 * @param cache the cache in which the polygon is stored, the polygon is reused
+	 * as long as the parameters do not change
+	 * @return the polygon, must not be modified permanently by the caller
 	 */
-	private Polygon leftSide( int x, int y, int w, int h ){
+	private Polygon leftSide( int x, int y, int w, int h, CachedSide cache ){
+		if( cache.matches( x, y, w, h, 0, getOrientation() )){
+			return cache.polygon;
+		}
+		int cx = x, cy = y, cw = w, ch = h;
+		
 		if( getOrientation().isVertical() ){
 			int t = x;
 			x = y;
@@ -612,6 +659,7 @@ public class ArchGradientPainter extends BaseTabComponent {
 		
 		Polygon polygon = leftSideTop( x, y, w, h );
 		transformFromTopToOrientation( polygon );
+		cache.set( cx, cy, cw, ch, 0, getOrientation(), polygon );
 		return polygon;
 	}
 	
@@ -648,9 +696,11 @@ public class ArchGradientPainter extends BaseTabComponent {
 	 * @param y the y coordinate of the area in which to paint
 	 * @param w the with of the paintable area
 	 * @param h the height of the paintable area
-	 * @return the new polygon
+	 * @param cache the cache in which the polygon is stored, the polygon is reused
+	 * as long as the parameters do not change
+	 * @return the polygon, must not be modified permanently by the caller
 	 */
-	private Polygon rightSide( int x, int y, int w, int h ){
+	private Polygon rightSide( int x, int y, int w, int h, CachedSide cache ){
 		int labelMin = 6;
 		
 		if( getIcon() != null ){
@@ -662,6 +712,11 @@ public class ArchGradientPainter extends BaseTabComponent {
 			}
 		}
 		
+		if( cache.matches( x, y, w, h, labelMin, getOrientation() )){
+			return cache.polygon;
+		}
+		int cx = x, cy = y, cw = w, ch = h;
+		
 		if( getOrientation().isVertical() ){
 			int t = x;
 			x = y;
@@ -674,6 +729,7 @@ public class ArchGradientPainter extends BaseTabComponent {
 		
 		Polygon polygon = rightSideTop( x, y, w, h, labelMin );
 		transformFromTopToOrientation( polygon );
+		cache.set( cx, cy, cw, ch, labelMin, getOrientation(), polygon );
 		return polygon;
 	}
 	
@@ -696,4 +752,54 @@ public class ArchGradientPainter extends BaseTabComponent {
 		return new Polygon( xPoints, yPoints, xPoints.length );
 	}
 	
+	/**
+	 * A polygon describing one side of a tab together with the parameters
+	 * that were used to create the polygon.
+	 * @author Benjamin Sigg
+	 */
+	private static class CachedSide{
+		private int x;
+		private int y;
+		private int width;
+		private int height;
+		private int labelMin;
+		private TabPlacement orientation;
+		/** the cached polygon, <code>null</code> if nothing is cached */
+		private Polygon polygon;
+		
+		/**
+		 * Tells whether the cached polygon was created with the given parameters.
+		 * @param x the x coordinate of the area
+		 * @param y the y coordinate of the area
+		 * @param width the width of the area
+		 * @param height the height of the area
+		 * @param labelMin the minimal space required by the label
+		 * @param orientation the orientation of the tab
+		 * @return whether {@link #polygon} can be reused
+		 */
+		public boolean matches( int x, int y, int width, int height, int labelMin, TabPlacement orientation ){
+			return polygon != null && this.x == x && this.y == y && this.width == width && this.height == height &&
+				this.labelMin == labelMin && this.orientation == orientation;
+		}
+		
+		/**
+		 * Stores a new polygon in this cache.
+		 * @param x the x coordinate of the area
+		 * @param y the y coordinate of the area
+		 * @param width the width of the area
+		 * @param height the height of the area
+		 * @param labelMin the minimal space required by the label
+		 * @param orientation the orientation of the tab
+		 * @param polygon the new polygon
+		 */
+		public void set( int x, int y, int width, int height, int labelMin, TabPlacement orientation, Polygon polygon ){
+			this.x = x;
+			this.y = y;
+			this.width = width;
+			this.height = height;
+			this.labelMin = labelMin;
+			this.orientation = orientation;
+			this.polygon = polygon;
+		}
+	}
 }
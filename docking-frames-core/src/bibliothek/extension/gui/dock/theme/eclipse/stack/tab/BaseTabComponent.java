@@ -28,8 +28,10 @@ package bibliothek.extension.gui.dock.theme.eclipse.stack.tab;
 import java.awt.Color;
 import java.awt.Component;
 import java.awt.Dimension;
+import java.awt.GradientPaint;
 import java.awt.Graphics;
 import java.awt.Insets;
+import java.awt.Paint;
 import java.awt.Point;
 import java.awt.Window;
 import java.awt.event.MouseListener;
@@ -165,6 +167,11 @@ public abstract class BaseTabComponent extends ConfiguredBackgroundPanel impleme
     
     private TabComponentLayoutManager layoutManager;
     
+    /** the gradient that was used the last time {@link #getGradient(Color, Color, int, int, boolean)} was called */
+    private GradientPaint gradient;
+    /** whether {@link #gradient} runs from top to bottom */
+    private boolean gradientTopToBottom;
+    
     /**
      * Creates a new {@link TabComponent}
      * @param pane the owner of this tab, not <code>null</code>
@@ -517,6 +524,52 @@ public abstract class BaseTabComponent extends ConfiguredBackgroundPanel impleme
     	}
     }
     
+    /**
+     * Gets a {@link Paint} that changes from <code>top</code> to <code>bottom</code>. The
+     * gradient is cached and reused as long as size, direction and colors do not change.
+     * @param top the first color
+     * @param bottom the last color
+     * @param width the width of the painted area
+     * @param height the height of the painted area
+     * @param topToBottom if <code>true</code> the gradient runs from top to bottom,
+     * otherwise from left to right
+     * @return the paint, <code>top</code> if both colors are equal
+     */
+    protected Paint getGradient( Color top, Color bottom, int width, int height, boolean topToBottom ){
+    	if( top.equals( bottom )){
+    		return top;
+    	}
+    	
+    	if( gradient != null && gradientTopToBottom == topToBottom && gradient.getColor1().equals( top ) && gradient.getColor2().equals( bottom )){
+    		if( topToBottom ){
+    			if( gradient.getPoint2().getY() == height ){
+    				return gradient;
+    			}
+    		}
+    		else if( gradient.getPoint2().getX() == width ){
+    			return gradient;
+    		}
+    	}
+    	
+    	if( topToBottom ){
+    		gradient = new GradientPaint( 0, 0, top, 0, height, bottom );
+    	}
+    	else{
+    		gradient = new GradientPaint( 0, 0, top, width, 0, bottom );
+    	}
+    	gradientTopToBottom = topToBottom;
+    	return gradient;
+    }
+    
+    /**
+     * Called when one of the colors of this tab changed, discards all the
+     * shapes and paints that were cached for painting this tab. Subclasses 
+     * overriding this method should call the original method.
+     */
+    protected void discardPaintCache(){
+    	gradient = null;
+    }
+    
     /**
      * Gets the parent of this component.
      * @return the owner
@@ -891,6 +944,7 @@ public abstract class BaseTabComponent extends ConfiguredBackgroundPanel impleme
         }
         @Override
         protected void changed( Color oldColor, Color newColor ) {
+            discardPaintCache();
             updateColors();
         }
     }
@@ -27,7 +27,6 @@ package bibliothek.extension.gui.dock.theme.eclipse.stack.tab;
 
 import java.awt.Color;
 import java.awt.Dimension;
-import java.awt.GradientPaint;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.Insets;
@@ -274,24 +273,11 @@ public class RectGradientPainter extends BaseTabComponent {
         	color2 = temp;
         }
 		
-        GradientPaint gradient = null;
-        if( !color1.equals( color2 )){
-        	if( orientation.isHorizontal() ){
-        		gradient = new GradientPaint( 0, 0, color1, 0, height, color2 );		
-        	}
-        	else{
-        		gradient = new GradientPaint( 0, 0, color1, width, 0, color2 );
-        	}
-        }
-        
 		int tabIndex = getTabIndex();
 		
 		g2d.setColor( lineColor );
 		Paint old = g2d.getPaint();
-        if( gradient != null )
-            g2d.setPaint(gradient);
-        else
-            g2d.setPaint( color1 );
+		g2d.setPaint( getGradient( color1, color2, width, height, orientation.isHorizontal() ) );
 		
 		if (isSelected) {
 			paintSelected( g2d, tabIndex, old );
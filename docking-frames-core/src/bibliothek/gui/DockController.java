@@ -44,6 +44,7 @@ import java.util.Map;
 import java.util.ResourceBundle;
 import java.util.Set;
 
+import javax.management.JMException;
 import javax.swing.Icon;
 import javax.swing.KeyStroke;
 import javax.swing.SwingUtilities;
@@ -81,6 +82,11 @@ import bibliothek.gui.dock.control.focus.FocusController;
 import bibliothek.gui.dock.control.focus.FocusHistory;
 import bibliothek.gui.dock.control.focus.FocusRequest;
 import bibliothek.gui.dock.control.focus.MouseFocusObserver;
+import bibliothek.gui.dock.control.metrics.DockControllerMetrics;
+import bibliothek.gui.dock.control.watchdog.EdtWatchdog;
+import bibliothek.gui.dock.control.watchdog.OperationMarkers;
+import bibliothek.gui.dock.dockable.DockableStateEventCoalescer;
+import bibliothek.gui.dock.dockable.DockableStateListenerManager;
 import bibliothek.gui.dock.event.ControllerSetupListener;
 import bibliothek.gui.dock.event.DockControllerRepresentativeListener;
 import bibliothek.gui.dock.event.DockRegisterAdapter;
@@ -94,6 +100,7 @@ import bibliothek.gui.dock.event.DockableFocusListener;
 import bibliothek.gui.dock.event.DockableListener;
 import bibliothek.gui.dock.event.DockableSelectionEvent;
 import bibliothek.gui.dock.event.DockableSelectionListener;
+import bibliothek.gui.dock.station.split.SplitDividerCursorService;
 import bibliothek.gui.dock.themes.ThemeManager;
 import bibliothek.gui.dock.title.ActivityDockTitleEvent;
 import bibliothek.gui.dock.title.DockTitle;
@@ -182,6 +189,9 @@ public class DockController {
     /** central collection of {@link MouseEvent}s */
     private GlobalMouseDispatcher mouseDispatcher;
     
+    /** forwards global mouse events to the dividers of the {@link SplitDockStation}s */
+    private SplitDividerCursorService splitDividerCursorService;
+    
     /** class managing focus transfer between {@link Dockable}s */
     private FocusController focusController;
     
@@ -250,6 +260,15 @@ public class DockController {
     /** ensurance against concurrent modifications */
     private DockHierarchyLock lock = new DockHierarchyLock();
     
+    /** collects the delayed events of all {@link DockableStateListenerManager}s */
+    private DockableStateEventCoalescer dockableStateEventCoalescer = new DockableStateEventCoalescer( this );
+    
+    /** counts and measures the operations of this controller */
+    private DockControllerMetrics metrics = new DockControllerMetrics();
+    
+    /** the long running operations of this controller that are currently executed */
+    private OperationMarkers operationMarkers = new OperationMarkers();
+    
     /** whether {@link #showCoreWarning()} actually opens a dialog */
     private static boolean showCoreWarning = true;
     
@@ -318,6 +337,8 @@ public class DockController {
         if( factory == null )
             throw new IllegalArgumentException( "Factory must not be null" );
         
+        lock.setOperationMarkers( operationMarkers );
+        
         extensions = factory.createExtensionManager( this, setup );
         
         properties = new DockProperties( this );
@@ -384,6 +405,7 @@ public class DockController {
         keyboardController = factory.createKeyboardController( this, setup );
         dockableSelector = factory.createDockableSelector( this, setup );
         mouseDispatcher = factory.createGlobalMouseDispatcher( this, setup );
+        splitDividerCursorService = new SplitDividerCursorService( this );
         dockComponentManager = factory.createDockComponentManager( this, setup );
         
         extensions.init();
@@ -453,7 +475,15 @@ public class DockController {
 	    keyboardController.kill();
 	    theme.kill();
 	    extensions.kill();
+	    splitDividerCursorService.kill();
 	    mouseDispatcher.kill();
+	    try{
+	    	metrics.unregisterMBean();
+	    }
+	    catch( JMException e ){
+	    	// the metrics are optional, failing to unregister them must not stop the teardown
+	    	e.printStackTrace();
+	    }
     }
     
     /**
@@ -509,6 +539,15 @@ public class DockController {
 		return mouseDispatcher;
 	}
     
+    /**
+     * Gets the service which forwards global {@link MouseEvent}s to the dividers of all the
+     * {@link SplitDockStation}s of this controller.
+     * @return the service, not <code>null</code>
+     */
+    public SplitDividerCursorService getSplitDividerCursorService(){
+    	return splitDividerCursorService;
+    }
+    
     /**
      * Gets the set of {@link Dockable Dockables} and {@link DockStation DockStations}
      * known to this controller.
@@ -603,6 +642,33 @@ public class DockController {
 		return lock;
 	}
     
+    /**
+     * Gets the object that collects the delayed events of the {@link DockableStateListenerManager}s of all
+     * the {@link Dockable}s in the realm of this controller, and fires them together.
+     * @return the coalescer, not <code>null</code>
+     */
+    public DockableStateEventCoalescer getDockableStateEventCoalescer(){
+		return dockableStateEventCoalescer;
+	}
+    
+    /**
+     * Gets the instrumentation of this controller. The metrics count and measure operations like
+     * drag and drop, reading layouts or transferring the focus. The metrics are disabled by default.
+     * @return the metrics, not <code>null</code>
+     */
+    public DockControllerMetrics getMetrics(){
+		return metrics;
+	}
+    
+    /**
+     * Gets the markers of the long running operations of this controller, like applying a layout or
+     * changing the theme. The markers are only collected while an {@link EdtWatchdog} observes this controller.
+     * @return the markers, not <code>null</code>
+     */
+    public OperationMarkers getOperationMarkers(){
+		return operationMarkers;
+	}
+    
     /**
      * Freezes the layout. Normally if a client makes a change in the layout
      * (e.g. remove a {@link Dockable} from its parent) additional actions
@@ -27,6 +27,8 @@
 package bibliothek.gui;
 
 import java.awt.Window;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
@@ -37,9 +39,13 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
 
 import javax.swing.Icon;
 import javax.swing.KeyStroke;
@@ -57,6 +63,7 @@ import bibliothek.gui.dock.action.DockActionText;
 import bibliothek.gui.dock.action.LocationHint;
 import bibliothek.gui.dock.action.actions.SimpleButtonAction;
 import bibliothek.gui.dock.control.DockRegister;
+import bibliothek.gui.dock.control.watchdog.OperationMarkers;
 import bibliothek.gui.dock.dockable.DefaultDockableFactory;
 import bibliothek.gui.dock.event.DockFrontendListener;
 import bibliothek.gui.dock.event.DockRegisterAdapter;
@@ -80,6 +87,7 @@ import bibliothek.gui.dock.layout.DockSituation;
 import bibliothek.gui.dock.layout.DockSituationIgnore;
 import bibliothek.gui.dock.layout.DockableProperty;
 import bibliothek.gui.dock.layout.DockablePropertyFactory;
+import bibliothek.gui.dock.layout.LayoutReaderTask;
 import bibliothek.gui.dock.layout.PredefinedDockSituation;
 import bibliothek.gui.dock.layout.PropertyTransformer;
 import bibliothek.gui.dock.layout.location.AsideAnswer;
@@ -1616,6 +1624,7 @@ public class DockFrontend {
      * be the same as was used when {@link #getSetting(boolean)} was called.
      */
     public void setSetting( Setting setting, boolean entry ){
+    	OperationMarkers.Marker marker = controller.getOperationMarkers().begin( "DockFrontend.setSetting" );
         try{
             onAutoFire++;
             controller.getRegister().setStalled( true );
@@ -1639,6 +1648,7 @@ public class DockFrontend {
         finally{
             onAutoFire--;
             controller.getRegister().setStalled( false );
+            controller.getOperationMarkers().end( marker );
         }
         
         for( DockInfo info : dockables.values() ){
@@ -1953,6 +1963,41 @@ public class DockFrontend {
      * @throws IOException if there are any problems
      */
     public void writeBlop( SettingsBlop blop, DataOutputStream out ) throws IOException{
+    	writeBlop( blop, out, null );
+    }
+    
+    /**
+     * Prepares writing all settings of this frontend on another thread. This method takes a snapshot of
+     * the current layout, like {@link #writeBlop()} does, and creates the {@link DockSituation}s that are
+     * required to encode the snapshot, hence it must be called on the event dispatch thread. The returned
+     * {@link Callable} can then be called by any thread, it encodes the snapshot without accessing this
+     * frontend. The {@link DockFactory}s of this frontend must be able to write their layouts on that thread,
+     * the layouts themselves are no longer changed by the frontend.
+     * @return the encoder, its result is the same as the data {@link #write(DataOutputStream)} would write
+     * @see #prepareWriteXML(XElement)
+     */
+    public Callable<byte[]> prepareWrite(){
+    	final SettingsBlop blop = writeBlop();
+    	final SettingsWriter writer = new SettingsWriter();
+    	return new Callable<byte[]>(){
+    		public byte[] call() throws IOException{
+    			ByteArrayOutputStream bout = new ByteArrayOutputStream();
+    			DataOutputStream out = new DataOutputStream( bout );
+    			writeBlop( blop, out, writer );
+    			out.close();
+    			return bout.toByteArray();
+    		}
+    	};
+    }
+    
+    /**
+     * Writes the contents of <code>blop</code> into <code>out</code>.
+     * @param blop the {@link Setting}s to write
+     * @param out the stream to write into
+     * @param writer the situations to use, <code>null</code> if the situations should be created while writing
+     * @throws IOException if there are any problems
+     */
+    private void writeBlop( SettingsBlop blop, DataOutputStream out, SettingsWriter writer ) throws IOException{
     	Version.write( out, Version.VERSION_1_1_1a );
     	
     	String currentSetting = blop.getCurrentName();
@@ -1968,10 +2013,20 @@ public class DockFrontend {
         out.writeInt( names.length );
         for( String name : names ){
             out.writeUTF( name );
-            write( blop.getSetting( name ), true, out );
+            if( writer == null ){
+            	write( blop.getSetting( name ), true, out );
+            }
+            else{
+            	writer.write( blop.getSetting( name ), true, out );
+            }
         }
         
-        write( blop.getCurrentSetting(), false, out );
+        if( writer == null ){
+        	write( blop.getCurrentSetting(), false, out );
+        }
+        else{
+        	writer.write( blop.getCurrentSetting(), false, out );
+        }
     }
     
     /**
@@ -2020,6 +2075,110 @@ public class DockFrontend {
      * @throws IOException if <code>in</code> cannot be read properly
      */
     public SettingsBlop readBlop( DataInputStream in ) throws IOException{
+    	return readBlop( in, null );
+    }
+    
+    /**
+     * Reads the settings stored in <code>data</code> and applies them to this frontend. The {@link DockSituation}s
+     * required to decode <code>data</code> are created by this method, decoding <code>data</code> then happens on
+     * a thread of <code>executor</code>. Only applying the settings happens on the event dispatch thread.<br>
+     * This method must be called on the event dispatch thread. The factories of this frontend should not be changed
+     * until the returned {@link Future} is done. The {@link Setting}s are {@link #createSetting() created} by this method
+     * too, only reading <code>data</code> into them happens on the background thread. Filling in missing layouts
+     * and removing invalid placeholders happens when the settings are applied.
+     * @param data the settings to read, as written by {@link #write(DataOutputStream)}
+     * @param keepExistingSettings whether to keep or to delete (see {@link #deleteAll()}) the
+     * existing settings.
+     * @param executor the executor which decodes <code>data</code>, not <code>null</code>
+     * @return a future which is done once the settings have been applied
+     */
+    public Future<SettingsBlop> readAsync( final byte[] data, final boolean keepExistingSettings, Executor executor ){
+    	final Callable<SettingsBlop> decoder;
+    	try{
+    		decoder = prepareRead( data );
+    	}
+    	catch( final IOException e ){
+    		// the data is invalid, the exception is reported by the future
+    		return new LayoutReaderTask<SettingsBlop>(){
+    			@Override
+    			protected SettingsBlop decode() throws IOException{
+    				throw e;
+    			}
+    			
+    			@Override
+    			protected void apply( SettingsBlop blop ){
+    				readBlop( blop, keepExistingSettings );
+    			}
+    		}.start( executor );
+    	}
+    	return new LayoutReaderTask<SettingsBlop>(){
+    		@Override
+    		protected SettingsBlop decode() throws Exception{
+    			return decoder.call();
+    		}
+    		
+    		@Override
+    		protected void apply( SettingsBlop blop ){
+    			readBlop( blop, keepExistingSettings );
+    		}
+    	}.start( executor );
+    }
+    
+    /**
+     * Prepares decoding <code>data</code> on another thread. This method creates all the {@link DockSituation}s and
+     * {@link Setting}s that are required to decode <code>data</code>, hence it must be called on the event dispatch thread.
+     * The returned {@link Callable} can then be called by any thread, it decodes <code>data</code> without accessing
+     * this frontend. The result can be applied with {@link #readBlop(SettingsBlop, boolean)}.
+     * @param data the settings to read, as written by {@link #write(DataOutputStream)}
+     * @return the decoder, can be called only once
+     * @throws IOException if the header of <code>data</code> cannot be read
+     * @see #readAsync(byte[], boolean, Executor)
+     */
+    public Callable<SettingsBlop> prepareRead( final byte[] data ) throws IOException{
+    	final SettingsReader reader = new SettingsReader( countSettings( data ) );
+    	return new Callable<SettingsBlop>(){
+    		public SettingsBlop call() throws IOException{
+    			DataInputStream in = new DataInputStream( new ByteArrayInputStream( data ) );
+    			try{
+    				return readBlop( in, reader );
+    			}
+    			finally{
+    				in.close();
+    			}
+    		}
+    	};
+    }
+    
+    /**
+     * Reads only the header of <code>data</code> and tells how many {@link Setting}s are stored in <code>data</code>.
+     * @param data the settings as written by {@link #write(DataOutputStream)}
+     * @return the number of settings, including the current setting
+     * @throws IOException if <code>data</code> cannot be read properly
+     */
+    private int countSettings( byte[] data ) throws IOException{
+    	DataInputStream in = new DataInputStream( new ByteArrayInputStream( data ) );
+    	try{
+    		Version version = Version.read( in );
+    		version.checkCurrent();
+    		if( in.readBoolean() ){
+    			in.readUTF();
+    		}
+    		return in.readInt() + 1;
+    	}
+    	finally{
+    		in.close();
+    	}
+    }
+    
+    /**
+     * Reads the settings of this frontend from <code>in</code>.
+     * @param in the stream to read from
+     * @param reader the factories to use, <code>null</code> if the factories should be collected 
+     * while reading
+     * @return the {@link Setting}s that were read
+     * @throws IOException if <code>in</code> cannot be read properly
+     */
+    private SettingsBlop readBlop( DataInputStream in, SettingsReader reader ) throws IOException{
     	SettingsBlop blop = new SettingsBlop();
     	
     	Version version = Version.read( in );
@@ -2033,11 +2192,11 @@ public class DockFrontend {
         int count = in.readInt();
         for( int i = 0; i < count; i++ ){
             String key = in.readUTF();
-            Setting setting = read( true, in );
+            Setting setting = reader == null ? read( true, in ) : reader.read( true, in );
             blop.put( key, setting );
         }
         
-        blop.setCurrent( currentSetting, read( false, in ) );
+        blop.setCurrent( currentSetting, reader == null ? read( false, in ) : reader.read( false, in ) );
         return blop;
     }
     
@@ -2078,6 +2237,36 @@ public class DockFrontend {
      * change the attributes of <code>element</code>
      */
     public void writeBlopXML( SettingsBlop blop, XElement element ){
+    	writeBlopXML( blop, element, null );
+    }
+    
+    /**
+     * Prepares writing all settings of this frontend on another thread. This method behaves like
+     * {@link #prepareWrite()}, it must be called on the event dispatch thread while the returned
+     * {@link Callable} can be called by any thread.
+     * @param element the element to write into once the {@link Callable} is called, the element must not
+     * be accessed by any other thread until the {@link Callable} returns
+     * @return the encoder, writes the same data into <code>element</code> as {@link #writeXML(XElement)} would,
+     * its result is <code>element</code>
+     */
+    public Callable<XElement> prepareWriteXML( final XElement element ){
+    	final SettingsBlop blop = writeBlop();
+    	final SettingsWriter writer = new SettingsWriter();
+    	return new Callable<XElement>(){
+    		public XElement call(){
+    			writeBlopXML( blop, element, writer );
+    			return element;
+    		}
+    	};
+    }
+    
+    /**
+     * Writes all the {@link Setting}s of <code>blop</code> into <code>element</code>.
+     * @param blop the settings to write
+     * @param element the element to write into
+     * @param writer the situations to use, <code>null</code> if the situations should be created while writing
+     */
+    private void writeBlopXML( SettingsBlop blop, XElement element, SettingsWriter writer ){
     	String[] names = blop.getNames();
     	
     	if( names.length > 0 ){
@@ -2085,7 +2274,12 @@ public class DockFrontend {
             for( String name : names ){
             	XElement xsetting = xsettings.addElement( "setting" );
                 xsetting.addString( "name", name );
-                writeXML( blop.getSetting( name ), true, xsetting );
+                if( writer == null ){
+                	writeXML( blop.getSetting( name ), true, xsetting );
+                }
+                else{
+                	writer.writeXML( blop.getSetting( name ), true, xsetting );
+                }
             }
         }
         
@@ -2094,7 +2288,12 @@ public class DockFrontend {
         if( current != null )
             xcurrent.addString( "name", current );
         
-        writeXML( blop.getCurrentSetting(), false, xcurrent );
+        if( writer == null ){
+        	writeXML( blop.getCurrentSetting(), false, xcurrent );
+        }
+        else{
+        	writer.writeXML( blop.getCurrentSetting(), false, xcurrent );
+        }
     }
     
     /**
@@ -2138,13 +2337,74 @@ public class DockFrontend {
      * @return all the layouts stored in <code>element</code>
      */
     public SettingsBlop readBlopXML( XElement element ){
+    	return readBlopXML( element, null );
+    }
+    
+    /**
+     * Reads the settings stored in <code>element</code> and applies them to this frontend. This method
+     * behaves like {@link #readAsync(byte[], boolean, Executor)}, the {@link DockSituation}s are created
+     * on the calling thread, <code>element</code> is decoded by <code>executor</code> and the settings are
+     * applied on the event dispatch thread.
+     * @param element the element to read
+     * @param keepExistingSettings whether to keep or to delete (see {@link #deleteAll()}) the
+     * existing settings.
+     * @param executor the executor which decodes <code>element</code>, not <code>null</code>
+     * @return a future which is done once the settings have been applied
+     */
+    public Future<SettingsBlop> readXMLAsync( final XElement element, final boolean keepExistingSettings, Executor executor ){
+    	final Callable<SettingsBlop> decoder = prepareReadXML( element );
+    	return new LayoutReaderTask<SettingsBlop>(){
+    		@Override
+    		protected SettingsBlop decode() throws Exception{
+    			return decoder.call();
+    		}
+    		
+    		@Override
+    		protected void apply( SettingsBlop blop ){
+    			readBlop( blop, keepExistingSettings );
+    		}
+    	}.start( executor );
+    }
+    
+    /**
+     * Prepares decoding <code>element</code> on another thread. This method behaves like {@link #prepareRead(byte[])},
+     * it must be called on the event dispatch thread while the returned {@link Callable} can be called by any thread.
+     * @param element the element to read, as written by {@link #writeXML(XElement)}
+     * @return the decoder, can be called only once
+     * @see #readXMLAsync(XElement, boolean, Executor)
+     */
+    public Callable<SettingsBlop> prepareReadXML( final XElement element ){
+    	int count = 0;
+    	XElement xsettings = element.getElement( "settings" );
+    	if( xsettings != null ){
+    		count += xsettings.getElements( "setting" ).length;
+    	}
+    	if( element.getElement( "current" ) != null ){
+    		count++;
+    	}
+    	final SettingsReader reader = new SettingsReader( count );
+    	return new Callable<SettingsBlop>(){
+    		public SettingsBlop call(){
+    			return readBlopXML( element, reader );
+    		}
+    	};
+    }
+    
+    /**
+     * Reads the contents of <code>element</code>.
+     * @param element the element to read
+     * @param reader the factories to use, <code>null</code> if the factories should be collected 
+     * while reading
+     * @return all the layouts stored in <code>element</code>
+     */
+    private SettingsBlop readBlopXML( XElement element, SettingsReader reader ){
     	SettingsBlop blop = new SettingsBlop();
     	
         XElement xsettings = element.getElement( "settings" );
         if( xsettings != null ){
             for( XElement xsetting : xsettings.getElements( "setting" )){
                 String key = xsetting.getString( "name" );
-                Setting setting = readXML( true, xsetting );
+                Setting setting = reader == null ? readXML( true, xsetting ) : reader.readXML( true, xsetting );
                 blop.put( key, setting );
             }
         }
@@ -2157,7 +2417,7 @@ public class DockFrontend {
             	name = xname.getString();
             }
             
-            blop.setCurrent( name, readXML( false, xcurrent) );
+            blop.setCurrent( name, reader == null ? readXML( false, xcurrent ) : reader.readXML( false, xcurrent ) );
         }
         return blop;
     }
@@ -2223,7 +2483,9 @@ public class DockFrontend {
     
     /**
      * Creates a bag that contains all information needed to describe the 
-     * current set of properties.
+     * current set of properties. This method is always called on the event dispatch
+     * thread, even when {@link #readAsync(byte[], boolean, Executor) reading asynchronously}
+     * all the bags are created before the background thread starts decoding.
      * @return the new bag
      */
     protected Setting createSetting(){
@@ -2451,6 +2713,124 @@ public class DockFrontend {
             listener.deleted( this, name );
     }
 
+    /**
+     * Collects the {@link DockSituation}s, {@link PropertyTransformer}s and {@link Setting}s that are required to read
+     * {@link Setting}s. All of them are created when the reader is created, afterwards the reader
+     * can be used on any thread. The reader neither validates placeholders nor fills in missing layouts, both
+     * need the factories and properties of this frontend and happen when the settings are applied.
+     * @author Benjamin Sigg
+     */
+    private class SettingsReader{
+    	private DockSituation entrySituation;
+    	private DockSituation finalSituation;
+    	private PropertyTransformer entryProperties;
+    	private PropertyTransformer finalProperties;
+    	/** the empty settings that are filled by {@link #read(boolean, DataInputStream)} and {@link #readXML(boolean, XElement)} */
+    	private LinkedList<Setting> settings = new LinkedList<Setting>();
+    	
+    	/**
+    	 * Creates a new reader, must be called on the event dispatch thread.
+    	 * @param count the number of {@link Setting}s that will be read
+    	 */
+    	public SettingsReader( int count ){
+    		Internals internals = new Internals();
+    		entrySituation = layoutChangeStrategy.createSituation( internals, true );
+    		finalSituation = layoutChangeStrategy.createSituation( internals, false );
+    		entrySituation.setIntermediatePlaceholders( null );
+    		finalSituation.setIntermediatePlaceholders( null );
+    		entryProperties = layoutChangeStrategy.createTransformer( internals );
+    		finalProperties = layoutChangeStrategy.createTransformer( internals );
+    		for( int i = 0; i < count; i++ ){
+    			settings.add( createSetting() );
+    		}
+    	}
+    	
+    	/**
+    	 * Gets the next empty {@link Setting}.
+    	 * @return the next setting
+    	 * @throws IllegalStateException if there are more settings to read than announced
+    	 */
+    	private Setting nextSetting(){
+    		if( settings.isEmpty() ){
+    			throw new IllegalStateException( "more settings are read than were announced" );
+    		}
+    		return settings.removeFirst();
+    	}
+    	
+    	/**
+    	 * Reads one {@link Setting}.
+    	 * @param entry whether the setting is an ordinary entry
+    	 * @param in the stream to read from
+    	 * @return the new setting
+    	 * @throws IOException if an I/O-error occurs
+    	 */
+    	public Setting read( boolean entry, DataInputStream in ) throws IOException{
+    		Setting setting = nextSetting();
+    		DockSituation situation = entry ? entrySituation : finalSituation;
+    		setting.read( situation, entry ? entryProperties : finalProperties, entry, in );
+    		return setting;
+    	}
+    	
+    	/**
+    	 * Reads one {@link Setting}.
+    	 * @param entry whether the setting is an ordinary entry
+    	 * @param element the element to read
+    	 * @return the new setting
+    	 */
+    	public Setting readXML( boolean entry, XElement element ){
+    		Setting setting = nextSetting();
+    		DockSituation situation = entry ? entrySituation : finalSituation;
+    		setting.readXML( situation, entry ? entryProperties : finalProperties, entry, element );
+    		return setting;
+    	}
+    }
+    
+    /**
+     * The {@link DockSituation}s and {@link PropertyTransformer}s used to encode {@link Setting}s
+     * on another thread than the event dispatch thread.
+     * @author Benjamin Sigg
+     */
+    private class SettingsWriter{
+    	private DockSituation entrySituation;
+    	private DockSituation finalSituation;
+    	private PropertyTransformer entryProperties;
+    	private PropertyTransformer finalProperties;
+    	
+    	/**
+    	 * Creates a new writer, must be called on the event dispatch thread.
+    	 */
+    	public SettingsWriter(){
+    		Internals internals = new Internals();
+    		entrySituation = layoutChangeStrategy.createSituation( internals, true );
+    		finalSituation = layoutChangeStrategy.createSituation( internals, false );
+    		entryProperties = layoutChangeStrategy.createTransformer( internals );
+    		finalProperties = layoutChangeStrategy.createTransformer( internals );
+    	}
+    	
+    	/**
+    	 * Writes one {@link Setting}.
+    	 * @param setting the setting to write
+    	 * @param entry whether the setting is an ordinary entry
+    	 * @param out the stream to write into
+    	 * @throws IOException if an I/O-error occurs
+    	 */
+    	public void write( Setting setting, boolean entry, DataOutputStream out ) throws IOException{
+    		DockSituation situation = entry ? entrySituation : finalSituation;
+    		setting.write( situation, entry ? entryProperties : finalProperties, entry, out );
+    	}
+    	
+    	/**
+    	 * Writes one {@link Setting}.
+    	 * @param setting the setting to write
+    	 * @param entry whether the setting is an ordinary entry
+    	 * @param element the element to write into
+    	 */
+    	public void writeXML( Setting setting, boolean entry, XElement element ){
+    		DockSituation situation = entry ? entrySituation : finalSituation;
+    		setting.writeXML( situation, entry ? entryProperties : finalProperties, entry, element );
+    	}
+    }
+    
     /**
      * Internal information about this frontend.
      * @author Benjamin Sigg
@@ -45,7 +45,13 @@ import bibliothek.gui.dock.dockable.AbstractDockable;
 import bibliothek.gui.dock.dockable.DefaultDockableFactory;
 import bibliothek.gui.dock.dockable.DockableBackgroundComponent;
 import bibliothek.gui.dock.dockable.DockableIcon;
+import bibliothek.gui.dock.dockable.DockableStateEvent;
+import bibliothek.gui.dock.dockable.DockableStateListener;
 import bibliothek.gui.dock.dockable.IconHandling;
+import bibliothek.gui.dock.dockable.LazyContent;
+import bibliothek.gui.dock.event.DockHierarchyEvent;
+import bibliothek.gui.dock.event.DockHierarchyListener;
+import bibliothek.gui.dock.event.DockStationAdapter;
 import bibliothek.gui.dock.themes.ThemeManager;
 import bibliothek.gui.dock.util.BackgroundAlgorithm;
 import bibliothek.gui.dock.util.BackgroundPanel;
@@ -73,6 +79,12 @@ public class DefaultDockable extends AbstractDockable {
     /** the component that was set by the client */
     private WeakReference<Component> clientComponent;
     
+    /** creates the content of this dockable the first time it is showing, can be <code>null</code> */
+    private LazyContent lazyContent;
+    
+    /** waits until this dockable is showing in order to call {@link #createContent()} */
+    private LazyContentTrigger lazyContentTrigger;
+    
     /**
      * Constructs a new DefaultDockable
      */
@@ -300,12 +312,140 @@ public class DefaultDockable extends AbstractDockable {
         getContentPane().setLayout( layout );
     }
     
+    /**
+     * Sets a {@link LazyContent} that fills the {@link #getContentPane() content pane} of this
+     * dockable the first time the dockable {@link #isDockableShowing() is showing}. Until then the
+     * content pane remains as it is, usually empty. Using lazy content allows applications to
+     * create many dockables, e.g. when loading a layout, without creating the content of 
+     * dockables that are hidden behind other tabs or that are minimized.
+     * @param content the content to create later, can be <code>null</code> to cancel the creation
+     * of content that was set earlier
+     */
+    public void setLazyContent( LazyContent content ){
+    	if( lazyContentTrigger != null ){
+    		lazyContentTrigger.uninstall();
+    		lazyContentTrigger = null;
+    	}
+    	
+    	lazyContent = content;
+    	
+    	if( content != null ){
+    		if( isDockableShowing() ){
+    			createContent();
+    		}
+    		else{
+    			lazyContentTrigger = new LazyContentTrigger();
+    			lazyContentTrigger.install();
+    		}
+    	}
+    }
+    
+    /**
+     * Gets the {@link LazyContent} whose content was not yet created.
+     * @return the content that is still waiting to be created, or <code>null</code>
+     * @see #setLazyContent(LazyContent)
+     */
+    public LazyContent getLazyContent(){
+		return lazyContent;
+	}
+    
+    /**
+     * Creates the content of this dockable using the {@link LazyContent} that was set
+     * by {@link #setLazyContent(LazyContent)}. This method is called automatically the
+     * first time this dockable is showing, but clients may call it earlier if they
+     * require access to the content. Nothing happens if the content was already created.
+     */
+    public void createContent(){
+    	LazyContent content = lazyContent;
+    	if( content != null ){
+    		setLazyContent( null );
+    		content.createContent( getContentPane() );
+    		pane.revalidate();
+    		pane.repaint();
+    	}
+    }
+    
     @Override
     public void setController( DockController controller ){
     	super.setController( controller );
     	background.setController( controller );
     }
     
+    /**
+     * Calls {@link DefaultDockable#createContent()} as soon as this dockable is showing. The parent
+     * station informs this trigger synchronously about the visibility of its children, hence the
+     * content is created before the dockable is laid out for the first time. The delayed
+     * {@link DockableStateEvent}s are only observed in case some station does not fire such events.
+     * @author Benjamin Sigg
+     */
+    private class LazyContentTrigger extends DockStationAdapter implements DockHierarchyListener, DockableStateListener{
+    	/** the station to which this trigger is currently added */
+    	private DockStation parent;
+    	
+    	/**
+    	 * Adds this trigger to the dockable and its parent.
+    	 */
+    	public void install(){
+    		addDockHierarchyListener( this );
+    		addDockableStateListener( this );
+    		setParent( getDockParent() );
+    	}
+    	
+    	/**
+    	 * Removes this trigger from the dockable and its parent.
+    	 */
+    	public void uninstall(){
+    		removeDockHierarchyListener( this );
+    		removeDockableStateListener( this );
+    		setParent( null );
+    	}
+    	
+    	/**
+    	 * Moves this trigger to a new parent station.
+    	 * @param parent the new parent, can be <code>null</code>
+    	 */
+    	private void setParent( DockStation parent ){
+    		if( this.parent != parent ){
+    			if( this.parent != null ){
+    				this.parent.removeDockStationListener( this );
+    			}
+    			this.parent = parent;
+    			if( parent != null ){
+    				parent.addDockStationListener( this );
+    			}
+    		}
+    	}
+    	
+    	/**
+    	 * Creates the content if the dockable is showing.
+    	 */
+    	private void check(){
+    		if( isDockableShowing() ){
+    			createContent();
+    		}
+    	}
+    	
+    	@Override
+    	public void dockableShowingChanged( DockStation station, Dockable dockable, boolean showing ){
+    		if( dockable == DefaultDockable.this && showing ){
+    			check();
+    		}
+    	}
+    	
+    	public void hierarchyChanged( DockHierarchyEvent event ){
+    		setParent( getDockParent() );
+    		check();
+    	}
+    	
+    	public void controllerChanged( DockHierarchyEvent event ){
+    		check();
+    	}
+    	
+    	public void changed( DockableStateEvent event ){
+    		check();
+    	}
+    }
+    
     /**
      * A representation of the background of this {@link Dockable}.
      * @author Benjamin Sigg
@@ -34,6 +34,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import bibliothek.gui.DockController;
 import bibliothek.gui.DockStation;
 import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.control.watchdog.OperationMarkers;
 
 /**
  * The {@link DockHierarchyLock} allows {@link DockStation}s to defend
@@ -58,6 +59,18 @@ public class DockHierarchyLock {
 	/** whether a {@link Runnable} from {@link #onRelease} is currently executed */
 	private boolean onReleaseRunning = false;
 	
+	/** marks the time while a {@link Token} is acquired, can be <code>null</code> */
+	private volatile OperationMarkers markers;
+	
+	/**
+	 * Sets the markers which are informed while a {@link Token} is acquired. This method is called
+	 * by the {@link DockController} that owns this lock.
+	 * @param markers the markers, can be <code>null</code>
+	 */
+	public void setOperationMarkers( OperationMarkers markers ){
+		this.markers = markers;
+	}
+	
 	/**
 	 * Sets whether exceptions should be thrown or only printed.
 	 * @param hardExceptions <code>true</code> if the exceptions should be thrown
@@ -98,6 +111,14 @@ public class DockHierarchyLock {
 		return concurrent > 0;
 	}
 	
+	/**
+	 * Tells whether a {@link Token} is currently acquired.
+	 * @return whether this lock is in use
+	 */
+	public synchronized boolean isLocked(){
+		return token != null;
+	}
+	
 	/**
 	 * Executes <code>run</code> once no {@link Token} is acquired anymore. The exact order of how and when
 	 * the {@link Runnable}s are executed is:
@@ -384,10 +405,11 @@ public class DockHierarchyLock {
 		private DockStation station;
 		private Dockable dockable;
 		private boolean link;
+		private OperationMarkers markers;
+		private OperationMarkers.Marker marker;
 		
 		private Token( DockHierarchyLock lock, DockStation station ){
-			this.lock = lock;
-			this.station = station;
+			this( lock, station, null, false );
 		}
 		
 		private Token( DockHierarchyLock lock, DockStation station, Dockable dockable, boolean link ){
@@ -395,6 +417,19 @@ public class DockHierarchyLock {
 			this.station = station;
 			this.dockable = dockable;
 			this.link = link;
+			if( lock != null ){
+				markers = lock.markers;
+				if( markers != null ){
+					marker = markers.begin( "DockHierarchyLock" );
+				}
+			}
+		}
+		
+		private void endMarker(){
+			if( marker != null ){
+				markers.end( marker );
+				marker = null;
+			}
 		}
 		
 		/**
@@ -407,6 +442,7 @@ public class DockHierarchyLock {
 		public void release(){
 			synchronized( this ){
 				if( lock != null ){
+					endMarker();
 					boolean release = lock.token == this;
 					if( release ){
 						lock.token = null;
@@ -434,6 +470,7 @@ public class DockHierarchyLock {
 		public void releaseNoCheck(){
 			synchronized( this ){
 				if( lock != null ){
+					endMarker();
 					lock.token = null;
 				}
 			}
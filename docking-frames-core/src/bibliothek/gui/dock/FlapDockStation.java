@@ -109,7 +109,6 @@ import bibliothek.gui.dock.station.support.ConvertedPlaceholderListItem;
 import bibliothek.gui.dock.station.support.DockablePlaceholderList;
 import bibliothek.gui.dock.station.support.DockableShowingManager;
 import bibliothek.gui.dock.station.support.Enforcement;
-import bibliothek.gui.dock.station.support.PlaceholderList;
 import bibliothek.gui.dock.station.support.PlaceholderList.Level;
 import bibliothek.gui.dock.station.support.PlaceholderListItem;
 import bibliothek.gui.dock.station.support.PlaceholderListItemAdapter;
@@ -476,6 +475,25 @@ public class FlapDockStation extends AbstractDockableStation {
     	return new ButtonPane( this );
     }
     
+    /**
+     * Sets whether the panel showing the buttons is virtualized. A virtualized panel creates only titles
+     * for the buttons that fit onto the panel, the other buttons can be reached by scrolling.
+     * @param virtualized whether to virtualize the buttons
+     * @see ButtonPane#setVirtualized(boolean)
+     */
+    public void setVirtualizedButtons( boolean virtualized ){
+    	buttonPane.setVirtualized( virtualized );
+    }
+    
+    /**
+     * Tells whether the buttons of this station are virtualized.
+     * @return whether only visible buttons have a title
+     * @see #setVirtualizedButtons(boolean)
+     */
+    public boolean isVirtualizedButtons(){
+    	return buttonPane.isVirtualized();
+    }
+    
     /**
      * Creates a {@link DockAction} that is added to all children
      * of this station. The action should change the <code>hold</code>
@@ -812,6 +830,9 @@ public class FlapDockStation extends AbstractDockableStation {
         }
         
         updateWindow( dockable, false );
+        if( dockable != null ){
+        	buttonPane.scrollTo( indexOf( dockable ) );
+        }
         
         if( getController() != null ){
         	if( oldFrontDockable != null ){
@@ -1826,6 +1847,18 @@ public class FlapDockStation extends AbstractDockableStation {
     	return handles.dockables().get( index ).getTitle();
     }
     
+    /**
+     * Tells whether the button of the <code>index</code>'th dockable is required. If not required,
+     * then no title is created for the dockable and {@link #getButton(int)} returns <code>null</code>.
+     * This method is used by a {@link ButtonPane#isVirtualized() virtualized} {@link ButtonPane}, clients
+     * should not call it.
+     * @param index the index of a {@link Dockable}
+     * @param required whether the title must exist
+     */
+    public void setButtonRequired( int index, boolean required ){
+    	handles.dockables().get( index ).setTitleRequired( required );
+    }
+    
     @Override
     public boolean isVisible( Dockable dockable ) {
         return isStationShowing() && (getFrontDockable() == dockable);
@@ -1923,6 +1956,7 @@ public class FlapDockStation extends AbstractDockableStation {
 	        }
 	        dockable.setDockParent( this );
 	        buttonPane.resetTitles(); // race condition, only required if not called from the EDT
+	        buttonPane.scrollTo( indexOf( dockable ) );
         
 	        listeners.fireDockableAdded( dockable );
         
@@ -2156,17 +2190,7 @@ public class FlapDockStation extends AbstractDockableStation {
      * @return the location or -1 if the child was not found
      */
     public int indexOf( Dockable dockable ){
-    	PlaceholderList.Filter<DockableHandle> list = handles.dockables();
-    	
-    	int index = 0;
-    	for( DockableHandle handle : list ){
-    		if( handle.getDockable() == dockable ){
-    			return index;
-    		}
-    		index++;
-    	}
-    	
-    	return -1;
+    	return handles.indexOfDockable( dockable );
     }
 
     private void checkShowing(){
@@ -2303,6 +2327,7 @@ public class FlapDockStation extends AbstractDockableStation {
     	    	}
     	    	handles.dockables().move( index, dropInfo.getIndex() );
     	    	buttonPane.resetTitles();
+    	    	buttonPane.scrollTo( dropInfo.getIndex() );
     	    	fireDockablesRepositioned( Math.min( index, dropInfo.getIndex() ), Math.max( index, dropInfo.getIndex() ) );
         	}
         }
@@ -2330,6 +2355,10 @@ public class FlapDockStation extends AbstractDockableStation {
     	private ButtonListener buttonListener;
     	/** the actions added by this station to {@link #dockable} */
     	private FlapDockStationSource actions;
+    	/** the version of {@link #title}, may be set even if {@link #title} is <code>null</code> */
+    	private DockTitleVersion titleVersion;
+    	/** whether {@link #title} should be created */
+    	private boolean titleRequired;
     	
     	/**
     	 * Creates a new wrapper around <code>dockable</code>
@@ -2347,6 +2376,7 @@ public class FlapDockStation extends AbstractDockableStation {
     	 */
     	public DockableHandle( Dockable dockable, boolean forceActionSourceCreation ){
     		this.dockable = dockable;
+    		titleRequired = !buttonPane.isVirtualized();
     		buttonListener = new ButtonListener( dockable );
     		if( holdAction != null || forceActionSourceCreation ){
     			actions = new FlapDockStationSource( FlapDockStation.this, dockable, holdAction );
@@ -2386,7 +2416,20 @@ public class FlapDockStation extends AbstractDockableStation {
     		return title.getAnswer();
     	}
     	
+    	/**
+    	 * Sets whether the title of this handle should actually be created. A title that is not
+    	 * required is not created, or removed if already created.
+    	 * @param required whether the title is required
+    	 */
+    	public void setTitleRequired( boolean required ){
+    		if( titleRequired != required ){
+    			titleRequired = required;
+    			setTitle( titleVersion );
+    		}
+    	}
+    	
     	public void setTitle( DockTitleVersion version ){
+    		titleVersion = version;
     		if( title != null ){
     			DockTitle answer = title.getAnswer();
     			if( answer != null ){
@@ -2398,7 +2441,7 @@ public class FlapDockStation extends AbstractDockableStation {
     			title = null;
     		}
     		
-    		if( version != null ){
+    		if( version != null && titleRequired ){
     			title = new DockTitleRequest( FlapDockStation.this, dockable, version ) {
 					@Override
 					protected void answer( DockTitle previous, DockTitle title ){
@@ -104,7 +104,6 @@ import bibliothek.gui.dock.station.support.ConvertedPlaceholderListItem;
 import bibliothek.gui.dock.station.support.DockablePlaceholderList;
 import bibliothek.gui.dock.station.support.DockableShowingManager;
 import bibliothek.gui.dock.station.support.Enforcement;
-import bibliothek.gui.dock.station.support.PlaceholderList.Filter;
 import bibliothek.gui.dock.station.support.PlaceholderList.Level;
 import bibliothek.gui.dock.station.support.PlaceholderListItemAdapter;
 import bibliothek.gui.dock.station.support.PlaceholderListItemConverter;
@@ -695,15 +694,7 @@ public class ScreenDockStation extends AbstractDockStation {
      * @return the index of the item or -1 if not found
      */
     public int indexOf( Dockable dockable ){
-    	Filter<ScreenDockWindowHandle> handles = dockables.dockables();
-    	
-    	for( int i = 0, n = handles.size(); i<n; i++ ){
-            ScreenDockWindowHandle window = handles.get( i );
-            if( window.asDockable() == dockable )
-                return i;
-        }
-        
-        return -1;
+    	return dockables.indexOfDockable( dockable );
     }
     
     public PlaceholderMapping getPlaceholderMapping() {
@@ -446,6 +446,15 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
 	/** the parent of all {@link DockableDisplayer}s */
 	private Content content;
 	
+	/** incremented whenever the sizes cached by the {@link SplitNode}s become invalid */
+	private int nodeSizeRevision = 0;
+	
+	/** whether the content pane is currently laying out its children */
+	private boolean layoutPassRunning = false;
+	
+	/** how many times the content pane was laid out */
+	private int layoutPassCount = 0;
+	
 	/** the background algorithm of this station */
 	private Background background = new Background();
 	
@@ -1717,7 +1726,24 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
 	protected void setDropInfo( PutInfo putInfo ){
 		this.putInfo = putInfo;
 		setPut( putInfo );
-		repaint();
+		repaintOverlay( getDropInfoBounds( putInfo ) );
+	}
+	
+	/**
+	 * Gets the area on which {@link #paintOverlay(Graphics)} paints the markings for <code>putInfo</code>.
+	 * @param putInfo the information about where an item is about to be dropped, can be <code>null</code>
+	 * @return the area that gets painted, <code>null</code> if nothing is painted
+	 */
+	private Rectangle getDropInfoBounds( PutInfo putInfo ){
+		if( putInfo == null || putInfo.willHaveNoEffect() ){
+			return null;
+		}
+		SplitNode node = putInfo.getNode();
+		if( node == null || node == getRoot() || node.getParent() == getRoot() ){
+			// the spans of the root may change the boundaries of all nodes
+			return new Rectangle( 0, 0, getWidth(), getHeight() );
+		}
+		return node.getBounds();
 	}
 	
 	/**
@@ -1734,7 +1760,7 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
 	protected void unsetDropInfo(){
 		this.putInfo = null;
 		unsetPut();
-		repaint();
+		repaintOverlay( null );
 	}
 	
 	/**
@@ -3223,6 +3249,44 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
 		}
 	}
 	
+	/**
+	 * Tells the {@link SplitNode}s of this station that their cached minimum and preferred sizes are
+	 * no longer valid. This method is called automatically if the tree changes or if a child {@link Component}
+	 * is invalidated. Clients only need to call this method if the size of a {@link Dockable} changes
+	 * without its {@link Component} being invalidated.
+	 */
+	public void invalidateNodeSizes(){
+		nodeSizeRevision++;
+	}
+	
+	/**
+	 * Gets the revision of the minimum and preferred sizes that are cached by the {@link SplitNode}s. A
+	 * cached size remains valid as long as the revision does not change.
+	 * @return the revision, or -1 if sizes must not be cached right now because some child
+	 * {@link Component} is invalid
+	 */
+	public int getNodeSizeRevision(){
+		if( !layoutPassRunning && (content == null || !content.isValid()) ){
+			return -1;
+		}
+		return nodeSizeRevision;
+	}
+	
+	/**
+	 * Gets the number of times the children of this station were laid out. This counter can be used
+	 * to measure how many layout passes an operation requires.
+	 * @return the number of layout passes since this station was created
+	 */
+	public int getLayoutPassCount(){
+		return layoutPassCount;
+	}
+	
+	@Override
+	public void invalidate(){
+		invalidateNodeSizes();
+		super.invalidate();
+	}
+	
 	/**
 	 * Allows subclasses access to the internal working of this {@link SplitDockStation}. Subclasses
 	 * should be very careful when invoking methods of {@link Access}.
@@ -3261,7 +3325,15 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
 		
 		@Override
 		public void doLayout(){
-			updateBounds();
+			layoutPassCount++;
+			invalidateNodeSizes();
+			layoutPassRunning = true;
+			try{
+				updateBounds();
+			}
+			finally{
+				layoutPassRunning = false;
+			}
 
 			Insets insets = getInsets();
 
@@ -3271,6 +3343,12 @@ public class SplitDockStation extends SecureContainer implements Dockable, DockS
 			}
 		}
 		
+		@Override
+		public void invalidate(){
+			invalidateNodeSizes();
+			super.invalidate();
+		}
+		
 		@Override
 		public void setTransparency( Transparency transparency ){
 			super.setTransparency( transparency );
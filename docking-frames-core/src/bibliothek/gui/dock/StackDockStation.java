@@ -802,16 +802,7 @@ public class StackDockStation extends AbstractDockableStation implements StackDo
      * @return the index of <code>dockable</code> or -1 if it was not found
      */
     public int indexOf( Dockable dockable ){
-    	int index = 0;
-    	
-    	for( StationChildHandle check : dockables.dockables() ){
-    		if( check.getDockable() == dockable ){
-    			return index;
-    		}
-    		index++;
-    	}
-    	
-    	return -1;
+    	return dockables.indexOfDockable( dockable );
     }
     
     public PlaceholderMap getPlaceholders(){
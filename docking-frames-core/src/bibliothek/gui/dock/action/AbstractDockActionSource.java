@@ -26,10 +26,11 @@
 
 package bibliothek.gui.dock.action;
 
-import java.util.ArrayList;
+import java.util.AbstractList;
 import java.util.List;
 
 import bibliothek.gui.dock.event.DockActionSourceListener;
+import bibliothek.util.ListenerList;
 
 /**
  * A simple implementation of {@link DockActionSource} that just handles
@@ -37,10 +38,14 @@ import bibliothek.gui.dock.event.DockActionSourceListener;
  * @author Benjamin Sigg
  */
 public abstract class AbstractDockActionSource implements DockActionSource {
+    /** the listeners of this source, stored such that firing an event does not need to copy them */
+    private ListenerList<DockActionSourceListener> listenerList = new ListenerList<DockActionSourceListener>( DockActionSourceListener.class );
+    
     /**
-     * The listeners which are registered on this source
+     * The listeners which are registered on this source. This list is a view of
+     * the internal list of listeners, <code>null</code> values are ignored.
      */
-    protected List<DockActionSourceListener> listeners = new ArrayList<DockActionSourceListener>();
+    protected List<DockActionSourceListener> listeners = new Listeners();
     
     public void addDockActionSourceListener( DockActionSourceListener listener ) {
         listeners.add( listener );
@@ -55,7 +60,7 @@ public abstract class AbstractDockActionSource implements DockActionSource {
      * @return whether at least one listener is registered
      */
     public boolean hasListeners(){
-    	return listeners.size() > 0;
+    	return !listenerList.isEmpty();
     }
     
     /**
@@ -65,7 +70,7 @@ public abstract class AbstractDockActionSource implements DockActionSource {
      * @param lastIndex The index of the last action that was added
      */
     protected void fireAdded( int firstIndex, int lastIndex ){
-        for( DockActionSourceListener listener : listeners.toArray( new DockActionSourceListener[ listeners.size() ] ))
+        for( DockActionSourceListener listener : listenerList.toArray())
             listener.actionsAdded( this, firstIndex, lastIndex );
     }
     
@@ -76,7 +81,7 @@ public abstract class AbstractDockActionSource implements DockActionSource {
      * @param lastIndex The old index of the last action that was removed
      */
     protected void fireRemoved( int firstIndex, int lastIndex ){
-        for( DockActionSourceListener listener : listeners.toArray( new DockActionSourceListener[ listeners.size() ] ))
+        for( DockActionSourceListener listener : listenerList.toArray())
             listener.actionsRemoved( this, firstIndex, lastIndex );
     }
     
@@ -96,4 +101,99 @@ public abstract class AbstractDockActionSource implements DockActionSource {
 		
 		return -1;
 	}
+	
+	/**
+	 * A view of {@link AbstractDockActionSource#listenerList} which allows subclasses
+	 * to access the listeners like an ordinary {@link List}.
+	 * @author Benjamin Sigg
+	 */
+	private class Listeners extends AbstractList<DockActionSourceListener>{
+		@Override
+		public DockActionSourceListener get( int index ){
+			return listenerList.toArray()[ index ];
+		}
+		
+		@Override
+		public int size(){
+			return listenerList.size();
+		}
+		
+		@Override
+		public boolean add( DockActionSourceListener listener ){
+			if( listener == null ){
+				return false;
+			}
+			listenerList.add( listener );
+			modCount++;
+			return true;
+		}
+		
+		@Override
+		public void add( int index, DockActionSourceListener listener ){
+			DockActionSourceListener[] current = listenerList.toArray();
+			if( index < 0 || index > current.length ){
+				throw new IndexOutOfBoundsException( "index: " + index + ", size: " + current.length );
+			}
+			if( listener != null ){
+				DockActionSourceListener[] next = new DockActionSourceListener[ current.length+1 ];
+				System.arraycopy( current, 0, next, 0, index );
+				next[ index ] = listener;
+				System.arraycopy( current, index, next, index+1, current.length-index );
+				replace( next );
+			}
+		}
+		
+		@Override
+		public DockActionSourceListener set( int index, DockActionSourceListener listener ){
+			DockActionSourceListener[] current = listenerList.toArray();
+			DockActionSourceListener old = current[ index ];
+			if( listener == null ){
+				remove( index );
+			}
+			else{
+				DockActionSourceListener[] next = current.clone();
+				next[ index ] = listener;
+				replace( next );
+			}
+			return old;
+		}
+		
+		@Override
+		public DockActionSourceListener remove( int index ){
+			DockActionSourceListener[] current = listenerList.toArray();
+			DockActionSourceListener old = current[ index ];
+			DockActionSourceListener[] next = new DockActionSourceListener[ current.length-1 ];
+			System.arraycopy( current, 0, next, 0, index );
+			System.arraycopy( current, index+1, next, index, current.length-index-1 );
+			replace( next );
+			return old;
+		}
+		
+		@Override
+		public boolean remove( Object listener ){
+			if( listener instanceof DockActionSourceListener && listenerList.remove( (DockActionSourceListener)listener )){
+				modCount++;
+				return true;
+			}
+			return false;
+		}
+		
+		@Override
+		public void clear(){
+			listenerList.clear();
+			modCount++;
+		}
+		
+		/**
+		 * Replaces the content of {@link AbstractDockActionSource#listenerList}.
+		 * @param next the new listeners
+		 */
+		private void replace( DockActionSourceListener[] next ){
+			listenerList.clear();
+			for( DockActionSourceListener listener : next ){
+				listenerList.add( listener );
+			}
+			modCount++;
+		}
+	}
 }
@@ -37,6 +37,7 @@ import bibliothek.gui.dock.DockElementRepresentative;
 import bibliothek.gui.dock.event.ComponentHierarchyObserverEvent;
 import bibliothek.gui.dock.event.ComponentHierarchyObserverListener;
 import bibliothek.gui.dock.event.DockControllerRepresentativeListener;
+import bibliothek.util.ListenerList;
 
 /**
  * A class collecting all {@link Component}s which are somehow used on or with
@@ -64,8 +65,8 @@ public class ComponentHierarchyObserver {
     private DockController controller;
     
     /** the observers of this {@link ComponentHierarchyObserver} */
-    private List<ComponentHierarchyObserverListener> listeners =
-        new ArrayList<ComponentHierarchyObserverListener>();
+    private ListenerList<ComponentHierarchyObserverListener> listeners =
+        new ListenerList<ComponentHierarchyObserverListener>( ComponentHierarchyObserverListener.class );
     
     /**
      * Creates a new observer.
@@ -123,11 +124,11 @@ public class ComponentHierarchyObserver {
     
     /**
      * Gets an array containing all listeners that are registered at this
-     * observer.
+     * observer. The array is shared and must not be modified.
      * @return the list of listeners
      */
     protected ComponentHierarchyObserverListener[] listeners(){
-        return listeners.toArray( new ComponentHierarchyObserverListener[ listeners.size() ] );
+        return listeners.toArray();
     }
     
     /**
@@ -47,6 +47,8 @@ import bibliothek.gui.dock.control.focus.FocusController;
 import bibliothek.gui.dock.control.focus.FocusRequest;
 import bibliothek.gui.dock.control.focus.FocusStrategy;
 import bibliothek.gui.dock.control.focus.FocusStrategyRequest;
+import bibliothek.gui.dock.control.metrics.DockControllerMetrics;
+import bibliothek.gui.dock.control.metrics.DockMetric;
 import bibliothek.gui.dock.event.FocusVetoListener;
 import bibliothek.gui.dock.event.FocusVetoListener.FocusVeto;
 import bibliothek.gui.dock.title.DockTitle;
@@ -244,6 +246,23 @@ public class DefaultFocusController extends AbstractFocusController {
      * @param component the {@link Component} that is to be focused
      */
     protected void execute( final FocusRequest request, Dockable dockable, final Component component ){
+    	DockControllerMetrics metrics = getController().getMetrics();
+    	long start = metrics.begin( DockMetric.FOCUS_TRANSFER );
+    	try{
+    		executeMeasured( request, dockable, component );
+    	}
+    	finally{
+    		metrics.end( DockMetric.FOCUS_TRANSFER, start );
+    	}
+    }
+
+    /**
+     * Implementation of {@link #execute(FocusRequest, Dockable, Component)}.
+     * @param request the request to execute
+     * @param dockable the element that will receive the focus
+     * @param component the {@link Component} that is to be focused
+     */
+    private void executeMeasured( final FocusRequest request, Dockable dockable, final Component component ){
     	// clean up
     	synchronized( pendingRequests ){
 	    	for( Request pending : pendingRequests ){
@@ -30,6 +30,9 @@ import java.util.*;
 import bibliothek.gui.DockController;
 import bibliothek.gui.DockStation;
 import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.control.metrics.DockControllerMetrics;
+import bibliothek.gui.dock.control.metrics.DockMetric;
+import bibliothek.gui.dock.control.watchdog.OperationMarkers;
 import bibliothek.gui.dock.event.DockRegisterListener;
 import bibliothek.gui.dock.event.DockStationAdapter;
 import bibliothek.gui.dock.event.DockStationListener;
@@ -63,6 +66,9 @@ public class DockRegister {
     /** tells whether register and unregister-events should be stalled or not */
     private int stalled = 0;
     
+    /** marks the time while this register is {@link #isStalled() stalled} */
+    private OperationMarkers.Marker stalledMarker;
+    
 	/** the current state of changing elements */
 	private Map<Dockable, Status> changeMap = new HashMap<Dockable, Status>();
 	
@@ -417,18 +423,24 @@ public class DockRegister {
      * Informs all registerListeners that a {@link Dockable} will be registered.
      * @param dockable the Dockable which will be registered
      */
-    protected void fireDockableRegistering( Dockable dockable ){
-        for( DockRegisterListener listener : listDockRegisterListeners() )
-            listener.dockableRegistering( controller, dockable );
+    protected void fireDockableRegistering( final Dockable dockable ){
+        fire( new RegisterCall(){
+            public void call( DockRegisterListener listener ){
+                listener.dockableRegistering( controller, dockable );
+            }
+        });
     }
     
     /**
      * Informs all registerListeners that a {@link Dockable} has been registered.
      * @param dockable the registered Dockable
      */
-    protected void fireDockableRegistered( Dockable dockable ){
-        for( DockRegisterListener listener : listDockRegisterListeners() )
-            listener.dockableRegistered( controller, dockable );
+    protected void fireDockableRegistered( final Dockable dockable ){
+        fire( new RegisterCall(){
+            public void call( DockRegisterListener listener ){
+                listener.dockableRegistered( controller, dockable );
+            }
+        });
     }
 
     /**
@@ -436,36 +448,48 @@ public class DockRegister {
      * unregistered.
      * @param dockable the unregistered Dockable
      */
-    protected void fireDockableUnregistered( Dockable dockable ){
-        for( DockRegisterListener listener : listDockRegisterListeners() )
-            listener.dockableUnregistered( controller, dockable );
+    protected void fireDockableUnregistered( final Dockable dockable ){
+        fire( new RegisterCall(){
+            public void call( DockRegisterListener listener ){
+                listener.dockableUnregistered( controller, dockable );
+            }
+        });
     }
 
     /**
      * Informs all registerListeners that <code>station</code> will be registered.
      * @param station the new station
      */
-    protected void fireDockStationRegistering( DockStation station ){
-        for( DockRegisterListener listener : listDockRegisterListeners() )
-            listener.dockStationRegistering( controller, station );
+    protected void fireDockStationRegistering( final DockStation station ){
+        fire( new RegisterCall(){
+            public void call( DockRegisterListener listener ){
+                listener.dockStationRegistering( controller, station );
+            }
+        });
     }
     
     /**
      * Informs all registerListeners that <code>station</code> has been registered.
      * @param station the new station
      */
-    protected void fireDockStationRegistered( DockStation station ){
-        for( DockRegisterListener listener : listDockRegisterListeners() )
-            listener.dockStationRegistered( controller, station );
+    protected void fireDockStationRegistered( final DockStation station ){
+        fire( new RegisterCall(){
+            public void call( DockRegisterListener listener ){
+                listener.dockStationRegistered( controller, station );
+            }
+        });
     }
     
     /**
      * Informs all registerListeners that <code>station</code> has been unregistered.
      * @param station the unregistered station
      */
-    protected void fireDockStationUnregistered( DockStation station ){
-        for( DockRegisterListener listener : listDockRegisterListeners() )
-            listener.dockStationUnregistered( controller, station );
+    protected void fireDockStationUnregistered( final DockStation station ){
+        fire( new RegisterCall(){
+            public void call( DockRegisterListener listener ){
+                listener.dockStationUnregistered( controller, station );
+            }
+        });
     }
     
     /**
@@ -473,9 +497,29 @@ public class DockRegister {
      * the register.
      * @param dockable the cycling element
      */
-    protected void fireStalledChange( Dockable dockable ){
-        for( DockRegisterListener listener : listDockRegisterListeners() )
-            listener.dockableCycledRegister( controller, dockable );
+    protected void fireStalledChange( final Dockable dockable ){
+        fire( new RegisterCall(){
+            public void call( DockRegisterListener listener ){
+                listener.dockableCycledRegister( controller, dockable );
+            }
+        });
+    }
+    
+    /**
+     * Calls <code>call</code> for all registerListeners, and measures how long informing
+     * the listeners takes.
+     * @param call the method to call on each listener
+     */
+    private void fire( RegisterCall call ){
+        DockControllerMetrics metrics = controller.getMetrics();
+        long start = metrics.begin( DockMetric.REGISTER_EVENT );
+        try{
+            for( DockRegisterListener listener : listDockRegisterListeners() )
+                call.call( listener );
+        }
+        finally{
+            metrics.end( DockMetric.REGISTER_EVENT, start );
+        }
     }
     
     /**
@@ -515,6 +559,7 @@ public class DockRegister {
 		    boolean wasStalled = isStalled();
 			this.stalled++;
 			if( !wasStalled ){
+				stalledMarker = controller.getOperationMarkers().begin( "DockRegister.setStalled" );
 				fireStalled();
 			}
 		}
@@ -531,6 +576,8 @@ public class DockRegister {
 		
 		if( this.stalled == 0 ){
 			stationListener.fire();
+			controller.getOperationMarkers().end( stalledMarker );
+			stalledMarker = null;
 		}
 	}
     
@@ -724,4 +771,16 @@ public class DockRegister {
             }
         }
     }
+    
+    /**
+     * A call to one method of a {@link DockRegisterListener}.
+     * @author Benjamin Sigg
+     */
+    private static interface RegisterCall{
+        /**
+         * Calls the method of <code>listener</code>.
+         * @param listener the listener to inform
+         */
+        public void call( DockRegisterListener listener );
+    }
 }
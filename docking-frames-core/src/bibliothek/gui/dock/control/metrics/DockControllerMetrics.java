@@ -0,0 +1,284 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2026 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.control.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import bibliothek.util.ListenerList;
+
+/**
+ * Counts and measures the operations a {@link bibliothek.gui.DockController} executes, like processing drag events,
+ * reading layouts or transferring the focus. The metrics are disabled by default and cost almost nothing while 
+ * disabled. Once {@link #setEnabled(boolean) enabled}, each operation is recorded in its {@link DockMetricStatistics}
+ * and forwarded to all {@link DockMetricsSink}s. The collected data can also be read with JMX after calling
+ * {@link #registerMBean(String)}.<br>
+ * Operations are measured like this:
+ * <pre>
+ * long start = metrics.begin( DockMetric.DRAG );
+ * try{
+ *     ...
+ * }
+ * finally{
+ *     metrics.end( DockMetric.DRAG, start );
+ * }
+ * </pre>
+ * Nested executions of the same metric on the same thread are recorded only once, by the outermost call.<br>
+ * This class is thread safe.
+ * @author Benjamin Sigg
+ */
+public class DockControllerMetrics implements DockControllerMetricsMXBean {
+	/** whether measurements are collected */
+	private volatile boolean enabled = false;
+	
+	/** the statistics of all metrics that were recorded so far */
+	private final Map<DockMetric, DockMetricStatistics> statistics = new LinkedHashMap<DockMetric, DockMetricStatistics>();
+	
+	/** the sinks receiving each measurement */
+	private final ListenerList<DockMetricsSink> sinks = new ListenerList<DockMetricsSink>( DockMetricsSink.class );
+	
+	/** the nesting depth of each metric on each thread, indexed by {@link DockMetric#ordinal()}, used to detect nested executions */
+	private final ThreadLocal<Depths> active = new ThreadLocal<Depths>(){
+		@Override
+		protected Depths initialValue(){
+			return new Depths();
+		}
+	};
+	
+	/** the name under which this object is registered at the platform {@link MBeanServer} */
+	private ObjectName mbeanName;
+	
+	public boolean isEnabled(){
+		return enabled;
+	}
+	
+	public void setEnabled( boolean enabled ){
+		this.enabled = enabled;
+	}
+	
+	/**
+	 * Adds a sink which will receive every measurement.
+	 * @param sink the new sink, not <code>null</code>
+	 */
+	public void addSink( DockMetricsSink sink ){
+		synchronized( sinks ){
+			sinks.add( sink );
+		}
+	}
+	
+	/**
+	 * Removes a sink from this metrics.
+	 * @param sink the sink to remove
+	 */
+	public void removeSink( DockMetricsSink sink ){
+		synchronized( sinks ){
+			sinks.remove( sink );
+		}
+	}
+	
+	/**
+	 * Marks the begin of an operation.
+	 * @param metric the kind of operation
+	 * @return a value that has to be given to {@link #end(DockMetric, long)}, <code>-1</code> if
+	 * the operation is not measured
+	 */
+	public long begin( DockMetric metric ){
+		if( !enabled ){
+			return -1;
+		}
+		int ordinal = metric.ordinal();
+		int[] depths = active.get().get( ordinal );
+		if( depths[ ordinal ]++ == 0 ){
+			return System.nanoTime();
+		}
+		return -1;
+	}
+	
+	/**
+	 * Marks the end of an operation that was started with {@link #begin(DockMetric)}. 
+	 * @param metric the kind of operation
+	 * @param start the result of {@link #begin(DockMetric)}
+	 */
+	public void end( DockMetric metric, long start ){
+		if( start == -1 ){
+			if( enabled ){
+				int ordinal = metric.ordinal();
+				int[] depths = active.get().get( ordinal );
+				if( depths[ ordinal ] > 1 ){
+					depths[ ordinal ]--;
+				}
+			}
+			return;
+		}
+		active.get().get( metric.ordinal() )[ metric.ordinal() ] = 0;
+		record( metric, System.nanoTime() - start );
+	}
+	
+	/**
+	 * Records one execution of an operation whose duration was measured by the caller.
+	 * @param metric the kind of operation
+	 * @param durationNanos the duration in nanoseconds
+	 */
+	public void record( DockMetric metric, long durationNanos ){
+		if( !enabled ){
+			return;
+		}
+		getStatistics( metric ).record( durationNanos );
+		
+		DockMetricsSink[] current;
+		synchronized( sinks ){
+			current = sinks.toArray();
+		}
+		for( DockMetricsSink sink : current ){
+			sink.recorded( metric, durationNanos );
+		}
+	}
+	
+	/**
+	 * Gets the statistics of <code>metric</code>, creates new statistics if necessary.
+	 * @param metric the metric whose statistics are searched
+	 * @return the statistics, not <code>null</code>
+	 */
+	public DockMetricStatistics getStatistics( DockMetric metric ){
+		synchronized( statistics ){
+			DockMetricStatistics result = statistics.get( metric );
+			if( result == null ){
+				result = new DockMetricStatistics( metric );
+				statistics.put( metric, result );
+			}
+			return result;
+		}
+	}
+	
+	/**
+	 * Gets the statistics of all the metrics that were recorded so far.
+	 * @return the statistics, a new array
+	 */
+	public DockMetricStatistics[] getStatistics(){
+		synchronized( statistics ){
+			return statistics.values().toArray( new DockMetricStatistics[ statistics.size() ] );
+		}
+	}
+	
+	public Map<String, Long> getCounts(){
+		Map<String, Long> result = new LinkedHashMap<String, Long>();
+		for( DockMetricStatistics item : getStatistics() ){
+			result.put( item.getMetric().getName(), item.getCount() );
+		}
+		return result;
+	}
+	
+	public Map<String, Long> getTotalNanos(){
+		Map<String, Long> result = new LinkedHashMap<String, Long>();
+		for( DockMetricStatistics item : getStatistics() ){
+			result.put( item.getMetric().getName(), item.getTotalNanos() );
+		}
+		return result;
+	}
+	
+	public Map<String, Long> getMaxNanos(){
+		Map<String, Long> result = new LinkedHashMap<String, Long>();
+		for( DockMetricStatistics item : getStatistics() ){
+			result.put( item.getMetric().getName(), item.getMaxNanos() );
+		}
+		return result;
+	}
+	
+	public long[] getHistogram( String metric ){
+		synchronized( statistics ){
+			DockMetricStatistics item = statistics.get( new DockMetric( metric ) );
+			if( item == null ){
+				return null;
+			}
+			return item.getHistogram();
+		}
+	}
+	
+	public void reset(){
+		for( DockMetricStatistics item : getStatistics() ){
+			item.reset();
+		}
+	}
+	
+	/**
+	 * Registers this object at the platform {@link MBeanServer}. The object will be registered under the name
+	 * <code>bibliothek.gui.dock:type=DockControllerMetrics,name=<i>name</i></code>. If this object
+	 * is already registered, then the old registration is removed first.
+	 * @param name a name that distinguishes this object from the metrics of other controllers
+	 * @throws JMException if the registration fails
+	 */
+	public synchronized void registerMBean( String name ) throws JMException{
+		unregisterMBean();
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		ObjectName objectName = new ObjectName( "bibliothek.gui.dock:type=DockControllerMetrics,name=" + ObjectName.quote( name ) );
+		server.registerMBean( this, objectName );
+		mbeanName = objectName;
+	}
+	
+	/**
+	 * Removes this object from the platform {@link MBeanServer}. Does nothing if this object is not registered,
+	 * or if the registration was already removed by someone else.
+	 * @throws JMException if the registration cannot be removed
+	 */
+	public synchronized void unregisterMBean() throws JMException{
+		if( mbeanName != null ){
+			ObjectName objectName = mbeanName;
+			mbeanName = null;
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			if( server.isRegistered( objectName )){
+				server.unregisterMBean( objectName );
+			}
+		}
+	}
+	
+	/**
+	 * The nesting depths of all metrics on one thread.
+	 * @author Benjamin Sigg
+	 */
+	private static class Depths{
+		/** the depths, indexed by {@link DockMetric#ordinal()} */
+		private int[] depths = new int[ 16 ];
+		
+		/**
+		 * Gets the array of depths, makes sure that <code>ordinal</code> is a valid index.
+		 * @param ordinal the index that is going to be accessed
+		 * @return the array of depths
+		 */
+		public int[] get( int ordinal ){
+			if( ordinal >= depths.length ){
+				int[] next = new int[ Math.max( ordinal+1, depths.length*2 ) ];
+				System.arraycopy( depths, 0, next, 0, depths.length );
+				depths = next;
+			}
+			return depths;
+		}
+	}
+}
@@ -0,0 +1,78 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2026 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.control.metrics;
+
+import java.util.Map;
+
+/**
+ * The management interface of {@link DockControllerMetrics}, this interface allows to read the collected
+ * data using JMX.
+ * @author Benjamin Sigg
+ * @see DockControllerMetrics#registerMBean(String)
+ */
+public interface DockControllerMetricsMXBean {
+	/**
+	 * Tells whether measurements are collected.
+	 * @return <code>true</code> if measurements are collected
+	 */
+	public boolean isEnabled();
+	
+	/**
+	 * Enables or disables the collection of measurements.
+	 * @param enabled whether to collect measurements
+	 */
+	public void setEnabled( boolean enabled );
+	
+	/**
+	 * Gets the number of executions of each operation.
+	 * @return the name of each metric and the number of executions
+	 */
+	public Map<String, Long> getCounts();
+	
+	/**
+	 * Gets the total time spent in each operation.
+	 * @return the name of each metric and the total time in nanoseconds
+	 */
+	public Map<String, Long> getTotalNanos();
+	
+	/**
+	 * Gets the longest execution of each operation.
+	 * @return the name of each metric and the longest execution in nanoseconds
+	 */
+	public Map<String, Long> getMaxNanos();
+	
+	/**
+	 * Gets the histogram of the durations of one operation. 
+	 * @param metric the name of the metric
+	 * @return the histogram as described in {@link DockMetricStatistics#getHistogram()} or <code>null</code>
+	 */
+	public long[] getHistogram( String metric );
+	
+	/**
+	 * Deletes all collected measurements.
+	 */
+	public void reset();
+}
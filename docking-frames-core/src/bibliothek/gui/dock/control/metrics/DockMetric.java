@@ -0,0 +1,126 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2026 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.control.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Identifies one kind of operation whose executions are counted and measured by the {@link DockControllerMetrics}.
+ * Two metrics are equal if they have the same name. Clients can create additional metrics for their own
+ * operations.
+ * @author Benjamin Sigg
+ */
+public final class DockMetric {
+	/** the ordinals of all the names that were used so far, must be initialized before the constants */
+	private static final Map<String, Integer> ORDINALS = new HashMap<String, Integer>();
+	
+	/** processing of a drag event by the {@link bibliothek.gui.dock.control.relocator.DefaultDockRelocator} */
+	public static final DockMetric DRAG = new DockMetric( "drag" );
+	
+	/** searching the target of a drag and drop operation in {@link bibliothek.gui.dock.control.relocator.DefaultDockRelocator#preparePut(int, int, int, int, bibliothek.gui.Dockable) preparePut} */
+	public static final DockMetric PREPARE_PUT = new DockMetric( "preparePut" );
+	
+	/** one call to {@link bibliothek.gui.DockStation#prepareDrop(bibliothek.gui.dock.station.StationDropItem)} */
+	public static final DockMetric PREPARE_DROP = new DockMetric( "prepareDrop" );
+	
+	/** reading a layout or converting a layout into {@link bibliothek.gui.dock.DockElement}s by a {@link bibliothek.gui.dock.layout.DockSituation} */
+	public static final DockMetric LAYOUT_READ = new DockMetric( "layoutRead" );
+	
+	/** writing a layout or converting {@link bibliothek.gui.dock.DockElement}s into a layout by a {@link bibliothek.gui.dock.layout.DockSituation} */
+	public static final DockMetric LAYOUT_WRITE = new DockMetric( "layoutWrite" );
+	
+	/** updating all values of a {@link bibliothek.gui.dock.util.UIProperties} after the theme or a scheme changed */
+	public static final DockMetric UI_UPDATE = new DockMetric( "uiUpdate" );
+	
+	/** transferring the focus by the {@link bibliothek.gui.dock.control.DefaultFocusController} */
+	public static final DockMetric FOCUS_TRANSFER = new DockMetric( "focusTransfer" );
+	
+	/** firing an event of the {@link bibliothek.gui.dock.control.DockRegister} */
+	public static final DockMetric REGISTER_EVENT = new DockMetric( "registerEvent" );
+	
+	/** the unique name of this metric */
+	private final String name;
+	
+	/** a small unique number, shared by all metrics with the same name */
+	private final int ordinal;
+	
+	/**
+	 * Creates a new metric.
+	 * @param name the unique name of this metric, not <code>null</code>
+	 */
+	public DockMetric( String name ){
+		if( name == null ){
+			throw new IllegalArgumentException( "name must not be null" );
+		}
+		this.name = name;
+		synchronized( ORDINALS ){
+			Integer existing = ORDINALS.get( name );
+			if( existing == null ){
+				existing = Integer.valueOf( ORDINALS.size() );
+				ORDINALS.put( name, existing );
+			}
+			ordinal = existing.intValue();
+		}
+	}
+	
+	/**
+	 * Gets the unique name of this metric.
+	 * @return the name, not <code>null</code>
+	 */
+	public String getName(){
+		return name;
+	}
+	
+	/**
+	 * Gets a small number that is unique for the name of this metric. Used as index into arrays.
+	 * @return the ordinal, at least <code>0</code>
+	 */
+	int ordinal(){
+		return ordinal;
+	}
+	
+	@Override
+	public int hashCode(){
+		return name.hashCode();
+	}
+	
+	@Override
+	public boolean equals( Object obj ){
+		if( obj == this ){
+			return true;
+		}
+		if( obj instanceof DockMetric ){
+			return name.equals( ((DockMetric)obj).name );
+		}
+		return false;
+	}
+	
+	@Override
+	public String toString(){
+		return name;
+	}
+}
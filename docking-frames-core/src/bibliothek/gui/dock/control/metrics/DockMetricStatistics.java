@@ -0,0 +1,132 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2026 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.control.metrics;
+
+/**
+ * The collected measurements of one {@link DockMetric}. Durations are collected in a histogram
+ * with logarithmic buckets: bucket <code>0</code> counts all durations below one microsecond, bucket 
+ * <code>i</code> counts durations of at least <code>2^(i-1)</code> and less than <code>2^i</code>
+ * microseconds. The last bucket counts all the durations that are too long for the other buckets.<br>
+ * This class is thread safe.
+ * @author Benjamin Sigg
+ */
+public class DockMetricStatistics {
+	/** the number of buckets in the histogram, the last bucket is reached with about 1 minute */
+	public static final int BUCKETS = 28;
+	
+	/** the metric that is described by this object */
+	private final DockMetric metric;
+	
+	/** the number of executions */
+	private long count;
+	
+	/** the total time of all executions */
+	private long totalNanos;
+	
+	/** the longest execution */
+	private long maxNanos;
+	
+	/** the histogram of all durations */
+	private final long[] histogram = new long[ BUCKETS ];
+	
+	/**
+	 * Creates new statistics.
+	 * @param metric the metric that is described by this object
+	 */
+	public DockMetricStatistics( DockMetric metric ){
+		this.metric = metric;
+	}
+	
+	/**
+	 * Gets the metric which is described by this object.
+	 * @return the metric
+	 */
+	public DockMetric getMetric(){
+		return metric;
+	}
+	
+	/**
+	 * Adds one measurement.
+	 * @param durationNanos the duration of the execution in nanoseconds
+	 */
+	public synchronized void record( long durationNanos ){
+		if( durationNanos < 0 ){
+			durationNanos = 0;
+		}
+		count++;
+		totalNanos += durationNanos;
+		maxNanos = Math.max( maxNanos, durationNanos );
+		
+		long micros = durationNanos / 1000;
+		int bucket = 64 - Long.numberOfLeadingZeros( micros );
+		histogram[ Math.min( bucket, BUCKETS-1 ) ]++;
+	}
+	
+	/**
+	 * Gets the number of executions.
+	 * @return the number of executions
+	 */
+	public synchronized long getCount(){
+		return count;
+	}
+	
+	/**
+	 * Gets the total time spent in all executions.
+	 * @return the total time in nanoseconds
+	 */
+	public synchronized long getTotalNanos(){
+		return totalNanos;
+	}
+	
+	/**
+	 * Gets the duration of the longest execution.
+	 * @return the longest duration in nanoseconds
+	 */
+	public synchronized long getMaxNanos(){
+		return maxNanos;
+	}
+	
+	/**
+	 * Gets a copy of the histogram of all durations, see the documentation of this class for a
+	 * description of the buckets.
+	 * @return a copy of the histogram
+	 */
+	public synchronized long[] getHistogram(){
+		return histogram.clone();
+	}
+	
+	/**
+	 * Deletes all measurements.
+	 */
+	public synchronized void reset(){
+		count = 0;
+		totalNanos = 0;
+		maxNanos = 0;
+		for( int i = 0; i < BUCKETS; i++ ){
+			histogram[i] = 0;
+		}
+	}
+}
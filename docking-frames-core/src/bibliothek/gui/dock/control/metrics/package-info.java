@@ -0,0 +1,5 @@
+/**
+ * Optional instrumentation of the framework: the {@link bibliothek.gui.dock.control.metrics.DockControllerMetrics}
+ * of a {@link bibliothek.gui.DockController} counts and measures operations like drag and drop or reading a layout. 
+ */
+package bibliothek.gui.dock.control.metrics;
@@ -29,7 +29,10 @@ package bibliothek.gui.dock.control.relocator;
 
 import java.awt.Component;
 import java.awt.Container;
+import java.awt.Dimension;
 import java.awt.EventQueue;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
 import java.awt.GridLayout;
 import java.awt.Point;
 import java.awt.Window;
@@ -38,11 +41,16 @@ import java.awt.event.ComponentListener;
 import java.awt.event.InputEvent;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
+import java.awt.image.BufferedImage;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import javax.swing.CellRendererPane;
+import javax.swing.JComponent;
+import javax.swing.JLayeredPane;
 import javax.swing.JWindow;
+import javax.swing.RootPaneContainer;
 import javax.swing.SwingUtilities;
 import javax.swing.event.MouseInputAdapter;
 
@@ -57,6 +65,9 @@ import bibliothek.gui.dock.control.DirectRemoteRelocator;
 import bibliothek.gui.dock.control.GlobalMouseDispatcher;
 import bibliothek.gui.dock.control.RemoteRelocator;
 import bibliothek.gui.dock.control.RemoteRelocator.Reaction;
+import bibliothek.gui.dock.control.metrics.DockControllerMetrics;
+import bibliothek.gui.dock.control.metrics.DockMetric;
+import bibliothek.gui.dock.control.watchdog.OperationMarkers;
 import bibliothek.gui.dock.disable.DisablingStrategy;
 import bibliothek.gui.dock.dockable.DockableMovingImageFactory;
 import bibliothek.gui.dock.dockable.MovingImage;
@@ -93,6 +104,17 @@ public class DefaultDockRelocator extends AbstractDockRelocator{
 			new PropertyKey<Boolean>( "dock.default.relocator.autodrop", 
 					new ConstantPropertyFactory<Boolean>( true ), true );
 	
+	/**
+	 * If <code>true</code>, then the {@link MovingImage} is painted on the drag layer of the window
+	 * in which the operation started. Only if the image leaves that window, a separate window
+	 * is used to show the image.<br>
+	 * If <code>false</code>, then the {@link MovingImage} is always shown in a separate window.<br>
+	 * The default value is <code>false</code>.
+	 */
+	public static final PropertyKey<Boolean> MOVING_IMAGE_OVERLAY = 
+			new PropertyKey<Boolean>( "dock.default.relocator.overlay", 
+					new ConstantPropertyFactory<Boolean>( false ), true );
+	
 	/** Path of an {@link ExtensionName} that adds new {@link Merger}s */
 	public static final Path MERGE_EXTENSION = new Path( "dock.merger" );
 	
@@ -113,8 +135,8 @@ public class DefaultDockRelocator extends AbstractDockRelocator{
     /** the current parent of a dragged dockable */
     private StationDragOperation dragOperation;
     
-    /** a window painting a title onto the screen */
-    private ImageWindow movingImageWindow;
+    /** shows an image of the dragged title on the screen */
+    private MovingImageDisplay movingImage;
     /** the point where the mouse was pressed on the currently dragged title */
     private Point pressPointScreen;
     /** the point where the mouse was pressed on the currently dragged title */
@@ -286,6 +308,26 @@ public class DefaultDockRelocator extends AbstractDockRelocator{
      * @return the new parent of <code>dockable</code> or <code>null</code>
      */
     protected RelocateOperation preparePut( int mouseX, int mouseY, int titleX, int titleY, Dockable dockable ){
+    	DockControllerMetrics metrics = getController().getMetrics();
+    	long start = metrics.begin( DockMetric.PREPARE_PUT );
+    	try{
+    		return preparePutMeasured( mouseX, mouseY, titleX, titleY, dockable );
+    	}
+    	finally{
+    		metrics.end( DockMetric.PREPARE_PUT, start );
+    	}
+    }
+
+    /**
+     * Implementation of {@link #preparePut(int, int, int, int, Dockable)}.
+     * @param mouseX x-coordinate of the mouse on the screen
+     * @param mouseY y-coordinate of the mouse on the screen
+     * @param titleX x-coordinate of the dragged title or mouseX
+     * @param titleY y-coordinate of the dragged title or mouseY
+     * @param dockable a Dockable which is dragged
+     * @return the new parent of <code>dockable</code> or <code>null</code>
+     */
+    private RelocateOperation preparePutMeasured( int mouseX, int mouseY, int titleX, int titleY, Dockable dockable ){
         List<DockStation> list = listStationsOrdered( mouseX, mouseY, dockable );
 
         Inserter inserter = getInserter();
@@ -299,7 +341,14 @@ public class DefaultDockRelocator extends AbstractDockRelocator{
         		operation = inserter.before( inserterSource );
         	}
         	if( operation == null ){
-        		operation = station.prepareDrop( item );
+        		DockControllerMetrics metrics = getController().getMetrics();
+        		long start = metrics.begin( DockMetric.PREPARE_DROP );
+        		try{
+        			operation = station.prepareDrop( item );
+        		}
+        		finally{
+        			metrics.end( DockMetric.PREPARE_DROP, start );
+        		}
         		if( inserter != null ){
         			inserterSource.setOperation( operation );
         			operation = inserter.after( inserterSource );
@@ -590,6 +639,31 @@ public class DefaultDockRelocator extends AbstractDockRelocator{
      * @return how this relocator reacts on the event
      */
     protected Reaction dragMouseDragged( int x, int y, int modifiers, DockTitle title, Dockable dockable, boolean always, boolean forceDrag, boolean showMovingImage ){
+    	DockControllerMetrics metrics = getController().getMetrics();
+    	long start = metrics.begin( DockMetric.DRAG );
+    	OperationMarkers.Marker marker = getController().getOperationMarkers().begin( "DefaultDockRelocator.drag" );
+    	try{
+    		return dragMouseDraggedMeasured( x, y, modifiers, title, dockable, always, forceDrag, showMovingImage );
+    	}
+    	finally{
+    		getController().getOperationMarkers().end( marker );
+    		metrics.end( DockMetric.DRAG, start );
+    	}
+    }
+
+    /**
+     * Implementation of {@link #dragMouseDragged(int, int, int, DockTitle, Dockable, boolean, boolean, boolean)}.
+     * @param x the x-coordinate of the mouse
+     * @param y the y-coordinate of the mouse
+     * @param modifiers the state of the mouse, see {@link MouseEvent#getModifiersEx()}
+     * @param title the title which might be grabbed by the mouse
+     * @param dockable the dockable which is moved around
+     * @param always whether restrictions to this relocator are ignored
+     * @param forceDrag whether dragging starts even if the usual conditions are not met
+     * @param showMovingImage whether to show a {@link MovingImage}
+     * @return how this relocator reacts on the event
+     */
+    private Reaction dragMouseDraggedMeasured( int x, int y, int modifiers, DockTitle title, Dockable dockable, boolean always, boolean forceDrag, boolean showMovingImage ){
     	listeners.unsetLastActiveListener();
     	
         if( pressPointScreen == null )
@@ -635,10 +709,10 @@ public class DefaultDockRelocator extends AbstractDockRelocator{
     }
     
     private Reaction initiateOperation( Dockable dockable, DockTitle title, Point mouse, boolean showMovingImage ){
-    	if( movingImageWindow != null ){
+    	if( movingImage != null ){
             // That means, that an old window was not closed correctly
-            movingImageWindow.close();
-            movingImageWindow = null;
+            movingImage.close();
+            movingImage = null;
         }
     	lastItem = null;
     	
@@ -656,10 +730,10 @@ public class DefaultDockRelocator extends AbstractDockRelocator{
     	}
     	if( !event.isForbidden() ){
     		if( showMovingImage ){
-	        	movingImageWindow = getTitleWindow( dockable, title );
-	            if( movingImageWindow != null ){
+	        	movingImage = getTitleWindow( dockable, title );
+	            if( movingImage != null ){
 	                updateTitleWindowPosition( mouse );
-	                movingImageWindow.setVisible( true );
+	                movingImage.setVisible( true );
 	            }
     		}
             
@@ -686,7 +760,7 @@ public class DefaultDockRelocator extends AbstractDockRelocator{
     }
     
     private Reaction selectNextTarget( Dockable dockable, DockTitle title, Point mouse ){
-    	if( movingImageWindow != null )
+    	if( movingImage != null )
             updateTitleWindowPosition( mouse );
         
         RelocateOperation next = preparePut( 
@@ -733,30 +807,30 @@ public class DefaultDockRelocator extends AbstractDockRelocator{
     }
     
     /**
-     * Updates the location of the {@link #movingImageWindow} according
+     * Updates the location of the {@link #movingImage} according
      * to the current location of the mouse.
      * @param mouse the location of the mouse
      */
     private void updateTitleWindowPosition( Point mouse ){
-    	MovingImage image = movingImageWindow.getImage();
+    	MovingImage image = movingImage.getImage();
     	Point offset = null;
     	if( image != null ){
     		offset = image.getOffset( new Point( pressPointLocal ) );
     	}
     	
     	if( offset == null ){
-	    	int width = Math.min( 25, movingImageWindow.getWidth());
-	        int height = Math.min( 25, movingImageWindow.getHeight());
+	    	int width = Math.min( 25, movingImage.getWidth());
+	        int height = Math.min( 25, movingImage.getHeight());
 	        
 	        int delta = Math.min( width, height ) + 1;
 	        
 	        int dx = Math.min( width, pressPointLocal.x );
 	        int dy = Math.min( height, pressPointLocal.y );
 	        
-	        movingImageWindow.setLocation( mouse.x - dx + delta, mouse.y - dy + delta );
+	        movingImage.setLocation( mouse.x - dx + delta, mouse.y - dy + delta );
     	}
     	else{
-    		movingImageWindow.setLocation( mouse.x + offset.x, mouse.y + offset.y );
+    		movingImage.setLocation( mouse.x + offset.x, mouse.y + offset.y );
     	}
     }
     
@@ -789,6 +863,19 @@ public class DefaultDockRelocator extends AbstractDockRelocator{
      * @return how this relocator reacts on the event
      */
     protected Reaction dragMouseReleased( int x, int y, int modifiers, Dockable dockable ){
+    	OperationMarkers.Marker marker = getController().getOperationMarkers().begin( "DefaultDockRelocator.drop" );
+    	try{
+    		return dragMouseReleasedMarked( x, y, modifiers, dockable );
+    	}
+    	finally{
+    		getController().getOperationMarkers().end( marker );
+    	}
+    }
+    
+    /**
+     * Implementation of {@link #dragMouseReleased(int, int, int, Dockable)}.
+     */
+    private Reaction dragMouseReleasedMarked( int x, int y, int modifiers, Dockable dockable ){
     	listeners.unsetLastActiveListener();
     	
         checkModes( modifiers );
@@ -894,8 +981,8 @@ public class DefaultDockRelocator extends AbstractDockRelocator{
                 }
             }
 
-            if( movingImageWindow != null )
-                movingImageWindow.close();
+            if( movingImage != null )
+                movingImage.close();
             
             lastItem = null;
             
@@ -904,7 +991,7 @@ public class DefaultDockRelocator extends AbstractDockRelocator{
             	dragOperation = null;
             }
 
-            movingImageWindow = null;
+            movingImage = null;
             pressPointScreen = null;
             pressPointLocal = null;
         }
@@ -969,24 +1056,24 @@ public class DefaultDockRelocator extends AbstractDockRelocator{
 	        	dragOperation = null;
 	        }
 	        
-	        if( movingImageWindow != null )
-	            movingImageWindow.close();
+	        if( movingImage != null )
+	            movingImage.close();
 	        
 	        lastItem = null;
-	        movingImageWindow = null;
+	        movingImage = null;
 	        pressPointScreen = null;
 	        pressPointLocal = null;
     	}
     }
     
     /**
-     * Gets a window which shows a title of <code>dockable</code>. The
-     * title on the window will be bound to <code>dockable</code>.
+     * Gets a display which shows a title of <code>dockable</code>. The
+     * title on the display will be bound to <code>dockable</code>.
      * @param dockable the Dockable for which a title should be shown
      * @param title a title which is grabbed by the mouse, can be <code>null</code>
-     * @return a window or <code>null</code>
+     * @return a display or <code>null</code>
      */
-    private ImageWindow getTitleWindow( Dockable dockable, DockTitle title ){
+    private MovingImageDisplay getTitleWindow( Dockable dockable, DockTitle title ){
     	DockController controller = getController();
         DockableMovingImageFactory factory = controller.getProperties().get( DockTheme.DOCKABLE_MOVING_IMAGE_FACTORY );
         MovingImage image;
@@ -1005,9 +1092,8 @@ public class DefaultDockRelocator extends AbstractDockRelocator{
         else
             parent = SwingUtilities.getWindowAncestor( title.getComponent() );
         
-        ImageWindow window = new ImageWindow( parent, image );
-        window.pack();
-        return window;
+        boolean overlay = controller.getProperties().get( MOVING_IMAGE_OVERLAY );
+        return new MovingImageDisplay( parent, image, overlay );
     }
     
     /**
@@ -1227,19 +1313,253 @@ public class DefaultDockRelocator extends AbstractDockRelocator{
     }
     
     /**
-     * A window which shows a single {@link DockTitle}.
+     * Shows a {@link MovingImage} either on the drag layer of a window, or
+     * on its own {@link ImageWindow}.
+     * @author Benjamin Sigg
+     */
+    private class MovingImageDisplay{
+    	/** the image to display */
+    	private MovingImage image;
+    	/** the parent of {@link #window} */
+    	private Window parent;
+    	/** the window showing {@link #image}, <code>null</code> if not yet required */
+    	private ImageWindow window;
+    	/** the layer on which {@link #overlay} is shown, <code>null</code> if not used */
+    	private JLayeredPane layer;
+    	/** a lightweight copy of {@link #image}, <code>null</code> if not used */
+    	private ImageOverlay overlay;
+    	/** the size of the image */
+    	private Dimension size;
+    	/** the current location of the image on the screen */
+    	private Point location = new Point();
+    	/** whether the image should be visible */
+    	private boolean visible = false;
+    	
+    	/**
+    	 * Creates a new display.
+    	 * @param parent the window in which the drag and drop operation started, can be <code>null</code>
+    	 * @param image the image to show
+    	 * @param useOverlay whether to paint the image on the drag layer of <code>parent</code>
+    	 */
+    	public MovingImageDisplay( Window parent, MovingImage image, boolean useOverlay ){
+    		this.parent = parent;
+    		this.image = image;
+    		
+    		if( useOverlay && parent instanceof RootPaneContainer ){
+    			layer = ((RootPaneContainer)parent).getLayeredPane();
+    		}
+    		
+    		if( layer == null ){
+    			window = new ImageWindow( parent );
+    			image.bind( window.isTranslucent() );
+    			window.setImage( image.getComponent() );
+    			size = window.getSize();
+    		}
+    		else{
+    			image.bind( false );
+    			overlay = new ImageOverlay( image.getComponent() );
+    			size = overlay.getSize();
+    		}
+    	}
+    	
+    	/**
+    	 * Gets the image that is shown by this display.
+    	 * @return the image, may be <code>null</code>
+    	 */
+    	public MovingImage getImage(){
+			return image;
+		}
+    	
+    	/**
+    	 * Gets the width of the image.
+    	 * @return the width
+    	 */
+    	public int getWidth(){
+    		return size.width;
+    	}
+    	
+    	/**
+    	 * Gets the height of the image.
+    	 * @return the height
+    	 */
+    	public int getHeight(){
+    		return size.height;
+    	}
+    	
+    	/**
+    	 * Moves the image to a new location.
+    	 * @param x the x coordinate on the screen
+    	 * @param y the y coordinate on the screen
+    	 */
+    	public void setLocation( int x, int y ){
+    		location.setLocation( x, y );
+    		update();
+    	}
+    	
+    	/**
+    	 * Shows or hides the image.
+    	 * @param visible whether the image should be visible
+    	 */
+    	public void setVisible( boolean visible ){
+    		this.visible = visible;
+    		update();
+    	}
+    	
+    	/**
+    	 * Tells whether <code>window</code> is used by this display.
+    	 * @param window the window to check
+    	 * @return <code>true</code> if <code>window</code> belongs to this display
+    	 */
+    	public boolean isWindow( ImageWindow window ){
+    		return this.window == window;
+    	}
+    	
+    	/**
+    	 * Shows the image either on the overlay or on the window, depending
+    	 * on whether the image fits into the window of {@link #layer}.
+    	 */
+    	private void update(){
+    		if( overlay != null ){
+    			if( visible && layer.isShowing() ){
+    				Point point = new Point( location );
+    				SwingUtilities.convertPointFromScreen( point, layer );
+    				if( point.x >= 0 && point.y >= 0 && point.x + size.width <= layer.getWidth() && point.y + size.height <= layer.getHeight() ){
+    					if( window != null ){
+    						window.setVisible( false );
+    					}
+    					overlay.setLocation( point );
+    					if( overlay.getParent() != layer ){
+    						layer.add( overlay, JLayeredPane.DRAG_LAYER );
+    						overlay.repaint();
+    					}
+    					return;
+    				}
+    			}
+    			removeOverlay();
+    		}
+    		
+    		if( visible ){
+	    		if( window == null ){
+	    			// crossing the boundaries of the window, fall back to a separate window
+	    			window = new ImageWindow( parent );
+	    			window.setImage( image.getComponent() );
+	    		}
+	    		window.setLocation( location );
+	    		if( !window.isVisible() ){
+	    			window.setVisible( true );
+	    		}
+    		}
+    		else if( window != null ){
+    			window.setVisible( false );
+    		}
+    	}
+    	
+    	/**
+    	 * Removes {@link #overlay} from {@link #layer}.
+    	 */
+    	private void removeOverlay(){
+    		if( overlay.getParent() == layer ){
+    			layer.remove( overlay );
+    			layer.repaint( overlay.getX(), overlay.getY(), overlay.getWidth(), overlay.getHeight() );
+    		}
+    	}
+    	
+    	/**
+    	 * Closes the window and the overlay and ensures that the title has the same
+         * binding-state as it had at the time when this display was
+         * constructed. 
+    	 */
+    	public void close(){
+    		if( overlay != null ){
+    			removeOverlay();
+    			overlay = null;
+    		}
+    		if( window != null ){
+    			window.close();
+    		}
+    		if( image != null ){
+    			image.unbind();
+    			image = null;
+    		}
+    	}
+    }
+    
+    /**
+     * A lightweight {@link Component} painting a snapshot of the {@link Component} 
+     * of a {@link MovingImage}.
+     * @author Benjamin Sigg
+     */
+    @SuppressWarnings("serial")
+    private static class ImageOverlay extends JComponent{
+    	/** the snapshot */
+    	private BufferedImage snapshot;
+    	
+    	/**
+    	 * Creates a new overlay
+    	 * @param content the {@link Component} to paint, must not have a parent
+    	 */
+    	public ImageOverlay( Component content ){
+    		Dimension size = content.getPreferredSize();
+    		int width = Math.max( 1, size.width );
+    		int height = Math.max( 1, size.height );
+    		
+    		// the component is not displayable, hence it cannot be validated the usual way
+    		content.setSize( width, height );
+    		layout( content );
+    		
+    		snapshot = new BufferedImage( width, height, BufferedImage.TYPE_INT_ARGB );
+    		Graphics2D g = snapshot.createGraphics();
+    		CellRendererPane pane = new CellRendererPane();
+    		try{
+    			pane.paintComponent( g, content, null, 0, 0, width, height, true );
+    		}
+    		finally{
+    			g.dispose();
+    			pane.remove( content );
+    		}
+    		
+    		setOpaque( false );
+    		setSize( width, height );
+    	}
+    	
+    	/**
+    	 * Lays out <code>component</code> and all its children.
+    	 * @param component the root of the tree to lay out
+    	 */
+    	private void layout( Component component ){
+    		if( component instanceof Container ){
+    			Container container = (Container)component;
+    			container.doLayout();
+    			for( int i = 0, n = container.getComponentCount(); i<n; i++ ){
+    				layout( container.getComponent( i ) );
+    			}
+    		}
+    	}
+    	
+    	@Override
+    	public boolean contains( int x, int y ){
+    		return false;
+    	}
+    	
+    	@Override
+    	protected void paintComponent( Graphics g ){
+    		g.drawImage( snapshot, 0, 0, this );
+    	}
+    }
+    
+    /**
+     * A window showing the {@link Component} of a {@link MovingImage}.
      * @author Benjamin Sigg
      */
     private class ImageWindow extends JWindow{
-        /** the image to display */
-        private MovingImage image;
-        
+    	/** whether this window is translucent */
+    	private boolean translucent;
+    	
         /**
          * Constructs a new window
          * @param parent the parent of the window
-         * @param image the image to display
          */
-        public ImageWindow( Window parent, MovingImage image ){
+        public ImageWindow( Window parent ){
             super( parent );
             
             addComponentListener( new ComponentListener(){
@@ -1256,7 +1576,7 @@ public class DefaultDockRelocator extends AbstractDockRelocator{
 				}
 
 				public void componentShown( ComponentEvent e ){
-            		if( ImageWindow.this != movingImageWindow ){
+            		if( movingImage == null || !movingImage.isWindow( ImageWindow.this ) ){
             			// that should really not be possible...
             			SwingUtilities.invokeLater( new Runnable(){
             				public void run(){
@@ -1279,32 +1599,32 @@ public class DefaultDockRelocator extends AbstractDockRelocator{
                 // ignore
             }
             
-            boolean transparency = Workarounds.getDefault().setTranslucent( this );
-            
-            image.bind( transparency );
-            content.add( image.getComponent() );
-            this.image = image;
+            translucent = Workarounds.getDefault().setTranslucent( this );
         }
         
         /**
-         * Gets the image that is shown on this window.
-         * @return the image, may be <code>null</code>
+         * Tells whether this window is translucent.
+         * @return <code>true</code> if the window is translucent
          */
-        public MovingImage getImage(){
-			return image;
+        public boolean isTranslucent(){
+			return translucent;
 		}
         
         /**
-         * Closes this window and ensures that the title has the same
-         * binding-state as it had at the time when this window was
-         * constructed. 
+         * Sets the {@link Component} that is shown on this window and 
+         * resizes this window.
+         * @param image the {@link Component} of a {@link MovingImage}
+         */
+        public void setImage( Component image ){
+        	getContentPane().add( image );
+        	pack();
+        }
+        
+        /**
+         * Closes this window and removes the image from it. 
          */
         public void close(){
             dispose();
-            if( image != null ){
-                image.unbind();
-                image = null;
-            }
             getContentPane().removeAll();
         }
     }
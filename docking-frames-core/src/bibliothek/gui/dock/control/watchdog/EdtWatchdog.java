@@ -0,0 +1,318 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2026 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.control.watchdog;
+
+import java.awt.EventQueue;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.dock.control.watchdog.OperationMarkers.Marker;
+
+/**
+ * An opt-in watchdog that detects when the event dispatch thread (EDT) does not react for a long time. The watchdog 
+ * runs a background thread that regularly posts a small task on the EDT. If the task is not executed within a 
+ * {@link #setThreshold(int) threshold}, the EDT is stalled: the watchdog then samples the stack of the EDT and the 
+ * {@link OperationMarkers operations} of the framework which are running, until the EDT reacts again. Afterwards 
+ * a compact report is appended to the report file.<br>
+ * A report looks like this:
+ * <pre>
+ * stall 2026-01-01 12:00:00.000 duration=1250ms samples=11
+ *   operations: DockFrontend.setSetting &gt; DockRegister.setStalled
+ *   7x at bibliothek.gui.dock.SplitDockStation.updateBounds(SplitDockStation.java:100)
+ *      at ...
+ * </pre>
+ * @author Benjamin Sigg
+ */
+public class EdtWatchdog {
+	/** the default value of {@link #getThreshold()} */
+	public static final int DEFAULT_THRESHOLD = 500;
+	
+	/** the number of stack frames that are written for each sample */
+	private static final int REPORT_FRAMES = 12;
+	
+	/** the number of distinct stacks that are written for each stall */
+	private static final int REPORT_STACKS = 3;
+	
+	/** the markers of the controller that is observed */
+	private final OperationMarkers markers;
+	
+	/** the file to which reports are appended */
+	private final File reportFile;
+	
+	/** how long the EDT has to be blocked before a stall is reported */
+	private volatile int threshold = DEFAULT_THRESHOLD;
+	
+	/** the background thread, <code>null</code> if not running */
+	private Thread thread;
+	
+	/** the time when the currently outstanding ping was posted */
+	private volatile long pingPosted;
+	
+	/** whether the current ping was executed by the EDT */
+	private volatile boolean pingReceived = true;
+	
+	/** the event dispatch thread, as seen by the last executed ping */
+	private volatile Thread edt;
+	
+	/**
+	 * Creates a new watchdog. The watchdog is not yet running.
+	 * @param controller the controller whose operations are reported, not <code>null</code>
+	 * @param reportFile the file to which reports are appended, not <code>null</code>
+	 */
+	public EdtWatchdog( DockController controller, File reportFile ){
+		if( controller == null ){
+			throw new IllegalArgumentException( "controller must not be null" );
+		}
+		if( reportFile == null ){
+			throw new IllegalArgumentException( "reportFile must not be null" );
+		}
+		this.markers = controller.getOperationMarkers();
+		this.reportFile = reportFile;
+	}
+	
+	/**
+	 * Sets how long the EDT must not react before a stall is reported.
+	 * @param threshold the threshold in milliseconds, at least 1
+	 */
+	public void setThreshold( int threshold ){
+		if( threshold < 1 ){
+			throw new IllegalArgumentException( "threshold must be at least 1: " + threshold );
+		}
+		this.threshold = threshold;
+	}
+	
+	/**
+	 * Gets how long the EDT must not react before a stall is reported.
+	 * @return the threshold in milliseconds
+	 */
+	public int getThreshold(){
+		return threshold;
+	}
+	
+	/**
+	 * Gets the file to which reports are appended.
+	 * @return the file
+	 */
+	public File getReportFile(){
+		return reportFile;
+	}
+	
+	/**
+	 * Starts this watchdog. Does nothing if this watchdog is already running.
+	 */
+	public synchronized void start(){
+		if( thread == null ){
+			markers.setObserved( true );
+			thread = new Thread( "EdtWatchdog" ){
+				@Override
+				public void run(){
+					observe( this );
+				}
+			};
+			thread.setDaemon( true );
+			thread.start();
+		}
+	}
+	
+	/**
+	 * Stops this watchdog. Does nothing if this watchdog is not running.
+	 */
+	public synchronized void stop(){
+		if( thread != null ){
+			markers.setObserved( false );
+			thread.interrupt();
+			thread = null;
+		}
+	}
+	
+	/**
+	 * Tells whether this watchdog is currently running.
+	 * @return <code>true</code> if running
+	 */
+	public synchronized boolean isRunning(){
+		return thread != null;
+	}
+	
+	private synchronized boolean isRunning( Thread current ){
+		return thread == current;
+	}
+	
+	/**
+	 * The main loop of the background thread.
+	 * @param current the background thread
+	 */
+	private void observe( Thread current ){
+		List<Sample> samples = new ArrayList<Sample>();
+		
+		try{
+			while( isRunning( current ) ){
+				if( pingReceived ){
+					if( !samples.isEmpty() ){
+						report( samples, pingPosted );
+						samples.clear();
+					}
+					ping();
+				}
+				
+				int interval = Math.max( 1, threshold / 5 );
+				Thread.sleep( interval );
+				
+				if( !pingReceived && System.currentTimeMillis() - pingPosted >= threshold ){
+					Thread edt = this.edt;
+					if( edt != null ){
+						samples.add( new Sample( edt.getStackTrace(), markers.getMarkers( edt ) ));
+					}
+				}
+			}
+		}
+		catch( InterruptedException e ){
+			// stopped
+		}
+		catch( SecurityException e ){
+			// in a restricted environment the stack of the EDT cannot be read, the watchdog is useless
+			e.printStackTrace();
+		}
+	}
+	
+	/**
+	 * Posts a new task onto the EDT that will reset the stall detection.
+	 */
+	private void ping(){
+		pingReceived = false;
+		pingPosted = System.currentTimeMillis();
+		EventQueue.invokeLater( new Runnable(){
+			public void run(){
+				edt = Thread.currentThread();
+				pingReceived = true;
+			}
+		});
+	}
+	
+	/**
+	 * Appends a report about a stall to the report file.
+	 * @param samples the samples that were collected during the stall
+	 * @param start the time when the stall started
+	 */
+	private void report( List<Sample> samples, long start ){
+		long duration = System.currentTimeMillis() - start;
+		
+		// collect the operations, ordered from the outermost operation
+		List<String> operations = new ArrayList<String>();
+		for( Sample sample : samples ){
+			for( Marker marker : sample.markers ){
+				if( !operations.contains( marker.getOperation() )){
+					operations.add( marker.getOperation() );
+				}
+			}
+		}
+		
+		// count how often each stack was seen
+		Map<String, Integer> stacks = new LinkedHashMap<String, Integer>();
+		for( Sample sample : samples ){
+			String stack = sample.describeStack();
+			Integer count = stacks.get( stack );
+			stacks.put( stack, count == null ? 1 : count + 1 );
+		}
+		List<Map.Entry<String, Integer>> ordered = new ArrayList<Map.Entry<String,Integer>>( stacks.entrySet() );
+		for( int i = 1; i < ordered.size(); i++ ){
+			for( int j = i; j > 0 && ordered.get( j-1 ).getValue() < ordered.get( j ).getValue(); j-- ){
+				ordered.set( j, ordered.set( j-1, ordered.get( j ) ) );
+			}
+		}
+		
+		try{
+			PrintWriter out = new PrintWriter( new FileWriter( reportFile, true ));
+			try{
+				SimpleDateFormat format = new SimpleDateFormat( "yyyy-MM-dd HH:mm:ss.SSS" );
+				out.println( "stall " + format.format( new Date( start ) ) + " duration=" + duration + "ms samples=" + samples.size() );
+				out.print( "  operations: " );
+				if( operations.isEmpty() ){
+					out.println( "-" );
+				}
+				else{
+					for( int i = 0, n = operations.size(); i<n; i++ ){
+						if( i > 0 ){
+							out.print( " > " );
+						}
+						out.print( operations.get( i ) );
+					}
+					out.println();
+				}
+				for( int i = 0, n = Math.min( REPORT_STACKS, ordered.size() ); i<n; i++ ){
+					Map.Entry<String, Integer> entry = ordered.get( i );
+					out.print( "  " + entry.getValue() + "x" );
+					out.print( entry.getKey() );
+				}
+			}
+			finally{
+				out.close();
+			}
+		}
+		catch( IOException e ){
+			e.printStackTrace();
+		}
+	}
+	
+	/**
+	 * The state of the EDT at one point in time.
+	 * @author Benjamin Sigg
+	 */
+	private static class Sample{
+		private final StackTraceElement[] stack;
+		private final Marker[] markers;
+		
+		public Sample( StackTraceElement[] stack, Marker[] markers ){
+			this.stack = stack;
+			this.markers = markers;
+		}
+		
+		/**
+		 * Describes the topmost frames of the stack, one frame per line.
+		 * @return the description
+		 */
+		public String describeStack(){
+			StringBuilder builder = new StringBuilder();
+			for( int i = 0, n = Math.min( REPORT_FRAMES, stack.length ); i<n; i++ ){
+				builder.append( i == 0 ? " at " : "      at " );
+				builder.append( stack[i] );
+				builder.append( '\n' );
+			}
+			if( stack.length == 0 ){
+				builder.append( '\n' );
+			}
+			return builder.toString();
+		}
+	}
+}
@@ -0,0 +1,169 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2026 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.control.watchdog;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps track of the long running operations of the framework that are currently executed, like applying a
+ * layout or changing the theme. Operations are marked by calling {@link #begin(String)} and {@link #end(Marker)}.
+ * The markers are only collected while an {@link EdtWatchdog} is running, otherwise {@link #begin(String)} 
+ * just returns <code>null</code>.<br>
+ * This class is thread safe.
+ * @author Benjamin Sigg
+ */
+public class OperationMarkers {
+	/** how many watchdogs are currently interested in the markers */
+	private volatile int observers = 0;
+	
+	/** all the markers that are currently set */
+	private final List<Marker> markers = new ArrayList<Marker>();
+	
+	/**
+	 * Tells whether markers are currently collected.
+	 * @return <code>true</code> if {@link #begin(String)} creates new markers
+	 */
+	public boolean isEnabled(){
+		return observers > 0;
+	}
+	
+	/**
+	 * Called by an {@link EdtWatchdog} when it starts or stops to observe these markers.
+	 * @param observe whether the watchdog starts or stops
+	 */
+	synchronized void setObserved( boolean observe ){
+		if( observe ){
+			observers++;
+		}
+		else{
+			observers = Math.max( 0, observers-1 );
+			if( observers == 0 ){
+				synchronized( markers ){
+					markers.clear();
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Marks the begin of an operation.
+	 * @param operation the name of the operation, should be a constant
+	 * @return the new marker that has to be given to {@link #end(Marker)}, <code>null</code> if 
+	 * markers are currently not collected
+	 */
+	public Marker begin( String operation ){
+		if( observers == 0 ){
+			return null;
+		}
+		Marker marker = new Marker( operation, Thread.currentThread(), System.currentTimeMillis() );
+		synchronized( markers ){
+			markers.add( marker );
+		}
+		return marker;
+	}
+	
+	/**
+	 * Marks the end of an operation.
+	 * @param marker the result of {@link #begin(String)}, can be <code>null</code>
+	 */
+	public void end( Marker marker ){
+		if( marker == null ){
+			return;
+		}
+		synchronized( markers ){
+			for( int i = markers.size()-1; i >= 0; i-- ){
+				if( markers.get( i ) == marker ){
+					markers.remove( i );
+					return;
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Gets all the markers that were set by <code>thread</code> and are not yet ended, ordered from the
+	 * oldest to the newest marker.
+	 * @param thread the thread whose markers are searched
+	 * @return the markers, may be empty
+	 */
+	public Marker[] getMarkers( Thread thread ){
+		synchronized( markers ){
+			List<Marker> result = new ArrayList<Marker>();
+			for( Marker marker : markers ){
+				if( marker.getThread() == thread ){
+					result.add( marker );
+				}
+			}
+			return result.toArray( new Marker[ result.size() ] );
+		}
+	}
+	
+	/**
+	 * Describes one operation that is currently running.
+	 * @author Benjamin Sigg
+	 */
+	public static class Marker{
+		private final String operation;
+		private final Thread thread;
+		private final long start;
+		
+		private Marker( String operation, Thread thread, long start ){
+			this.operation = operation;
+			this.thread = thread;
+			this.start = start;
+		}
+		
+		/**
+		 * Gets the name of the operation.
+		 * @return the name
+		 */
+		public String getOperation(){
+			return operation;
+		}
+		
+		/**
+		 * Gets the thread that executes the operation.
+		 * @return the thread
+		 */
+		public Thread getThread(){
+			return thread;
+		}
+		
+		/**
+		 * Gets the time when the operation started.
+		 * @return the time in milliseconds, as returned by {@link System#currentTimeMillis()}
+		 */
+		public long getStart(){
+			return start;
+		}
+		
+		@Override
+		public String toString(){
+			return operation;
+		}
+	}
+}
@@ -0,0 +1,5 @@
+/**
+ * An optional watchdog that detects when the event dispatch thread stalls, and records which operation
+ * of the framework was running at that time.
+ */
+package bibliothek.gui.dock.control.watchdog;
@@ -0,0 +1,245 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2026 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.dockable;
+
+import java.awt.EventQueue;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.DockStation;
+import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.DockHierarchyLock;
+
+/**
+ * The {@link DockableStateEventCoalescer} collects the pending events of all the {@link DockableStateListenerManager}s
+ * in the realm of one {@link DockController}. Instead of each manager posting its own task to the
+ * {@link EventQueue}, all pending events are fired by one single task. The events are fired in the order of the
+ * hierarchy: the events of a parent {@link Dockable} are fired before the events of its children.<br>
+ * Clients can call {@link #flush()} at the end of a batch operation to fire all pending events immediately, or
+ * they can set {@link #setFlushOnRelease(boolean) flushOnRelease} to fire the events as soon as the 
+ * {@link DockHierarchyLock} of the controller is released.
+ * @author Benjamin Sigg
+ */
+public class DockableStateEventCoalescer {
+	/** the controller in whose realm this coalescer works */
+	private DockController controller;
+	
+	/** all the managers which have pending events */
+	private Set<DockableStateListenerManager> pending = new LinkedHashSet<DockableStateListenerManager>();
+	
+	/** whether a task to flush {@link #pending} has been posted to the {@link EventQueue} */
+	private boolean flushQueued = false;
+	
+	/** whether a task to flush {@link #pending} has been registered at the {@link DockHierarchyLock} */
+	private boolean flushOnReleaseQueued = false;
+	
+	/** whether to flush the events when the {@link DockHierarchyLock} is released */
+	private boolean flushOnRelease = false;
+	
+	/** whether {@link #flush()} is currently running */
+	private boolean flushing = false;
+	
+	/**
+	 * Creates a new coalescer.
+	 * @param controller the controller in whose realm this coalescer works
+	 */
+	public DockableStateEventCoalescer( DockController controller ){
+		if( controller == null ){
+			throw new IllegalArgumentException( "controller must not be null" );
+		}
+		this.controller = controller;
+	}
+	
+	/**
+	 * Sets whether pending events should be fired as soon as the {@link DockController#getHierarchyLock() hierarchy lock}
+	 * is released. If <code>false</code>, events are only fired by a task that runs later on the {@link EventQueue}.
+	 * @param flushOnRelease whether to fire the events once the lock is released
+	 */
+	public void setFlushOnRelease( boolean flushOnRelease ){
+		this.flushOnRelease = flushOnRelease;
+	}
+	
+	/**
+	 * Tells whether pending events are fired as soon as the hierarchy lock is released.
+	 * @return whether events are fired once the lock is released
+	 * @see #setFlushOnRelease(boolean)
+	 */
+	public boolean isFlushOnRelease(){
+		return flushOnRelease;
+	}
+	
+	/**
+	 * Tells whether there are events that have not yet been fired.
+	 * @return whether there are pending events
+	 */
+	public synchronized boolean hasPendingEvents(){
+		return !pending.isEmpty();
+	}
+	
+	/**
+	 * Called by <code>manager</code> if it has events that need to be fired.
+	 * @param manager the manager with pending events
+	 */
+	void schedule( DockableStateListenerManager manager ){
+		boolean queue = false;
+		boolean release = false;
+		
+		synchronized( this ){
+			pending.add( manager );
+			
+			if( !flushQueued ){
+				flushQueued = true;
+				queue = true;
+			}
+			if( flushOnRelease && !flushOnReleaseQueued && controller.getHierarchyLock().isLocked() ){
+				flushOnReleaseQueued = true;
+				release = true;
+			}
+		}
+		
+		if( queue ){
+			EventQueue.invokeLater( new Runnable(){
+				public void run(){
+					synchronized( DockableStateEventCoalescer.this ){
+						flushQueued = false;
+					}
+					flush();
+				}
+			});
+		}
+		if( release ){
+			controller.getHierarchyLock().onRelease( new Runnable(){
+				public void run(){
+					synchronized( DockableStateEventCoalescer.this ){
+						flushOnReleaseQueued = false;
+					}
+					flush();
+				}
+			});
+		}
+	}
+	
+	/**
+	 * Fires all pending events now. Parents are informed before their children. This method must 
+	 * be called on the EDT. Events that are created while this method runs are fired as well.
+	 */
+	public void flush(){
+		if( flushing ){
+			return;
+		}
+		
+		try{
+			flushing = true;
+			while( true ){
+				List<DockableStateListenerManager> managers;
+				synchronized( this ){
+					if( pending.isEmpty() ){
+						return;
+					}
+					managers = new ArrayList<DockableStateListenerManager>( pending );
+					pending.clear();
+				}
+				
+				if( managers.size() > 1 ){
+					sort( managers );
+				}
+				
+				int index = 0;
+				try{
+					for( int n = managers.size(); index < n; index++ ){
+						managers.get( index ).firePending();
+					}
+				}
+				finally{
+					// a listener threw an exception, the remaining managers must not be lost
+					for( int i = index+1, n = managers.size(); i < n; i++ ){
+						schedule( managers.get( i ) );
+					}
+				}
+			}
+		}
+		finally{
+			flushing = false;
+		}
+	}
+	
+	/**
+	 * Sorts <code>managers</code> such that parents are in front of their children. Managers with
+	 * the same depth keep their order.
+	 * @param managers the list to sort
+	 */
+	private void sort( List<DockableStateListenerManager> managers ){
+		List<Ordered> ordered = new ArrayList<Ordered>( managers.size() );
+		for( DockableStateListenerManager manager : managers ){
+			ordered.add( new Ordered( manager, depth( manager.getDockable() )));
+		}
+		
+		Collections.sort( ordered, new Comparator<Ordered>(){
+			public int compare( Ordered a, Ordered b ){
+				return a.depth < b.depth ? -1 : (a.depth == b.depth ? 0 : 1);
+			}
+		});
+		
+		for( int i = 0, n = ordered.size(); i < n; i++ ){
+			managers.set( i, ordered.get( i ).manager );
+		}
+	}
+	
+	/**
+	 * Gets the number of parents <code>dockable</code> has.
+	 * @param dockable some element
+	 * @return the depth of <code>dockable</code> in the tree of elements
+	 */
+	private int depth( Dockable dockable ){
+		int depth = 0;
+		DockStation parent = dockable.getDockParent();
+		while( parent != null ){
+			depth++;
+			Dockable next = parent.asDockable();
+			parent = next == null ? null : next.getDockParent();
+		}
+		return depth;
+	}
+	
+	/**
+	 * A manager and the depth of its {@link Dockable} in the tree of elements.
+	 * @author Benjamin Sigg
+	 */
+	private static class Ordered{
+		private DockableStateListenerManager manager;
+		private int depth;
+		
+		public Ordered( DockableStateListenerManager manager, int depth ){
+			this.manager = manager;
+			this.depth = depth;
+		}
+	}
+}
@@ -26,15 +26,15 @@
 package bibliothek.gui.dock.dockable;
 
 import java.awt.EventQueue;
-import java.util.ArrayList;
-import java.util.List;
 
+import bibliothek.gui.DockController;
 import bibliothek.gui.DockStation;
 import bibliothek.gui.Dockable;
 import bibliothek.gui.dock.event.DockHierarchyEvent;
 import bibliothek.gui.dock.event.DockHierarchyListener;
 import bibliothek.gui.dock.event.DockStationAdapter;
 import bibliothek.gui.dock.event.DockStationListener;
+import bibliothek.util.ListenerList;
 
 /**
  * A handler for invoking {@link DockableStateListener}s. Can be used by {@link Dockable}s.<br>
@@ -44,12 +44,14 @@ import bibliothek.gui.dock.event.DockStationListener;
  * 	<li>This listener receives its events delayed in order to put as much information as possible into one event.</li>
  * 	<li>Due to this delay, this listener may seem to receive events too late. However, once all events are received, the
  * 	state described by this listener and by other listeners matches again.</li>
+ * 	<li>If the {@link Dockable} is registered at a {@link DockController}, the delayed events of all {@link Dockable}s are
+ *  collected and fired together by the {@link DockableStateEventCoalescer} of the controller.</li>
  * </ul>
  * @author Benjamin Sigg
  */
 public class DockableStateListenerManager {
 	/** all the listeners that are currently registered */
-	private List<DockableStateListener> listeners = new ArrayList<DockableStateListener>();
+	private ListenerList<DockableStateListener> listeners = new ListenerList<DockableStateListener>( DockableStateListener.class );
 
 	/** the currently pending events */
 	private int current = 0;
@@ -210,12 +212,36 @@ public class DockableStateListenerManager {
 		current |= flags;
 		if( !firing ){
 			firing = true;
-			EventQueue.invokeLater( new Runnable(){
-				public void run(){
-					firing = false;
-					fireNow();
-				}
-			});
+			DockController controller = dockable.getController();
+			if( controller == null ){
+				EventQueue.invokeLater( new Runnable(){
+					public void run(){
+						firePending();
+					}
+				});
+			}
+			else{
+				controller.getDockableStateEventCoalescer().schedule( this );
+			}
+		}
+	}
+	
+	/**
+	 * Gets the element which is observed by this manager.
+	 * @return the observed element
+	 */
+	public Dockable getDockable(){
+		return dockable;
+	}
+	
+	/**
+	 * Fires the events that were collected since the last call to {@link #event(int)}, called by
+	 * the {@link DockableStateEventCoalescer} or by a task on the {@link EventQueue}.
+	 */
+	void firePending(){
+		if( firing ){
+			firing = false;
+			fireNow();
 		}
 	}
 
@@ -227,7 +253,7 @@ public class DockableStateListenerManager {
 			if( listeners.size() > 0 ) {
 				DockableStateEvent event = new DockableStateEvent( dockable, current );
 				current = 0;
-				for( DockableStateListener listener : listeners.toArray( new DockableStateListener[listeners.size()] ) ) {
+				for( DockableStateListener listener : listeners.toArray() ) {
 					listener.changed( event );
 				}
 			}
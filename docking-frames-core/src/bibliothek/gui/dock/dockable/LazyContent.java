@@ -0,0 +1,50 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2007 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+
+package bibliothek.gui.dock.dockable;
+
+import java.awt.Container;
+
+import bibliothek.gui.dock.DefaultDockable;
+
+/**
+ * A {@link LazyContent} creates the {@link java.awt.Component}s of a {@link DefaultDockable}
+ * the first time the dockable is showing. Until then the dockable only shows its empty 
+ * content pane, allowing applications to create hundreds of dockables - e.g. when loading
+ * a layout - without paying for the creation of their content.
+ * @author Benjamin Sigg
+ * @see DefaultDockable#setLazyContent(LazyContent)
+ */
+public interface LazyContent {
+	/**
+	 * Called the first time the dockable is showing, or when 
+	 * {@link DefaultDockable#createContent()} is called. This method is called
+	 * at most once.
+	 * @param contentPane the content pane of the dockable, implementations should
+	 * add their {@link java.awt.Component}s to this {@link Container}
+	 */
+	public void createContent( Container contentPane );
+}
@@ -25,8 +25,11 @@
  */
 package bibliothek.gui.dock.frontend;
 
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -54,6 +57,7 @@ import bibliothek.gui.dock.perspective.PerspectiveStation;
 import bibliothek.gui.dock.perspective.PredefinedMap;
 import bibliothek.gui.dock.perspective.PredefinedPerspective;
 import bibliothek.gui.dock.station.support.PlaceholderStrategy;
+import bibliothek.gui.dock.util.DockUtilities;
 import bibliothek.util.xml.XException;
 
 /**
@@ -64,6 +68,12 @@ import bibliothek.util.xml.XException;
 public class DefaultLayoutChangeStrategy implements LayoutChangeStrategy{
 	private boolean updatingFullLayout = false;
 	
+	/** whether roots with an unchanged layout are left untouched by {@link #setLayout(DockFrontendInternals, Setting, boolean)} */
+	private boolean diffing = false;
+	
+	/** the names of the roots which are not modified by the layout that is currently applied */
+	private Set<String> unchangedRoots = null;
+	
 	public boolean setLayout( DockFrontendInternals frontend, Setting setting, boolean entry ) throws IOException, XException{
 		try{
 			updatingFullLayout = true;
@@ -71,9 +81,34 @@ public class DefaultLayoutChangeStrategy implements LayoutChangeStrategy{
 		}
 		finally{
 			updatingFullLayout = false;
+			unchangedRoots = null;
 		}
 	}
 	
+	/**
+	 * Sets whether this strategy compares the current layout of each root station with the new layout before
+	 * applying the new layout. If enabled, roots whose layout does not change are neither cleaned nor rebuilt,
+	 * hence their {@link Dockable}s, displayers and titles are reused.<br>
+	 * The comparison is made for entire roots: the current and the new layout of a root are written into byte
+	 * arrays, and the root is only left untouched if the arrays are equal. If anything inside a root changes,
+	 * then the whole root is cleaned and rebuilt, together with all the roots that are nested in it. Comparing
+	 * costs converting and writing two layouts per root, hence diffing pays off if loading a layout usually
+	 * leaves some roots unchanged. The default value is <code>false</code>.
+	 * @param diffing whether to leave unchanged roots untouched
+	 */
+	public void setDiffing( boolean diffing ){
+		this.diffing = diffing;
+	}
+	
+	/**
+	 * Tells whether roots whose layout does not change are left untouched.
+	 * @return whether diffing is enabled
+	 * @see #setDiffing(boolean)
+	 */
+	public boolean isDiffing(){
+		return diffing;
+	}
+	
 	public boolean shouldUpdateLayoutOnAdd( Dockable dockable ) {
 		return !updatingFullLayout;
 	}
@@ -107,7 +142,7 @@ public class DefaultLayoutChangeStrategy implements LayoutChangeStrategy{
         }
         
         // split up all child parent relations
-        frontend.clean( ignore );
+        clean( frontend, situation, access, ignore );
         
         // apply the new layout
         applyLayout( frontend, situation, access, entry );
@@ -116,6 +151,106 @@ public class DefaultLayoutChangeStrategy implements LayoutChangeStrategy{
         return true;
 	}
 	
+	/**
+	 * Removes the children of all the root stations of <code>frontend</code>, this method is called
+	 * before the new layout is applied. If {@link #isDiffing() diffing} is enabled, then roots whose
+	 * current layout equals their new layout, and which are not nested in a root whose layout changes, are
+	 * not cleaned and will not be rebuilt. The cleaning itself is always delegated to 
+	 * {@link DockFrontendInternals#clean(DockSituationIgnore)}.
+	 * @param frontend the caller of this method
+	 * @param situation used to convert the layout
+	 * @param setting the new layout
+	 * @param ignore a filter telling which elements must not be touched, not <code>null</code>
+	 * @throws IOException if the new layout cannot be converted
+	 * @throws XException if the new layout cannot be converted
+	 */
+	protected void clean( DockFrontendInternals frontend, DockSituation situation, SettingAccess setting, DockSituationIgnore ignore ) throws IOException, XException{
+		if( !isDiffing() ){
+			frontend.clean( ignore );
+			return;
+		}
+		
+		List<RootInfo> unchanged = new ArrayList<RootInfo>();
+		List<RootInfo> changed = new ArrayList<RootInfo>();
+		
+		for( RootInfo info : frontend.getRoots() ){
+			DockStation station = info.getStation();
+			if( !ignore.ignoreElement( station )){
+				if( isUnchanged( situation, station, setting.getRoot( info.getName() ) )){
+					unchanged.add( info );
+				}
+				else{
+					changed.add( info );
+				}
+			}
+		}
+		
+		// cleaning a root also cleans all the roots nested in it, those roots have to be rebuilt as well
+		boolean modified = true;
+		while( modified ){
+			modified = false;
+			for( int i = unchanged.size()-1; i >= 0; i-- ){
+				RootInfo info = unchanged.get( i );
+				for( RootInfo check : changed ){
+					if( DockUtilities.isAncestor( check.getStation(), info.getStation() )){
+						unchanged.remove( i );
+						changed.add( info );
+						modified = true;
+						break;
+					}
+				}
+			}
+		}
+		
+		unchangedRoots = new HashSet<String>();
+		Set<DockStation> unchangedStations = new HashSet<DockStation>();
+		for( RootInfo info : unchanged ){
+			unchangedRoots.add( info.getName() );
+			unchangedStations.add( info.getStation() );
+		}
+		frontend.clean( new UnchangedRootsIgnore( ignore, unchangedStations ) );
+	}
+	
+	/**
+	 * Tells whether the current layout of <code>root</code> equals <code>layout</code>. The layouts are
+	 * compared by writing them into a byte stream, layouts that cannot be written are never equal. The
+	 * whole tree below <code>root</code> is compared at once, a difference anywhere in the tree means that
+	 * <code>root</code> changes.
+	 * @param situation used to convert the layouts
+	 * @param root a root station of the frontend
+	 * @param layout the new layout of <code>root</code>, can be <code>null</code>
+	 * @return <code>true</code> if applying <code>layout</code> would not change <code>root</code>
+	 * @throws IOException if <code>layout</code> cannot be converted
+	 * @throws XException if <code>layout</code> cannot be converted
+	 */
+	protected boolean isUnchanged( DockSituation situation, DockStation root, DockLayoutComposition layout ) throws IOException, XException{
+		if( layout == null ){
+			return false;
+		}
+		
+		try{
+			DockLayoutComposition current = situation.convert( root );
+			if( current == null ){
+				return false;
+			}
+			
+			layout = situation.fillMissing( layout );
+			return Arrays.equals( toBytes( situation, current ), toBytes( situation, layout ) );
+		}
+		catch( IllegalArgumentException ex ){
+			// one of the layouts cannot be written
+			return false;
+		}
+	}
+	
+	private byte[] toBytes( DockSituation situation, DockLayoutComposition layout ) throws IOException{
+		ByteArrayOutputStream bout = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream( bout );
+		situation.writeComposition( layout, out );
+		out.close();
+		return bout.toByteArray();
+	}
+	
 	/**
 	 * Creates a wrapper around <code>setting</code> that allows the algorithm of this 
 	 * {@link LayoutChangeStrategy} to access the setting.
@@ -278,7 +413,9 @@ public class DefaultLayoutChangeStrategy implements LayoutChangeStrategy{
     /**
      * Applies the layout described in <code>setting</code> to the visible elements. 
      * This implementation tries to estimate the location of missing dockables using
-     * {@link #listEstimateLocations(DockSituation, DockLayoutComposition)}. 
+     * {@link #listEstimateLocations(DockSituation, DockLayoutComposition)}. Roots that
+     * were found to be unchanged by {@link #clean(DockFrontendInternals, DockSituation, SettingAccess, DockSituationIgnore) clean}
+     * are not converted again.
      * @param frontend the caller of this method
      * @param situation used to convert the layout
      * @param setting the new layout
@@ -335,7 +472,9 @@ public class DefaultLayoutChangeStrategy implements LayoutChangeStrategy{
                     
                 }
                 
-                situation.convert( layout );
+                if( unchangedRoots == null || !unchangedRoots.contains( info.getName() )){
+                	situation.convert( layout );
+                }
             }
         }
     }
@@ -625,4 +764,40 @@ public class DefaultLayoutChangeStrategy implements LayoutChangeStrategy{
             setting.fillMissing( situation );
         }
     }
+    
+    /**
+     * A {@link DockSituationIgnore} that ignores the roots whose layout does not change, and otherwise
+     * forwards all calls to another filter.
+     * @author Benjamin Sigg
+     */
+    private static class UnchangedRootsIgnore implements DockSituationIgnore{
+    	private DockSituationIgnore delegate;
+    	private Set<DockStation> unchanged;
+    	
+    	/**
+    	 * Creates a new filter.
+    	 * @param delegate the original filter
+    	 * @param unchanged the roots that are not cleaned
+    	 */
+    	public UnchangedRootsIgnore( DockSituationIgnore delegate, Set<DockStation> unchanged ){
+    		this.delegate = delegate;
+    		this.unchanged = unchanged;
+    	}
+    	
+    	public boolean ignoreElement( DockElement element ){
+    		return unchanged.contains( element ) || delegate.ignoreElement( element );
+    	}
+    	
+    	public boolean ignoreChildren( DockStation station ){
+    		return delegate.ignoreChildren( station );
+    	}
+    	
+    	public boolean ignoreElement( PerspectiveElement element ){
+    		return delegate.ignoreElement( element );
+    	}
+    	
+    	public boolean ignoreChildren( PerspectiveStation station ){
+    		return delegate.ignoreChildren( station );
+    	}
+    }
 }
@@ -48,7 +48,7 @@ public interface DockFrontendInternals {
 	public DockFrontend getFrontend();
 	
     /**
-     * Removes all child-parent relations expect the ones filtered out
+     * Removes all child-parent relations except the ones filtered out
      * by <code>ignore</code>.
      * @param ignore a filter, never <code>null</code>
      */
@@ -47,6 +47,8 @@ import bibliothek.gui.dock.DockFactory;
 import bibliothek.gui.dock.FlapDockStation;
 import bibliothek.gui.dock.SplitDockStation;
 import bibliothek.gui.dock.StackDockStation;
+import bibliothek.gui.dock.control.metrics.DockControllerMetrics;
+import bibliothek.gui.dock.control.metrics.DockMetric;
 import bibliothek.gui.dock.dockable.DefaultDockableFactory;
 import bibliothek.gui.dock.perspective.Perspective;
 import bibliothek.gui.dock.perspective.PerspectiveElement;
@@ -98,6 +100,9 @@ public class DockSituation {
     /** a filter for elements which should be ignored */
     private DockSituationIgnore ignore;
     
+    /** counts and measures reading and writing layouts */
+    private DockControllerMetrics metrics = new DockControllerMetrics();
+    
     /** strategy used to filter placeholders in the intermediate format */
     private PlaceholderStrategy intermediatePlaceholders;
     
@@ -129,6 +134,8 @@ public class DockSituation {
                 new StackDockStationFactory(),
                 new FlapDockStationFactory());
         
+        metrics = controller.getMetrics();
+        
         @SuppressWarnings("rawtypes")
 		List<DockFactory> factories = controller.getExtensions().load( new ExtensionName<DockFactory>( DOCK_FACTORY_EXTENSION, DockFactory.class, EXTENSION_PARAM, this ) );
         for( DockFactory<?,?,?> factory : factories ){
@@ -164,6 +171,26 @@ public class DockSituation {
 		};
     }
     
+    /**
+     * Sets the metrics which count and measure how long reading and writing layouts takes. The metrics
+     * are set automatically if this situation was created with a {@link DockController}.
+     * @param metrics the new metrics, not <code>null</code>
+     */
+    public void setMetrics( DockControllerMetrics metrics ){
+    	if( metrics == null ){
+    		throw new IllegalArgumentException( "metrics must not be null" );
+    	}
+		this.metrics = metrics;
+	}
+    
+    /**
+     * Gets the metrics which count and measure how long reading and writing layouts takes.
+     * @return the metrics, not <code>null</code>
+     */
+    public DockControllerMetrics getMetrics(){
+		return metrics;
+	}
+    
     /**
      * Sets a filter which decides, which elements (stations and dockables)
      * are stored.
@@ -301,8 +328,24 @@ public class DockSituation {
      * @throws ClassCastException if an element does not specify the correct
      * {@link DockFactory}.
      */
-    @SuppressWarnings("unchecked")
     public DockLayoutComposition convert( DockElement element ){
+    	DockControllerMetrics metrics = getMetrics();
+    	long start = metrics.begin( DockMetric.LAYOUT_WRITE );
+    	try{
+    		return convertMeasured( element );
+    	}
+    	finally{
+    		metrics.end( DockMetric.LAYOUT_WRITE, start );
+    	}
+    }
+
+    /**
+     * Implementation of {@link #convert(DockElement)}.
+     * @param element the element to convert
+     * @return the composition or <code>null</code> if the element is ignored
+     */
+    @SuppressWarnings("unchecked")
+    private DockLayoutComposition convertMeasured( DockElement element ){
         if( ignoreElement( element ))
             return null;
 
@@ -358,8 +401,24 @@ public class DockSituation {
      * @return the new element, can be something else then a {@link DockElement}
      * if the factory for <code>composition</code> was not found
      */
-    @SuppressWarnings("unchecked")
     public DockElement convert( DockLayoutComposition composition ){
+    	DockControllerMetrics metrics = getMetrics();
+    	long start = metrics.begin( DockMetric.LAYOUT_READ );
+    	try{
+    		return convertMeasured( composition );
+    	}
+    	finally{
+    		metrics.end( DockMetric.LAYOUT_READ, start );
+    	}
+    }
+
+    /**
+     * Implementation of {@link #convert(DockLayoutComposition)}.
+     * @param composition the composition to analyze
+     * @return the new element or <code>null</code>
+     */
+    @SuppressWarnings("unchecked")
+    private DockElement convertMeasured( DockLayoutComposition composition ){
         DockLayoutInfo info = composition.getLayout();
         if( info == null )
             return null;
@@ -434,6 +493,23 @@ public class DockSituation {
      * @throws IOException if an I/O-error occurs
      */
     public void writeComposition( DockLayoutComposition composition, DataOutputStream out ) throws IOException{
+    	DockControllerMetrics metrics = getMetrics();
+    	long start = metrics.begin( DockMetric.LAYOUT_WRITE );
+    	try{
+    		writeCompositionMeasured( composition, out );
+    	}
+    	finally{
+    		metrics.end( DockMetric.LAYOUT_WRITE, start );
+    	}
+    }
+
+    /**
+     * Implementation of {@link #writeComposition(DockLayoutComposition, DataOutputStream)}.
+     * @param composition the composition to write
+     * @param out the stream to write into
+     * @throws IOException if an I/O-error occurs
+     */
+    private void writeCompositionMeasured( DockLayoutComposition composition, DataOutputStream out ) throws IOException{
         Version.write( out, Version.VERSION_1_0_8 );
         writeCompositionStream( composition, out );
     }
@@ -526,6 +602,23 @@ public class DockSituation {
      * @throws IOException if an I/O-error occurs
      */
     public DockLayoutComposition readComposition( DataInputStream in ) throws IOException{
+    	DockControllerMetrics metrics = getMetrics();
+    	long start = metrics.begin( DockMetric.LAYOUT_READ );
+    	try{
+    		return readCompositionMeasured( in );
+    	}
+    	finally{
+    		metrics.end( DockMetric.LAYOUT_READ, start );
+    	}
+    }
+
+    /**
+     * Implementation of {@link #readComposition(DataInputStream)}.
+     * @param in the stream to read from
+     * @return the new composition or <code>null</code> if the factory was missing
+     * @throws IOException if an I/O-error occurs
+     */
+    private DockLayoutComposition readCompositionMeasured( DataInputStream in ) throws IOException{
         Version version = Version.read( in );
         version.checkCurrent();
         return readCompositionStream( in, version );
@@ -839,8 +932,24 @@ public class DockSituation {
      * @param element the element to write into
      * @throws IllegalArgumentException if a factory is missing
      */
-    @SuppressWarnings("unchecked")
     public void writeCompositionXML( DockLayoutComposition composition, XElement element ){
+    	DockControllerMetrics metrics = getMetrics();
+    	long start = metrics.begin( DockMetric.LAYOUT_WRITE );
+    	try{
+    		writeCompositionXMLMeasured( composition, element );
+    	}
+    	finally{
+    		metrics.end( DockMetric.LAYOUT_WRITE, start );
+    	}
+    }
+
+    /**
+     * Implementation of {@link #writeCompositionXML(DockLayoutComposition, XElement)}.
+     * @param composition the composition to write
+     * @param element the element to write into
+     */
+    @SuppressWarnings("unchecked")
+    private void writeCompositionXMLMeasured( DockLayoutComposition composition, XElement element ){
         DockLayoutInfo info = composition.getLayout();
         if( info.getKind() == DockLayoutInfo.Data.XML ){
             element.addElement( info.getDataXML() );
@@ -895,8 +1004,24 @@ public class DockSituation {
      * @return the composition that was read
      * @throws XException if something is missing or malformed in <code>element</code>
      */
-    @SuppressWarnings("unchecked")
     public DockLayoutComposition readCompositionXML( XElement element ){
+    	DockControllerMetrics metrics = getMetrics();
+    	long start = metrics.begin( DockMetric.LAYOUT_READ );
+    	try{
+    		return readCompositionXMLMeasured( element );
+    	}
+    	finally{
+    		metrics.end( DockMetric.LAYOUT_READ, start );
+    	}
+    }
+
+    /**
+     * Implementation of {@link #readCompositionXML(XElement)}.
+     * @param element the element to read
+     * @return the composition that was read
+     */
+    @SuppressWarnings("unchecked")
+    private DockLayoutComposition readCompositionXMLMeasured( XElement element ){
         XElement xfactory = element.getElement( "layout" );
         DockLayoutInfo layout = readEntry( xfactory );
 
@@ -0,0 +1,118 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2026 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.layout;
+
+import java.awt.EventQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+import bibliothek.gui.dock.util.DockUtilities;
+
+/**
+ * A {@link LayoutReaderTask} splits up reading a layout in two stages. The first stage {@link #decode() decodes}
+ * the raw data into an object that is not yet associated with any {@link bibliothek.gui.dock.DockElement}, this stage
+ * runs on a background thread. The second stage {@link #apply(Object) applies} the decoded data, this stage
+ * always runs on the {@link EventQueue event dispatch thread}.<br>
+ * Subclasses must make sure that {@link #decode()} does not access any Swing component nor any 
+ * property of a {@link bibliothek.gui.DockController}, all the information required to decode the data must be 
+ * collected when the task is created, or by {@link #invokeOnEventDispatchThread(Callable)} if it depends on the
+ * raw data.
+ * @author Benjamin Sigg
+ * @param <T> the type of the decoded data
+ */
+public abstract class LayoutReaderTask<T> {
+	/** the decoded data */
+	private volatile T data;
+	
+	/** the error that occurred while decoding the data */
+	private volatile Exception error;
+	
+	/** the task that is executed on the event dispatch thread */
+	private FutureTask<T> future = new FutureTask<T>( new Callable<T>(){
+		public T call() throws Exception{
+			if( error != null ){
+				throw error;
+			}
+			apply( data );
+			return data;
+		}
+	});
+	
+	/**
+	 * Starts this task. The data is decoded using <code>executor</code>, then the result is applied on the
+	 * event dispatch thread. This method must be called only once.
+	 * @param executor the executor that runs {@link #decode()}, not <code>null</code>
+	 * @return a future that is completed once the data has been applied, or decoding or applying failed
+	 */
+	public Future<T> start( Executor executor ){
+		if( executor == null ){
+			throw new IllegalArgumentException( "executor must not be null" );
+		}
+		executor.execute( new Runnable(){
+			public void run(){
+				if( !future.isCancelled() ){
+					try{
+						data = decode();
+					}
+					catch( Exception ex ){
+						error = ex;
+					}
+				}
+				EventQueue.invokeLater( future );
+			}
+		});
+		return future;
+	}
+	
+	/**
+	 * Runs <code>task</code> on the event dispatch thread and waits until it is finished. {@link #decode()} can
+	 * use this method to collect information that is only available on the event dispatch thread, once the
+	 * raw data is known. The event dispatch thread must not wait for this task to complete.
+	 * @param <V> the type of the result
+	 * @param task the task to run
+	 * @return the result of <code>task</code>
+	 * @throws Exception if <code>task</code> threw an exception
+	 */
+	protected <V> V invokeOnEventDispatchThread( Callable<V> task ) throws Exception{
+		return DockUtilities.callOnEventDispatchThread( task );
+	}
+	
+	/**
+	 * Decodes the raw data. This method is called on a background thread.
+	 * @return the decoded data
+	 * @throws Exception if the data cannot be decoded, the exception will be forwarded to the {@link Future}
+	 */
+	protected abstract T decode() throws Exception;
+	
+	/**
+	 * Applies the decoded data. This method is called on the event dispatch thread.
+	 * @param data the result of {@link #decode()}
+	 * @throws Exception if the data cannot be applied, the exception will be forwarded to the {@link Future}
+	 */
+	protected abstract void apply( T data ) throws Exception;
+}
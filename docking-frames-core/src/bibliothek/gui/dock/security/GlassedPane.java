@@ -27,16 +27,25 @@
 package bibliothek.gui.dock.security;
 
 import java.awt.Component;
+import java.awt.Container;
 import java.awt.Cursor;
 import java.awt.Dimension;
 import java.awt.Point;
+import java.awt.event.ComponentEvent;
+import java.awt.event.ComponentListener;
+import java.awt.event.ContainerEvent;
+import java.awt.event.ContainerListener;
+import java.awt.event.HierarchyEvent;
+import java.awt.event.HierarchyListener;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
 import java.awt.event.MouseMotionListener;
 import java.awt.event.MouseWheelEvent;
 import java.awt.event.MouseWheelListener;
+import java.util.ArrayList;
 import java.util.EventListener;
+import java.util.List;
 
 import javax.swing.JComponent;
 import javax.swing.JPanel;
@@ -154,6 +163,7 @@ public class GlassedPane extends JPanel{
      */
     public void setContentPane( JComponent contentPane ) {
         this.contentPane = contentPane;
+        ((GlassPane)glassPane).clearHitCache();
 
         removeAll();
 
@@ -192,6 +202,19 @@ public class GlassedPane extends JPanel{
         /** the number of pressed buttons */
         private int downCount = 0;
         
+        /** the deepest component found by the last hit-test of a mouse-moved event, <code>null</code> if the cache is invalid */
+        private Component hitDeepest;
+        /** the component that received the last mouse-moved event, the result of {@link #fallThrough(Component, MouseEvent)} on {@link #hitDeepest} */
+        private Component hitTarget;
+        /** the location of {@link #hitDeepest} in the coordinate system of this pane */
+        private int hitX, hitY;
+        /** the location of {@link #hitTarget} in the coordinate system of this pane */
+        private int hitTargetX, hitTargetY;
+        /** observes {@link #hitDeepest} and clears the hit-test cache if it, its ancestors or their siblings are moved, resized, shown, hidden, added or removed */
+        private HitCacheObserver hitObserver = new HitCacheObserver();
+        /** the deepest component found by the last hit-test that was not cached, the cache is only filled if two hit-tests in a row find the same component */
+        private Component hitCandidate;
+        
         /** callback forwarded to the current {@link TooltipStrategy} of {@link GlassedPane#tooltips} */
         private TooltipStrategyCallback callback = new TooltipStrategyCallback(){
 			public void setToolTipText( String text ){
@@ -302,12 +325,20 @@ public class GlassedPane extends JPanel{
         	}
 
             Point mouse = e.getPoint();
-            Component component = SwingUtilities.getDeepestComponentAt( contentPane, mouse.x, mouse.y );
-            if( component != null && !component.isEnabled() ){
-            	component = null;
+            Component component;
+            boolean cached = false;
+            
+            if( id == MouseEvent.MOUSE_MOVED ){
+            	if( isHitCacheValid( mouse.x, mouse.y, e )){
+            		component = hitTarget;
+            		cached = true;
+            	}
+            	else{
+            		component = hitTest( mouse.x, mouse.y, e, true );
+            	}
             }
             else{
-            	component = fallThrough( component, e );
+            	component = hitTest( mouse.x, mouse.y, e, false );
             }
 
             boolean drag = id == MouseEvent.MOUSE_DRAGGED;
@@ -367,11 +398,19 @@ public class GlassedPane extends JPanel{
             }
             
             if( component == null ){
-                setCursor( null );
-                setToolTipText( null );
+            	if( !moved || overNewComponent || getToolTipText() != null || isCursorSet() ){
+            		setCursor( null );
+            		setToolTipText( null );
+            	}
             }
             else{
-            	mouse = SwingUtilities.convertPoint( this, mouse, component );
+            	if( cached && component == hitTarget ){
+            		mouse.x -= hitTargetX;
+            		mouse.y -= hitTargetY;
+            	}
+            	else{
+            		mouse = SwingUtilities.convertPoint( this, mouse, component );
+            	}
                 MouseEvent forward = new MouseEvent( 
                         component, id, e.getWhen(), e.getModifiers(), 
                         mouse.x, mouse.y, e.getClickCount(), e.isPopupTrigger(), 
@@ -391,6 +430,94 @@ public class GlassedPane extends JPanel{
             }
         }
         
+        /**
+         * Searches the component which should receive <code>event</code>.
+         * @param x the x-coordinate of the mouse on this pane
+         * @param y the y-coordinate of the mouse on this pane
+         * @param event the event that is to be forwarded
+         * @param store whether to store the result in the hit-test cache
+         * @return the component which should receive the event, may be <code>null</code>
+         */
+        private Component hitTest( int x, int y, MouseEvent event, boolean store ){
+        	Component deepest = SwingUtilities.getDeepestComponentAt( contentPane, x, y );
+        	Component component;
+        	if( deepest != null && !deepest.isEnabled() ){
+        		component = null;
+        	}
+        	else{
+        		component = fallThrough( deepest, event );
+        	}
+        	
+        	if( store ){
+        		invalidateHitCache();
+        		// installing the observer costs about as much as a hit-test, hence the cache is only used
+        		// if the mouse stays over the same component
+        		boolean stable = deepest == hitCandidate;
+        		hitCandidate = deepest;
+        		if( stable && deepest != null && deepest.isEnabled() ){
+        			Point location = SwingUtilities.convertPoint( deepest, 0, 0, this );
+        			hitX = location.x;
+        			hitY = location.y;
+        			if( component != null ){
+        				location = SwingUtilities.convertPoint( component, 0, 0, this );
+        				hitTargetX = location.x;
+        				hitTargetY = location.y;
+        			}
+        			hitDeepest = deepest;
+        			hitTarget = component;
+        			hitObserver.observe( deepest );
+        		}
+        	}
+        	
+        	return component;
+        }
+        
+        /**
+         * Tells whether the result of the last hit-test can be reused for the point
+         * <code>x/y</code>. This is the case if the point is still within the cached
+         * component, the cached component does not have a child at that point, and
+         * the cached component would still forward <code>event</code> to {@link #hitTarget}.
+         * @param x the x-coordinate of the mouse on this pane
+         * @param y the y-coordinate of the mouse on this pane
+         * @param event the event that is to be forwarded
+         * @return <code>true</code> if {@link #hitTarget} can be used
+         */
+        private boolean isHitCacheValid( int x, int y, MouseEvent event ){
+        	Component deepest = hitDeepest;
+        	if( deepest == null || !deepest.isEnabled() ){
+        		return false;
+        	}
+        	int localX = x - hitX;
+        	int localY = y - hitY;
+        	if( localX < 0 || localY < 0 || localX >= deepest.getWidth() || localY >= deepest.getHeight() ){
+        		return false;
+        	}
+        	if( deepest.getComponentAt( localX, localY ) != deepest ){
+        		return false;
+        	}
+        	return fallThrough( deepest, event ) == hitTarget;
+        }
+        
+        /**
+         * Clears the hit-test cache, the next mouse-moved event will search
+         * the deepest component again. The {@link HitCacheObserver} remains installed,
+         * in case the next search finds the same component.
+         */
+        private void invalidateHitCache(){
+        	hitDeepest = null;
+        	hitTarget = null;
+        }
+        
+        /**
+         * Clears the hit-test cache and removes the {@link HitCacheObserver} from all
+         * components.
+         */
+        private void clearHitCache(){
+        	invalidateHitCache();
+        	hitCandidate = null;
+        	hitObserver.observe( null );
+        }
+        
         /**
          * Assuming this {@link GlassedPane} wants to forward <code>event</code> to <code>component</code>,
          * this method can decide that <code>component</code> should not receive the event. Instead some
@@ -418,6 +545,188 @@ public class GlassedPane extends JPanel{
         	return component;
         }
 
+        /**
+         * Listens to the component cached by the hit-test and invalidates the cache
+         * if that component, one of its ancestors or one of their siblings is moved, resized,
+         * shown or hidden, or if a child is added to or removed from any container on the path
+         * between the content pane and that component. A sibling that is moved over the cached
+         * component therefore invalidates the cache as well. The listeners remain installed
+         * until another component is observed, and only the containers that are not shared by
+         * the old and the new path are updated.
+         * @author Benjamin Sigg
+         */
+        private class HitCacheObserver implements ComponentListener, HierarchyListener, ContainerListener{
+        	/** the observed component */
+        	private Component component;
+        	/** the containers on the path from the parent of {@link #component} up to the content pane, a container can appear only once */
+        	private List<Container> path = new ArrayList<Container>();
+        	/** 
+        	 * the children of the containers of {@link #path} at the time the listeners were added, only the children
+        	 * in front of the child on the path and the child itself are observed, the children behind cannot hide the cached component
+        	 */
+        	private List<Component[]> children = new ArrayList<Component[]>();
+        	/** the content pane to which this observer was added */
+        	private Component pane;
+        	/** whether a container of {@link #path} changed its children since the listeners were added */
+        	private boolean structureChanged = false;
+        	
+        	/**
+        	 * Changes the component that is observed.
+        	 * @param component the new component, can be <code>null</code>
+        	 */
+        	public void observe( Component component ){
+        		if( this.component == component && !structureChanged ){
+        			return;
+        		}
+        		
+        		if( this.component != component ){
+        			if( this.component != null ){
+        				this.component.removeHierarchyListener( this );
+        			}
+        			this.component = component;
+        			if( component != null ){
+        				component.addHierarchyListener( this );
+        			}
+        		}
+        		
+        		List<Component> next = new ArrayList<Component>();
+        		if( component != null && component != contentPane ){
+        			Component child = component;
+        			Container parent = component.getParent();
+        			while( parent != null ){
+        				next.add( child );
+        				if( parent == contentPane ){
+        					break;
+        				}
+        				child = parent;
+        				parent = parent.getParent();
+        			}
+        		}
+        		
+        		for( int i = path.size()-1; i >= 0; i-- ){
+        			if( structureChanged || !isObserved( next, i )){
+        				uninstall( i );
+        			}
+        		}
+        		for( Component child : next ){
+        			if( !isObserved( child )){
+        				install( child );
+        			}
+        		}
+        		structureChanged = false;
+        		
+        		Component nextPane = component == null ? null : contentPane;
+        		if( pane != nextPane ){
+        			if( pane != null ){
+        				pane.removeComponentListener( this );
+        			}
+        			pane = nextPane;
+        			if( pane != null ){
+        				pane.addComponentListener( this );
+        			}
+        		}
+        	}
+        	
+        	/**
+        	 * Tells whether the <code>index</code>'th element of {@link #path} is still required.
+        	 * @param next the components on the new path
+        	 * @param index the index of an element of {@link #path}
+        	 * @return <code>true</code> if one component of <code>next</code> is the observed child of the container
+        	 */
+        	private boolean isObserved( List<Component> next, int index ){
+        		Component[] items = children.get( index );
+        		Component child = items[ items.length-1 ];
+        		for( Component item : next ){
+        			if( item == child ){
+        				return true;
+        			}
+        		}
+        		return false;
+        	}
+        	
+        	/**
+        	 * Tells whether <code>child</code> and the children in front of it are already observed.
+        	 * @param child a component on the path
+        	 * @return whether the parent of <code>child</code> is in {@link #path} and observes <code>child</code>
+        	 */
+        	private boolean isObserved( Component child ){
+        		for( Component[] items : children ){
+        			if( items[ items.length-1 ] == child ){
+        				return true;
+        			}
+        		}
+        		return false;
+        	}
+        	
+        	/**
+        	 * Adds this observer to the parent of <code>child</code>, to <code>child</code> and to all
+        	 * the children in front of <code>child</code>.
+        	 * @param child a component on the path, its parent becomes a new element of {@link #path}
+        	 */
+        	private void install( Component child ){
+        		Container container = child.getParent();
+        		Component[] all = container.getComponents();
+        		int count = 0;
+        		while( all[ count ] != child ){
+        			count++;
+        		}
+        		Component[] items = new Component[ count+1 ];
+        		System.arraycopy( all, 0, items, 0, count+1 );
+        		
+        		container.addContainerListener( this );
+        		for( Component item : items ){
+        			item.addComponentListener( this );
+        		}
+        		path.add( container );
+        		children.add( items );
+        	}
+        	
+        	/**
+        	 * Removes this observer from the <code>index</code>'th element of {@link #path} and its children.
+        	 * @param index the index of the container to remove
+        	 */
+        	private void uninstall( int index ){
+        		Container container = path.remove( index );
+        		container.removeContainerListener( this );
+        		for( Component item : children.remove( index )){
+        			item.removeComponentListener( this );
+        		}
+        	}
+        	
+			public void componentResized( ComponentEvent e ){
+				invalidateHitCache();
+			}
+
+			public void componentMoved( ComponentEvent e ){
+				invalidateHitCache();
+			}
+
+			public void componentShown( ComponentEvent e ){
+				invalidateHitCache();
+			}
+
+			public void componentHidden( ComponentEvent e ){
+				invalidateHitCache();
+			}
+
+			public void hierarchyChanged( HierarchyEvent e ){
+				if( (e.getChangeFlags() & HierarchyEvent.PARENT_CHANGED) != 0 ){
+					structureChanged = true;
+				}
+				invalidateHitCache();
+			}
+			
+			public void componentAdded( ContainerEvent e ){
+				structureChanged = true;
+				invalidateHitCache();
+			}
+			
+			public void componentRemoved( ContainerEvent e ){
+				structureChanged = true;
+				invalidateHitCache();
+			}
+        }
+        
         @Override
         public JToolTip createToolTip(){
         	return tooltips.getValue().createTooltip( over, callback );
@@ -30,6 +30,7 @@ import java.awt.Container;
 import java.awt.Dimension;
 import java.awt.Graphics;
 import java.awt.Insets;
+import java.awt.Rectangle;
 
 import javax.swing.JComponent;
 import javax.swing.JLayeredPane;
@@ -47,7 +48,10 @@ import bibliothek.util.Workarounds;
  * "content pane" is the same as the "base pane", but it is possible to use two
  * different {@link JComponent}s for them. The client that replaces a 
  * "content pane" has to add the new panel to the "base pane". It is possible
- * to put some {@link Container}s between "base pane" and "content pane".
+ * to put some {@link Container}s between "base pane" and "content pane".<br>
+ * Clients that know which area of the overlay changed can call {@link #repaintOverlay(Rectangle)},
+ * then only the old and the new area are repainted, instead of the entire panel with all
+ * its children.
  * @author Benjamin Sigg
  *
  */
@@ -64,6 +68,12 @@ public class OverpaintablePanel extends JLayeredPane {
     /** whether the background should be painted or not */
     private boolean solid = true;
     
+    /** the number of pixels that are added around any area given to {@link #repaintOverlay(Rectangle)} */
+    private static final int OVERLAY_MARGIN = 4;
+    
+    /** the area that was last given to {@link #repaintOverlay(Rectangle)} */
+    private Rectangle overlayRegion;
+    
     /**
      * Creates a new panel
      */
@@ -154,6 +164,36 @@ public class OverpaintablePanel extends JLayeredPane {
 		return base;
 	}
     
+    /**
+     * Informs this panel that the figures painted by {@link #paintOverlay(Graphics)} changed
+     * and that they now cover <code>region</code>. This panel repaints the union of <code>region</code> 
+     * and of the area that was given to the last call of this method, all the other parts of
+     * this panel and its children are not repainted. A small margin is added to the areas, hence
+     * the figures may be painted with thick lines.
+     * @param region the area that is now covered by the figures, in the coordinate system
+     * that is used by {@link #paintOverlay(Graphics)}, can be <code>null</code> if no figures 
+     * are painted anymore
+     */
+    public void repaintOverlay( Rectangle region ){
+    	Rectangle dirty;
+    	if( overlayRegion == null ){
+    		dirty = region;
+    	}
+    	else if( region == null ){
+    		dirty = overlayRegion;
+    	}
+    	else{
+    		dirty = overlayRegion.union( region );
+    	}
+    	
+    	overlayRegion = region == null ? null : new Rectangle( region );
+    	
+    	if( dirty != null ){
+    		overlay.repaint( dirty.x - OVERLAY_MARGIN, dirty.y - OVERLAY_MARGIN, 
+    				dirty.width + 2*OVERLAY_MARGIN, dirty.height + 2*OVERLAY_MARGIN );
+    	}
+    }
+    
     /**
      * Paints the overlay over all components.
      * @param g the graphics to use
@@ -32,6 +32,20 @@ import java.awt.EventQueue;
 import java.awt.Graphics;
 import java.awt.Insets;
 import java.awt.Rectangle;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.event.MouseWheelEvent;
+import java.awt.event.MouseWheelListener;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import javax.swing.SwingConstants;
+import javax.swing.plaf.basic.BasicArrowButton;
 
 import bibliothek.gui.DockController;
 import bibliothek.gui.Dockable;
@@ -45,7 +59,10 @@ import bibliothek.gui.dock.util.ConfiguredBackgroundPanel;
 import bibliothek.gui.dock.util.Transparency;
 
 /**
- * This panel is used by the {@link FlapDockStation} to display some button-titles.
+ * This panel is used by the {@link FlapDockStation} to display some button-titles.<br>
+ * If {@link #setVirtualized(boolean) virtualized}, then this panel shows only as many buttons as fit
+ * onto it, and it offers two arrows to scroll through the remaining buttons. The {@link DockTitle}s of
+ * buttons that are not visible are not created at all.
  */
 public class ButtonPane extends SecureContainer{
     /** The owner of this panel */
@@ -63,6 +80,46 @@ public class ButtonPane extends SecureContainer{
     /** handles the {@link Span}s used on this panel */
     private FlapSpanStrategy span;
     
+    /** the components of the buttons that are currently shown, in the order in which they are shown */
+    private Component[] buttons = new Component[0];
+    
+    /** whether only the visible buttons are shown and created */
+    private boolean virtualized = false;
+    
+    /** if {@link #virtualized}, the index of the first visible button */
+    private int firstVisible = 0;
+    
+    /** if {@link #virtualized}, the index of the first button after the last visible button */
+    private int endVisible = 0;
+    
+    /** if {@link #virtualized}, the {@link Dockable}s whose buttons were required by this panel */
+    private Set<Dockable> required = createDockableSet();
+    
+    /** if {@link #virtualized}, the largest length of all the buttons that were measured */
+    private int largestLength = 0;
+    
+    /** if {@link #virtualized}, the largest thickness of all the buttons that were measured */
+    private int largestThickness = 0;
+    
+    /** whether {@link #largestLength} and {@link #largestThickness} were measured for horizontal buttons */
+    private boolean largestHorizontal = true;
+    
+    /** whether {@link #resetTitles()} is currently executed and changes the required titles */
+    private boolean updatingTitles = false;
+    
+    /** button used to scroll back if {@link #virtualized} */
+    private BasicArrowButton previous;
+    
+    /** button used to scroll forward if {@link #virtualized} */
+    private BasicArrowButton next;
+    
+    /** scrolls through the buttons if {@link #virtualized} */
+    private MouseWheelListener wheelListener = new MouseWheelListener(){
+		public void mouseWheelMoved( MouseWheelEvent e ){
+			scroll( e.getWheelRotation() );
+		}
+	};
+    
     /**
      * Constructs a new panel.
      * @param station The owner
@@ -72,6 +129,101 @@ public class ButtonPane extends SecureContainer{
     	content = new Content();
         setBasePane( content );
         this.station = station;
+        
+        previous = new BasicArrowButton( SwingConstants.WEST );
+        previous.setFocusable( false );
+        previous.addActionListener( new ActionListener(){
+			public void actionPerformed( ActionEvent e ){
+				scroll( -Math.max( 1, endVisible - firstVisible ));
+			}
+		});
+        
+        next = new BasicArrowButton( SwingConstants.EAST );
+        next.setFocusable( false );
+        next.addActionListener( new ActionListener(){
+			public void actionPerformed( ActionEvent e ){
+				scroll( Math.max( 1, endVisible - firstVisible ));
+			}
+		});
+        
+        content.addComponentListener( new ComponentAdapter(){
+        	@Override
+        	public void componentResized( ComponentEvent e ){
+        		if( virtualized ){
+        			resetTitles();
+        		}
+        	}
+        });
+    }
+    
+    /**
+     * Sets whether this panel is virtualized. A virtualized panel shows only the buttons that fit onto it,
+     * and the {@link DockTitle}s of all other buttons are not created. The user can scroll through the 
+     * buttons with two arrows or with the mouse wheel.
+     * @param virtualized whether to virtualize this panel
+     */
+    public void setVirtualized( boolean virtualized ){
+    	if( this.virtualized != virtualized ){
+    		this.virtualized = virtualized;
+    		firstVisible = 0;
+    		endVisible = 0;
+    		largestLength = 0;
+    		largestThickness = 0;
+    		if( virtualized ){
+    			content.addMouseWheelListener( wheelListener );
+    			// all buttons exist right now, the invisible ones are released by the next update
+    			for( int i = 0, n = station.getDockableCount(); i<n; i++ ){
+    				required.add( station.getDockable( i ) );
+    			}
+    		}
+    		else{
+    			content.removeMouseWheelListener( wheelListener );
+    			required.clear();
+    			for( int i = 0, n = station.getDockableCount(); i<n; i++ ){
+    				station.setButtonRequired( i, true );
+    			}
+    		}
+    		resetTitles();
+    	}
+    }
+    
+    /**
+     * Tells whether this panel shows and creates only the buttons that fit onto it.
+     * @return whether this panel is virtualized
+     * @see #setVirtualized(boolean)
+     */
+    public boolean isVirtualized(){
+		return virtualized;
+	}
+    
+    /**
+     * Moves the buttons of a {@link #isVirtualized() virtualized} panel by <code>delta</code> buttons.
+     * @param delta the number of buttons to skip, can be negative
+     */
+    public void scroll( int delta ){
+    	int count = station.getDockableCount();
+    	int first = Math.max( 0, Math.min( count-1, firstVisible + delta ));
+    	if( first != firstVisible ){
+    		firstVisible = first;
+    		resetTitles();
+    	}
+    }
+    
+    /**
+     * Ensures that the button of the <code>index</code>'th {@link Dockable} is visible. Does nothing
+     * if this panel is not {@link #isVirtualized() virtualized}.
+     * @param index the index of a {@link Dockable}
+     */
+    public void scrollTo( int index ){
+    	if( virtualized ){
+    		if( index < firstVisible ){
+    			scroll( index - firstVisible );
+    		}
+    		else if( index >= endVisible ){
+    			int visible = Math.max( 1, endVisible - firstVisible );
+    			scroll( index - visible + 1 - firstVisible );
+    		}
+    	}
     }
     
     /**
@@ -103,6 +255,14 @@ public class ButtonPane extends SecureContainer{
         		dropInfo = null;
         		span.tease( -1 );
         	}
+        	else if( virtualized ){
+        		if( index < firstVisible || index > endVisible ){
+        			span.tease( -1 );
+        		}
+        		else{
+        			span.tease( index - firstVisible );
+        		}
+        	}
         	else{
         		span.tease( dropInfo.getIndex() );
         	}
@@ -147,16 +307,24 @@ public class ButtonPane extends SecureContainer{
      * constructor, are shown on this panel. This method works asynchronous.
      */
     public void resetTitles(){
-    	if( !resetStarted ){
+    	if( !resetStarted && !updatingTitles ){
     		Runnable code = new Runnable() {
 				public void run(){
 					resetStarted = false;
 			        getContentPane().removeAll();
-			        for( int i = 0, n = station.getDockableCount(); i<n; i++ ){
-			            DockTitle title = station.getButton( i );
-			            if( title != null ){
-			                getContentPane().add( title.getComponent() );
-			            }
+			        if( virtualized ){
+			        	updateVisibleTitles();
+			        }
+			        else{
+			        	List<Component> shown = new ArrayList<Component>();
+				        for( int i = 0, n = station.getDockableCount(); i<n; i++ ){
+				            DockTitle title = station.getButton( i );
+				            if( title != null ){
+				                getContentPane().add( title.getComponent() );
+				                shown.add( title.getComponent() );
+				            }
+				        }
+				        buttons = shown.toArray( new Component[ shown.size() ] );
 			        }
 			        span.reset();
 			        revalidate();
@@ -173,14 +341,146 @@ public class ButtonPane extends SecureContainer{
     	}
     }
     
+    /**
+     * Decides which buttons are visible on a {@link #isVirtualized() virtualized} panel, ensures that only
+     * the visible buttons have a title, and adds the titles to the {@link #getContentPane() content pane}.
+     */
+    private void updateVisibleTitles(){
+    	int count = station.getDockableCount();
+    	
+    	boolean horizontal = station.getDirection() == Direction.SOUTH || station.getDirection() == Direction.NORTH;
+    	if( horizontal != largestHorizontal ){
+    		largestHorizontal = horizontal;
+    		largestLength = 0;
+    		largestThickness = 0;
+    	}
+    	Insets insets = content.getInsets();
+    	int available;
+    	if( horizontal ){
+    		available = content.getWidth() - insets.left - insets.right - previous.getPreferredSize().width - next.getPreferredSize().width;
+    		previous.setDirection( SwingConstants.WEST );
+    		next.setDirection( SwingConstants.EAST );
+    	}
+    	else{
+    		available = content.getHeight() - insets.top - insets.bottom - previous.getPreferredSize().height - next.getPreferredSize().height;
+    		previous.setDirection( SwingConstants.NORTH );
+    		next.setDirection( SwingConstants.SOUTH );
+    	}
+    	
+    	updatingTitles = true;
+    	try{
+	    	firstVisible = Math.max( 0, Math.min( firstVisible, count-1 ));
+	    	endVisible = firstVisible;
+	    	int used = 0;
+	    	
+	    	while( endVisible < count ){
+	    		int size = buttonSize( endVisible, horizontal );
+	    		if( endVisible > firstVisible && used + size > available ){
+	    			break;
+	    		}
+	    		used += size;
+	    		endVisible++;
+	    	}
+	    	
+	    	while( firstVisible > 0 ){
+	    		int size = buttonSize( firstVisible-1, horizontal );
+	    		if( used + size > available ){
+	    			break;
+	    		}
+	    		used += size;
+	    		firstVisible--;
+	    	}
+	    	
+	    	// children may have been added, removed or moved since the last update, hence the buttons
+	    	// are released by their Dockable and not by their old index
+	    	Set<Dockable> visible = createDockableSet();
+	    	for( int i = firstVisible; i < endVisible; i++ ){
+	    		visible.add( station.getDockable( i ) );
+	    	}
+	    	for( Dockable dockable : required ){
+	    		if( !visible.contains( dockable )){
+	    			int index = station.indexOf( dockable );
+	    			if( index >= 0 ){
+	    				station.setButtonRequired( index, false );
+	    			}
+	    		}
+	    	}
+	    	required = visible;
+    	}
+    	finally{
+    		updatingTitles = false;
+    	}
+    	
+    	List<Component> shown = new ArrayList<Component>();
+    	for( int i = firstVisible; i < endVisible; i++ ){
+    		DockTitle title = station.getButton( i );
+    		if( title != null ){
+    			getContentPane().add( title.getComponent() );
+    			shown.add( title.getComponent() );
+    		}
+    	}
+    	buttons = shown.toArray( new Component[ shown.size() ] );
+    	
+    	if( firstVisible > 0 || endVisible < count ){
+    		previous.setEnabled( firstVisible > 0 );
+    		next.setEnabled( endVisible < count );
+    		getContentPane().add( previous );
+    		getContentPane().add( next );
+    	}
+    }
+    
+    /**
+     * Ensures that the button of the <code>index</code>'th {@link Dockable} exists and gets its size.
+     * @param index the index of the button
+     * @param horizontal whether the buttons are aligned horizontally
+     * @return the preferred width or height of the button
+     */
+    private int buttonSize( int index, boolean horizontal ){
+    	station.setButtonRequired( index, true );
+    	required.add( station.getDockable( index ) );
+    	DockTitle title = station.getButton( index );
+    	if( title == null ){
+    		return 0;
+    	}
+    	Dimension size = title.getComponent().getPreferredSize();
+    	int length = horizontal ? size.width : size.height;
+    	largestLength = Math.max( largestLength, length );
+    	largestThickness = Math.max( largestThickness, horizontal ? size.height : size.width );
+    	return length;
+    }
+    
+    /**
+     * Creates a new set of {@link Dockable}s which compares its entries by identity.
+     * @return the new set
+     */
+    private static Set<Dockable> createDockableSet(){
+    	return Collections.newSetFromMap( new IdentityHashMap<Dockable, Boolean>() );
+    }
+    
+    /**
+     * Gets the title of the <code>index</code>'th {@link Dockable}, but only if that title is
+     * currently shown on this panel.
+     * @param index the index of a {@link Dockable}
+     * @return the title or <code>null</code>
+     */
+    private DockTitle getShownButton( int index ){
+    	if( index < 0 || index >= station.getDockableCount() ){
+    		return null;
+    	}
+    	if( virtualized && (index < firstVisible || index >= endVisible )){
+    		return null;
+    	}
+    	return station.getButton( index );
+    }
+    
     @Override
     protected void paintOverlay( Graphics g ) {
        if( dropInfo != null && dropInfo.getCombineTarget() == null ){
             int left = dropInfo.getIndex()-1;
             int right = left+1;
             
-            DockTitle leftTitle = left < 0 ? null : station.getButton( left );
-            DockTitle rightTitle = right >= station.getDockableCount() ? null : station.getButton( right );
+            DockTitle leftTitle = getShownButton( left );
+            DockTitle rightTitle = getShownButton( right );
             
             boolean horizontal = station.getDirection() == Direction.SOUTH || station.getDirection() == Direction.NORTH;
             
@@ -274,8 +574,15 @@ public class ButtonPane extends SecureContainer{
      * @return a location
      */
     public int indexAt( int x, int y ){
+    	int begin = 0;
+    	int end = station.getDockableCount();
+    	if( virtualized ){
+    		begin = Math.min( firstVisible, end );
+    		end = Math.min( endVisible, end );
+    	}
+    	
         if( station.getDirection() == Direction.SOUTH || station.getDirection() == Direction.NORTH ){
-            for( int i = 0, n = station.getDockableCount(); i<n; i++ ){
+            for( int i = begin; i<end; i++ ){
                 DockTitle title = station.getButton( i );
                 if( title != null ){
                     int tx = title.getComponent().getX();
@@ -294,7 +601,7 @@ public class ButtonPane extends SecureContainer{
             }
         }
         else{
-            for( int i = 0, n = station.getDockableCount(); i<n; i++ ){
+            for( int i = begin; i<end; i++ ){
                 DockTitle title = station.getButton( i );
                 if( title != null ){
                     int ty = title.getComponent().getY();
@@ -313,7 +620,7 @@ public class ButtonPane extends SecureContainer{
             }
         }
         
-        return station.getDockableCount();
+        return end;
     }
     
     @Override
@@ -323,6 +630,10 @@ public class ButtonPane extends SecureContainer{
     
     @Override
     public Dimension getPreferredSize() {
+    	if( virtualized ){
+    		return getVirtualizedPreferredSize();
+    	}
+    	
         int width = 0;
         int height = 0;
         int count = station.getDockableCount();
@@ -362,12 +673,59 @@ public class ButtonPane extends SecureContainer{
         return new Dimension( Math.max( empty.width, width ), Math.max( empty.height, height ));
     }
     
+    /**
+     * Gets the preferred size of a {@link #isVirtualized() virtualized} panel. The size does not depend on
+     * which buttons are visible, otherwise the panel would change its size while the user scrolls. The
+     * length is enough to show the largest button that was measured so far and the arrows, the thickness
+     * is the thickness of the thickest button that was measured so far. The parent of this panel decides
+     * how many buttons are visible by giving this panel more space.
+     * @return the preferred size
+     */
+    private Dimension getVirtualizedPreferredSize(){
+    	int count = station.getDockableCount();
+    	boolean horizontal = station.getDirection() == Direction.NORTH || station.getDirection() == Direction.SOUTH;
+    	
+    	int length = 0;
+    	int thickness = span.getTeasing();
+    	
+    	if( horizontal == largestHorizontal ){
+    		length = largestLength;
+    		thickness = Math.max( thickness, largestThickness );
+    	}
+    	
+    	// the gap that opens while a Dockable is dragged over this panel
+    	for( int i = 0; i <= buttons.length; i++ ){
+    		length += span.getGap( i );
+    	}
+    	
+    	if( count > 0 ){
+    		Dimension previousSize = previous.getPreferredSize();
+    		Dimension nextSize = next.getPreferredSize();
+    		if( horizontal ){
+    			length += previousSize.width + nextSize.width;
+    			thickness = Math.max( thickness, Math.max( previousSize.height, nextSize.height ));
+    		}
+    		else{
+    			length += previousSize.height + nextSize.height;
+    			thickness = Math.max( thickness, Math.max( previousSize.width, nextSize.width ));
+    		}
+    	}
+    	
+    	Dimension empty = station.getMinimumSize();
+    	if( horizontal ){
+    		return new Dimension( Math.max( empty.width, length ), Math.max( empty.height, thickness ));
+    	}
+    	else{
+    		return new Dimension( Math.max( empty.width, thickness ), Math.max( empty.height, length ));
+    	}
+    }
+    
     /**
      * Gets the number of buttons that are actually shown.
      * @return the number of buttons
      */
     public int getNumberOfButtons(){
-    	return getContentPane().getComponentCount();
+    	return buttons.length;
     }
     
     /**
@@ -405,14 +763,32 @@ public class ButtonPane extends SecureContainer{
             int width = getWidth() - insets.left - insets.right;
             int height = getHeight() - insets.top - insets.bottom;
             
-            if( station.getDirection() == Direction.NORTH || station.getDirection() == Direction.SOUTH ){
-                int count = getComponentCount();
+            boolean horizontal = station.getDirection() == Direction.NORTH || station.getDirection() == Direction.SOUTH;
+            if( previous.getParent() == this ){
+            	if( horizontal ){
+            		int arrow = previous.getPreferredSize().width;
+            		previous.setBounds( x, y, arrow, height );
+            		next.setBounds( x + width - arrow, y, arrow, height );
+            		x += arrow;
+            		width -= 2*arrow;
+            	}
+            	else{
+            		int arrow = previous.getPreferredSize().height;
+            		previous.setBounds( x, y, width, arrow );
+            		next.setBounds( x, y + height - arrow, width, arrow );
+            		y += arrow;
+            		height -= 2*arrow;
+            	}
+            }
+            
+            if( horizontal ){
+                int count = buttons.length;
                 int[] widths = new int[ count ];
                 int preferredHeight = 0;
                 int sum = 0;
                 
                 for( int i = 0; i < count; i++ ){
-                    Dimension size = getComponent( i ).getPreferredSize();
+                    Dimension size = buttons[i].getPreferredSize();
                     widths[i] = size.width;
                     preferredHeight = Math.max( preferredHeight, size.height );
                     sum += widths[i];
@@ -433,26 +809,26 @@ public class ButtonPane extends SecureContainer{
                     for( int i = 0; i < count; i++ ){
                     	x += span.getGap( i );
                         int temp = (int)(widths[i]*ratio);
-                        getComponent( i ).setBounds( x, y, temp, height );
+                        buttons[i].setBounds( x, y, temp, height );
                         x += temp;
                     }
                 }
                 else{
                     for( int i = 0; i < count; i++ ){
                     	x += span.getGap( i );
-                        getComponent( i ).setBounds( x, y, widths[i], height );
+                        buttons[i].setBounds( x, y, widths[i], height );
                         x += widths[i];
                     }
                 }
             }
             else{
-                int count = getComponentCount();
+                int count = buttons.length;
                 int[] heights = new int[ count ];
                 int preferredWidth = 0;
                 int sum = 0;
                 
                 for( int i = 0; i < count; i++ ){
-                    Dimension size = getComponent( i ).getPreferredSize();
+                    Dimension size = buttons[i].getPreferredSize();
                     heights[i] = size.height;
                     preferredWidth = Math.max( preferredWidth, size.width );
                     sum += heights[i];
@@ -473,14 +849,14 @@ public class ButtonPane extends SecureContainer{
                     for( int i = 0; i < count; i++ ){
                     	y += span.getGap( i );
                         int temp = (int)(heights[i]*ratio);
-                        getComponent( i ).setBounds( x, y, width, temp );
+                        buttons[i].setBounds( x, y, width, temp );
                         y += temp;
                     }
                 }
                 else{
                     for( int i = 0; i < count; i++ ){
                     	y += span.getGap( i );
-                        getComponent( i ).setBounds( x, y, width, heights[i] );
+                        buttons[i].setBounds( x, y, width, heights[i] );
                         y += heights[i];
                     }
                 }
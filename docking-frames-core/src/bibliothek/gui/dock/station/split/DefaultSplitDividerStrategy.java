@@ -33,7 +33,6 @@ import java.awt.MouseInfo;
 import java.awt.Point;
 import java.awt.PointerInfo;
 import java.awt.Rectangle;
-import java.awt.Toolkit;
 import java.awt.event.AWTEventListener;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
@@ -114,8 +113,10 @@ public class DefaultSplitDividerStrategy implements SplitDividerStrategy {
 		
 		/** Will be set to true when mouse is over divider, and set to false when exited. (see AWTListener method below for more details). */
 		private boolean withinBounds = false;
-		/** Flag indicating if AWTEventListener is registered successfully. */
+		/** Flag indicating if this handler is registered at the {@link SplitDividerCursorService}. */
 		private boolean awtListenerEnabled = false;
+		/** the service forwarding global mouse events to this handler, only set if {@link #awtListenerEnabled} */
+		private SplitDividerCursorService cursorService;
 	
 		/** the current bounds of the divider */
 		private Rectangle bounds = new Rectangle();
@@ -176,6 +177,11 @@ public class DefaultSplitDividerStrategy implements SplitDividerStrategy {
 		
 		private void setController( DockController controller ){
 			if( this.controller != controller ){
+				if( cursorService != null ){
+					cursorService.unregister( this );
+					cursorService = null;
+					awtListenerEnabled = false;
+				}
 				this.controller = controller;
 				restricted.setProperties( controller );
 				updateEventListener();
@@ -187,17 +193,35 @@ public class DefaultSplitDividerStrategy implements SplitDividerStrategy {
 			if( expected != awtListenerEnabled ){
 				awtListenerEnabled = expected;
 				if( expected ){
-					// if this goes wrong, the offending client rightly gets an exception. It's his fault because he did set the "restricted environment" property wrong.
-					Toolkit.getDefaultToolkit().addAWTEventListener( Handler.this, AWTEvent.MOUSE_MOTION_EVENT_MASK | AWTEvent.MOUSE_EVENT_MASK );
+					// all the handlers of one controller share the same global listener
+					cursorService = controller.getSplitDividerCursorService();
+					cursorService.register( this );
+					cursorService.setWithinBounds( this, withinBounds );
 				}
-				else{
-					Toolkit.getDefaultToolkit().removeAWTEventListener( Handler.this );
+				else if( cursorService != null ){
+					cursorService.unregister( this );
+					cursorService = null;
 				}
 			}
 		}
 		
 		/**
-		 * AWT event listener.
+		 * Sets whether the mouse is currently over a divider. Only while the mouse is over a divider
+		 * global mouse events are forwarded to {@link #eventDispatched(AWTEvent)}.
+		 * @param withinBounds whether the mouse is over a divider
+		 */
+		private void setWithinBounds( boolean withinBounds ){
+			if( this.withinBounds != withinBounds ){
+				this.withinBounds = withinBounds;
+				if( cursorService != null ){
+					cursorService.setWithinBounds( this, withinBounds );
+				}
+			}
+		}
+		
+		/**
+		 * Global mouse event listener, called by a {@link SplitDividerCursorService} while the mouse
+		 * is over a divider of this station.
 		 * Used to reset the mouse cursor when divider was changed and mouse exited event had not occurred normally.
 		 * @param event
 		 */
@@ -217,7 +241,7 @@ public class DefaultSplitDividerStrategy implements SplitDividerStrategy {
 						if (station.getBounds().contains(p)) {
 							// only if mouse is within our station
 							setCursor(null);
-							withinBounds = false;
+							setWithinBounds( false );
 						}
 					}
 				}
@@ -243,12 +267,7 @@ public class DefaultSplitDividerStrategy implements SplitDividerStrategy {
 				container.removeMouseMotionListener( this );
 				container = null;
 				
-				try {
-					java.awt.Toolkit.getDefaultToolkit().removeAWTEventListener(this);
-				} catch (Throwable e) {
-					e.printStackTrace();
-				}
-			
+				setWithinBounds( false );
 				setController( null );
 				station.removeDockHierarchyListener( this );
 			}
@@ -399,11 +418,11 @@ public class DefaultSplitDividerStrategy implements SplitDividerStrategy {
 					deltaY = bounds.height / 2 + bounds.y - e.getY();
 					
 					// mouse is over divider
-					withinBounds = true;
+					setWithinBounds( true );
 				}
 				else {
 					// mouse is not over divider anymore
-					withinBounds = false;
+					setWithinBounds( false );
 				}
 			}
 		}
@@ -415,7 +434,7 @@ public class DefaultSplitDividerStrategy implements SplitDividerStrategy {
 				setCursor( null );
 					
 				// mouse exited divider normally 
-				withinBounds = false;
+				setWithinBounds( false );
 			}
 		}
 	
@@ -62,6 +62,9 @@ public class Leaf extends SpanSplitNode{
 	/** Information about the element that is shown by this leaf */
     private StationChildHandle handle;
     
+    /** the minimum and preferred size of the displayer of this leaf */
+    private NodeSizeCache sizeCache = new NodeSizeCache();
+    
     /**
      * Creates a new leaf.
      * @param access the access to the private functions of the owning {@link SplitDockStation}
@@ -90,6 +93,12 @@ public class Leaf extends SpanSplitNode{
     @Override
     public Dimension getMinimumSize() {
     	SplitDockStation station = getStation();
+    	int revision = station == null ? -1 : station.getNodeSizeRevision();
+    	Dimension result = sizeCache.getMinimumSize( revision );
+    	if( result != null ){
+    		return result;
+    	}
+    	
     	DockableDisplayer displayer = null;
     	if( handle != null ){
     		displayer = handle.getDisplayer();
@@ -106,7 +115,9 @@ public class Leaf extends SpanSplitNode{
     		return minimum;
     	}
     	
-    	return displayer.getComponent().getMinimumSize();
+    	result = displayer.getComponent().getMinimumSize();
+    	sizeCache.setMinimumSize( revision, result );
+    	return result;
     }
     
     @Override
@@ -117,7 +128,15 @@ public class Leaf extends SpanSplitNode{
     	DockableDisplayer displayer = handle.getDisplayer();
     	if( displayer == null )
     		return new Dimension( 0, 0 );
-    	return displayer.getComponent().getPreferredSize();
+    	
+    	SplitDockStation station = getStation();
+    	int revision = station == null ? -1 : station.getNodeSizeRevision();
+    	Dimension result = sizeCache.getPreferredSize( revision );
+    	if( result == null ){
+    		result = displayer.getComponent().getPreferredSize();
+    		sizeCache.setPreferredSize( revision, result );
+    	}
+    	return result;
     }
     
     @Override
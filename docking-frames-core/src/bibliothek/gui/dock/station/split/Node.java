@@ -55,6 +55,9 @@ public class Node extends VisibleSplitNode implements Divideable{
     /** The area of the divider between the two children */
     private Rectangle dividerBounds = new Rectangle();
     
+    /** the minimum and preferred size of this node */
+    private NodeSizeCache sizeCache = new NodeSizeCache();
+    
     /** whether this node is visible or not */
     private boolean visible;
     
@@ -252,24 +255,40 @@ public class Node extends VisibleSplitNode implements Divideable{
     
     @Override
     public Dimension getMinimumSize() {
+    	int revision = getStation().getNodeSizeRevision();
+    	Dimension result = sizeCache.getMinimumSize( revision );
+    	if( result != null ){
+    		return result;
+    	}
+    	
     	boolean leftVisible = left == null || left.isVisible();
     	boolean rightVisible = right == null || right.isVisible();
     	
 	    Dimension minLeft = leftVisible ? left.getMinimumSize() : null;
 	    Dimension minRight = rightVisible ? right.getMinimumSize() : null;
 	    
-	    return getSize( minLeft, minRight );
+	    result = getSize( minLeft, minRight );
+	    sizeCache.setMinimumSize( revision, result );
+	    return result;
     }
     
     @Override
     public Dimension getPreferredSize(){
+    	int revision = getStation().getNodeSizeRevision();
+    	Dimension result = sizeCache.getPreferredSize( revision );
+    	if( result != null ){
+    		return result;
+    	}
+    	
     	boolean leftVisible = left == null || left.isVisible();
     	boolean rightVisible = right == null || right.isVisible();
     	
 	    Dimension minLeft = leftVisible ? left.getPreferredSize() : null;
 	    Dimension minRight = rightVisible ? right.getPreferredSize() : null;
 	    
-	    return getSize( minLeft, minRight );
+	    result = getSize( minLeft, minRight );
+	    sizeCache.setPreferredSize( revision, result );
+	    return result;
     }
     
     private Dimension getSize( Dimension left, Dimension right ){
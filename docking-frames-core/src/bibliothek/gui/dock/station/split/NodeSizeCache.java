@@ -0,0 +1,95 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2026 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.station.split;
+
+import java.awt.Dimension;
+
+import bibliothek.gui.dock.SplitDockStation;
+
+/**
+ * Stores the minimum and the preferred size of a {@link SplitNode}. The cached values are valid as long
+ * as the {@link SplitDockStation#getNodeSizeRevision() revision} of the station does not change.
+ * @author Benjamin Sigg
+ */
+class NodeSizeCache {
+	/** the cached minimum size */
+	private Dimension minimum;
+	/** the revision of {@link #minimum} */
+	private int minimumRevision = -1;
+	
+	/** the cached preferred size */
+	private Dimension preferred;
+	/** the revision of {@link #preferred} */
+	private int preferredRevision = -1;
+	
+	/**
+	 * Gets the cached minimum size.
+	 * @param revision the current revision, see {@link SplitDockStation#getNodeSizeRevision()}
+	 * @return a copy of the cached size or <code>null</code> if there is no valid size cached
+	 */
+	public Dimension getMinimumSize( int revision ){
+		if( revision == -1 || revision != minimumRevision || minimum == null ){
+			return null;
+		}
+		return new Dimension( minimum );
+	}
+	
+	/**
+	 * Stores the minimum size.
+	 * @param revision the current revision, the size is not stored if <code>-1</code>
+	 * @param size the size to store
+	 */
+	public void setMinimumSize( int revision, Dimension size ){
+		if( revision != -1 ){
+			minimumRevision = revision;
+			minimum = new Dimension( size );
+		}
+	}
+	
+	/**
+	 * Gets the cached preferred size.
+	 * @param revision the current revision, see {@link SplitDockStation#getNodeSizeRevision()}
+	 * @return a copy of the cached size or <code>null</code> if there is no valid size cached
+	 */
+	public Dimension getPreferredSize( int revision ){
+		if( revision == -1 || revision != preferredRevision || preferred == null ){
+			return null;
+		}
+		return new Dimension( preferred );
+	}
+	
+	/**
+	 * Stores the preferred size.
+	 * @param revision the current revision, the size is not stored if <code>-1</code>
+	 * @param size the size to store
+	 */
+	public void setPreferredSize( int revision, Dimension size ){
+		if( revision != -1 ){
+			preferredRevision = revision;
+			preferred = new Dimension( size );
+		}
+	}
+}
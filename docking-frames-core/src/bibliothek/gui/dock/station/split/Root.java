@@ -75,6 +75,7 @@ public class Root extends SpanSplitNode{
     @Override
     protected void treeChanged(){
 	    treeChanged = true;
+	    getStation().invalidateNodeSizes();
     }
     
     /**
@@ -0,0 +1,147 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2026 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.station.split;
+
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.dock.control.GlobalMouseDispatcher;
+
+/**
+ * A {@link SplitDividerCursorService} observes the mouse for all the {@link DefaultSplitDividerStrategy.Handler}s
+ * of one {@link DockController}. Only one listener is added to the {@link GlobalMouseDispatcher} of the controller,
+ * and {@link MouseEvent}s are only forwarded to the handlers whose station currently shows a resize cursor. Since
+ * the mouse can only be over one divider at a time, usually no more than one handler receives an event.<br>
+ * Each {@link DockController} owns exactly one service, which can be accessed through
+ * {@link DockController#getSplitDividerCursorService()}.
+ * @author Benjamin Sigg
+ */
+public class SplitDividerCursorService extends MouseAdapter{
+	/** the controller whose {@link GlobalMouseDispatcher} is used */
+	private DockController controller;
+	
+	/** all the handlers that use this service */
+	private Set<DefaultSplitDividerStrategy.Handler> handlers = new LinkedHashSet<DefaultSplitDividerStrategy.Handler>();
+	
+	/** all the handlers whose station currently shows a resize cursor */
+	private List<DefaultSplitDividerStrategy.Handler> active = new ArrayList<DefaultSplitDividerStrategy.Handler>( 2 );
+	
+	/**
+	 * Creates a new service. The service adds a listener to the {@link GlobalMouseDispatcher} of
+	 * <code>controller</code> only while at least one handler is registered.
+	 * @param controller the controller whose mouse events are observed
+	 */
+	public SplitDividerCursorService( DockController controller ){
+		if( controller == null ){
+			throw new IllegalArgumentException( "controller must not be null" );
+		}
+		this.controller = controller;
+	}
+	
+	/**
+	 * Registers <code>handler</code> at this service.
+	 * @param handler the handler to register
+	 */
+	public void register( DefaultSplitDividerStrategy.Handler handler ){
+		if( handlers.add( handler ) && handlers.size() == 1 ){
+			GlobalMouseDispatcher dispatcher = controller.getGlobalMouseDispatcher();
+			dispatcher.addMouseListener( this );
+			dispatcher.addMouseMotionListener( this );
+		}
+	}
+	
+	/**
+	 * Removes <code>handler</code> from this service. The service stops listening to the mouse if no handlers
+	 * remain.
+	 * @param handler the handler to remove
+	 */
+	public void unregister( DefaultSplitDividerStrategy.Handler handler ){
+		active.remove( handler );
+		if( handlers.remove( handler ) && handlers.isEmpty() ){
+			GlobalMouseDispatcher dispatcher = controller.getGlobalMouseDispatcher();
+			dispatcher.removeMouseListener( this );
+			dispatcher.removeMouseMotionListener( this );
+		}
+	}
+	
+	/**
+	 * Removes all handlers from this service and stops listening to the mouse. Called by the
+	 * {@link DockController} when it is {@link DockController#kill() killed}.
+	 */
+	public void kill(){
+		active.clear();
+		if( !handlers.isEmpty() ){
+			handlers.clear();
+			GlobalMouseDispatcher dispatcher = controller.getGlobalMouseDispatcher();
+			dispatcher.removeMouseListener( this );
+			dispatcher.removeMouseMotionListener( this );
+		}
+	}
+	
+	/**
+	 * Tells this service whether the mouse is currently over a divider of the station of <code>handler</code>. Only
+	 * handlers that are within the bounds of a divider receive events.
+	 * @param handler the handler whose state changed
+	 * @param withinBounds whether the mouse is over a divider
+	 */
+	public void setWithinBounds( DefaultSplitDividerStrategy.Handler handler, boolean withinBounds ){
+		if( withinBounds ){
+			if( !active.contains( handler ) && handlers.contains( handler )){
+				active.add( handler );
+			}
+		}
+		else{
+			active.remove( handler );
+		}
+	}
+	
+	@Override
+	public void mouseMoved( MouseEvent e ){
+		forward( e );
+	}
+	
+	@Override
+	public void mouseReleased( MouseEvent e ){
+		forward( e );
+	}
+	
+	/**
+	 * Forwards <code>event</code> to all the handlers whose station currently shows a resize cursor.
+	 * @param event the event to forward
+	 */
+	private void forward( MouseEvent event ){
+		if( !active.isEmpty() ){
+			for( DefaultSplitDividerStrategy.Handler handler : active.toArray( new DefaultSplitDividerStrategy.Handler[ active.size() ] )){
+				handler.eventDispatched( event );
+			}
+		}
+	}
+}
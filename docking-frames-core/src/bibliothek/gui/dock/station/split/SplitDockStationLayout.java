@@ -253,6 +253,8 @@ public class SplitDockStationLayout {
         private Entry childA;
         /** the bottom or right child */
         private Entry childB;
+        /** cached result of {@link #isVisible()}, <code>null</code> if not yet computed */
+        private Boolean visible;
         
         /**
          * Creates a new node.
@@ -284,7 +286,12 @@ public class SplitDockStationLayout {
         
         @Override
         public boolean isVisible(){
-	        return childA.isVisible() && childB.isVisible();
+        	// the tree is immutable, hence the result never changes. Caching it keeps
+        	// createPathProperty from visiting the whole subtree for each of its leafs
+        	if( visible == null ){
+        		visible = Boolean.valueOf( childA.isVisible() && childB.isVisible() );
+        	}
+	        return visible.booleanValue();
         }
         
         /**
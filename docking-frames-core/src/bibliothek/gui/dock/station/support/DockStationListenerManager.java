@@ -26,12 +26,10 @@
 
 package bibliothek.gui.dock.station.support;
 
-import java.util.ArrayList;
-import java.util.List;
-
 import bibliothek.gui.DockStation;
 import bibliothek.gui.Dockable;
 import bibliothek.gui.dock.event.DockStationListener;
+import bibliothek.util.ListenerList;
 
 /**
  * This manager stores {@link DockStationListener DockStationListeners}
@@ -40,7 +38,7 @@ import bibliothek.gui.dock.event.DockStationListener;
  *
  */
 public class DockStationListenerManager {
-	private List<DockStationListener> listeners = new ArrayList<DockStationListener>();
+	private ListenerList<DockStationListener> listeners = new ListenerList<DockStationListener>( DockStationListener.class );
     private DockStation station;
     
     /**
@@ -85,7 +83,7 @@ public class DockStationListenerManager {
      * @param value the new state
      */
     public void fireDockableVisibilitySet( Dockable dockable, boolean value ){
-    	for( DockStationListener listener : listeners.toArray( new DockStationListener[ listeners.size() ] ))
+    	for( DockStationListener listener : listeners.toArray())
             listener.dockableShowingChanged( station, dockable, value );
     }
     
@@ -95,7 +93,7 @@ public class DockStationListenerManager {
      * @param dockable the {@link Dockable} which was added
      */
     public void fireDockableAdded( Dockable dockable ){
-        for( DockStationListener listener : listeners.toArray( new DockStationListener[ listeners.size() ] ))
+        for( DockStationListener listener : listeners.toArray())
             listener.dockableAdded( station, dockable );
     }
     
@@ -105,7 +103,7 @@ public class DockStationListenerManager {
      * @param dockable the {@link Dockable} which was removed
      */
     public void fireDockableRemoved( Dockable dockable ){
-        for( DockStationListener listener : listeners.toArray( new DockStationListener[ listeners.size() ] ))
+        for( DockStationListener listener : listeners.toArray())
             listener.dockableRemoved( station, dockable );
     }
     
@@ -115,7 +113,7 @@ public class DockStationListenerManager {
      * @param dockable the {@link Dockable} which will be added
      */
     public void fireDockableAdding( Dockable dockable ){
-        for( DockStationListener listener : listeners.toArray( new DockStationListener[ listeners.size() ] ))
+        for( DockStationListener listener : listeners.toArray())
             listener.dockableAdding( station, dockable );
     }
     
@@ -125,7 +123,7 @@ public class DockStationListenerManager {
      * @param dockable the {@link Dockable} which will be removed
      */
     public void fireDockableRemoving( Dockable dockable ){
-        for( DockStationListener listener : listeners.toArray( new DockStationListener[ listeners.size() ] ))
+        for( DockStationListener listener : listeners.toArray())
             listener.dockableRemoving( station, dockable );
     }
     
@@ -136,7 +134,7 @@ public class DockStationListenerManager {
      * @param newSelected the selected {@link Dockable}
      */
     public void fireDockableSelected( Dockable oldSelected, Dockable newSelected ){
-        for( DockStationListener listener : listeners.toArray( new DockStationListener[ listeners.size() ] ))
+        for( DockStationListener listener : listeners.toArray())
             listener.dockableSelected( station, oldSelected, newSelected );
     }
     
@@ -146,7 +144,7 @@ public class DockStationListenerManager {
      * @param dockables the elements that have a new position
      */
     public void fireDockablesRepositioned( Dockable... dockables ){
-    	for( DockStationListener listener : listeners.toArray( new DockStationListener[ listeners.size() ] ))
+    	for( DockStationListener listener : listeners.toArray())
             listener.dockablesRepositioned( station, dockables );
     }
 }
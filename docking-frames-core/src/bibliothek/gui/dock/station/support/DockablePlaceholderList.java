@@ -25,6 +25,11 @@
  */
 package bibliothek.gui.dock.station.support;
 
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
 import bibliothek.gui.DockStation;
 import bibliothek.gui.Dockable;
 import bibliothek.util.Path;
@@ -35,6 +40,14 @@ import bibliothek.util.Path;
  * @param <P> the kind of object that represents a {@link Dockable}
  */
 public class DockablePlaceholderList<P extends PlaceholderListItem<Dockable>> extends PlaceholderList<Dockable, DockStation, P>{
+	/** the index of each {@link Dockable} in {@link #dockables()}, used by {@link #indexOfDockable(Dockable)} */
+	private Map<Dockable, Integer> dockableIndices = new IdentityHashMap<Dockable, Integer>();
+	/** the items of {@link #dockables()} at the time {@link #dockableIndices} was built */
+	private List<P> dockableItems = new ArrayList<P>();
+	/** whether {@link #dockableIndices} was built at least once */
+	private boolean dockableIndicesValid = false;
+	/** the {@link #getModificationCount() modification count} of this list when {@link #dockableIndices} was built */
+	private int dockableIndicesModification;
 
 	/**
 	 * Creates a new and empty list.
@@ -78,6 +91,68 @@ public class DockablePlaceholderList<P extends PlaceholderListItem<Dockable>> ex
 		list.read( map, converter, true );
 	}
 	
+	/**
+	 * Gets the location of <code>dockable</code> in the {@link #dockables() list of dockables}. The
+	 * location is read from an index that is rebuilt lazily whenever this list is modified, hence
+	 * repeated calls to this method do not require to search through the entire list.
+	 * @param dockable the element to search
+	 * @return the index of the first item representing <code>dockable</code>, or -1 if
+	 * <code>dockable</code> was not found
+	 */
+	public int indexOfDockable( Dockable dockable ){
+		boolean rebuilt = false;
+		if( !dockableIndicesValid || dockableIndicesModification != getModificationCount() ){
+			rebuildDockableIndices();
+			rebuilt = true;
+		}
+		
+		int index = lookupDockableIndex( dockable );
+		if( index == -1 && !rebuilt ){
+			// items can exchange their dockable without modifying this list, e.g. if a
+			// ScreenDockStation combines or replaces dockables, hence a miss may be stale
+			rebuildDockableIndices();
+			index = lookupDockableIndex( dockable );
+		}
+		return index;
+	}
+	
+	/**
+	 * Searches <code>dockable</code> in {@link #dockableIndices} and verifies that the item at the
+	 * stored index still represents <code>dockable</code>, see {@link #dockableItems}.
+	 * @param dockable the element to search
+	 * @return the verified index or -1 if <code>dockable</code> was not found or if the index is stale
+	 */
+	private int lookupDockableIndex( Dockable dockable ){
+		Integer index = dockableIndices.get( dockable );
+		if( index == null ){
+			return -1;
+		}
+		int value = index.intValue();
+		if( dockableItems.get( value ).asDockable() != dockable ){
+			return -1;
+		}
+		return value;
+	}
+	
+	/**
+	 * Builds {@link #dockableIndices} from scratch.
+	 */
+	private void rebuildDockableIndices(){
+		dockableIndices.clear();
+		dockableItems.clear();
+		int index = 0;
+		for( P item : dockables() ){
+			dockableItems.add( item );
+			Dockable next = item.asDockable();
+			if( !dockableIndices.containsKey( next )){
+				dockableIndices.put( next, index );
+			}
+			index++;
+		}
+		dockableIndicesValid = true;
+		dockableIndicesModification = getModificationCount();
+	}
+	
 	/**
 	 * Converts this list into a {@link PlaceholderMap}, any remaining {@link Dockable} or
 	 * {@link DockStation} will be converted into its placeholder using the currently installed
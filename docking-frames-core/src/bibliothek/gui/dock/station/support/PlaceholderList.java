@@ -52,7 +52,7 @@ public abstract class PlaceholderList<D, S, P extends PlaceholderListItem<D>> {
 	/**
 	 * The {@link PlaceholderMap#getFormat() format} of the {@link PlaceholderMap}s that are created by this class.
 	 */
-	public static final Path PLACEHOLDER_MAP_FORMAT = new Path("dock.PlaceholderList");
+	public static final Path PLACEHOLDER_MAP_FORMAT = Path.valueOf( "dock.PlaceholderList" );
 
 	/** the current set of valid placeholders */
 	private PlaceholderStrategy strategy;
@@ -175,6 +175,9 @@ public abstract class PlaceholderList<D, S, P extends PlaceholderListItem<D>> {
 
 	/** whether {@link #bind()} has been called */
 	private boolean bound = false;
+	
+	/** incremented whenever the content or the order of this list changes */
+	private int modifications = 0;
 
 	/**
 	 * Creates a new and empty list.
@@ -450,6 +453,16 @@ public abstract class PlaceholderList<D, S, P extends PlaceholderListItem<D>> {
 		}
 	}
 
+	/**
+	 * Gets a counter that is incremented every time when an item is added, removed, moved or replaced. Clients
+	 * can compare the value of this counter with an older value to find out whether data they derived from
+	 * this list is still valid.
+	 * @return the number of modifications, the value may overflow
+	 */
+	public int getModificationCount(){
+		return modifications;
+	}
+	
 	/**
 	 * Gets the current strategy of this list.
 	 * @return the current strategy
@@ -1011,6 +1024,7 @@ public abstract class PlaceholderList<D, S, P extends PlaceholderListItem<D>> {
 	}
 
 	private void invalidate(){
+		modifications++;
 		dockables.invalidate();
 		allPlaceholders.invalidate();
 		purePlaceholders.invalidate();
@@ -1164,6 +1178,7 @@ public abstract class PlaceholderList<D, S, P extends PlaceholderListItem<D>> {
 		}
 
 		public void set( Item item ){
+			modifications++;
 			this.item.setOwner( null );
 			item.setOwner( this );
 
@@ -101,7 +101,7 @@ public class PlaceholderMap {
 		}
 		
 		this.version = in.readInt();
-		format = new Path( in.readUTF() );
+		format = Path.valueOf( in.readUTF() );
 	
 		int size = in.readInt();
 		
@@ -147,7 +147,7 @@ public class PlaceholderMap {
 		if( xformat == null ){
 			throw new XException( "missing element 'format'" );
 		}
-		format = new Path( xformat.getString() );
+		format = Path.valueOf( xformat.getString() );
 		
 		for( int i = 0, n = in.getElementCount(); i<n; i++ ){
 			XElement xentry = in.getElement( i );
@@ -251,7 +251,7 @@ public class PlaceholderMap {
 					result[i] = read( in, strategy );
 				}
 				return result;
-			case 7: return new Path( in.readUTF() );
+			case 7: return Path.valueOf( in.readUTF() );
 		}
 		throw new IOException( "illegal format" );
 	}
@@ -346,7 +346,7 @@ public class PlaceholderMap {
 			return result;
 		}
 		if( "t".equals( type )){
-			return new Path( in.getString() );
+			return Path.valueOf( in.getString() );
 		}
 		else{
 			throw new XException( "unknown type: " + type );
@@ -1094,7 +1094,7 @@ public class PlaceholderMap {
 			
 			placeholders = new Path[ in.readInt() ];
 			for( int i = 0; i < placeholders.length; i++ ){
-				placeholders[i] = new Path( in.readUTF() );
+				placeholders[i] = Path.valueOf( in.readUTF() );
 			}
 		}
 		
@@ -1109,7 +1109,7 @@ public class PlaceholderMap {
 			XElement[] xplaceholders = in.getElements( "placeholder" );
 			placeholders = new Path[ xplaceholders.length ];
 			for( int i = 0; i < xplaceholders.length; i++ ){
-				placeholders[i] = new Path( xplaceholders[i].getString() );
+				placeholders[i] = Path.valueOf( xplaceholders[i].getString() );
 			}
 		}
 		
@@ -38,6 +38,7 @@ import bibliothek.gui.DockStation;
 import bibliothek.gui.DockTheme;
 import bibliothek.gui.Dockable;
 import bibliothek.gui.dock.control.DockRegister;
+import bibliothek.gui.dock.control.watchdog.OperationMarkers;
 import bibliothek.gui.dock.control.focus.DefaultFocusRequest;
 import bibliothek.gui.dock.event.UIListener;
 import bibliothek.gui.dock.station.Combiner;
@@ -262,6 +263,7 @@ public class ThemeManager extends TypedUIProperties{
     		DockRegister register = controller.getRegister();
     		DockTheme oldTheme = this.theme;
     		Dockable focused = null;
+    		OperationMarkers.Marker marker = controller.getOperationMarkers().begin( "ThemeManager.setTheme" );
     		try{
     			register.setStalled( true );
     			focused = controller.getFocusedDockable();
@@ -287,6 +289,7 @@ public class ThemeManager extends TypedUIProperties{
     		}
     		finally{
     			register.setStalled( false );
+    			controller.getOperationMarkers().end( marker );
     		}
 	    		
     		controller.setFocusedDockable( new DefaultFocusRequest( focused, null, true ));
@@ -56,6 +56,7 @@ import bibliothek.gui.dock.title.AbstractDockTitle;
 import bibliothek.gui.dock.title.ActivityDockTitleEvent;
 import bibliothek.gui.dock.title.DockTitleEvent;
 import bibliothek.gui.dock.title.DockTitleVersion;
+import bibliothek.gui.dock.title.RecyclableDockTitle;
 import bibliothek.gui.dock.util.PropertyValue;
 import bibliothek.gui.dock.util.color.ColorCodes;
 import bibliothek.gui.dock.util.font.DockFont;
@@ -80,7 +81,7 @@ import static bibliothek.gui.dock.station.flap.button.ButtonContent.*;
 	"title.flap.selected.knob.highlight",
 	"title.flap.selected.knob.shadow"
 })
-public class BasicButtonDockTitle extends AbstractDockTitle {
+public class BasicButtonDockTitle extends AbstractDockTitle implements RecyclableDockTitle {
 	/** amount of space required to paint the knob */
 	protected final int KNOB_SIZE = 10;
 	
@@ -231,6 +232,18 @@ public class BasicButtonDockTitle extends AbstractDockTitle {
     	super.unbind();
     }
     
+    public boolean recycle( Dockable dockable ){
+    	if( isBound() ){
+    		return false;
+    	}
+    	setDockable( dockable );
+    	selected = false;
+    	mousePressed = false;
+    	updateActionSource( true );
+    	changeBorder();
+    	return true;
+    }
+    
     private void updateContent(){    	
     	updateIcon();
     	updateText();
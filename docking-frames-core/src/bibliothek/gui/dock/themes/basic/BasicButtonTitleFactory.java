@@ -42,7 +42,11 @@ public class BasicButtonTitleFactory implements DockTitleFactory {
     }
     
     public void request( DockTitleRequest request ){
-    	request.answer( new BasicButtonDockTitle( request.getTarget(), request.getVersion() ) );
+    	BasicButtonDockTitle title = request.getVersion().getPool().acquire( BasicButtonDockTitle.class, request.getTarget() );
+    	if( title == null ){
+    		title = new BasicButtonDockTitle( request.getTarget(), request.getVersion() );
+    	}
+    	request.answer( title );
     }
     
     public void uninstall( DockTitleRequest request ){
@@ -41,6 +41,7 @@ import bibliothek.gui.dock.title.AbstractDockTitle;
 import bibliothek.gui.dock.title.DockTitleFactory;
 import bibliothek.gui.dock.title.DockTitleRequest;
 import bibliothek.gui.dock.title.DockTitleVersion;
+import bibliothek.gui.dock.title.RecyclableDockTitle;
 import bibliothek.gui.dock.util.color.ColorCodes;
 import bibliothek.gui.dock.util.font.DockFont;
 import bibliothek.util.Condition;
@@ -53,7 +54,7 @@ import bibliothek.util.Condition;
 @ColorCodes({ "title.active.left", "title.inactive.left", "title.disabled.left", 
     "title.active.right", "title.inactive.right", "title.disabled.right", 
     "title.active.text", "title.inactive.text" })
-public class BasicDockTitle extends AbstractDockTitle {
+public class BasicDockTitle extends AbstractDockTitle implements RecyclableDockTitle {
     /**
      * A factory for the {@link BasicDockTitle}.
      */
@@ -530,6 +531,14 @@ public class BasicDockTitle extends AbstractDockTitle {
         repaint();
     }
     
+    public boolean recycle( Dockable dockable ){
+    	if( isBound() || dockable.asDockStation() != null ){
+    		return false;
+    	}
+    	setDockable( dockable );
+    	return true;
+    }
+    
     /**
      * A implementation of {@link TitleColor} that calls <code>repaint</code>
      * when the color changes.
@@ -26,7 +26,9 @@
 
 package bibliothek.gui.dock.themes.basic;
 
+import bibliothek.gui.Dockable;
 import bibliothek.gui.dock.title.DockTitleFactory;
+import bibliothek.gui.dock.title.DockTitlePool;
 import bibliothek.gui.dock.title.DockTitleRequest;
 
 /**
@@ -47,11 +49,21 @@ public class BasicDockTitleFactory implements DockTitleFactory {
     }
     
     public void request( DockTitleRequest request ){
-    	if( request.getTarget().asDockStation() == null ){
-    		request.answer( new BasicDockTitle( request.getTarget(), request.getVersion() ) );
+    	Dockable target = request.getTarget();
+    	DockTitlePool pool = request.getVersion().getPool();
+    	if( target.asDockStation() == null ){
+    		BasicDockTitle title = pool.acquire( BasicDockTitle.class, target );
+    		if( title == null ){
+    			title = new BasicDockTitle( target, request.getVersion() );
+    		}
+    		request.answer( title );
     	}
     	else{
-    		request.answer( new BasicStationTitle( request.getTarget(), request.getVersion() ) );
+    		BasicStationTitle title = pool.acquire( BasicStationTitle.class, target );
+    		if( title == null ){
+    			title = new BasicStationTitle( target, request.getVersion() );
+    		}
+    		request.answer( title );
     	}
     }
 }
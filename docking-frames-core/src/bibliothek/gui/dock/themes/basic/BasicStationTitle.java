@@ -41,6 +41,7 @@ import bibliothek.gui.dock.themes.ThemeManager;
 import bibliothek.gui.dock.themes.color.TitleColor;
 import bibliothek.gui.dock.title.AbstractDockTitle;
 import bibliothek.gui.dock.title.DockTitleVersion;
+import bibliothek.gui.dock.title.RecyclableDockTitle;
 import bibliothek.gui.dock.util.color.ColorCodes;
 import bibliothek.gui.dock.util.color.DockColor;
 import bibliothek.util.Colors;
@@ -54,7 +55,7 @@ import bibliothek.util.Colors;
 @ColorCodes( {"title.station.active", "title.station.active.text",
     "title.station.inactive", "title.station.inactive.text",
     "title.station.disabled" })
-public class BasicStationTitle extends AbstractDockTitle {
+public class BasicStationTitle extends AbstractDockTitle implements RecyclableDockTitle {
     /** The minimal preferred width and height of this title */
     private int preferredDimension = 20;
     
@@ -362,6 +363,14 @@ public class BasicStationTitle extends AbstractDockTitle {
         g.drawLine( x+1, y+2, x+1, y+height-4 );
     }
     
+    public boolean recycle( Dockable dockable ){
+    	if( isBound() || dockable.asDockStation() == null ){
+    		return false;
+    	}
+    	setDockable( dockable );
+    	return true;
+    }
+    
     /**
      * A {@link DockColor} representing a color of {@link BasicStationTitle}.
      * @author Benjamin Sigg
@@ -339,6 +339,12 @@ public class AbstractDockTitle extends AbstractMultiDockTitle {
     	}
     }
     
+    @Override
+    protected void setDockable( Dockable dockable ){
+    	super.setDockable( dockable );
+    	suggestedSource = null;
+    }
+    
     /**
      * Gets the {@link DockActionSource} that was {@link #suggestActions(DockActionSource) suggested} to this
      * title.
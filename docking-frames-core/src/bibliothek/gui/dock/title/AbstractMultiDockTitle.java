@@ -718,6 +718,26 @@ public abstract class AbstractMultiDockTitle extends ConfiguredBackgroundPanel i
         return dockable;
     }
     
+    /**
+     * Associates this title with another {@link Dockable}. This method can only be called while this title
+     * is not {@link #isBound() bound}, it allows subclasses to {@link RecyclableDockTitle#recycle(Dockable) recycle}
+     * a title instead of creating a new one. The state that was set up by the constructor, like the
+     * {@link #getOrientation() orientation}, is reset.
+     * @param dockable the new owner of this title, not <code>null</code>
+     * @throws IllegalStateException if this title is bound
+     */
+    protected void setDockable( Dockable dockable ){
+    	if( dockable == null ){
+    		throw new IllegalArgumentException( "dockable must not be null" );
+    	}
+    	if( bound ){
+    		throw new IllegalStateException( "the dockable of a bound title cannot be changed" );
+    	}
+    	this.dockable = dockable;
+    	setActive( false );
+    	setOrientation( Orientation.FREE_HORIZONTAL );
+    }
+    
     public DockElement getElement() {
         return getDockable();
     }
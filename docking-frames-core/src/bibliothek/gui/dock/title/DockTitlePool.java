@@ -0,0 +1,138 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2026 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.title;
+
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.Map;
+
+import bibliothek.gui.Dockable;
+
+/**
+ * A {@link DockTitlePool} stores {@link RecyclableDockTitle}s which are no longer used. Each
+ * {@link DockTitleVersion} has its own pool, and the titles are grouped by their exact type. Only 
+ * types that have been {@link #acquire(Class, Dockable) requested} at least once are stored, and
+ * for each type at most {@link #getCapacity() capacity} titles are kept.<br>
+ * The titles are only weakly referenced, a title that is no longer used still points to its old {@link Dockable},
+ * and the pool must not keep that {@link Dockable} alive.
+ * @author Benjamin Sigg
+ */
+public class DockTitlePool {
+	/** the default number of titles stored for each type */
+	public static final int DEFAULT_CAPACITY = 16;
+	
+	/** the unused titles grouped by their type */
+	private Map<Class<?>, LinkedList<WeakReference<RecyclableDockTitle>>> titles = new HashMap<Class<?>, LinkedList<WeakReference<RecyclableDockTitle>>>();
+	
+	/** the maximum number of titles stored for each type */
+	private int capacity = DEFAULT_CAPACITY;
+	
+	/**
+	 * Sets the maximum number of titles stored for each type.
+	 * @param capacity the maximum number of titles, <code>0</code> disables this pool
+	 */
+	public void setCapacity( int capacity ){
+		if( capacity < 0 ){
+			throw new IllegalArgumentException( "capacity must not be negative: " + capacity );
+		}
+		this.capacity = capacity;
+		for( LinkedList<WeakReference<RecyclableDockTitle>> list : titles.values() ){
+			while( list.size() > capacity ){
+				list.removeLast();
+			}
+		}
+	}
+	
+	/**
+	 * Gets the maximum number of titles stored for each type.
+	 * @return the maximum number of titles
+	 */
+	public int getCapacity(){
+		return capacity;
+	}
+	
+	/**
+	 * Stores <code>title</code> in this pool if <code>title</code> is a {@link RecyclableDockTitle} 
+	 * and if its type was requested before.
+	 * @param title a title which is no longer used
+	 */
+	public void release( DockTitle title ){
+		if( title instanceof RecyclableDockTitle ){
+			LinkedList<WeakReference<RecyclableDockTitle>> list = titles.get( title.getClass() );
+			if( list != null ){
+				Iterator<WeakReference<RecyclableDockTitle>> iterator = list.iterator();
+				while( iterator.hasNext() ){
+					RecyclableDockTitle next = iterator.next().get();
+					if( next == null ){
+						iterator.remove();
+					}
+					else if( next == title ){
+						return;
+					}
+				}
+				if( list.size() < capacity ){
+					list.addFirst( new WeakReference<RecyclableDockTitle>( (RecyclableDockTitle)title ));
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Searches a title of type <code>type</code> which can be {@link RecyclableDockTitle#recycle(Dockable) recycled}
+	 * for <code>dockable</code>.
+	 * @param type the exact type of the title
+	 * @param dockable the new owner of the title
+	 * @return a recycled title which is associated with <code>dockable</code> or <code>null</code>
+	 */
+	@SuppressWarnings("unchecked")
+	public <T extends RecyclableDockTitle> T acquire( Class<T> type, Dockable dockable ){
+		LinkedList<WeakReference<RecyclableDockTitle>> list = titles.get( type );
+		if( list == null ){
+			list = new LinkedList<WeakReference<RecyclableDockTitle>>();
+			titles.put( type, list );
+			return null;
+		}
+		
+		while( !list.isEmpty() ){
+			RecyclableDockTitle title = list.removeFirst().get();
+			if( title != null && title.getComponent().getParent() == null && title.recycle( dockable )){
+				return (T)title;
+			}
+		}
+		return null;
+	}
+	
+	/**
+	 * Removes all titles from this pool.
+	 */
+	public void clear(){
+		for( LinkedList<WeakReference<RecyclableDockTitle>> list : titles.values() ){
+			list.clear();
+		}
+	}
+}
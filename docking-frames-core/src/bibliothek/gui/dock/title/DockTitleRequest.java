@@ -68,7 +68,11 @@ public abstract class DockTitleRequest extends ResourceRequest<DockTitle>{
 	
 	@Override
 	public void request(){
+		DockTitle old = getAnswer();
 		super.request();
+		if( old != null && old != getAnswer() ){
+			version.release( old );
+		}
 	}
 	
 	/**
@@ -85,11 +89,17 @@ public abstract class DockTitleRequest extends ResourceRequest<DockTitle>{
 	
 	/**
 	 * Makes this request inactive, calls to {@link ResourceRequest#answer(Object, Object)} will no longer happen.
+	 * The current {@link #getAnswer() answer} is considered to be discarded, and may be recycled once it is
+	 * no longer bound.
 	 */
 	public void uninstall(){
 		if( installed ){
 			installed = false;
 			version.uninstall( this );
+			DockTitle answer = getAnswer();
+			if( answer != null ){
+				version.release( answer );
+			}
 		}
 	}
 	
@@ -72,6 +72,9 @@ public class DockTitleVersion implements DockTitleFactory{
     /** the current requests on this version */
     private List<DockTitleRequest> requests = new ArrayList<DockTitleRequest>();
     
+    /** titles which are no longer used and that might be recycled */
+    private DockTitlePool pool = new DockTitlePool();
+    
     /** whether the theme is currently changing, a version does automatically call {@link DockTitleRequest#request()} while the theme changes */
     private boolean onThemeChange = false;
     
@@ -96,6 +99,7 @@ public class DockTitleVersion implements DockTitleFactory{
 			
 			public void themeWillChange( DockController controller, DockTheme oldTheme, DockTheme newTheme ){
 				onThemeChange = true;
+				pool.clear();
 			}
 			
 			public void themeChanged( DockController controller, DockTheme oldTheme, DockTheme newTheme ){
@@ -138,6 +142,28 @@ public class DockTitleVersion implements DockTitleFactory{
     	}
     }
     
+    /**
+     * Informs this version that <code>title</code>, which was created by this version, is no longer used. The 
+     * title may be stored in the {@link #getPool() pool} of this version. This method should not be called
+     * by clients, it is called by {@link DockTitleRequest}s when they discard a title.
+     * @param title the title which is no longer used
+     */
+    public void release( DockTitle title ){
+    	if( title.getOrigin() == this ){
+    		pool.release( title );
+    	}
+    }
+    
+    /**
+     * Gets the pool of titles which are no longer used. {@link DockTitleFactory}s can
+     * {@link DockTitlePool#acquire(Class, Dockable) acquire} titles from this pool instead of 
+     * creating new titles.
+     * @return the pool, not <code>null</code>
+     */
+    public DockTitlePool getPool(){
+		return pool;
+	}
+    
     /**
      * Calls {@link DockTitleFactory#request(DockTitleRequest)} for the current
      * factory. If there are any {@link #DOCK_TITLE_VERSION_EXTENSION extensions} installed, then
@@ -215,6 +241,7 @@ public class DockTitleVersion implements DockTitleFactory{
     	DockTitleFactory newFactory = getFactory();
     	
     	if( oldFactory != newFactory ){
+    		pool.clear();
     		if( oldFactory != null ){
     			for( DockTitleRequest request : requests ){
     				oldFactory.uninstall( request );
@@ -26,12 +26,11 @@
 
 package bibliothek.gui.dock.util;
 
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 import bibliothek.gui.DockController;
+import bibliothek.util.ListenerList;
 
 /**
  * A set of properties that are used at different places all over the framework.
@@ -264,7 +263,7 @@ public class DockProperties {
 		/** the name of this entry */
 		private PropertyKey<A> key;
 		/** listeners to this entry */
-		private List<DockPropertyListener<A>> listeners = new ArrayList<DockPropertyListener<A>>();
+		private ListenerList<DockPropertyListener<A>> listeners = new ListenerList<DockPropertyListener<A>>( DockPropertyListener.class );
 		/** the value stored in this entry */
 		private NullPriorityValue<A> value = new NullPriorityValue<A>();
 		
@@ -296,7 +295,6 @@ public class DockProperties {
 		 * @param value the new value
 		 * @param priority the priority of the new value
 		 */
-		@SuppressWarnings( "unchecked" )
 		public void setValue( A value, Priority priority ){
 			if( locked ){
 				throw new IllegalStateException( "this entry is immutable" );
@@ -310,7 +308,7 @@ public class DockProperties {
 				(oldValue != null && newValue == null) ||
 				(oldValue != null && !oldValue.equals( newValue ))){
 			
-				for( DockPropertyListener<A> listener : (DockPropertyListener<A>[])listeners.toArray( new DockPropertyListener<?>[ listeners.size() ] ))
+				for( DockPropertyListener<A> listener : listeners.toArray() )
 					listener.propertyChanged( DockProperties.this, key, oldValue, newValue );
 			}
 		}
@@ -319,7 +317,6 @@ public class DockProperties {
 		 * Removes a value from this entry
 		 * @param priority the priority of the value to unset
 		 */
-		@SuppressWarnings("unchecked")
 		public void unsetValue( Priority priority ){
 			if( locked ){
 				throw new IllegalStateException( "this entry is immutable" );
@@ -333,7 +330,7 @@ public class DockProperties {
 				(oldValue != null && newValue == null) ||
 				(oldValue != null && !oldValue.equals( newValue ))){
 			
-				for( DockPropertyListener<A> listener : (DockPropertyListener<A>[])listeners.toArray( new DockPropertyListener<?>[ listeners.size() ] ))
+				for( DockPropertyListener<A> listener : listeners.toArray() )
 					listener.propertyChanged( DockProperties.this, key, oldValue, newValue );
 			}
 		}
@@ -29,6 +29,7 @@ mponent the developer likes to add.
 package bibliothek.gui.dock.util;
 
 import java.awt.Component;
+import java.awt.EventQueue;
 import java.awt.Graphics;
 import java.awt.Image;
 import java.awt.image.BufferedImage;
@@ -42,6 +43,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 
 import javax.swing.Icon;
 import javax.swing.ImageIcon;
@@ -702,6 +706,33 @@ public class DockUtilities {
 		return true;
     }
     
+    /**
+     * Runs <code>task</code> on the {@link EventQueue event dispatch thread} and waits until it is finished. If
+     * the calling thread is the event dispatch thread, then <code>task</code> is called directly. The event
+     * dispatch thread must not wait for the calling thread, otherwise the threads are deadlocked.
+     * @param <V> the type of the result
+     * @param task the task to run
+     * @return the result of <code>task</code>
+     * @throws Exception if <code>task</code> threw an exception, or if the calling thread was interrupted
+     */
+    public static <V> V callOnEventDispatchThread( Callable<V> task ) throws Exception{
+    	if( EventQueue.isDispatchThread() ){
+    		return task.call();
+    	}
+    	FutureTask<V> future = new FutureTask<V>( task );
+    	EventQueue.invokeAndWait( future );
+    	try{
+    		return future.get();
+    	}
+    	catch( ExecutionException ex ){
+    		Throwable cause = ex.getCause();
+    		if( cause instanceof Exception ){
+    			throw (Exception)cause;
+    		}
+    		throw ex;
+    	}
+    }
+    
     /**
      * Ensures that {@link #checkLayoutLocked()} never prints out any warnings.
      */
@@ -36,6 +36,8 @@ import java.util.Map;
 import java.util.Set;
 
 import bibliothek.gui.DockController;
+import bibliothek.gui.dock.control.metrics.DockControllerMetrics;
+import bibliothek.gui.dock.control.metrics.DockMetric;
 import bibliothek.util.Path;
 
 /**
@@ -105,8 +107,15 @@ public class UIProperties<V, U extends UIValue<V>, B extends UIBridge<V, U>> {
     public void unlockUpdate(){
         updateLock--;
         if( updateLock == 0 ){
-            for( Observer observer : observers )
-                observer.resetAll();
+        	DockControllerMetrics metrics = controller.getMetrics();
+        	long start = metrics.begin( DockMetric.UI_UPDATE );
+        	try{
+	            for( Observer observer : observers )
+	                observer.resetAll();
+        	}
+        	finally{
+        		metrics.end( DockMetric.UI_UPDATE, start );
+        	}
         }
     }
     
@@ -189,6 +198,22 @@ public class UIProperties<V, U extends UIValue<V>, B extends UIBridge<V, U>> {
     }
     
     private void schemeUpdate( Priority priority, UISchemeEvent<V, U, B> event ){
+    	DockControllerMetrics metrics = controller.getMetrics();
+    	long start = metrics.begin( DockMetric.UI_UPDATE );
+    	try{
+    		schemeUpdateMeasured( priority, event );
+    	}
+    	finally{
+    		metrics.end( DockMetric.UI_UPDATE, start );
+    	}
+    }
+
+    /**
+     * Implementation of {@link #schemeUpdate(Priority, UISchemeEvent)}.
+     * @param priority the priority of the scheme that changed
+     * @param event information about the changes of the scheme
+     */
+    private void schemeUpdateMeasured( Priority priority, UISchemeEvent<V, U, B> event ){
     	try{
     		lockUpdate();
     		
@@ -5,6 +5,9 @@ import java.awt.Dimension;
 import java.awt.Font;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
 
 import javax.swing.Icon;
 import javax.swing.border.EmptyBorder;
@@ -53,6 +56,9 @@ public class OrientedLabel extends ConfiguredBackgroundPanel{
     /** if <code>true</code>, then the {@link #icon} is not painted */
     private boolean hideIcon = false;
     
+    /** whether rotated text is painted using pre-rendered images */
+    private boolean textCacheEnabled = true;
+    
     /**
      * Creates a new label with no text
      */
@@ -235,6 +241,26 @@ public class OrientedLabel extends ConfiguredBackgroundPanel{
     	return label.getBackground();
     }
     
+    /**
+     * Sets whether rotated text should be rendered once into an image, which is then stored in a
+     * shared cache and painted instead of laying out the text again on every paint. Horizontal text
+     * is always painted directly.
+     * @param textCacheEnabled whether to use the cache for rotated text
+     */
+    public void setTextCacheEnabled( boolean textCacheEnabled ){
+		this.textCacheEnabled = textCacheEnabled;
+		repaint();
+	}
+    
+    /**
+     * Tells whether rotated text is painted using pre-rendered images.
+     * @return whether the cache is used
+     * @see #setTextCacheEnabled(boolean)
+     */
+    public boolean isTextCacheEnabled(){
+		return textCacheEnabled;
+	}
+    
     /**
      * Tells whether the icon is not painted.
      * @return whether the icon is hidden
@@ -399,7 +425,7 @@ public class OrientedLabel extends ConfiguredBackgroundPanel{
 	            Graphics2D g2 = (Graphics2D)g.create();
 	            g2.rotate( angle, 0, 0 );
 	            g2.translate( 0, -getWidth() );
-	            label.paint( g2 );
+	            paintRotatedLabel( g2 );
 	            g2.dispose();
         	}
         	else {
@@ -415,7 +441,7 @@ public class OrientedLabel extends ConfiguredBackgroundPanel{
 		            Graphics2D g2 = (Graphics2D)g.create( 0, usedUp, width, height-usedUp );
 		            g2.rotate( angle, 0, 0 );
 		            g2.translate( 0, -getWidth() );
-		            label.paint( g2 );
+		            paintRotatedLabel( g2 );
 		            g2.dispose();
         		}
         	}
@@ -426,7 +452,7 @@ public class OrientedLabel extends ConfiguredBackgroundPanel{
 	            Graphics2D g2 = (Graphics2D)g.create();
 	            g2.rotate( angle, 0, 0 );
 	            g2.translate( -getWidth(), -getHeight() );
-	            label.paint( g2 );
+	            paintRotatedLabel( g2 );
 	            g2.dispose();
         	}
         	else{
@@ -442,7 +468,7 @@ public class OrientedLabel extends ConfiguredBackgroundPanel{
 		            Graphics2D g2 = (Graphics2D)g.create( usedUp, 0, width-usedUp, height );
 		            g2.rotate( angle, 0, 0 );
 		            g2.translate( -width+usedUp, height );
-		            label.paint( g2 );
+		            paintRotatedLabel( g2 );
 		            g2.dispose();
         		}
         	}
@@ -453,7 +479,7 @@ public class OrientedLabel extends ConfiguredBackgroundPanel{
 	            Graphics2D g2 = (Graphics2D)g.create();
 	            g2.rotate( angle, 0, 0 );
 	            g2.translate( -getHeight(), 0 );
-	            label.paint( g2 );
+	            paintRotatedLabel( g2 );
 	            g2.dispose();
         	}
         	else {
@@ -470,7 +496,7 @@ public class OrientedLabel extends ConfiguredBackgroundPanel{
 		            Graphics2D g2 = (Graphics2D)g.create( 0, usedUp, width, height-usedUp );
 		            g2.rotate( angle, 0, 0 );
 		            g2.translate( -height, 0 );
-		            label.paint( g2 );
+		            paintRotatedLabel( g2 );
 		            g2.dispose();
         		}
         	}
@@ -478,6 +504,49 @@ public class OrientedLabel extends ConfiguredBackgroundPanel{
     	
     }
     
+    /**
+     * Paints {@link #label} onto <code>g</code>, which is already rotated. If the
+     * {@link #isTextCacheEnabled() cache} is enabled, the label is painted into an image which
+     * is reused as long as text, font, color and size of the label do not change.
+     * @param g the graphics context to paint on
+     */
+    private void paintRotatedLabel( Graphics2D g ){
+    	int width = label.getWidth();
+    	int height = label.getHeight();
+    	String text = label.getText();
+    	
+    	if( !textCacheEnabled || text == null || width <= 0 || height <= 0 ){
+    		label.paint( g );
+    		return;
+    	}
+    	
+    	AffineTransform transform = g.getTransform();
+    	double scale = Math.sqrt( transform.getScaleX() * transform.getScaleX() + transform.getShearY() * transform.getShearY() );
+    	
+    	TextImageCache.Key key = new TextImageCache.Key( text, label.getFont(), label.getForeground(), label.isEnabled(), 
+    			width, height, scale, g.getRenderingHint( RenderingHints.KEY_TEXT_ANTIALIASING ) );
+    	
+    	BufferedImage image = TextImageCache.get( key );
+    	if( image == null ){
+    		int imageWidth = (int)Math.ceil( width * scale );
+    		int imageHeight = (int)Math.ceil( height * scale );
+    		if( imageWidth <= 0 || imageHeight <= 0 ){
+    			return;
+    		}
+    		
+    		image = new BufferedImage( imageWidth, imageHeight, BufferedImage.TYPE_INT_ARGB_PRE );
+    		Graphics2D ig = image.createGraphics();
+    		ig.setRenderingHints( g.getRenderingHints() );
+    		ig.scale( scale, scale );
+    		label.paint( ig );
+    		ig.dispose();
+    		
+    		TextImageCache.put( key, image );
+    	}
+    	
+    	g.drawImage( image, 0, 0, width, height, null );
+    }
+    
     @Override
     public void update( Graphics g ) {
         // do nothing
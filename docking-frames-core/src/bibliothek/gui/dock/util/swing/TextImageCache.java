@@ -0,0 +1,172 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2026 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.util.swing;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.image.BufferedImage;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.swing.UIManager;
+
+/**
+ * A least-recently-used cache of pre-rendered text, used by {@link OrientedLabel} to paint
+ * rotated text without laying out the text again on every paint. The images are identified
+ * by everything that has an influence on how the text looks like, hence a change of the font 
+ * (e.g. by a {@link FontUpdater}) or of the color automatically leads to a new image.
+ * @author Benjamin Sigg
+ */
+class TextImageCache {
+	/** the maximum number of images that are stored */
+	public static final int CAPACITY = 128;
+	
+	/** the images ordered by the time they were last accessed */
+	private static final Map<Key, BufferedImage> images = new LinkedHashMap<Key, BufferedImage>( 16, 0.75f, true ){
+		@Override
+		protected boolean removeEldestEntry( Map.Entry<Key, BufferedImage> eldest ){
+			return size() > CAPACITY;
+		}
+	};
+	
+	static{
+		UIManager.addPropertyChangeListener( new PropertyChangeListener(){
+			public void propertyChange( PropertyChangeEvent evt ){
+				if( "lookAndFeel".equals( evt.getPropertyName() )){
+					clear();
+				}
+			}
+		});
+	}
+	
+	private TextImageCache(){
+		// not to be instantiated
+	}
+	
+	/**
+	 * Searches the image that was stored with <code>key</code>.
+	 * @param key the identifier of the image
+	 * @return the image or <code>null</code>
+	 */
+	public static synchronized BufferedImage get( Key key ){
+		return images.get( key );
+	}
+	
+	/**
+	 * Stores <code>image</code>, the least recently used image may be removed by this method.
+	 * @param key the identifier of the image
+	 * @param image the pre-rendered text
+	 */
+	public static synchronized void put( Key key, BufferedImage image ){
+		images.put( key, image );
+	}
+	
+	/**
+	 * Removes all images, called when the {@link UIManager#setLookAndFeel(javax.swing.LookAndFeel) look and feel changes}.
+	 */
+	public static synchronized void clear(){
+		images.clear();
+	}
+	
+	/**
+	 * Describes the content of one image.
+	 * @author Benjamin Sigg
+	 */
+	public static class Key{
+		private String text;
+		private Font font;
+		private Color color;
+		private boolean enabled;
+		private int width;
+		private int height;
+		private double scale;
+		private Object antialiasing;
+		private int hash;
+		
+		/**
+		 * Creates a new key.
+		 * @param text the text that is painted
+		 * @param font the font of the text
+		 * @param color the color of the text
+		 * @param enabled whether the text is painted enabled
+		 * @param width the width of the area in which the text is painted
+		 * @param height the height of the area in which the text is painted
+		 * @param scale the scaling factor between the area and the pixels of the screen
+		 * @param antialiasing the hint telling how to render text
+		 */
+		public Key( String text, Font font, Color color, boolean enabled, int width, int height, double scale, Object antialiasing ){
+			this.text = text;
+			this.font = font;
+			this.color = color;
+			this.enabled = enabled;
+			this.width = width;
+			this.height = height;
+			this.scale = scale;
+			this.antialiasing = antialiasing;
+			
+			hash = text == null ? 0 : text.hashCode();
+			hash = 31 * hash + (font == null ? 0 : font.hashCode());
+			hash = 31 * hash + (color == null ? 0 : color.hashCode());
+			hash = 31 * hash + (enabled ? 1 : 0);
+			hash = 31 * hash + width;
+			hash = 31 * hash + height;
+			long bits = Double.doubleToLongBits( scale );
+			hash = 31 * hash + (int)(bits ^ (bits >>> 32));
+			hash = 31 * hash + (antialiasing == null ? 0 : antialiasing.hashCode());
+		}
+		
+		@Override
+		public int hashCode(){
+			return hash;
+		}
+		
+		@Override
+		public boolean equals( Object obj ){
+			if( obj == this ){
+				return true;
+			}
+			if( !(obj instanceof Key) ){
+				return false;
+			}
+			Key other = (Key)obj;
+			return hash == other.hash &&
+				enabled == other.enabled && 
+				width == other.width &&
+				height == other.height &&
+				scale == other.scale &&
+				equals( text, other.text ) &&
+				equals( font, other.font ) &&
+				equals( color, other.color ) &&
+				equals( antialiasing, other.antialiasing );
+		}
+		
+		private boolean equals( Object a, Object b ){
+			return a == null ? b == null : a.equals( b );
+		}
+	}
+}
@@ -0,0 +1,149 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2026 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.util;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+
+/**
+ * A list of listeners that is optimized for firing events. The listeners are stored in an array which is
+ * replaced by a new array whenever a listener is added or removed. The array returned by {@link #toArray()}
+ * is therefore an immutable snapshot: it can be iterated while listeners are added or removed, and firing an
+ * event does not allocate any memory.<br>
+ * Clients must not modify the array returned by {@link #toArray()}.<br>
+ * This class is not thread safe, clients must synchronize access if they use it from more than one thread.
+ * @author Benjamin Sigg
+ * @param <L> the type of the listeners
+ */
+public class ListenerList<L> {
+	/** the current snapshot of listeners, never modified */
+	private L[] listeners;
+	
+	/** the type of the listeners */
+	private Class<? super L> type;
+	
+	/**
+	 * Creates a new, empty list.
+	 * @param type the type of the listeners, used to create the arrays returned by {@link #toArray()}
+	 */
+	public ListenerList( Class<? super L> type ){
+		if( type == null ){
+			throw new IllegalArgumentException( "type must not be null" );
+		}
+		this.type = type;
+		this.listeners = createArray( 0 );
+	}
+	
+	@SuppressWarnings("unchecked")
+	private L[] createArray( int size ){
+		return (L[])Array.newInstance( type, size );
+	}
+	
+	/**
+	 * Adds <code>listener</code> at the end of this list. The same listener may be added more than once.
+	 * @param listener the new listener, not <code>null</code>
+	 */
+	public void add( L listener ){
+		if( listener == null ){
+			throw new IllegalArgumentException( "listener must not be null" );
+		}
+		L[] next = createArray( listeners.length+1 );
+		System.arraycopy( listeners, 0, next, 0, listeners.length );
+		next[ listeners.length ] = listener;
+		listeners = next;
+	}
+	
+	/**
+	 * Removes the first occurrence of <code>listener</code> from this list.
+	 * @param listener the listener to remove
+	 * @return <code>true</code> if <code>listener</code> was found and removed
+	 */
+	public boolean remove( L listener ){
+		for( int i = 0; i < listeners.length; i++ ){
+			if( listeners[i].equals( listener )){
+				L[] next = createArray( listeners.length-1 );
+				System.arraycopy( listeners, 0, next, 0, i );
+				System.arraycopy( listeners, i+1, next, i, listeners.length-i-1 );
+				listeners = next;
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * Tells whether <code>listener</code> is stored in this list.
+	 * @param listener the listener to search
+	 * @return <code>true</code> if <code>listener</code> was found
+	 */
+	public boolean contains( L listener ){
+		for( L item : listeners ){
+			if( item.equals( listener )){
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * Removes all listeners from this list.
+	 */
+	public void clear(){
+		if( listeners.length > 0 ){
+			listeners = createArray( 0 );
+		}
+	}
+	
+	/**
+	 * Gets the number of listeners in this list.
+	 * @return the number of listeners
+	 */
+	public int size(){
+		return listeners.length;
+	}
+	
+	/**
+	 * Tells whether there are no listeners in this list.
+	 * @return <code>true</code> if this list is empty
+	 */
+	public boolean isEmpty(){
+		return listeners.length == 0;
+	}
+	
+	/**
+	 * Gets a snapshot of all the listeners of this list. The snapshot is not affected by later modifications
+	 * of this list, and this method does not allocate any memory.
+	 * @return the current listeners, must not be modified
+	 */
+	public L[] toArray(){
+		return listeners;
+	}
+	
+	@Override
+	public String toString(){
+		return getClass().getSimpleName() + Arrays.toString( listeners );
+	}
+}
@@ -25,9 +25,12 @@
  */
 package bibliothek.util;
 
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 import javax.swing.KeyStroke;
 
@@ -39,7 +42,9 @@ import bibliothek.gui.dock.control.ModifierMask;
  * A path is a description of the position of some resource. A path consists
  * of segments where a segment can be any kind of string (preferably a segment is a 
  * valid java-identifier). A path can be converted into a string, the segments will
- * be {@link #encodeSegment(String) encoded} when doing that.
+ * be {@link #encodeSegment(String) encoded} when doing that.<br>
+ * Paths that are used often, for example as keys of maps, can be {@link #intern() interned}: two interned
+ * paths are equal if and only if they are the same object.
  * @author Benjamin Sigg
  */
 public final class Path {
@@ -127,9 +132,36 @@ public final class Path {
     	return builder.toString();
     }
     
+    /** the pool of {@link #intern() interned} paths, the values are references to the keys */
+    private static final Map<Path, WeakReference<Path>> interned = new WeakHashMap<Path, WeakReference<Path>>();
+    
+    /**
+     * Creates a new path using {@link #Path(String)} and {@link #intern() interns} it.
+     * @param path the dot-separated segments of the path
+     * @return the interned path
+     */
+    public static Path valueOf( String path ){
+    	return new Path( path ).intern();
+    }
+    
+    /**
+     * Creates a new path using {@link #Path(String...)} and {@link #intern() interns} it.
+     * @param segments the segments of the path
+     * @return the interned path
+     */
+    public static Path valueOfSegments( String... segments ){
+    	return new Path( segments ).intern();
+    }
+    
     /** the segments of this path */
     private String[] segments;
     
+    /** the cached hash code of this path, 0 if not yet computed */
+    private int hash;
+    
+    /** whether this path is stored in the pool of {@link #intern() interned} paths */
+    private boolean isInterned = false;
+    
     /**
      * Tells whether <code>path</code> is a valid path or not
      * @param path the path to test
@@ -338,9 +370,47 @@ public final class Path {
     	return true;
     }
     
+    /**
+     * Gets a canonical representation of this path. If an equal path was interned before, and the 
+     * other path is still in use, then that other path is returned. Otherwise this path is stored
+     * in the pool and returned. Interned paths are only weakly referenced by the pool.
+     * @return a path that is equal to <code>this</code>, and that is the same object for all equal paths
+     */
+    public Path intern(){
+    	if( isInterned ){
+    		return this;
+    	}
+    	synchronized( interned ){
+    		WeakReference<Path> reference = interned.get( this );
+    		Path result = reference == null ? null : reference.get();
+    		if( result == null ){
+    			for( int i = 0; i < segments.length; i++ ){
+    				segments[i] = segments[i].intern();
+    			}
+    			isInterned = true;
+    			interned.put( this, new WeakReference<Path>( this ) );
+    			result = this;
+    		}
+    		return result;
+    	}
+    }
+    
+    /**
+     * Tells whether this path was {@link #intern() interned}.
+     * @return whether this is the canonical representation of the path
+     */
+    public boolean isInterned(){
+		return isInterned;
+	}
+    
     @Override
     public int hashCode() {
-        return Arrays.hashCode( segments );
+    	int result = hash;
+    	if( result == 0 ){
+    		result = Arrays.hashCode( segments );
+    		hash = result;
+    	}
+    	return result;
     }
 
     @Override
@@ -352,6 +422,10 @@ public final class Path {
         if( getClass() != obj.getClass() )
             return false;
         final Path other = (Path)obj;
+        if( isInterned && other.isInterned )
+        	return false;
+        if( hashCode() != other.hashCode() )
+        	return false;
         if( !Arrays.equals( segments, other.segments ) )
             return false;
         return true;
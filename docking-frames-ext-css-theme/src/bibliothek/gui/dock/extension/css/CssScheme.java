@@ -47,6 +47,7 @@ import bibliothek.gui.dock.extension.css.property.paint.CssPaint;
 import bibliothek.gui.dock.extension.css.property.paint.CssPaintType;
 import bibliothek.gui.dock.extension.css.property.shape.CssShape;
 import bibliothek.gui.dock.extension.css.property.shape.CssShapeType;
+import bibliothek.gui.dock.extension.css.scheme.AppliedPropertyValues;
 import bibliothek.gui.dock.extension.css.scheme.MatchedCssRule;
 import bibliothek.gui.dock.extension.css.transition.CssTransition;
 import bibliothek.gui.dock.extension.css.transition.DefaultAnimatedCssRuleChain;
@@ -366,6 +367,9 @@ public class CssScheme {
 		
 		private MatchedCssRule currentMatch;
 		
+		/** the values that were written into the properties of {@link #item} */
+		private AppliedPropertyValues values = new AppliedPropertyValues();
+		
 		/**
 		 * Creates a new match
 		 * @param item the item to which to write properties
@@ -412,7 +416,7 @@ public class CssScheme {
 			}
 			rule = nextRule;
 			
-			currentMatch = new MatchedCssRule( CssScheme.this, item, nextRule );
+			currentMatch = new MatchedCssRule( CssScheme.this, item, nextRule, values );
 			rule.onDestroyed( new Destroy( currentMatch ) );
 			currentMatch.install( firstRule );
 		}
@@ -27,9 +27,10 @@ package bibliothek.gui.dock.extension.css.intern;
 
 import java.io.IOException;
 import java.io.Reader;
-import java.io.StringReader;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import bibliothek.gui.dock.extension.css.CssPropertyKey;
 import bibliothek.gui.dock.extension.css.CssRule;
@@ -38,24 +39,96 @@ import bibliothek.gui.dock.extension.css.CssDeclarationValue;
 
 /**
  * The {@link CssParser} takes some text and creates {@link CssRule}s from
- * that text.
+ * that text. The results of parsing are cached, parsing the same text again only
+ * creates new {@link CssRule}s without analyzing the text.
  * @author Benjamin Sigg
  */
 public class CssParser {
+	/** how many different stylesheets are stored in {@link #cache} */
+	private static final int CACHE_SIZE = 8;
+	
+	/** the results of parsing some stylesheets, the key is the content of the stylesheet */
+	private static final Map<String, RuleTemplate[]> cache = new LinkedHashMap<String, RuleTemplate[]>( 16, 0.75f, true ){
+		@Override
+		protected boolean removeEldestEntry( Map.Entry<String, RuleTemplate[]> eldest ){
+			return size() > CACHE_SIZE;
+		}
+	};
+	
+	/**
+	 * Removes all stylesheets from the cache of already parsed stylesheets.
+	 */
+	public static void clearCache(){
+		synchronized( cache ){
+			cache.clear();
+		}
+	}
+	
 	public List<CssRule> parse( String text ) throws IOException{
-		return parse( new StringReader( text ) );
+		RuleTemplate[] templates;
+		synchronized( cache ){
+			templates = cache.get( text );
+		}
+		
+		if( templates == null ){
+			char[] buffer = text.toCharArray();
+			int length = removeComments( buffer, buffer.length );
+			
+			Collector collector = new Collector();
+			parse( buffer, length, collector );
+			templates = collector.getRules();
+			
+			synchronized( cache ){
+				cache.put( text, templates );
+			}
+		}
+		
+		List<CssRule> rules = new ArrayList<CssRule>( templates.length );
+		for( RuleTemplate template : templates ){
+			rules.add( template.create() );
+		}
+		return rules;
 	}
 	
 	public List<CssRule> parse( Reader text ) throws IOException{
-		Collector collector = new Collector();
-		parse( new CommentReader( text ), collector );
-		return collector.getRules();
+		StringBuilder builder = new StringBuilder();
+		char[] buffer = new char[ 4096 ];
+		int read;
+		while( (read = text.read( buffer )) != -1 ){
+			builder.append( buffer, 0, read );
+		}
+		return parse( builder.toString() );
 	}
 	
-	private void parse( Reader text, Collector collector ) throws IOException{
-		StringBuilder builder = new StringBuilder();
+	/**
+	 * Removes all comments from <code>text</code>. The remaining characters are moved
+	 * to the beginning of <code>text</code>.
+	 * @param text the text to clean
+	 * @param length the number of characters in <code>text</code>
+	 * @return the number of characters that remain in <code>text</code>
+	 */
+	private int removeComments( char[] text, int length ){
+		int write = 0;
+		int read = 0;
 		
-		int read;
+		while( read < length ){
+			if( text[read] == '/' && read+1 < length && text[read+1] == '*' ){
+				read += 2;
+				while( read < length && !(text[read] == '*' && read+1 < length && text[read+1] == '/') ){
+					read++;
+				}
+				read += 2;
+			}
+			else{
+				text[write++] = text[read++];
+			}
+		}
+		
+		return write;
+	}
+	
+	private void parse( char[] text, int length, Collector collector ) throws IOException{
+		int begin = 0;
 		
 		boolean inRule = false;
 		boolean inString = false;
@@ -63,25 +136,19 @@ public class CssParser {
 		
 		int line = 1;
 		
-		while( (read = text.read()) != -1 ){
-			char c = (char)read;
-			
-			if( c == '\n'){
-				line++;
-			}
-			
-			boolean storeCharacter = true;
-			
-			switch( c ){
+		for( int i = 0; i < length; i++ ){
+			switch( text[i] ){
+				case '\n':
+					line++;
+					break;
 				case '{':
 					if( !inString && !inCharacter ){
 						if( inRule ){
 							throw new IOException( "Line " + line + ": found { inside a rule" );
 						}
 						inRule = true;
-						collector.selectorRead( line, builder.toString().trim() );
-						builder.setLength( 0 );
-						storeCharacter = false;
+						collector.selectorRead( line, new String( text, begin, i - begin ).trim() );
+						begin = i+1;
 					}
 					break;
 				case '}':
@@ -90,17 +157,15 @@ public class CssParser {
 							throw new IOException( "Line " + line + ": found } not ending a rule" );
 						}
 						inRule = false;
-						parseProperty( line, builder.toString(), collector );
-						builder.setLength( 0 );
-						storeCharacter = false;
+						parseProperty( line, text, begin, i, collector );
+						begin = i+1;
 					}
 					break;
 				case ';':
 					if( !inString && !inCharacter ){
 						if( inRule ){
-							parseProperty( line, builder.toString(), collector );
-							builder.setLength( 0 );
-							storeCharacter = false;
+							parseProperty( line, text, begin, i, collector );
+							begin = i+1;
 						}
 					}
 					break;
@@ -115,27 +180,31 @@ public class CssParser {
 					}
 					break;
 			}
-			
-			if( storeCharacter ){
-				builder.append( c );
-			}
 		}
 	}
 	
-	private void parseProperty( int line, String property, Collector collector ) throws IOException{
-		property = property.trim();
-		if( property.length() > 0 ){
-			int assignment = property.indexOf( ':' );
-			if( assignment >= 0 ){
-				String key = property.substring( 0, assignment ).trim();
-				String value = property.substring( assignment+1 ).trim();
+	private void parseProperty( int line, char[] text, int begin, int end, Collector collector ) throws IOException{
+		while( begin < end && text[begin] <= ' ' ){
+			begin++;
+		}
+		while( end > begin && text[end-1] <= ' ' ){
+			end--;
+		}
+		if( begin < end ){
+			int assignment = begin;
+			while( assignment < end && text[assignment] != ':' ){
+				assignment++;
+			}
+			if( assignment < end ){
+				String key = new String( text, begin, assignment - begin ).trim();
+				String value = new String( text, assignment+1, end - assignment - 1 ).trim();
 				if( (value.startsWith( "'" ) && value.endsWith( "'" )) || (value.startsWith( "\"" ) && value.endsWith( "\"" ))){
 					value = value.substring( 1, value.length()-1 );
 				}
 				collector.propertyRead( key, value );
 			}
 			else{
-				throw new IOException( "Line " + line + ": cannot read property '" + property + "'" );
+				throw new IOException( "Line " + line + ": cannot read property '" + new String( text, begin, end - begin ) + "'" );
 			}
 		}
 	}
@@ -391,25 +460,62 @@ public class CssParser {
 		}
 	}
 	
+	/**
+	 * The result of parsing one rule. The template is never modified once parsing is finished, and can
+	 * create any number of {@link DefaultCssRule}s.
+	 * @author Benjamin Sigg
+	 */
+	private static class RuleTemplate{
+		/** the selector of the rule, selectors are immutable and can be shared */
+		private CssSelector selector;
+		
+		/** the keys of the properties in the order they were read */
+		private List<CssPropertyKey> keys = new ArrayList<CssPropertyKey>( 5 );
+		
+		/** the values of the properties, <code>null</code> values remove a property */
+		private List<CssDeclarationValue> values = new ArrayList<CssDeclarationValue>( 5 );
+		
+		public RuleTemplate( CssSelector selector ){
+			this.selector = selector;
+		}
+		
+		public void setProperty( CssPropertyKey key, CssDeclarationValue value ){
+			keys.add( key );
+			values.add( value );
+		}
+		
+		/**
+		 * Creates a new rule using the selector and properties of this template.
+		 * @return the new rule
+		 */
+		public DefaultCssRule create(){
+			DefaultCssRule rule = new DefaultCssRule( selector );
+			for( int i = 0, n = keys.size(); i<n; i++ ){
+				rule.setProperty( keys.get( i ), values.get( i ) );
+			}
+			return rule;
+		}
+	}
+	
 	private class Collector{
-		private List<CssRule> rules = new ArrayList<CssRule>();
+		private List<RuleTemplate> rules = new ArrayList<RuleTemplate>();
 		
-		private DefaultCssRule[] currentRules = new DefaultCssRule[]{};
+		private RuleTemplate[] currentRules = new RuleTemplate[]{};
 		
 		public void selectorRead( int line, String selector ) throws IOException{
 			CssSelector[] selectors = toSelectors( line, selector );
 			if( currentRules.length != selectors.length ){
-				currentRules = new DefaultCssRule[ selectors.length ];
+				currentRules = new RuleTemplate[ selectors.length ];
 			}
 			for( int i = 0; i < selectors.length; i++ ){
-				DefaultCssRule rule = new DefaultCssRule( selectors[i] );
+				RuleTemplate rule = new RuleTemplate( selectors[i] );
 				currentRules[i] = rule;
 				rules.add( rule );
 			}
 		}
 		
 		public void propertyRead( String key, String value ){
-			for( DefaultCssRule rule : currentRules ){
+			for( RuleTemplate rule : currentRules ){
 				if( "null".equals( value ) || value == null ){
 					rule.setProperty( CssPropertyKey.parse( key ), null );
 				}
@@ -419,86 +525,8 @@ public class CssParser {
 			}
 		}
 		
-		public List<CssRule> getRules(){
-			return rules;
-		}
-	}
-	
-	private static class CommentReader extends Reader{
-		private Reader reader;
-		private boolean inComment = false;
-		private int previous = -1;
-		private int next = -1;
-		
-		public CommentReader( Reader reader ){
-			this.reader = reader;
-		}
-		
-		@Override
-		public int read( char[] cbuf, int off, int len ) throws IOException{
-			int start = off;
-			
-			while( off < len ){
-				if( inComment ){
-					int read = previous;
-					previous = -1;
-					if( read == -1 ){
-						read = reader.read();
-					}
-					if( read == '*' ){
-						read = reader.read();
-						if( read == '/' ){
-							inComment = false;
-						}
-						else{
-							previous = read;
-						}
-					}
-					if( read == -1 ){
-						break;
-					}
-				}
-				else if( previous != -1 ){
-					cbuf[off++] = (char)previous;
-					previous = -1;
-				}
-				else if( next != -1 ){
-					cbuf[off++] = (char)next;
-					next = -1;
-				}
-				else{
-					int read = reader.read();
-					if( read == '/' ){
-						previous = read;
-						read = reader.read();
-						if( read == '*' ){
-							inComment = true;
-							previous = -1;
-						}
-						else{
-							next = read;
-						}
-					}
-					else{
-						if( read == -1 ){
-							break;
-						}
-						cbuf[off++] = (char)read;
-					}
-				}
-			}
-			
-			if( start == off ){
-				return -1;
-			}
-			else{
-				return off - start;
-			}
-		}
-
-		@Override
-		public void close() throws IOException{
-			reader.close();
+		public RuleTemplate[] getRules(){
+			return rules.toArray( new RuleTemplate[ rules.size() ] );
 		}
 	}
 }
@@ -25,9 +25,7 @@
  */
 package bibliothek.gui.dock.extension.css.intern;
 
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 import bibliothek.gui.dock.extension.css.CssItem;
@@ -39,6 +37,7 @@ import bibliothek.gui.dock.extension.css.CssRuleListener;
 import bibliothek.gui.dock.extension.css.CssSelector;
 import bibliothek.gui.dock.extension.css.CssType;
 import bibliothek.gui.dock.extension.css.CssDeclarationValue;
+import bibliothek.util.ListenerList;
 
 /**
  * The default {@link CssRule} is just a {@link Map} of properties.
@@ -49,10 +48,10 @@ public class DefaultCssRule implements CssRule, CssRuleContent{
 	private CssSelector selector;
 	
 	/** all the listeners that have been added to this rule */
-	private List<CssRuleListener> listeners = new ArrayList<CssRuleListener>( 2 );
+	private ListenerList<CssRuleListener> listeners = new ListenerList<CssRuleListener>( CssRuleListener.class );
 	
 	/** all the listeners that have been added to this rule-content */
-	private List<CssRuleContentListener> contentListeners = new ArrayList<CssRuleContentListener>( 2 );
+	private ListenerList<CssRuleContentListener> contentListeners = new ListenerList<CssRuleContentListener>( CssRuleContentListener.class );
 	
 	/** all the properties of this rule */
 	private Map<CssPropertyKey, CssDeclarationValue> properties = new HashMap<CssPropertyKey, CssDeclarationValue>( 5 );
@@ -79,7 +78,7 @@ public class DefaultCssRule implements CssRule, CssRuleContent{
 			throw new IllegalArgumentException( "the selector must not be null" );
 		}
 		this.selector = selector;
-		for( CssRuleListener listener : listeners.toArray( new CssRuleListener[ listeners.size() ] )){
+		for( CssRuleListener listener : listeners.toArray()){
 			listener.selectorChanged( this );
 		}
 	}
@@ -125,7 +124,7 @@ public class DefaultCssRule implements CssRule, CssRuleContent{
 		else{
 			properties.put( key, value );
 		}
-		for( CssRuleContentListener listener : contentListeners.toArray( new CssRuleContentListener[ contentListeners.size() ] )){
+		for( CssRuleContentListener listener : contentListeners.toArray()){
 			listener.propertyChanged( this, key );
 		}
 	}
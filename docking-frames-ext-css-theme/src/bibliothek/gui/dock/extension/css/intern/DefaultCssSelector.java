@@ -29,6 +29,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
+import bibliothek.gui.dock.extension.css.CssNode;
 import bibliothek.gui.dock.extension.css.CssPath;
 import bibliothek.gui.dock.extension.css.CssSelector;
 import bibliothek.gui.dock.extension.css.CssSpecificity;
@@ -89,23 +90,25 @@ public class DefaultCssSelector implements CssSelector{
 	
 	@Override
 	public boolean matches( CssPath path ){
-		return matches( path, -1, 0 );
-	}
-	
-	private boolean matches( CssPath path, int pathOffset, int stepOffset ){
-		int[] next = steps[ stepOffset ].matches( path, pathOffset );
-		if( next.length == 0 ){
+		if( steps.length == 0 ){
 			return false;
 		}
-		if( stepOffset+1 == steps.length ){
-			return next.length > 0;
-		}
-		for( int offset : next ){
-			if( matches( path, offset, stepOffset+1 )){
-				return true;
-			}
+		return matches( path, -1, steps, 0 );
+	}
+	
+	/**
+	 * Tells whether the steps <code>index</code> to the end of <code>steps</code> match <code>path</code>.
+	 * @param path the path to match
+	 * @param offset the offset of the {@link CssNode} that was matched by the previous step
+	 * @param steps all the steps of the selector
+	 * @param index the index of the next step to test
+	 * @return whether the remaining steps match
+	 */
+	private static boolean matches( CssPath path, int offset, Step[] steps, int index ){
+		if( index == steps.length ){
+			return true;
 		}
-		return false;
+		return steps[ index ].matches( path, offset, steps, index+1 );
 	}
 	
 	@Override
@@ -144,31 +147,35 @@ public class DefaultCssSelector implements CssSelector{
 		return true;
 	}
 
+	/**
+	 * A {@link Step} is one part of the compiled selector. A {@link Step} does not collect the
+	 * matching nodes, but directly continues matching with the next step, hence matching a selector
+	 * does not create any garbage.
+	 */
 	private static interface Step{
 		/**
-		 * Tells whether this {@link Step} matches <code>item</code>.
+		 * Tells whether this {@link Step}, and all the steps following this step, match <code>path</code>.
 		 * @param path the item to match
-		 * @param offset the offset of the {@link CssPathNode} that was matched by the previous
+		 * @param offset the offset of the {@link CssNode} that was matched by the previous
 		 * step. For the first step this is <code>-1</code>.
-		 * @return the offset of all the {@link CssPathNode} that are matched
+		 * @param steps all the steps of the selector
+		 * @param next the index of the step that follows this step
+		 * @return whether there is a match
 		 */
-		public int[] matches( CssPath path, int offset );
+		public boolean matches( CssPath path, int offset, Step[] steps, int next );
 		
 		public Specificity getSpecificity();
 	}
 	
 	private static class Any implements Step{
 		@Override
-		public int[] matches( CssPath path, int offset ){
-			int size = path.getSize();
-			if( offset+1 >= size ){
-				return new int[]{};
-			}
-			int[] result = new int[ size - 1 - offset ];
-			for( int i = 0; i < result.length; i++ ){
-				result[i] = offset + i + 1;
+		public boolean matches( CssPath path, int offset, Step[] steps, int next ){
+			for( int i = offset+1, n = path.getSize(); i<n; i++ ){
+				if( DefaultCssSelector.matches( path, i, steps, next )){
+					return true;
+				}
 			}
-			return result;
+			return false;
 		}
 		
 		@Override
@@ -203,19 +210,13 @@ public class DefaultCssSelector implements CssSelector{
 		}
 		
 		@Override
-		public int[] matches( CssPath path, int offset ){
-			int[] temp = new int[ path.getSize() - offset ];
-			int count = 0;
-			
+		public boolean matches( CssPath path, int offset, Step[] steps, int next ){
 			for( int i = offset+1, n = path.getSize(); i<n; i++ ){
-				if( path.getNode( i ).getName().equals( name )){
-					temp[ count++ ] = i;
+				if( path.getNode( i ).getName().equals( name ) && DefaultCssSelector.matches( path, i, steps, next )){
+					return true;
 				}
 			}
-			
-			int[] result = new int[ count ];
-			System.arraycopy( temp, 0, result, 0, count );
-			return result;
+			return false;
 		}
 		
 		@Override
@@ -264,13 +265,13 @@ public class DefaultCssSelector implements CssSelector{
 		}
 		
 		@Override
-		public int[] matches( CssPath path, int offset ){
+		public boolean matches( CssPath path, int offset, Step[] steps, int next ){
 			if( offset+1 < path.getSize() ){
 				if( path.getNode( offset+1 ).getName().equals( name )){
-					return new int[]{ offset+1 };
+					return DefaultCssSelector.matches( path, offset+1, steps, next );
 				}
 			}
-			return new int[]{};
+			return false;
 		}
 		
 		@Override
@@ -318,11 +319,11 @@ public class DefaultCssSelector implements CssSelector{
 		}
 		
 		@Override
-		public int[] matches( CssPath path, int offset ){
+		public boolean matches( CssPath path, int offset, Step[] steps, int next ){
 			if( path.getNode( offset ).hasPseudoClass( name )){
-				return new int[]{ offset };
+				return DefaultCssSelector.matches( path, offset, steps, next );
 			}
-			return new int[]{};
+			return false;
 		}
 		
 		@Override
@@ -372,18 +373,18 @@ public class DefaultCssSelector implements CssSelector{
 		}
 		
 		@Override
-		public int[] matches( CssPath path, int offset ){
+		public boolean matches( CssPath path, int offset, Step[] steps, int next ){
 			if( value == null ){
 				if( path.getNode( offset ).getProperty( key ) != null ){
-					return new int[]{ offset };
+					return DefaultCssSelector.matches( path, offset, steps, next );
 				}
 			}
 			else{
 				if( value.equals( path.getNode( offset ).getProperty( key ))){
-					return new int[]{ offset };
+					return DefaultCssSelector.matches( path, offset, steps, next );
 				}
 			}
-			return new int[]{};
+			return false;
 		}
 		
 		@Override
@@ -443,11 +444,11 @@ public class DefaultCssSelector implements CssSelector{
 		}
 		
 		@Override
-		public int[] matches( CssPath path, int offset ){
+		public boolean matches( CssPath path, int offset, Step[] steps, int next ){
 			if( path.getNode( offset ).hasClass( name )){
-				return new int[]{ offset };
+				return DefaultCssSelector.matches( path, offset, steps, next );
 			}
-			return new int[]{};
+			return false;
 		}
 		
 		@Override
@@ -495,11 +496,11 @@ public class DefaultCssSelector implements CssSelector{
 		}
 		
 		@Override
-		public int[] matches( CssPath path, int offset ){
+		public boolean matches( CssPath path, int offset, Step[] steps, int next ){
 			if( name.equals( path.getNode( offset ).getIdentifier() )){
-				return new int[]{ offset };
+				return DefaultCssSelector.matches( path, offset, steps, next );
 			}
-			return new int[]{};
+			return false;
 		}
 		
 		@Override
@@ -0,0 +1,74 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ * 
+ * Copyright (C) 2012 Benjamin Sigg
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ * 
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.extension.css.scheme;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import bibliothek.gui.dock.extension.css.CssItem;
+import bibliothek.gui.dock.extension.css.CssProperty;
+
+/**
+ * Remembers which values were last written into the {@link CssProperty}s of one {@link CssItem}. The
+ * {@link PropertyForwarder}s of an item share one {@link AppliedPropertyValues}, and they do not call
+ * {@link CssProperty#set(Object)} if the new value is equal to the value the property already has. This
+ * prevents repaints and new transitions if a new rule is matched, but only some of the values
+ * actually change.
+ * @author Benjamin Sigg
+ */
+public class AppliedPropertyValues {
+	/** the last value of each property */
+	private Map<CssProperty<?>, Object> values = new IdentityHashMap<CssProperty<?>, Object>();
+	
+	/**
+	 * Sets the value of <code>property</code> to <code>value</code>, unless the last value that was set
+	 * through this object is equal to <code>value</code>.
+	 * @param property the property to change
+	 * @param value the new value, can be <code>null</code>
+	 * @return whether {@link CssProperty#set(Object)} was called
+	 */
+	public <T> boolean set( CssProperty<T> property, T value ){
+		if( values.containsKey( property )){
+			Object current = values.get( property );
+			if( current == null ? value == null : current.equals( value )){
+				return false;
+			}
+		}
+		values.put( property, value );
+		property.set( value );
+		return true;
+	}
+	
+	/**
+	 * Forgets the value of <code>property</code>, the next call to {@link #set(CssProperty, Object)} will
+	 * always change the value of <code>property</code>. This method should be called if <code>property</code>
+	 * is no longer monitored.
+	 * @param property the property whose value is no longer known
+	 */
+	public void forget( CssProperty<?> property ){
+		values.remove( property );
+	}
+}
@@ -63,8 +63,21 @@ public class MatchedCssRule {
 	 * @param rule the rule from which to read properties, can be <code>null</code>
 	 */
 	public MatchedCssRule( CssScheme scheme, CssItem item, TransitionalCssRuleContent rule ){
+		this( scheme, item, rule, null );
+	}
+	
+	/**
+	 * Creates a new match
+	 * @param scheme the scheme in whose realm this rule is used
+	 * @param item the item whose properties are set
+	 * @param rule the rule from which to read properties, can be <code>null</code>
+	 * @param values the values that are currently set to the properties of <code>item</code>, should be shared
+	 * by all the {@link MatchedCssRule}s of <code>item</code>. Properties whose value does not change are not set
+	 * again. Can be <code>null</code>, in which case all properties are always set.
+	 */
+	public MatchedCssRule( CssScheme scheme, CssItem item, TransitionalCssRuleContent rule, AppliedPropertyValues values ){
 		this.rule = rule;
-		forwarder = new Forwarder( rule, item, scheme );
+		forwarder = new Forwarder( rule, item, scheme, values );
 	}
 	
 	/**
@@ -113,8 +126,8 @@ public class MatchedCssRule {
 	}
 	
 	private class Forwarder extends PropertyForwarder{
-		public Forwarder( CssRuleContent source, CssPropertyContainer target, CssScheme scheme ){
-			super( source, target, scheme );
+		public Forwarder( CssRuleContent source, CssPropertyContainer target, CssScheme scheme, AppliedPropertyValues values ){
+			super( source, target, scheme, values );
 		}
 		
 		@Override
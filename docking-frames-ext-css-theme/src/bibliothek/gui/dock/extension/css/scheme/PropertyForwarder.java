@@ -58,6 +58,9 @@ public class PropertyForwarder {
 	
 	/** all the properties that are currently monitored */
 	private Map<CssPropertyKey, CssProperty<?>> properties = new HashMap<CssPropertyKey, CssProperty<?>>();
+	
+	/** the values that were last written into the properties, can be <code>null</code> */
+	private AppliedPropertyValues values;
 
 	/**
 	 * Creates a new forwarder.
@@ -66,9 +69,23 @@ public class PropertyForwarder {
 	 * @param scheme conversion information for values
 	 */
 	public PropertyForwarder( CssRuleContent source, CssPropertyContainer target, CssScheme scheme ){
+		this( source, target, scheme, null );
+	}
+	
+	/**
+	 * Creates a new forwarder.
+	 * @param source the source of all values
+	 * @param target the target for all values
+	 * @param scheme conversion information for values
+	 * @param values the values that are currently set, the forwarder does not set a value
+	 * if the property already has an equal value. Can be <code>null</code>, in which case
+	 * every value is set.
+	 */
+	public PropertyForwarder( CssRuleContent source, CssPropertyContainer target, CssScheme scheme, AppliedPropertyValues values ){
 		this.source = source;
 		this.target = target;
 		this.scheme = scheme;
+		this.values = values;
 		
 		target.addPropertyContainerListener( listener );
 		source.addRuleContentListener( listener );
@@ -121,6 +138,9 @@ public class PropertyForwarder {
 		for( CssProperty<?> property : properties.values() ){
 			property.set( null );
 			property.setScheme( null, null );
+			if( values != null ){
+				values.forget( property );
+			}
 		}
 		properties.clear();
 	}
@@ -142,7 +162,7 @@ public class PropertyForwarder {
 		}
 		if( source != null ){
 			T value = source.getProperty( property.getType( scheme ), key );
-			property.set( value );
+			set( property, value );
 		}
 		properties.put( key, property );
 		property.addPropertyContainerListener( listener );
@@ -175,6 +195,24 @@ public class PropertyForwarder {
 		if( fullRemoval ){
 			property.set( null );
 			property.setScheme( null, null );
+			if( values != null ){
+				values.forget( property );
+			}
+		}
+	}
+	
+	/**
+	 * Sets the value of <code>property</code>, unless <code>property</code> is known to
+	 * already have a value equal to <code>value</code>.
+	 * @param property the property to change
+	 * @param value the new value
+	 */
+	private <T> void set( CssProperty<T> property, T value ){
+		if( values == null ){
+			property.set( value );
+		}
+		else{
+			values.set( property, value );
 		}
 	}
 	
@@ -210,7 +248,7 @@ public class PropertyForwarder {
 			else{
 				value = source.getProperty( property.getType( scheme ), key );
 			}
-			property.set( value );
+			set( property, value );
 		}
 
 		@Override
@@ -31,6 +31,7 @@ import java.util.List;
 import bibliothek.gui.dock.extension.css.CssPropertyKey;
 import bibliothek.gui.dock.extension.css.CssRuleContentListener;
 import bibliothek.gui.dock.extension.css.CssRuleListener;
+import bibliothek.util.ListenerList;
 
 /**
  * This {@link TransitionalCssRuleContent} offers functionality to store and listen
@@ -39,7 +40,7 @@ import bibliothek.gui.dock.extension.css.CssRuleListener;
  * @author Benjamin Sigg
  */
 public abstract class AbstractTransitionalCssRule implements TransitionalCssRuleContent{
-	private List<CssRuleContentListener> listeners = new ArrayList<CssRuleContentListener>();
+	private ListenerList<CssRuleContentListener> listeners = new ListenerList<CssRuleContentListener>( CssRuleContentListener.class );
 	
 	/** implements all the listener interfaces required by this rule */
 	private Listener listener = new Listener();
@@ -104,7 +105,7 @@ public abstract class AbstractTransitionalCssRule implements TransitionalCssRule
 	 * @param key the key of the changed property
 	 */
 	protected void fireChanged( CssPropertyKey key ){
-		for( CssRuleContentListener listener : listeners.toArray( new CssRuleContentListener[ listeners.size()] )){
+		for( CssRuleContentListener listener : listeners.toArray()){
 			listener.propertyChanged( this, key );
 		}
 	}
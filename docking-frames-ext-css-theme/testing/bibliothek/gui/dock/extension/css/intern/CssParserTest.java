@@ -152,6 +152,30 @@ public class CssParserTest {
 		assertEquals( "f", rule.getContent().getProperty( string(), key( "e" ) ) );
 	}
 	
+	@Test
+	public void comments() throws IOException{
+		List<CssRule> rules = parser.parse( "/* a {x: y} */ b /* c */ {x: /* z */ y}" );
+		assertEquals( 1, rules.size() );
+		
+		CssRule rule = rules.get( 0 );
+		assertEquals( DefaultCssSelector.selector().element( "b" ).build(), rule.getSelector() );
+		assertEquals( "y", rule.getContent().getProperty( string(), key( "x" ) ) );
+	}
+	
+	@Test
+	public void parseTwice() throws IOException{
+		String text = "a {x: y} b > c {x: z}";
+		List<CssRule> first = parser.parse( text );
+		List<CssRule> second = new CssParser().parse( text );
+		assertEquals( first.size(), second.size() );
+		
+		for( int i = 0; i < first.size(); i++ ){
+			assertNotSame( first.get( i ), second.get( i ) );
+			assertEquals( first.get( i ).getSelector(), second.get( i ).getSelector() );
+			assertEquals( first.get( i ).getContent().getProperty( string(), key( "x" ) ), second.get( i ).getContent().getProperty( string(), key( "x" ) ) );
+		}
+	}
+	
 	private CssPropertyKey key( String key ){
 		return new CssPropertyKey( key );
 	}
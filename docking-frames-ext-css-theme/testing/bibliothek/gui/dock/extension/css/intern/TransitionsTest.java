@@ -166,6 +166,32 @@ public class TransitionsTest {
 		Assert.assertEquals( 1000, item.getRange().getMax() );		
 	}
 	
+	@Test
+	public void unchangedValuesAreNotSetAgain(){
+		TestCssScheme scheme = new TestCssScheme();
+		DefaultCssRule first = new DefaultCssRule( TestCssRules.selector( "first" ) );
+		first.setProperty( "color", ColorType.convert( Color.WHITE ) );
+		scheme.addRule( first );
+		DefaultCssRule second = new DefaultCssRule( TestCssRules.selector( "second" ) );
+		second.setProperty( "color", ColorType.convert( Color.WHITE ) );
+		scheme.addRule( second );
+		
+		TestItem item = new TestItem( scheme );
+		item.addColorProperty();
+		item.to( "first" );
+		scheme.add( item );
+		Assert.assertEquals( Color.WHITE, item.getColor() );
+		Assert.assertEquals( 1, item.getColorChanges() );
+		
+		item.to( "second" );
+		Assert.assertEquals( Color.WHITE, item.getColor() );
+		Assert.assertEquals( 1, item.getColorChanges() );
+		
+		item.to( "first" );
+		Assert.assertEquals( Color.WHITE, item.getColor() );
+		Assert.assertEquals( 1, item.getColorChanges() );
+	}
+	
 	private void assertBetween( int min, int max, int actual ){
 		Assert.assertTrue( min + " <= " + actual,  min <= actual );
 		Assert.assertTrue( max + " >= " + actual, max >= actual );
@@ -174,6 +200,7 @@ public class TransitionsTest {
 	private class TestItem extends DefaultCssItem{
 		private Map<String, Object> values = new HashMap<String, Object>();
 		private CssScheme scheme;
+		private int colorChanges = 0;
 		
 		public TestItem( CssScheme scheme ){
 			super( new DefaultCssPath( new DefaultCssNode( "base" ) ) );
@@ -210,6 +237,10 @@ public class TransitionsTest {
 			return (Color)values.get( "color" );
 		}
 		
+		public int getColorChanges(){
+			return colorChanges;
+		}
+		
 		public Range getRange(){
 			return (Range)values.get( "range" );
 		}
@@ -238,6 +269,7 @@ public class TransitionsTest {
 				@Override
 				public void set( Color value ){
 					values.put( "color", value );
+					colorChanges++;
 				}
 			} );
 		}
@@ -30,8 +30,10 @@
 package bibliothek.gui.dock.station.toolbar.layout;
 
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import bibliothek.gui.DockStation;
 import bibliothek.gui.Dockable;
@@ -53,6 +55,12 @@ public abstract class ModeledPlaceholderToolbarGrid <D, S, P extends Placeholder
 	/** a facade to this grid, allowing easy access to all columns */
 	private Model model = new Model();
 
+	/**
+	 * Tells for each dockable in which column it was inserted, updated by the <code>onInserted</code> and
+	 * <code>onRemoved</code> methods. The entries are only hints and are verified before they are used.
+	 */
+	private Map<D, PlaceholderList<D, S, P>> dockableIndex = new IdentityHashMap<D, PlaceholderList<D, S, P>>();
+
 	/**
 	 * Gets access to a simplified view of this grid.
 	 * @return the simplified view, never <code>null</code>
@@ -61,13 +69,65 @@ public abstract class ModeledPlaceholderToolbarGrid <D, S, P extends Placeholder
 		return model;
 	}
 	
+	@Override
+	public int getColumn( D dockable ){
+		PlaceholderList<D, S, P> list = dockableIndex.get( dockable );
+		if( list != null ){
+			int index = 0;
+			Iterator<PlaceholderList<D, S, P>> columns = columns();
+			while( columns.hasNext() ){
+				if( columns.next() == list ){
+					if( indexOf( list, dockable ) >= 0 ){
+						return index;
+					}
+					break;
+				}
+				index++;
+			}
+		}
+		return super.getColumn( dockable );
+	}
+	
+	@Override
+	public P get( D dockable ){
+		PlaceholderList<D, S, P> list = dockableIndex.get( dockable );
+		if( list != null ){
+			int index = indexOf( list, dockable );
+			if( index >= 0 ){
+				return list.dockables().get( index );
+			}
+		}
+		return super.get( dockable );
+	}
+	
+	/**
+	 * Searches <code>dockable</code> in <code>list</code>.
+	 * @param list the column to search
+	 * @param dockable the item to search
+	 * @return the index of <code>dockable</code> or -1 if not found
+	 */
+	private int indexOf( PlaceholderList<D, S, P> list, D dockable ){
+		int index = 0;
+		for( P item : list.dockables() ){
+			if( item.asDockable() == dockable ){
+				return index;
+			}
+			index++;
+		}
+		return -1;
+	}
+	
 	@Override
 	protected void onInserted( PlaceholderList<D, S, P> column, int columnIndex, P item, int itemIndex ){
+		dockableIndex.put( item.asDockable(), column );
 		model.getColumn( columnIndex ).onInserted( item, itemIndex );
 	}
 
 	@Override
 	protected void onRemoved( PlaceholderList<D, S, P> column, int columnIndex, P item, int itemIndex ){
+		if( dockableIndex.get( item.asDockable() ) == column ){
+			dockableIndex.remove( item.asDockable() );
+		}
 		model.getColumn( columnIndex ).onRemoved( item, itemIndex );
 	}
 
@@ -79,7 +139,11 @@ public abstract class ModeledPlaceholderToolbarGrid <D, S, P extends Placeholder
 	@Override
 	protected void onRemoved( PlaceholderList<D, S, P> column, int index ){
 		for( int i = column.dockables().size() - 1; i >= 0; i-- ) {
-			model.getColumn( index ).onRemoved( column.dockables().get( i ), i );
+			P item = column.dockables().get( i );
+			if( dockableIndex.get( item.asDockable() ) == column ){
+				dockableIndex.remove( item.asDockable() );
+			}
+			model.getColumn( index ).onRemoved( item, i );
 		}
 		model.onRemoved( index );
 	}
@@ -90,15 +154,19 @@ public abstract class ModeledPlaceholderToolbarGrid <D, S, P extends Placeholder
 			model.onInserted( i );
 
 			int index = 0;
+			PlaceholderList<D, S, P> list = getColumn( i );
 			Iterator<P> content = getColumnContent( i );
 			while( content.hasNext() ) {
-				model.getColumn( i ).onInserted( content.next(), index++ );
+				P item = content.next();
+				dockableIndex.put( item.asDockable(), list );
+				model.getColumn( i ).onInserted( item, index++ );
 			}
 		}
 	}
 
 	@Override
 	protected void onRemoved(){
+		dockableIndex.clear();
 		for( int i = model.getColumnCount() - 1; i >= 0; i++ ) {
 			Column column = model.getColumn( i );
 
@@ -30,8 +30,12 @@
 
 package bibliothek.gui.dock.station.toolbar.layout;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -79,12 +83,16 @@ public abstract class PlaceholderToolbarGrid<D, S, P extends PlaceholderListItem
 
 	/** tells whether this grid is currently used */
 	private boolean bound = false;
+	
+	/** tells which columns may contain a placeholder */
+	private final PlaceholderIndex placeholderIndex = new PlaceholderIndex();
 
 	/**
 	 * Initializes all fields of this object.
 	 */
 	protected void init(){
 		columns = createGrid();
+		placeholderIndex.clear();
 	}
 
 	/**
@@ -165,6 +173,7 @@ public abstract class PlaceholderToolbarGrid<D, S, P extends PlaceholderListItem
 			column.getList().setStrategy( null );
 		}
 		columns.clear();
+		placeholderIndex.clear();
 		onRemoved();
 	}
 
@@ -462,6 +471,7 @@ public abstract class PlaceholderToolbarGrid<D, S, P extends PlaceholderListItem
 		columns.dockables().addPlaceholder( column, placeholder );
 		final Column<D, S, P> item = columns.dockables().get( column );
 		item.getList().dockables().addPlaceholder( line, placeholder );
+		placeholderIndex.add( placeholder, columns.list().get( columns.levelToBase( column, Level.DOCKABLE ) ) );
 		ensureRemoved( item.getList(), placeholder );
 	}
 	
@@ -492,6 +502,7 @@ public abstract class PlaceholderToolbarGrid<D, S, P extends PlaceholderListItem
 		else{
 			lineList.addPlaceholder( line, placeholder );
 		}
+		placeholderIndex.add( placeholder, item );
 	}
 
 	/**
@@ -538,20 +549,16 @@ public abstract class PlaceholderToolbarGrid<D, S, P extends PlaceholderListItem
 	}
 
 	private void ensureRemoved( PlaceholderList<D, S, P> ignore, Set<Path> placeholders ){
-		final Iterator<PlaceholderList<ColumnItem<D, S, P>, ColumnItem<D, S, P>, Column<D, S, P>>.Item> iter = columns.list().iterator();
-		while( iter.hasNext() ) {
-			final PlaceholderList<?, ?, Column<D, S, P>>.Item item = iter.next();
-			if( (item.getDockable() == null) || (item.getDockable().getList() != ignore) ) {
+		for( final PlaceholderList<ColumnItem<D, S, P>, ColumnItem<D, S, P>, Column<D, S, P>>.Item item : placeholderIndex.get( placeholders ) ) {
+			final Column<D, S, P> column = item.getDockable();
+			if( (column == null) || (column.getList() != ignore) ) {
 				item.removeAll( placeholders );
 				if( (item.getPlaceholderSet() == null) && item.isPlaceholder() ) {
-					iter.remove();
+					columns.list().remove( item );
+				}
+				else if( column != null ) {
+					column.getList().removeAll( placeholders );
 				}
-			}
-		}
-
-		for( final Column<D, S, P> column : columns.dockables() ) {
-			if( column.getList() != ignore ) {
-				column.getList().removeAll( placeholders );
 			}
 		}
 
@@ -1286,4 +1293,192 @@ public abstract class PlaceholderToolbarGrid<D, S, P extends PlaceholderListItem
 		} );
 		purge(true);
 	}
+
+	/**
+	 * Tells for each placeholder in which columns it may be stored, allowing <code>ensureRemoved</code>
+	 * to visit only the columns that actually have to be modified. The index may list too many columns, but 
+	 * never misses a column. A column is indexed again whenever its {@link PlaceholderList} or the 
+	 * {@link PlaceholderList#getModificationCount() modification count} of its list changes, placeholders that
+	 * are added without modifying the list have to be reported by calling <code>add</code>.
+	 * @author Benjamin Sigg
+	 */
+	private class PlaceholderIndex {
+		/** for each placeholder the columns which may contain the placeholder */
+		private Map<Path, Set<PlaceholderList<ColumnItem<D, S, P>, ColumnItem<D, S, P>, Column<D, S, P>>.Item>> placeholders = new HashMap<Path, Set<PlaceholderList<ColumnItem<D, S, P>, ColumnItem<D, S, P>, Column<D, S, P>>.Item>>();
+		/** the columns that are indexed */
+		private Map<PlaceholderList<ColumnItem<D, S, P>, ColumnItem<D, S, P>, Column<D, S, P>>.Item, IndexedColumn> indexed = new IdentityHashMap<PlaceholderList<ColumnItem<D, S, P>, ColumnItem<D, S, P>, Column<D, S, P>>.Item, IndexedColumn>();
+		/** the modification count of {@link PlaceholderToolbarGrid#columns} when the index was last updated */
+		private int modifications = -1;
+		
+		/**
+		 * Removes all entries of this index.
+		 */
+		public void clear(){
+			placeholders.clear();
+			indexed.clear();
+			modifications = -1;
+		}
+		
+		/**
+		 * Tells this index that <code>placeholder</code> was added to <code>column</code>.
+		 * @param placeholder the new placeholder
+		 * @param column the column which contains <code>placeholder</code> now
+		 */
+		public void add( Path placeholder, PlaceholderList<ColumnItem<D, S, P>, ColumnItem<D, S, P>, Column<D, S, P>>.Item column ){
+			IndexedColumn entry = indexed.get( column );
+			if( entry != null ){
+				entry.placeholders.add( placeholder );
+				put( placeholder, column );
+			}
+		}
+		
+		/**
+		 * Gets all the columns which may contain any of <code>placeholders</code>.
+		 * @param placeholders the placeholders to search
+		 * @return the columns, may include columns which do not contain any of the placeholders
+		 */
+		public List<PlaceholderList<ColumnItem<D, S, P>, ColumnItem<D, S, P>, Column<D, S, P>>.Item> get( Set<Path> placeholders ){
+			update();
+			Set<PlaceholderList<ColumnItem<D, S, P>, ColumnItem<D, S, P>, Column<D, S, P>>.Item> result = new HashSet<PlaceholderList<ColumnItem<D, S, P>, ColumnItem<D, S, P>, Column<D, S, P>>.Item>();
+			for( Path placeholder : placeholders ){
+				Set<PlaceholderList<ColumnItem<D, S, P>, ColumnItem<D, S, P>, Column<D, S, P>>.Item> columns = this.placeholders.get( placeholder );
+				if( columns != null ){
+					result.addAll( columns );
+				}
+			}
+			return new ArrayList<PlaceholderList<ColumnItem<D, S, P>, ColumnItem<D, S, P>, Column<D, S, P>>.Item>( result );
+		}
+		
+		/**
+		 * Indexes all the columns that were added or modified since the last call to this method.
+		 */
+		private void update(){
+			boolean structure = modifications != columns.getModificationCount();
+			Set<PlaceholderList<ColumnItem<D, S, P>, ColumnItem<D, S, P>, Column<D, S, P>>.Item> alive = null;
+			if( structure ){
+				alive = new HashSet<PlaceholderList<ColumnItem<D, S, P>, ColumnItem<D, S, P>, Column<D, S, P>>.Item>();
+			}
+			
+			for( PlaceholderList<ColumnItem<D, S, P>, ColumnItem<D, S, P>, Column<D, S, P>>.Item column : columns.list() ){
+				if( alive != null ){
+					alive.add( column );
+				}
+				PlaceholderList<D, S, P> list = column.getDockable() == null ? null : column.getDockable().getList();
+				int listModifications = list == null ? 0 : list.getModificationCount();
+				IndexedColumn entry = indexed.get( column );
+				if( entry == null || entry.list != list || entry.modifications != listModifications ){
+					index( column, list, listModifications );
+				}
+			}
+			
+			if( alive != null ){
+				Iterator<PlaceholderList<ColumnItem<D, S, P>, ColumnItem<D, S, P>, Column<D, S, P>>.Item> iterator = indexed.keySet().iterator();
+				while( iterator.hasNext() ){
+					PlaceholderList<ColumnItem<D, S, P>, ColumnItem<D, S, P>, Column<D, S, P>>.Item column = iterator.next();
+					if( !alive.contains( column )){
+						unindex( column, indexed.get( column ) );
+						iterator.remove();
+					}
+				}
+				modifications = columns.getModificationCount();
+			}
+		}
+		
+		/**
+		 * Collects all the placeholders of <code>column</code>.
+		 * @param column the column to index
+		 * @param list the content of <code>column</code>, can be <code>null</code>
+		 * @param listModifications the modification count of <code>list</code>
+		 */
+		private void index( PlaceholderList<ColumnItem<D, S, P>, ColumnItem<D, S, P>, Column<D, S, P>>.Item column, PlaceholderList<D, S, P> list, int listModifications ){
+			IndexedColumn entry = indexed.get( column );
+			if( entry != null ){
+				unindex( column, entry );
+			}
+			entry = new IndexedColumn();
+			entry.list = list;
+			entry.modifications = listModifications;
+			
+			collect( column.getPlaceholderSet(), column.getPlaceholderMap(), entry.placeholders );
+			if( list != null ){
+				for( PlaceholderList<D, S, P>.Item item : list.list() ){
+					collect( item.getPlaceholderSet(), item.getPlaceholderMap(), entry.placeholders );
+				}
+			}
+			for( Path placeholder : entry.placeholders ){
+				put( placeholder, column );
+			}
+			indexed.put( column, entry );
+		}
+		
+		/**
+		 * Removes all the placeholders of <code>column</code> from this index.
+		 * @param column the column whose entries are removed
+		 * @param entry the current entry of <code>column</code>
+		 */
+		private void unindex( PlaceholderList<ColumnItem<D, S, P>, ColumnItem<D, S, P>, Column<D, S, P>>.Item column, IndexedColumn entry ){
+			for( Path placeholder : entry.placeholders ){
+				Set<PlaceholderList<ColumnItem<D, S, P>, ColumnItem<D, S, P>, Column<D, S, P>>.Item> columns = placeholders.get( placeholder );
+				if( columns != null ){
+					columns.remove( column );
+					if( columns.isEmpty() ){
+						placeholders.remove( placeholder );
+					}
+				}
+			}
+		}
+		
+		private void put( Path placeholder, PlaceholderList<ColumnItem<D, S, P>, ColumnItem<D, S, P>, Column<D, S, P>>.Item column ){
+			Set<PlaceholderList<ColumnItem<D, S, P>, ColumnItem<D, S, P>, Column<D, S, P>>.Item> columns = placeholders.get( placeholder );
+			if( columns == null ){
+				columns = new HashSet<PlaceholderList<ColumnItem<D, S, P>, ColumnItem<D, S, P>, Column<D, S, P>>.Item>();
+				placeholders.put( placeholder, columns );
+			}
+			columns.add( column );
+		}
+		
+		private void collect( Set<Path> set, PlaceholderMap map, Set<Path> result ){
+			if( set != null ){
+				result.addAll( set );
+			}
+			if( map != null ){
+				collect( map, result );
+			}
+		}
+		
+		private void collect( PlaceholderMap map, Set<Path> result ){
+			for( Key key : map.getPlaceholders() ){
+				for( Path placeholder : key.getPlaceholders() ){
+					result.add( placeholder );
+				}
+				for( String name : map.getKeys( key ) ){
+					collect( map.get( key, name ), result );
+				}
+			}
+		}
+		
+		private void collect( Object value, Set<Path> result ){
+			if( value instanceof PlaceholderMap ){
+				collect( (PlaceholderMap)value, result );
+			}
+			else if( value instanceof Object[] ){
+				for( Object child : (Object[])value ){
+					collect( child, result );
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Describes the state of a column at the time it was added to the {@link PlaceholderIndex}.
+	 * @author Benjamin Sigg
+	 */
+	private class IndexedColumn {
+		/** the content of the column, can be <code>null</code> */
+		private PlaceholderList<D, S, P> list;
+		/** the modification count of {@link #list} */
+		private int modifications;
+		/** all the placeholders that were found in the column */
+		private Set<Path> placeholders = new HashSet<Path>();
+	}
 }
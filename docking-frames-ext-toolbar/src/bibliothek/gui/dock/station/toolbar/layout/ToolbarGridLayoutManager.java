@@ -79,6 +79,12 @@ public abstract class ToolbarGridLayoutManager<P extends PlaceholderListItem<Doc
 	/** the cached result for {@link #layout()} */
 	private Wrapper[][] cachedComponents;
 	
+	/** the cached results of {@link #layoutSize(Container, Wrapper[][], Size)}, one entry for each {@link Size} */
+	private Dimension[] cachedLayoutSizes;
+	
+	/** the cached results of {@link #getBounds(int)}, entries are created lazily */
+	private Rectangle[] cachedColumnBounds;
+	
 	private enum Size {
 		MAXIMUM, MINIMUM, PREFERRED;
 
@@ -230,6 +236,7 @@ public abstract class ToolbarGridLayoutManager<P extends PlaceholderListItem<Doc
 		}
 		
 		if( cachedComponents == null ){
+			discardCache();
 			Wrapper[][] components = new ToolbarGridLayoutManager.Wrapper[grid.getColumnCount()][];
 			for( int i = 0; i < components.length; i++ ) {
 				final List<Wrapper> list = new ArrayList<Wrapper>();
@@ -243,20 +250,31 @@ public abstract class ToolbarGridLayoutManager<P extends PlaceholderListItem<Doc
 		}
 		return cachedComponents;
 	}
+	
+	/**
+	 * Deletes all the cached sizes and boundaries, but not the cached {@link Wrapper}s.
+	 */
+	private void discardCache(){
+		cachedLayoutSizes = null;
+		cachedColumnBounds = null;
+	}
 
 	@Override
 	public void addLayoutComponent( String name, Component comp ){
 		cachedComponents = null;
+		discardCache();
 	}
 
 	@Override
 	public void removeLayoutComponent( Component comp ){
 		cachedComponents = null;
+		discardCache();
 	}
 
 	@Override
 	public void addLayoutComponent( Component comp, Object constraints ){
 		cachedComponents = null;
+		discardCache();
 	}
 
 	/**
@@ -267,25 +285,38 @@ public abstract class ToolbarGridLayoutManager<P extends PlaceholderListItem<Doc
 	 * @see #isColumnAt(int)
 	 */
 	public int getColumnAt( int location ){
-		int index = 0;
+		// columns are ordered, hence the first column whose end is after location can be found with a binary search
+		Wrapper[][] cells = layout();
+		int low = 0;
+		int high = cells.length - 1;
 		
-		for( int i = 0, n = grid.getColumnCount(); i<n; i++ ){
-			index = i;
-			Rectangle bounds = getBounds( i );
-			
-			if( orientation == Orientation.VERTICAL ){
-				if( bounds.x + bounds.width > location ){
-					break;
-				}
+		while( low < high ){
+			int middle = (low + high) >>> 1;
+			if( getColumnEnd( middle, cells ) > location ){
+				high = middle;
 			}
 			else{
-				if( bounds.y + bounds.height > location ){
-					break;
-				}
+				low = middle + 1;
 			}
 		}
 		
-		return index;
+		return low;
+	}
+	
+	/**
+	 * Tells where the column <code>column</code> ends on the axis that is orthogonal to the orientation of the columns.
+	 * @param column the index of the column
+	 * @param cells the result of {@link #layout()}
+	 * @return the first coordinate that is no longer covered by <code>column</code>
+	 */
+	private int getColumnEnd( int column, Wrapper[][] cells ){
+		Rectangle bounds = getBounds( column, cells );
+		if( orientation == Orientation.VERTICAL ){
+			return bounds.x + bounds.width;
+		}
+		else{
+			return bounds.y + bounds.height;
+		}
 	}
 	
 	/**
@@ -295,21 +326,18 @@ public abstract class ToolbarGridLayoutManager<P extends PlaceholderListItem<Doc
 	 * @see #getColumnAt(int)
 	 */
 	public boolean isColumnAt( int location ){
-		for( int i = 0, n = grid.getColumnCount(); i<n; i++ ){
-			Rectangle bounds = getBounds( i );
-			
-			if( orientation == Orientation.VERTICAL ){
-				if( bounds.x <= location && bounds.x + bounds.width > location ){
-					return true;
-				}
-			}
-			else{
-				if( bounds.y <= location && bounds.y + bounds.height > location ){
-					return true;
-				}
-			}
+		Wrapper[][] cells = layout();
+		if( cells.length == 0 ){
+			return false;
+		}
+		
+		Rectangle bounds = getBounds( getColumnAt( location ), cells );
+		if( orientation == Orientation.VERTICAL ){
+			return bounds.x <= location && bounds.x + bounds.width > location;
+		}
+		else{
+			return bounds.y <= location && bounds.y + bounds.height > location;
 		}
-		return false;
 	}
 	
 	/**
@@ -320,36 +348,63 @@ public abstract class ToolbarGridLayoutManager<P extends PlaceholderListItem<Doc
 	 * @return the best line to insert a new item or -1
 	 */
 	public int getInsertionLineAt( int column, int location ){
-		int count = grid.getLineCount( column );
-		for( int i = 0; i<count; i++ ){
-			Rectangle bounds = getBounds( column, i );
+		// the lines are ordered, hence the first line whose center is after location can be found with a binary search
+		int low = 0;
+		int high = grid.getLineCount( column );
+		
+		while( low < high ){
+			int middle = (low + high) >>> 1;
+			Rectangle bounds = getBounds( column, middle );
+			int center;
 			if( orientation == Orientation.HORIZONTAL ){
-				if( bounds.x + bounds.width/2 >= location ){
-					return i;
-				}
+				center = bounds.x + bounds.width/2;
 			}
 			else{
-				if( bounds.y + bounds.height/2 >= location ){
-					return i;
-				}
+				center = bounds.y + bounds.height/2;
+			}
+			if( center >= location ){
+				high = middle;
+			}
+			else{
+				low = middle + 1;
 			}
 		}
-		return count;
+		return low;
 	}
 	
 	@Override
 	public Dimension maximumLayoutSize( Container parent ){
-		return layoutSize( parent, layout(), Size.MAXIMUM );
+		return new Dimension( cachedLayoutSize( parent, layout(), Size.MAXIMUM ) );
 	}
 
 	@Override
 	public Dimension preferredLayoutSize( Container parent ){
-		return layoutSize( parent, layout(), Size.PREFERRED );
+		return new Dimension( cachedLayoutSize( parent, layout(), Size.PREFERRED ) );
 	}
 
 	@Override
 	public Dimension minimumLayoutSize( Container parent ){
-		return layoutSize( parent, layout(), Size.MINIMUM );
+		return new Dimension( cachedLayoutSize( parent, layout(), Size.MINIMUM ) );
+	}
+	
+	/**
+	 * Gets the result of {@link #layoutSize(Container, Wrapper[][], Size)}, the result is cached until
+	 * the layout is invalidated.
+	 * @param parent the {@link Container} using this {@link LayoutManager}
+	 * @param content the result of {@link #layout()}
+	 * @param size which kind of size to calculate
+	 * @return the size, must not be modified by the caller
+	 */
+	private Dimension cachedLayoutSize( Container parent, Wrapper[][] content, Size size ){
+		if( cachedLayoutSizes == null ){
+			cachedLayoutSizes = new Dimension[ Size.values().length ];
+		}
+		Dimension result = cachedLayoutSizes[ size.ordinal() ];
+		if( result == null ){
+			result = layoutSize( parent, content, size );
+			cachedLayoutSizes[ size.ordinal() ] = result;
+		}
+		return result;
 	}
 
 	private Dimension layoutSize( Container parent, Wrapper[][] content, Size size ){
@@ -451,13 +506,14 @@ public abstract class ToolbarGridLayoutManager<P extends PlaceholderListItem<Doc
 	public void layoutContainer( Container parent ){
 		final Wrapper[][] components = layout();
 		final Dimension available = parent.getSize();
-		final Dimension preferred = layoutSize( parent, components, Size.PREFERRED );
+		final Dimension preferred = cachedLayoutSize( parent, components, Size.PREFERRED );
 		if( (preferred.width <= available.width) && (preferred.height <= available.height) ) {
 			layout( parent, components, preferred, available, Size.PREFERRED );
 		}
 		else {
-			layout( parent, components, layoutSize( parent, components, Size.MINIMUM ), available, Size.MINIMUM );
+			layout( parent, components, cachedLayoutSize( parent, components, Size.MINIMUM ), available, Size.MINIMUM );
 		}
+		cachedColumnBounds = null;
 		for( ToolbarGridLayoutManagerListener listener : listeners ){
 			listener.didLayout( parent );
 		}
@@ -636,6 +692,7 @@ public abstract class ToolbarGridLayoutManager<P extends PlaceholderListItem<Doc
 	@Override
 	public void invalidateLayout( Container target ){
 		cachedComponents = null;
+		discardCache();
 	}
 
 	/**
@@ -690,7 +747,11 @@ public abstract class ToolbarGridLayoutManager<P extends PlaceholderListItem<Doc
 	 */
 	public Rectangle getBounds( int column ){
 		Wrapper[][] cells = layout();
-		return getBounds( column, cells );
+		Rectangle result = getBounds( column, cells );
+		if( result == null ){
+			return null;
+		}
+		return new Rectangle( result );
 	}
 
 	public Rectangle getScreenBounds( int column ){
@@ -698,11 +759,30 @@ public abstract class ToolbarGridLayoutManager<P extends PlaceholderListItem<Doc
 		return getScreenBounds( column, cells );
 	}
 
+	/**
+	 * Gets the boundaries of <code>column</code>, the boundaries are cached until the layout is updated.
+	 * @param column the column whose boundaries are searched
+	 * @param cells the result of {@link #layout()}
+	 * @return the boundaries, must not be modified by the caller
+	 * @see #getBounds(int)
+	 */
 	private Rectangle getBounds( int column, Wrapper[][] cells ){
 		if( column < 0 || column >= cells.length ) {
 			throw new IllegalArgumentException( "column out of bounds: " + column );
 		}
-
+		
+		if( cachedColumnBounds == null || cachedColumnBounds.length != cells.length ){
+			cachedColumnBounds = new Rectangle[ cells.length ];
+		}
+		Rectangle result = cachedColumnBounds[ column ];
+		if( result == null ){
+			result = calculateBounds( column, cells );
+			cachedColumnBounds[ column ] = result;
+		}
+		return result;
+	}
+	
+	private Rectangle calculateBounds( int column, Wrapper[][] cells ){
 		Rectangle result = null;
 		for( Wrapper cell : cells[column] ) {
 			if( result == null ) {
@@ -888,6 +968,8 @@ public abstract class ToolbarGridLayoutManager<P extends PlaceholderListItem<Doc
 		public Component component;
 		public Dimension required;
 		private Size size;
+		/** the sizes that were already read from {@link #component}, one entry for each {@link Size} */
+		private Dimension[] sizes = new Dimension[ Size.values().length ];
 
 		public Wrapper( Component component ){
 			this.component = component;
@@ -902,7 +984,12 @@ public abstract class ToolbarGridLayoutManager<P extends PlaceholderListItem<Doc
 		public void reset( Size size ){
 			if( this.size != size ) {
 				this.size = size;
-				required = new Dimension( size.get( component ) );
+				Dimension cached = sizes[ size.ordinal() ];
+				if( cached == null ){
+					cached = new Dimension( size.get( component ) );
+					sizes[ size.ordinal() ] = cached;
+				}
+				required = new Dimension( cached );
 			}
 		}
 
@@ -0,0 +1,404 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2012 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.toolbar;
+
+import java.awt.EventQueue;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.swing.SwingUtilities;
+
+import junit.framework.Assert;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import bibliothek.gui.DockFrontend;
+import bibliothek.gui.dock.DefaultDockable;
+import bibliothek.gui.dock.SplitDockStation;
+import bibliothek.gui.dock.common.CControl;
+import bibliothek.gui.dock.common.CGridArea;
+import bibliothek.gui.dock.common.DefaultMultipleCDockable;
+import bibliothek.gui.dock.common.MultipleCDockableFactory;
+import bibliothek.gui.dock.common.MultipleCDockableLayout;
+import bibliothek.gui.dock.frontend.Setting;
+import bibliothek.gui.dock.station.split.SplitDockProperty;
+import bibliothek.gui.dock.station.split.SplitDockStationFactory;
+import bibliothek.gui.dock.station.split.SplitDockStationLayout;
+import bibliothek.gui.dock.station.support.PlaceholderStrategy;
+import bibliothek.util.xml.XElement;
+
+/**
+ * Tests which parts of reading a layout asynchronously happen on the event dispatch thread, and
+ * which parts happen on the thread of the executor.
+ * @author Benjamin Sigg
+ */
+public class AsyncLayoutReaderTest {
+	private ExecutorService executor;
+
+	@Before
+	public void setUp(){
+		executor = Executors.newSingleThreadExecutor();
+	}
+
+	@After
+	public void tearDown(){
+		executor.shutdown();
+	}
+
+	@Test
+	public void frontendReadAsync() throws Exception{
+		final byte[][] data = new byte[1][];
+		final RecordingFrontend[] frontend = new RecordingFrontend[1];
+		final RecordingFactory[] factory = new RecordingFactory[1];
+
+		run( new Runnable(){
+			public void run(){
+				try{
+					DockFrontend source = new DockFrontend();
+					fill( source );
+					ByteArrayOutputStream out = new ByteArrayOutputStream();
+					DataOutputStream dout = new DataOutputStream( out );
+					source.save( "stored" );
+					source.write( dout );
+					dout.close();
+					data[0] = out.toByteArray();
+					source.getController().kill();
+				}
+				catch( IOException e ){
+					throw new IllegalStateException( e );
+				}
+
+				frontend[0] = new RecordingFrontend();
+				factory[0] = fill( frontend[0] );
+			}
+		});
+
+		Future<?> future = call( new Callable(){
+			public Future<?> call(){
+				return frontend[0].readAsync( data[0], false, executor );
+			}
+		});
+		future.get();
+
+		check( frontend[0], factory[0] );
+	}
+
+	@Test
+	public void frontendReadXMLAsync() throws Exception{
+		final XElement element = new XElement( "root" );
+		final RecordingFrontend[] frontend = new RecordingFrontend[1];
+		final RecordingFactory[] factory = new RecordingFactory[1];
+
+		run( new Runnable(){
+			public void run(){
+				DockFrontend source = new DockFrontend();
+				fill( source );
+				source.save( "stored" );
+				source.writeXML( element );
+				source.getController().kill();
+
+				frontend[0] = new RecordingFrontend();
+				factory[0] = fill( frontend[0] );
+			}
+		});
+
+		Future<?> future = call( new Callable(){
+			public Future<?> call(){
+				return frontend[0].readXMLAsync( element, false, executor );
+			}
+		});
+		future.get();
+
+		check( frontend[0], factory[0] );
+	}
+
+	@Test
+	public void controlReadAsync() throws Exception{
+		controlRead( false );
+	}
+
+	@Test
+	public void controlReadXMLAsync() throws Exception{
+		controlRead( true );
+	}
+
+	private void controlRead( final boolean xml ) throws Exception{
+		final File file = File.createTempFile( "layout", xml ? ".xml" : ".data" );
+		file.deleteOnExit();
+		final Factory factory = new Factory();
+		final CControl[] control = new CControl[1];
+
+		run( new Runnable(){
+			public void run(){
+				try{
+					CControl source = new CControl();
+					source.addMultipleDockableFactory( "factory", factory );
+					CGridArea grid = source.createGridArea( "grid" );
+					DefaultMultipleCDockable dockable = new DefaultMultipleCDockable( factory );
+					source.addDockable( dockable );
+					dockable.setLocation( grid.getStationLocation() );
+					dockable.setVisible( true );
+					if( xml ){
+						source.writeXML( file );
+					}
+					else{
+						source.write( file );
+					}
+					source.destroy();
+				}
+				catch( IOException e ){
+					throw new IllegalStateException( e );
+				}
+
+				control[0] = new CControl();
+				control[0].addMultipleDockableFactory( "factory", factory );
+				control[0].createGridArea( "grid" );
+			}
+		});
+
+		factory.reset();
+		Future<?> future = call( new Callable(){
+			public Future<?> call(){
+				if( xml ){
+					return control[0].readXMLAsync( file, executor );
+				}
+				else{
+					return control[0].readAsync( file, executor );
+				}
+			}
+		});
+		future.get();
+
+		run( new Runnable(){
+			public void run(){
+				Assert.assertTrue( "layouts were not read", factory.decoded > 0 );
+				Assert.assertEquals( "layouts were decoded on the event dispatch thread", 0, factory.decodedOnEventThread );
+				Assert.assertTrue( "created layouts do not match the decoded layouts", factory.created >= factory.decoded );
+				Assert.assertEquals( 1, control[0].getCDockableCount() );
+				control[0].destroy();
+			}
+		});
+	}
+
+	/**
+	 * Adds a root station and two dockables to <code>frontend</code>.
+	 * @param frontend the frontend to fill
+	 * @return the factory reading the layout of the root station
+	 */
+	private RecordingFactory fill( DockFrontend frontend ){
+		RecordingFactory factory = new RecordingFactory();
+		frontend.registerFactory( factory );
+		SplitDockStation root = new ShowingSplitDockStation();
+		frontend.addRoot( "root", root );
+		DefaultDockable a = new DefaultDockable( "a" );
+		DefaultDockable b = new DefaultDockable( "b" );
+		frontend.addDockable( "a", a );
+		frontend.addDockable( "b", b );
+		root.drop( a );
+		root.drop( b, new SplitDockProperty( 0.5, 0, 0.5, 1 ) );
+		return factory;
+	}
+
+	private void check( final RecordingFrontend frontend, final RecordingFactory factory ) throws InterruptedException, InvocationTargetException{
+		run( new Runnable(){
+			public void run(){
+				Assert.assertEquals( "settings were created outside the event dispatch thread", 0, frontend.settingsOutsideEventThread );
+				Assert.assertEquals( 2, frontend.settings );
+				Assert.assertTrue( "layouts were not read", factory.decoded > 0 );
+				Assert.assertEquals( "layouts were decoded on the event dispatch thread", 0, factory.decodedOnEventThread );
+				Assert.assertEquals( "placeholders were validated while decoding", 0, factory.validated );
+				Assert.assertNotNull( frontend.getSetting( "stored" ) );
+				Assert.assertEquals( 2, frontend.getDockable( "a" ).getDockParent().getDockableCount() );
+				frontend.getController().kill();
+			}
+		});
+	}
+
+	private void run( Runnable runnable ) throws InterruptedException, InvocationTargetException{
+		SwingUtilities.invokeAndWait( runnable );
+	}
+
+	private Future<?> call( final Callable callable ) throws InterruptedException, InvocationTargetException{
+		final Future<?>[] result = new Future<?>[1];
+		run( new Runnable(){
+			public void run(){
+				result[0] = callable.call();
+			}
+		});
+		return result[0];
+	}
+
+	/**
+	 * Starts reading a layout on the event dispatch thread.
+	 */
+	private interface Callable{
+		public Future<?> call();
+	}
+
+	/**
+	 * A {@link DockFrontend} counting on which threads {@link Setting}s are created.
+	 */
+	private static class RecordingFrontend extends DockFrontend{
+		private int settings = 0;
+		private int settingsOutsideEventThread = 0;
+
+		@Override
+		protected Setting createSetting(){
+			settings++;
+			if( !EventQueue.isDispatchThread() ){
+				settingsOutsideEventThread++;
+			}
+			return super.createSetting();
+		}
+	}
+
+	/**
+	 * A factory counting on which threads the layouts of {@link ShowingSplitDockStation}s are decoded.
+	 */
+	private static class RecordingFactory extends SplitDockStationFactory{
+		public static final String ID = "RecordingFactory";
+		private volatile int decoded = 0;
+		private volatile int decodedOnEventThread = 0;
+		private volatile int validated = 0;
+
+		@Override
+		public String getID(){
+			return ID;
+		}
+
+		private void record( PlaceholderStrategy placeholders ){
+			decoded++;
+			if( EventQueue.isDispatchThread() ){
+				decodedOnEventThread++;
+			}
+			if( placeholders != null ){
+				validated++;
+			}
+		}
+
+		@Override
+		public SplitDockStationLayout read( DataInputStream in, PlaceholderStrategy placeholders ) throws IOException{
+			record( placeholders );
+			return super.read( in, placeholders );
+		}
+
+		@Override
+		public SplitDockStationLayout read( XElement element, PlaceholderStrategy placeholders ){
+			record( placeholders );
+			return super.read( element, placeholders );
+		}
+	}
+
+	/**
+	 * A {@link MultipleCDockableFactory} counting on which threads its layouts are decoded.
+	 */
+	private static class Factory implements MultipleCDockableFactory<DefaultMultipleCDockable, Layout>{
+		private volatile int created = 0;
+		private volatile int decoded = 0;
+		private volatile int decodedOnEventThread = 0;
+
+		public void reset(){
+			created = 0;
+			decoded = 0;
+			decodedOnEventThread = 0;
+		}
+
+		public Layout create(){
+			created++;
+			return new Layout( this );
+		}
+
+		public DefaultMultipleCDockable read( Layout layout ){
+			return new DefaultMultipleCDockable( this );
+		}
+
+		public Layout write( DefaultMultipleCDockable dockable ){
+			return new Layout( this );
+		}
+
+		public boolean match( DefaultMultipleCDockable dockable, Layout layout ){
+			return false;
+		}
+
+		private void record(){
+			decoded++;
+			if( EventQueue.isDispatchThread() ){
+				decodedOnEventThread++;
+			}
+		}
+	}
+
+	private static class Layout implements MultipleCDockableLayout{
+		private Factory factory;
+
+		public Layout( Factory factory ){
+			this.factory = factory;
+		}
+
+		public void readStream( DataInputStream in ) throws IOException{
+			factory.record();
+			in.readInt();
+		}
+
+		public void readXML( XElement element ){
+			factory.record();
+		}
+
+		public void writeStream( DataOutputStream out ) throws IOException{
+			out.writeInt( 42 );
+		}
+
+		public void writeXML( XElement element ){
+			element.addInt( "value", 42 );
+		}
+	}
+
+	/**
+	 * A {@link SplitDockStation} which claims to be showing as soon as it has a controller, the test
+	 * does not open any window. Its layout is read by a {@link RecordingFactory}.
+	 */
+	private static class ShowingSplitDockStation extends SplitDockStation{
+		@Override
+		@Deprecated
+		public boolean isStationVisible(){
+			return getController() != null;
+		}
+
+		@Override
+		public String getFactoryID(){
+			return RecordingFactory.ID;
+		}
+	}
+}
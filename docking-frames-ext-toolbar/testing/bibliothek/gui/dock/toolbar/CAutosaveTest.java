@@ -0,0 +1,454 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2012 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.toolbar;
+
+import java.awt.EventQueue;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import javax.swing.SwingUtilities;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+import bibliothek.gui.dock.DefaultDockable;
+import bibliothek.gui.dock.SplitDockStation;
+import bibliothek.gui.dock.StackDockStation;
+import bibliothek.gui.dock.common.CAutosave;
+import bibliothek.gui.dock.common.CControl;
+import bibliothek.gui.dock.common.CGridArea;
+import bibliothek.gui.dock.common.DefaultMultipleCDockable;
+import bibliothek.gui.dock.common.MultipleCDockableFactory;
+import bibliothek.gui.dock.common.MultipleCDockableLayout;
+import bibliothek.gui.dock.station.split.Node;
+import bibliothek.gui.dock.station.split.SplitDockProperty;
+import bibliothek.gui.dock.station.stack.StackDockProperty;
+import bibliothek.util.xml.XElement;
+
+/**
+ * Tests when the {@link CAutosave} writes the layout, which changes it observes and on which
+ * threads the layout is encoded.
+ * @author Benjamin Sigg
+ */
+public class CAutosaveTest {
+	@Test
+	public void debounce() throws Exception{
+		final File file = file();
+		final CAutosave autosave = autosave( file, 300, 10000 );
+		
+		for( int i = 0; i < 5; i++ ){
+			run( new Runnable(){
+				public void run(){
+					autosave.markDirty();
+				}
+			});
+			Thread.sleep( 100 );
+			Assert.assertFalse( "layout was written while it was still changing", file.exists() );
+		}
+		
+		Assert.assertTrue( "layout was not written after the delay", await( file, 5000 ) );
+		destroy( autosave );
+	}
+	
+	@Test
+	public void maxDelay() throws Exception{
+		final File file = file();
+		final CAutosave autosave = autosave( file, 400, 1000 );
+		
+		long start = System.currentTimeMillis();
+		long end = start + 4000;
+		while( !file.exists() && System.currentTimeMillis() < end ){
+			run( new Runnable(){
+				public void run(){
+					autosave.markDirty();
+				}
+			});
+			Thread.sleep( 100 );
+		}
+		long duration = System.currentTimeMillis() - start;
+		
+		Assert.assertTrue( "layout was never written", file.exists() );
+		Assert.assertTrue( "layout was written before the max delay: " + duration, duration >= 900 );
+		Assert.assertTrue( "layout was written too late: " + duration, duration < 3000 );
+		destroy( autosave );
+	}
+	
+	@Test
+	public void doubleBuffer() throws Exception{
+		final File file = file();
+		final Factory factory = new Factory();
+		final List<Runnable> tasks = new ArrayList<Runnable>();
+		final CControl[] control = new CControl[1];
+		
+		run( new Runnable(){
+			public void run(){
+				control[0] = new CControl();
+				control[0].addMultipleDockableFactory( "factory", factory );
+				CGridArea grid = control[0].createGridArea( "grid" );
+				DefaultMultipleCDockable dockable = new DefaultMultipleCDockable( factory );
+				control[0].addDockable( dockable );
+				dockable.setLocation( grid.getStationLocation() );
+				dockable.setVisible( true );
+				
+				final CAutosave autosave = control[0].getAutosave();
+				autosave.setFile( file );
+				autosave.setDelay( 10000 );
+				autosave.setExecutor( new Executor(){
+					public void execute( Runnable command ){
+						tasks.add( command );
+					}
+				});
+				autosave.setEnabled( true );
+				
+				// while the first snapshot is encoded, the next snapshot is taken
+				factory.onWrite = new Runnable(){
+					public void run(){
+						factory.value = 2;
+						autosave.markDirty();
+						autosave.flush();
+					}
+				};
+				
+				autosave.markDirty();
+				autosave.flush();
+				autosave.markDirty();
+				autosave.flush();
+				
+				Assert.assertEquals( "snapshots were not merged", 1, tasks.size() );
+				Assert.assertEquals( "snapshot was encoded on the event dispatch thread", 0, factory.written );
+			}
+		});
+		
+		// the writer runs on this thread, the client's layouts are still encoded on the event dispatch thread
+		tasks.get( 0 ).run();
+		
+		run( new Runnable(){
+			public void run(){
+				try{
+					Assert.assertEquals( "the second snapshot was written by another task", 1, tasks.size() );
+					Assert.assertTrue( "the second snapshot was not written", factory.written >= 2 );
+					Assert.assertEquals( "layouts were encoded outside the event dispatch thread", 0, factory.writtenOutsideEventThread );
+					Assert.assertNull( control[0].getAutosave().getLastError() );
+					Assert.assertTrue( "the file does not contain the latest snapshot", Arrays.equals( control[0].getResources().writeArray(), read( file ) ));
+					control[0].destroy();
+				}
+				catch( IOException e ){
+					throw new IllegalStateException( e );
+				}
+			}
+		});
+	}
+	
+	@Test
+	public void xmlIsEncodedOnWriter() throws Exception{
+		final File file = file();
+		final Factory factory = new Factory();
+		final List<Runnable> tasks = new ArrayList<Runnable>();
+		final CControl[] control = new CControl[1];
+		
+		run( new Runnable(){
+			public void run(){
+				control[0] = new CControl();
+				control[0].addMultipleDockableFactory( "factory", factory );
+				CGridArea grid = control[0].createGridArea( "grid" );
+				DefaultMultipleCDockable dockable = new DefaultMultipleCDockable( factory );
+				control[0].addDockable( dockable );
+				dockable.setLocation( grid.getStationLocation() );
+				dockable.setVisible( true );
+				
+				CAutosave autosave = control[0].getAutosave();
+				autosave.setFile( file );
+				autosave.setXML( true );
+				autosave.setExecutor( new Executor(){
+					public void execute( Runnable command ){
+						tasks.add( command );
+					}
+				});
+				autosave.setEnabled( true );
+				autosave.markDirty();
+				autosave.flush();
+				Assert.assertEquals( "snapshot was encoded on the event dispatch thread", 0, factory.written );
+			}
+		});
+		
+		tasks.get( 0 ).run();
+		
+		run( new Runnable(){
+			public void run(){
+				Assert.assertTrue( "layout was not written", factory.written > 0 );
+				Assert.assertEquals( "layouts were encoded outside the event dispatch thread", 0, factory.writtenOutsideEventThread );
+				Assert.assertNull( control[0].getAutosave().getLastError() );
+				Assert.assertTrue( file.length() > 0 );
+				control[0].destroy();
+			}
+		});
+	}
+	
+	@Test
+	public void movesInsideStationsAreObserved() throws Exception{
+		run( new Runnable(){
+			public void run(){
+				CControl control = new CControl();
+				CAutosave autosave = control.getAutosave();
+				autosave.setDelay( 10000 );
+				autosave.setEnabled( true );
+				
+				SplitDockStation split = new ShowingSplitDockStation();
+				control.getController().add( split );
+				split.drop( new DefaultDockable( "a" ) );
+				split.drop( new DefaultDockable( "b" ), new SplitDockProperty( 0.5, 0, 0.5, 1 ) );
+				
+				StackDockStation stack = new StackDockStation();
+				control.getController().add( stack );
+				DefaultDockable d = new DefaultDockable( "d" );
+				stack.drop( new DefaultDockable( "c" ) );
+				stack.drop( d );
+				
+				// without file flushing only resets the dirty flag
+				autosave.flush();
+				Assert.assertFalse( autosave.isDirty() );
+				
+				((Node)split.getRoot().getChild()).setDivider( 0.25 );
+				Assert.assertTrue( "moving a divider was not observed", autosave.isDirty() );
+				
+				autosave.flush();
+				stack.move( d, new StackDockProperty( 0 ) );
+				Assert.assertTrue( "moving a tab was not observed", autosave.isDirty() );
+				
+				control.destroy();
+			}
+		});
+	}
+	
+	@Test
+	public void readingDoesNotMarkDirty() throws Exception{
+		final CControl[] control = new CControl[1];
+		
+		run( new Runnable(){
+			public void run(){
+				try{
+					control[0] = new CControl();
+					CGridArea grid = control[0].createGridArea( "grid" );
+					for( int i = 0; i < 3; i++ ){
+						DefaultMultipleCDockable dockable = new DefaultMultipleCDockable( null, "dockable " + i );
+						control[0].addDockable( "dockable " + i, dockable );
+						dockable.setLocation( grid.getStationLocation() );
+						dockable.setVisible( true );
+					}
+					control[0].save( "stored" );
+					
+					ByteArrayOutputStream bout = new ByteArrayOutputStream();
+					DataOutputStream out = new DataOutputStream( bout );
+					control[0].write( out );
+					out.close();
+					
+					CAutosave autosave = control[0].getAutosave();
+					autosave.setDelay( 10000 );
+					autosave.setEnabled( true );
+					
+					control[0].read( new DataInputStream( new ByteArrayInputStream( bout.toByteArray() )));
+					Assert.assertFalse( "reading a layout marked the layout dirty", autosave.isDirty() );
+				}
+				catch( IOException e ){
+					throw new IllegalStateException( e );
+				}
+			}
+		});
+		run( new Runnable(){
+			public void run(){
+				CAutosave autosave = control[0].getAutosave();
+				Assert.assertFalse( "reading a layout marked the layout dirty", autosave.isDirty() );
+				
+				// loading a stored layout is a change made by the user
+				control[0].load( "stored" );
+				Assert.assertTrue( "loading a layout was not observed", autosave.isDirty() );
+				control[0].destroy();
+			}
+		});
+	}
+	
+	/**
+	 * Creates a new {@link CControl} whose {@link CAutosave} is enabled.
+	 * @param file the file to write into
+	 * @param delay the delay of the autosave
+	 * @param maxDelay the maximum delay of the autosave
+	 * @return the autosave
+	 */
+	private CAutosave autosave( final File file, final int delay, final int maxDelay ) throws InterruptedException, InvocationTargetException{
+		final CAutosave[] result = new CAutosave[1];
+		run( new Runnable(){
+			public void run(){
+				CAutosave autosave = new CControl().getAutosave();
+				autosave.setFile( file );
+				autosave.setDelay( delay );
+				autosave.setMaxDelay( maxDelay );
+				autosave.setEnabled( true );
+				result[0] = autosave;
+			}
+		});
+		return result[0];
+	}
+	
+	private void destroy( final CAutosave autosave ) throws InterruptedException, InvocationTargetException{
+		run( new Runnable(){
+			public void run(){
+				Assert.assertNull( autosave.getLastError() );
+				autosave.getControl().destroy();
+			}
+		});
+	}
+	
+	/**
+	 * Creates the name of a file that does not yet exist.
+	 * @return the new file
+	 */
+	private File file() throws IOException{
+		File file = File.createTempFile( "autosave", ".data" );
+		file.delete();
+		file.deleteOnExit();
+		return file;
+	}
+	
+	/**
+	 * Waits until <code>file</code> exists.
+	 * @param file the file to wait for
+	 * @param timeout how long to wait at most, in milliseconds
+	 * @return whether the file exists
+	 */
+	private boolean await( File file, long timeout ) throws InterruptedException{
+		long end = System.currentTimeMillis() + timeout;
+		while( !file.exists() && System.currentTimeMillis() < end ){
+			Thread.sleep( 20 );
+		}
+		return file.exists();
+	}
+	
+	private byte[] read( File file ) throws IOException{
+		byte[] content = new byte[ (int)file.length() ];
+		DataInputStream in = new DataInputStream( new FileInputStream( file ));
+		try{
+			in.readFully( content );
+		}
+		finally{
+			in.close();
+		}
+		return content;
+	}
+	
+	private void run( Runnable runnable ) throws InterruptedException, InvocationTargetException{
+		SwingUtilities.invokeAndWait( runnable );
+	}
+	
+	/**
+	 * A {@link MultipleCDockableFactory} counting on which threads its layouts are encoded.
+	 */
+	private static class Factory implements MultipleCDockableFactory<DefaultMultipleCDockable, Layout>{
+		private int value = 1;
+		private volatile int written = 0;
+		private volatile int writtenOutsideEventThread = 0;
+		/** called once when the next layout is encoded */
+		private Runnable onWrite;
+		
+		public Layout create(){
+			return new Layout( this, value );
+		}
+		
+		public DefaultMultipleCDockable read( Layout layout ){
+			return new DefaultMultipleCDockable( this );
+		}
+		
+		public Layout write( DefaultMultipleCDockable dockable ){
+			return new Layout( this, value );
+		}
+		
+		public boolean match( DefaultMultipleCDockable dockable, Layout layout ){
+			return false;
+		}
+		
+		private void record(){
+			written++;
+			if( !EventQueue.isDispatchThread() ){
+				writtenOutsideEventThread++;
+			}
+			if( onWrite != null ){
+				Runnable run = onWrite;
+				onWrite = null;
+				run.run();
+			}
+		}
+	}
+	
+	private static class Layout implements MultipleCDockableLayout{
+		private Factory factory;
+		private int value;
+		
+		public Layout( Factory factory, int value ){
+			this.factory = factory;
+			this.value = value;
+		}
+		
+		public void readStream( DataInputStream in ) throws IOException{
+			value = in.readInt();
+		}
+		
+		public void readXML( XElement element ){
+			value = element.getInt( "value" );
+		}
+		
+		public void writeStream( DataOutputStream out ) throws IOException{
+			factory.record();
+			out.writeInt( value );
+		}
+		
+		public void writeXML( XElement element ){
+			factory.record();
+			element.addInt( "value", value );
+		}
+	}
+	
+	/**
+	 * A {@link SplitDockStation} which claims to be showing as soon as it has a controller, the test
+	 * does not open any window.
+	 */
+	private static class ShowingSplitDockStation extends SplitDockStation{
+		@Override
+		@Deprecated
+		public boolean isStationVisible(){
+			return getController() != null;
+		}
+	}
+}
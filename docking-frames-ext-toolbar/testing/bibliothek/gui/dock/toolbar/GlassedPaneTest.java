@@ -0,0 +1,233 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2012 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.toolbar;
+
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseMotionAdapter;
+import java.lang.reflect.InvocationTargetException;
+
+import javax.swing.JComponent;
+import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+import bibliothek.gui.dock.security.GlassedPane;
+
+/**
+ * Tests the hit-test cache of the {@link GlassedPane} and measures how fast mouse-moved
+ * events are forwarded.
+ * @author Benjamin Sigg
+ */
+public class GlassedPaneTest {
+	private GlassedPane pane;
+	private JPanel content;
+	private Target below;
+	private Target cover;
+
+	@Test
+	public void siblingShownOverTarget() throws InterruptedException, InvocationTargetException{
+		run( new Runnable(){
+			public void run(){
+				setUp();
+				cover.setVisible( false );
+				move( 10, 10 );
+				move( 11, 11 );
+				Assert.assertEquals( 2, below.count );
+
+				// the ComponentEvent is posted to the EventQueue, and processed before the next step
+				cover.setVisible( true );
+			}
+		});
+		run( new Runnable(){
+			public void run(){
+				move( 12, 12 );
+				Assert.assertEquals( 2, below.count );
+				Assert.assertEquals( 1, cover.count );
+			}
+		});
+	}
+
+	@Test
+	public void siblingMovedOverTarget() throws InterruptedException, InvocationTargetException{
+		run( new Runnable(){
+			public void run(){
+				setUp();
+				cover.setLocation( 200, 0 );
+				move( 10, 10 );
+				move( 11, 11 );
+				Assert.assertEquals( 2, below.count );
+
+				cover.setLocation( 0, 0 );
+			}
+		});
+		run( new Runnable(){
+			public void run(){
+				move( 12, 12 );
+				Assert.assertEquals( 2, below.count );
+				Assert.assertEquals( 1, cover.count );
+			}
+		});
+	}
+
+	@Test
+	public void mouseMovedBenchmark() throws InterruptedException, InvocationTargetException{
+		run( new Runnable(){
+			public void run(){
+				int depth = 12;
+				int siblings = 50;
+				int events = 20000;
+				int rounds = 5;
+
+				pane = new GlassedPane();
+				content = new JPanel( null );
+				pane.setContentPane( content );
+				pane.setSize( 1000, 1000 );
+				pane.doLayout();
+
+				Target first = new Target();
+				Target second = new Target();
+				tree( content, depth, siblings, first, 0 );
+				tree( content, depth, siblings, second, 500 );
+
+				// warm up
+				moves( events, false );
+				moves( events, true );
+
+				// the best round is reported, it is the one least disturbed by other threads
+				long sameTarget = Long.MAX_VALUE;
+				long alternatingTarget = Long.MAX_VALUE;
+				for( int i = 0; i < rounds; i++ ){
+					long start = System.nanoTime();
+					moves( events, false );
+					sameTarget = Math.min( sameTarget, System.nanoTime() - start );
+
+					start = System.nanoTime();
+					moves( events, true );
+					alternatingTarget = Math.min( alternatingTarget, System.nanoTime() - start );
+				}
+
+				Assert.assertEquals( (3 + 3*rounds) * events / 2, first.count );
+				Assert.assertEquals( (1 + rounds) * events / 2, second.count );
+
+				System.out.println( "GlassedPane, mouse-moved over a tree of depth " + depth + " with " + siblings + " siblings per level: " );
+				System.out.println( "  same target:        " + (sameTarget / events) + " ns/event" );
+				System.out.println( "  alternating target: " + (alternatingTarget / events) + " ns/event" );
+			}
+		});
+	}
+
+	/**
+	 * Moves the mouse <code>events</code> times.
+	 * @param events the number of events
+	 * @param alternate if <code>false</code> then the mouse stays over the first target, otherwise it
+	 * jumps between the first and the second target
+	 */
+	private void moves( int events, boolean alternate ){
+		for( int i = 0; i < events; i++ ){
+			if( alternate && i % 2 == 1 ){
+				move( 500 + (i % 7), 500 + (i % 5) );
+			}
+			else{
+				move( i % 7, i % 5 );
+			}
+		}
+	}
+
+	/**
+	 * Builds a tree of panels. At each level <code>siblings</code> panels are added, the first of them
+	 * is placed at the location of the mouse and contains the next level.
+	 * @param parent the parent of the new tree
+	 * @param depth the number of levels
+	 * @param siblings the number of panels per level
+	 * @param leaf the component at the bottom of the tree
+	 * @param offset where to place the tree in <code>parent</code>
+	 */
+	private void tree( JComponent parent, int depth, int siblings, Target leaf, int offset ){
+		for( int i = 0; i < depth; i++ ){
+			JPanel next = null;
+			for( int j = siblings-1; j >= 0; j-- ){
+				JPanel sibling = new JPanel( null );
+				if( j == 0 ){
+					sibling.setBounds( offset, offset, 100, 100 );
+					next = sibling;
+				}
+				else{
+					sibling.setBounds( offset + 100 + j*10, offset, 10, 10 );
+				}
+				parent.add( sibling );
+			}
+			parent = next;
+			offset = 0;
+		}
+		leaf.setBounds( 0, 0, 50, 50 );
+		parent.add( leaf );
+	}
+
+	private void setUp(){
+		pane = new GlassedPane();
+		content = new JPanel( null );
+		pane.setContentPane( content );
+		pane.setSize( 400, 400 );
+		pane.doLayout();
+
+		below = new Target();
+		below.setBounds( 0, 0, 100, 100 );
+		cover = new Target();
+		cover.setBounds( 0, 0, 100, 100 );
+
+		// the first child is painted on top and receives events first
+		content.add( cover );
+		content.add( below );
+	}
+
+	private void move( int x, int y ){
+		((GlassedPane.GlassPane)pane.getGlassPane()).mouseMoved( new MouseEvent( pane.getGlassPane(), MouseEvent.MOUSE_MOVED, 0, 0, x, y, 0, false ) );
+	}
+
+	private void run( Runnable runnable ) throws InterruptedException, InvocationTargetException{
+		SwingUtilities.invokeAndWait( runnable );
+	}
+
+	/**
+	 * A component counting the mouse-moved events it receives.
+	 */
+	private static class Target extends JPanel{
+		private int count = 0;
+
+		public Target(){
+			super( null );
+			addMouseMotionListener( new MouseMotionAdapter(){
+				@Override
+				public void mouseMoved( MouseEvent e ){
+					count++;
+				}
+			});
+		}
+	}
+}
@@ -0,0 +1,238 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2012 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.toolbar;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.SwingUtilities;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+import bibliothek.gui.DockFrontend;
+import bibliothek.gui.DockStation;
+import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.DefaultDockable;
+import bibliothek.gui.dock.SplitDockStation;
+import bibliothek.gui.dock.common.CControl;
+import bibliothek.gui.dock.event.DockStationAdapter;
+import bibliothek.gui.dock.frontend.DefaultLayoutChangeStrategy;
+import bibliothek.gui.dock.layout.DockSituationIgnore;
+import bibliothek.gui.dock.station.split.SplitDockProperty;
+
+/**
+ * Tests which root stations are cleaned and rebuilt if a layout is applied while
+ * {@link DefaultLayoutChangeStrategy#setDiffing(boolean) diffing} is enabled.
+ * @author Benjamin Sigg
+ */
+public class LayoutDiffingTest {
+	@Test
+	public void unchangedRootIsSkipped() throws InterruptedException, InvocationTargetException{
+		run( new Runnable(){
+			public void run(){
+				CleaningFrontend frontend = new CleaningFrontend();
+				SplitDockStation left = root( frontend, "left" );
+				SplitDockStation right = root( frontend, "right" );
+				DefaultDockable a = dockable( frontend, "a" );
+				DefaultDockable b = dockable( frontend, "b" );
+				DefaultDockable c = dockable( frontend, "c" );
+				DefaultDockable d = dockable( frontend, "d" );
+				left.drop( a );
+				left.drop( b, new SplitDockProperty( 0.5, 0, 0.5, 1 ) );
+				right.drop( c );
+				right.drop( d, new SplitDockProperty( 0.5, 0, 0.5, 1 ) );
+
+				frontend.save( "layout" );
+				right.drag( d );
+				right.drop( d, new SplitDockProperty( 0, 0.5, 1, 0.5 ) );
+
+				Removals leftRemovals = new Removals( left );
+				Removals rightRemovals = new Removals( right );
+				frontend.load( "layout" );
+
+				Assert.assertFalse( frontend.cleaned.contains( left ) );
+				Assert.assertTrue( frontend.cleaned.contains( right ) );
+				Assert.assertEquals( 0, leftRemovals.count );
+				Assert.assertEquals( 2, rightRemovals.count );
+				Assert.assertEquals( left, a.getDockParent() );
+				Assert.assertEquals( left, b.getDockParent() );
+				Assert.assertEquals( right, c.getDockParent() );
+				Assert.assertEquals( right, d.getDockParent() );
+
+				// nothing changes anymore
+				frontend.cleaned.clear();
+				frontend.load( "layout" );
+				Assert.assertTrue( frontend.cleaned.isEmpty() );
+				Assert.assertEquals( 0, leftRemovals.count );
+				Assert.assertEquals( 2, rightRemovals.count );
+
+				frontend.getController().kill();
+			}
+		});
+	}
+
+	@Test
+	public void nestedRootIsRebuilt() throws InterruptedException, InvocationTargetException{
+		run( new Runnable(){
+			public void run(){
+				CleaningFrontend frontend = new CleaningFrontend();
+				SplitDockStation outer = root( frontend, "outer" );
+				SplitDockStation inner = root( frontend, "inner" );
+				DefaultDockable a = dockable( frontend, "a" );
+				DefaultDockable b = dockable( frontend, "b" );
+				DefaultDockable c = dockable( frontend, "c" );
+				outer.drop( a );
+				inner.drop( b );
+				inner.drop( c, new SplitDockProperty( 0, 0.5, 1, 0.5 ) );
+				// an empty station would not be accepted as child
+				outer.drop( inner, new SplitDockProperty( 0.5, 0, 0.5, 1 ) );
+
+				frontend.save( "layout" );
+				outer.drag( a );
+				outer.drop( a, new SplitDockProperty( 0, 0.5, 1, 0.5 ) );
+
+				frontend.load( "layout" );
+
+				Assert.assertTrue( frontend.cleaned.contains( outer ) );
+				Assert.assertTrue( frontend.cleaned.contains( inner ) );
+				Assert.assertEquals( outer, a.getDockParent() );
+				Assert.assertEquals( outer, inner.asDockable().getDockParent() );
+				Assert.assertEquals( inner, b.getDockParent() );
+				Assert.assertEquals( inner, c.getDockParent() );
+
+				frontend.getController().kill();
+			}
+		});
+	}
+
+	@Test
+	public void withoutDiffingAllRootsAreRebuilt() throws InterruptedException, InvocationTargetException{
+		run( new Runnable(){
+			public void run(){
+				CleaningFrontend frontend = new CleaningFrontend();
+				strategy( frontend ).setDiffing( false );
+				SplitDockStation left = root( frontend, "left" );
+				SplitDockStation right = root( frontend, "right" );
+				left.drop( dockable( frontend, "a" ) );
+				right.drop( dockable( frontend, "b" ) );
+
+				frontend.save( "layout" );
+				frontend.load( "layout" );
+
+				Assert.assertTrue( frontend.cleaned.contains( left ) );
+				Assert.assertTrue( frontend.cleaned.contains( right ) );
+
+				frontend.getController().kill();
+			}
+		});
+	}
+
+	@Test
+	public void controlForwardsDiffing() throws InterruptedException, InvocationTargetException{
+		run( new Runnable(){
+			public void run(){
+				CControl control = new CControl();
+				DefaultLayoutChangeStrategy strategy = (DefaultLayoutChangeStrategy)control.intern().getLayoutChangeStrategy();
+				Assert.assertFalse( control.isLayoutDiffing() );
+				Assert.assertFalse( strategy.isDiffing() );
+
+				control.setLayoutDiffing( true );
+				Assert.assertTrue( control.isLayoutDiffing() );
+				Assert.assertTrue( strategy.isDiffing() );
+
+				control.destroy();
+			}
+		});
+	}
+
+	private DefaultLayoutChangeStrategy strategy( DockFrontend frontend ){
+		return (DefaultLayoutChangeStrategy)frontend.getLayoutChangeStrategy();
+	}
+
+	private SplitDockStation root( DockFrontend frontend, String name ){
+		SplitDockStation station = new ShowingSplitDockStation();
+		frontend.addRoot( name, station );
+		return station;
+	}
+
+	private DefaultDockable dockable( DockFrontend frontend, String name ){
+		DefaultDockable dockable = new DefaultDockable( name );
+		frontend.addDockable( name, dockable );
+		return dockable;
+	}
+
+	private void run( Runnable runnable ) throws InterruptedException, InvocationTargetException{
+		SwingUtilities.invokeAndWait( runnable );
+	}
+
+	/**
+	 * A {@link DockFrontend} with diffing enabled that remembers which stations it cleaned.
+	 */
+	private static class CleaningFrontend extends DockFrontend{
+		private List<DockStation> cleaned = new ArrayList<DockStation>();
+
+		public CleaningFrontend(){
+			((DefaultLayoutChangeStrategy)getLayoutChangeStrategy()).setDiffing( true );
+		}
+
+		@Override
+		protected void clean( DockStation station, DockSituationIgnore ignore ){
+			cleaned.add( station );
+			super.clean( station, ignore );
+		}
+	}
+
+	/**
+	 * Counts how many {@link Dockable}s are removed from a station.
+	 */
+	private static class Removals extends DockStationAdapter{
+		private int count = 0;
+
+		public Removals( DockStation station ){
+			station.addDockStationListener( this );
+		}
+
+		@Override
+		public void dockableRemoved( DockStation station, Dockable dockable ){
+			count++;
+		}
+	}
+
+	/**
+	 * A {@link SplitDockStation} which claims to be showing as soon as it has a controller, the test
+	 * does not open any window.
+	 */
+	private static class ShowingSplitDockStation extends SplitDockStation{
+		@Override
+		@Deprecated
+		public boolean isStationVisible(){
+			return getController() != null;
+		}
+	}
+}
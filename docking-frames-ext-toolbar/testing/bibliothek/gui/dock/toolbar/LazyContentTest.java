@@ -0,0 +1,131 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2012 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.toolbar;
+
+import java.awt.Container;
+import java.lang.reflect.InvocationTargetException;
+
+import javax.swing.JLabel;
+import javax.swing.SwingUtilities;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+import bibliothek.gui.DockFrontend;
+import bibliothek.gui.dock.DefaultDockable;
+import bibliothek.gui.dock.SplitDockStation;
+import bibliothek.gui.dock.StackDockStation;
+import bibliothek.gui.dock.dockable.LazyContent;
+import bibliothek.gui.dock.station.split.SplitDockProperty;
+import bibliothek.util.xml.XElement;
+
+/**
+ * Tests whether {@link DefaultDockable}s with {@link LazyContent} create their content while
+ * a layout is loaded, but only if they are showing.
+ * @author Benjamin Sigg
+ */
+public class LazyContentTest {
+	@Test
+	public void loadLayout() throws InterruptedException, InvocationTargetException{
+		// the delayed DockableStateEvents are processed by the EDT, running the whole test on
+		// the EDT ensures that only the synchronous events can create the content
+		SwingUtilities.invokeAndWait( new Runnable(){
+			public void run(){
+				XElement layout = new XElement( "root" );
+
+				DockFrontend frontend = new DockFrontend();
+				SplitDockStation root = new ShowingSplitDockStation();
+				frontend.addRoot( "root", root );
+
+				DefaultDockable a = new DefaultDockable( "a" );
+				DefaultDockable b = new DefaultDockable( "b" );
+				DefaultDockable c = new DefaultDockable( "c" );
+				frontend.addDockable( "a", a );
+				frontend.addDockable( "b", b );
+				frontend.addDockable( "c", c );
+
+				StackDockStation stack = new StackDockStation();
+				stack.drop( a );
+				stack.drop( b );
+				root.drop( stack );
+				root.drop( c, new SplitDockProperty( 0.5, 0, 0.5, 1 ) );
+				stack.setFrontDockable( b );
+
+				frontend.writeXML( layout );
+
+				frontend = new DockFrontend();
+				root = new ShowingSplitDockStation();
+				frontend.addRoot( "root", root );
+
+				Content contentA = new Content();
+				Content contentB = new Content();
+				Content contentC = new Content();
+				frontend.addDockable( "a", lazy( "a", contentA ));
+				frontend.addDockable( "b", lazy( "b", contentB ));
+				frontend.addDockable( "c", lazy( "c", contentC ));
+
+				frontend.readXML( layout );
+
+				Assert.assertEquals( 0, contentA.count );
+				Assert.assertEquals( 1, contentB.count );
+				Assert.assertEquals( 1, contentC.count );
+
+				frontend.getController().kill();
+			}
+		});
+	}
+
+	private DefaultDockable lazy( String title, LazyContent content ){
+		DefaultDockable dockable = new DefaultDockable( title );
+		dockable.setLazyContent( content );
+		return dockable;
+	}
+
+	/**
+	 * Counts how often {@link #createContent(Container)} is called.
+	 */
+	private static class Content implements LazyContent{
+		private int count = 0;
+
+		public void createContent( Container contentPane ){
+			count++;
+			contentPane.add( new JLabel( "content" ) );
+		}
+	}
+
+	/**
+	 * A {@link SplitDockStation} which claims to be showing as soon as it has a controller, the test
+	 * does not open any window.
+	 */
+	private static class ShowingSplitDockStation extends SplitDockStation{
+		@Override
+		@Deprecated
+		public boolean isStationVisible(){
+			return getController() != null;
+		}
+	}
+}
@@ -0,0 +1,163 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2012 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.toolbar;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+import bibliothek.gui.DockStation;
+import bibliothek.gui.Dockable;
+import bibliothek.gui.dock.DefaultDockable;
+import bibliothek.gui.dock.StackDockStation;
+import bibliothek.gui.dock.action.AbstractDockActionSource;
+import bibliothek.gui.dock.action.DockAction;
+import bibliothek.gui.dock.action.DockActionSource;
+import bibliothek.gui.dock.action.LocationHint;
+import bibliothek.gui.dock.event.DockActionSourceListener;
+import bibliothek.gui.dock.event.DockStationAdapter;
+import bibliothek.gui.dock.station.support.DockStationListenerManager;
+import bibliothek.util.ListenerList;
+
+/**
+ * Measures the memory that is allocated while events are fired through managers that use a
+ * {@link ListenerList}. Firing events happens on every step of a drag and drop operation and
+ * must not produce garbage.
+ * @author Benjamin Sigg
+ */
+public class ListenerAllocationTest {
+	/** how many events of each kind are fired while measuring */
+	private static final int EVENTS = 100000;
+
+	/** how many listeners are added to each manager */
+	private static final int LISTENERS = 5;
+
+	/** counts the received events, prevents the JIT from removing the listeners */
+	private int received = 0;
+
+	@Test
+	public void fireWithoutGarbage(){
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if( !(bean instanceof com.sun.management.ThreadMXBean) ){
+			// this JVM cannot measure allocations
+			return;
+		}
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean)bean;
+		if( !threads.isThreadAllocatedMemorySupported() ){
+			return;
+		}
+		threads.setThreadAllocatedMemoryEnabled( true );
+
+		StackDockStation station = new StackDockStation();
+		Dockable dockable = new DefaultDockable( "a" );
+		DockStationListenerManager stationListeners = new DockStationListenerManager( station );
+		Source source = new Source();
+
+		for( int i = 0; i < LISTENERS; i++ ){
+			stationListeners.addListener( new StationListener() );
+			source.addDockActionSourceListener( new SourceListener() );
+		}
+
+		// warm up, lets the JIT compile the firing loops
+		fire( stationListeners, source, dockable );
+
+		long thread = Thread.currentThread().getId();
+		long before = threads.getThreadAllocatedBytes( thread );
+		fire( stationListeners, source, dockable );
+		long allocated = threads.getThreadAllocatedBytes( thread ) - before;
+
+		Assert.assertEquals( 2 * 4 * EVENTS * LISTENERS, received );
+
+		// copying the listeners into a new array would allocate at least 16 bytes per event,
+		// a few kilobytes are allowed for the measurement itself
+		Assert.assertTrue( "allocated " + allocated + " bytes for " + (4 * EVENTS) + " events", allocated < EVENTS );
+	}
+
+	private void fire( DockStationListenerManager stationListeners, Source source, Dockable dockable ){
+		for( int i = 0; i < EVENTS; i++ ){
+			stationListeners.fireDockableVisibilitySet( dockable, true );
+			stationListeners.fireDockableSelected( null, dockable );
+			source.fireAdded( 0, 0 );
+			source.fireRemoved( 0, 0 );
+		}
+	}
+
+	/**
+	 * A {@link DockActionSource} that allows the test to fire events.
+	 */
+	private static class Source extends AbstractDockActionSource{
+		@Override
+		public void fireAdded( int firstIndex, int lastIndex ){
+			super.fireAdded( firstIndex, lastIndex );
+		}
+
+		@Override
+		public void fireRemoved( int firstIndex, int lastIndex ){
+			super.fireRemoved( firstIndex, lastIndex );
+		}
+
+		public DockAction getDockAction( int index ){
+			return null;
+		}
+
+		public int getDockActionCount(){
+			return 0;
+		}
+
+		public LocationHint getLocationHint(){
+			return LocationHint.UNKNOWN;
+		}
+
+		public java.util.Iterator<DockAction> iterator(){
+			return null;
+		}
+	}
+
+	private class StationListener extends DockStationAdapter{
+		@Override
+		public void dockableShowingChanged( DockStation station, Dockable dockable, boolean showing ){
+			received++;
+		}
+
+		@Override
+		public void dockableSelected( DockStation station, Dockable oldSelection, Dockable newSelection ){
+			received++;
+		}
+	}
+
+	private class SourceListener implements DockActionSourceListener{
+		public void actionsAdded( DockActionSource source, int firstIndex, int lastIndex ){
+			received++;
+		}
+
+		public void actionsRemoved( DockActionSource source, int firstIndex, int lastIndex ){
+			received++;
+		}
+	}
+}
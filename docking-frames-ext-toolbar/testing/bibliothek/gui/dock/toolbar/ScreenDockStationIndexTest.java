@@ -0,0 +1,98 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2012 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.toolbar;
+
+import java.awt.Rectangle;
+import java.lang.reflect.InvocationTargetException;
+
+import javax.swing.JDesktopPane;
+import javax.swing.SwingUtilities;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.dock.DefaultDockable;
+import bibliothek.gui.dock.ScreenDockStation;
+import bibliothek.gui.dock.station.screen.BoundaryRestriction;
+import bibliothek.gui.dock.station.screen.ScreenDockWindow;
+import bibliothek.gui.dock.station.screen.window.InternalScreenDockWindowFactory;
+import bibliothek.gui.dock.util.DirectWindowProvider;
+
+/**
+ * Tests whether {@link ScreenDockStation#indexOf(bibliothek.gui.Dockable)} remains correct if
+ * a window exchanges its dockable.
+ * @author Benjamin Sigg
+ */
+public class ScreenDockStationIndexTest {
+	@Test
+	public void replace() throws InterruptedException, InvocationTargetException{
+		SwingUtilities.invokeAndWait( new Runnable(){
+			public void run(){
+				DockController controller = new DockController();
+				controller.getProperties().set( ScreenDockStation.BOUNDARY_RESTRICTION, new NoBoundaryRestriction() );
+				ScreenDockStation station = new ScreenDockStation( new DirectWindowProvider() );
+				station.setWindowFactory( new InternalScreenDockWindowFactory( new JDesktopPane() ) );
+				controller.add( station );
+
+				DefaultDockable a = new DefaultDockable( "a" );
+				DefaultDockable b = new DefaultDockable( "b" );
+				DefaultDockable c = new DefaultDockable( "c" );
+				station.addDockable( a, new Rectangle( 0, 0, 100, 100 ) );
+				station.addDockable( b, new Rectangle( 200, 0, 100, 100 ) );
+
+				Assert.assertEquals( 0, station.indexOf( a ) );
+				Assert.assertEquals( 1, station.indexOf( b ) );
+
+				station.replace( a, c );
+
+				Assert.assertEquals( -1, station.indexOf( a ) );
+				Assert.assertEquals( 0, station.indexOf( c ) );
+				Assert.assertEquals( 1, station.indexOf( b ) );
+
+				station.removeDockable( c );
+				Assert.assertEquals( 1, station.getDockableCount() );
+				Assert.assertEquals( 0, station.indexOf( b ) );
+				Assert.assertEquals( -1, station.indexOf( c ) );
+			}
+		});
+	}
+
+	/**
+	 * A {@link BoundaryRestriction} that does not ask for the screens, the test runs without
+	 * any screen.
+	 */
+	private static class NoBoundaryRestriction implements BoundaryRestriction{
+		public Rectangle check( ScreenDockWindow window ){
+			return null;
+		}
+
+		public Rectangle check( ScreenDockWindow window, Rectangle target ){
+			return null;
+		}
+	}
+}
@@ -39,6 +39,7 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.junit.After;
 import org.junit.Before;
@@ -50,6 +51,7 @@ import bibliothek.gui.dock.component.DockComponentRootHandler;
 import bibliothek.gui.dock.dockable.AbstractDockable;
 import bibliothek.gui.dock.station.support.ConvertedPlaceholderListItem;
 import bibliothek.gui.dock.station.support.PlaceholderList;
+import bibliothek.gui.dock.station.support.PlaceholderList.Level;
 import bibliothek.gui.dock.station.support.PlaceholderListItem;
 import bibliothek.gui.dock.station.support.PlaceholderMap;
 import bibliothek.gui.dock.station.support.PlaceholderStrategy;
@@ -72,6 +74,7 @@ import bibliothek.util.Path;
  *  <li>Inserting and removing items with and without placeholders result in the expected layout.</li>
  * 	<li>Writing and reading the grid does not change the grid.</li>
  *  <li>The model of the grid always remains correct, the events fired by the model match the actual changes.</li>
+ *  <li>Each placeholder is stored in at most one column.</li>
  * </ul>
  * @author Benjamin Sigg
  */
@@ -202,6 +205,52 @@ public class ToolbarGridTest {
 		story.assertCell( 2, 3, "i" );
 	}
 
+	@Test
+	public void testMovePlaceholder(){
+		story.insert( 0, 0, "a" );
+		story.insert( 0, 1, "b" );
+		story.insert( 0, 2, "c" );
+
+		story.insert( 1, 0, "d" );
+		story.insert( 1, 1, "e" );
+
+		story.move( 0, 1, 1, 1 );
+		story.assertCell( 0, 0, "a" );
+		story.assertCell( 0, 1, "c" );
+		story.assertCell( 1, 0, "d" );
+		story.assertCell( 1, 1, "b" );
+		story.assertCell( 1, 2, "e" );
+
+		story.remove( 1, 1 );
+		story.move( 1, 1, 0, 0 );
+		story.remove( 0, 0 );
+
+		story.assertCell( 0, 0, "a" );
+		story.assertCell( 0, 1, "c" );
+		story.assertCell( 1, 0, "d" );
+	}
+
+	@Test
+	public void testPutPlaceholder(){
+		story.insert( 0, 0, "a" );
+		story.insert( 0, 1, "b" );
+		story.insert( 1, 0, "c" );
+		story.insert( 2, 0, "d" );
+
+		story.remove( 0, 1 );
+		story.insert( 2, 1, "b" );
+		story.remove( 2, 1 );
+		story.remove( 1, 0 );
+
+		story.insert( "b" );
+		story.insert( "c" );
+
+		story.assertCell( 0, 0, "a" );
+		story.assertCell( 1, 0, "c" );
+		story.assertCell( 2, 0, "d" );
+		story.assertCell( 2, 1, "b" );
+	}
+
 	private TestGrid copyByReadWrite( TestGrid grid, Collection<Dockable> dockables ){
 		Map<Integer, Dockable> idToItem = new HashMap<Integer, Dockable>();
 		Map<Dockable, Integer> itemToId = new HashMap<Dockable, Integer>();
@@ -334,7 +383,16 @@ public class ToolbarGridTest {
 
 		public void insert( String placeholder ){
 			TestItem item = new TestItem( placeholder );
-			grid.put( new Path( "test", placeholder ), item );
+			assertTrue( grid.put( new Path( "test", placeholder ), item ) );
+			dockables.add( item.asDockable() );
+			assertModel();
+			assertLookup();
+			assertUniquePlaceholders();
+		}
+
+		public void move( int sourceColumn, int sourceLine, int destinationColumn, int destinationLine ){
+			grid.move( sourceColumn, sourceLine, destinationColumn, destinationLine, Level.DOCKABLE );
+			check();
 		}
 
 		public void remove( int column, int row ){
@@ -347,6 +405,48 @@ public class ToolbarGridTest {
 		private void check(){
 			assertEqualsGrid( grid, copyByReadWrite( grid, dockables ) );
 			assertModel();
+			assertLookup();
+			assertUniquePlaceholders();
+		}
+
+		private void assertUniquePlaceholders(){
+			Map<Path, Integer> found = new HashMap<Path, Integer>();
+			int index = 0;
+			for( GridPlaceholderList<Dockable, DockStation, TestItem>.Item item : grid.getGrid().list() ) {
+				assertUniquePlaceholders( found, item.getPlaceholderSet(), index );
+				Column<Dockable, DockStation, TestItem> column = item.getDockable();
+				if( column != null ) {
+					for( PlaceholderList<Dockable, DockStation, TestItem>.Item child : column.getList().list() ) {
+						assertUniquePlaceholders( found, child.getPlaceholderSet(), index );
+					}
+				}
+				index++;
+			}
+		}
+
+		private void assertUniquePlaceholders( Map<Path, Integer> found, Set<Path> placeholders, int column ){
+			if( placeholders != null ) {
+				for( Path placeholder : placeholders ) {
+					Integer previous = found.put( placeholder, column );
+					if( previous != null ) {
+						assertEquals( "placeholder " + placeholder + " is stored in more than one column", column, previous.intValue() );
+					}
+				}
+			}
+		}
+
+		private void assertLookup(){
+			for( int i = 0, n = grid.getColumnCount(); i < n; i++ ) {
+				int line = 0;
+				Iterator<TestItem> content = grid.getColumnContent( i );
+				while( content.hasNext() ) {
+					TestItem item = content.next();
+					assertEquals( i, grid.getColumn( item.asDockable() ) );
+					assertEquals( line, grid.getLine( item.asDockable() ) );
+					assertSame( item, grid.get( item.asDockable() ) );
+					line++;
+				}
+			}
 		}
 
 		private void assertModel(){
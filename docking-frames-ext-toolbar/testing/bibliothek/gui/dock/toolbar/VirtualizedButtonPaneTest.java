@@ -0,0 +1,208 @@
+/*
+ * Bibliothek - DockingFrames
+ * Library built on Java/Swing, allows the user to "drag and drop"
+ * panels containing any Swing-Component the developer likes to add.
+ *
+ * Copyright (C) 2012 Benjamin Sigg
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ * Benjamin Sigg
+ * benjamin_sigg@gmx.ch
+ * CH - Switzerland
+ */
+package bibliothek.gui.dock.toolbar;
+
+import java.awt.Dimension;
+import java.lang.reflect.InvocationTargetException;
+
+import javax.swing.SwingUtilities;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+import bibliothek.gui.DockController;
+import bibliothek.gui.dock.DefaultDockable;
+import bibliothek.gui.dock.FlapDockStation;
+import bibliothek.gui.dock.FlapDockStation.Direction;
+import bibliothek.gui.dock.station.flap.ButtonPane;
+
+/**
+ * Tests the {@link ButtonPane#setVirtualized(boolean) virtualized} {@link ButtonPane}: only the visible
+ * buttons may have a title, and the preferred size must not change while the user scrolls.
+ * @author Benjamin Sigg
+ */
+public class VirtualizedButtonPaneTest {
+	private DockController controller;
+	private PaneFlapDockStation station;
+
+	@Test
+	public void onlyVisibleButtonsHaveTitles() throws InterruptedException, InvocationTargetException{
+		run( new Runnable(){
+			public void run(){
+				setUp( 50 );
+			}
+		});
+		run( new Runnable(){
+			public void run(){
+				int visible = station.pane.getNumberOfButtons();
+				Assert.assertTrue( "no button is visible", visible > 0 );
+				Assert.assertTrue( "all buttons are visible", visible < 50 );
+				Assert.assertEquals( visible, titles() );
+				station.pane.scroll( 40 );
+			}
+		});
+		run( new Runnable(){
+			public void run(){
+				Assert.assertEquals( station.pane.getNumberOfButtons(), titles() );
+				Assert.assertNotNull( station.getButton( 40 ) );
+
+				// the buttons that are visible now move to other indices
+				for( int i = 0; i < 31; i++ ){
+					station.remove( 0 );
+				}
+			}
+		});
+		run( new Runnable(){
+			public void run(){
+				Assert.assertEquals( station.pane.getNumberOfButtons(), titles() );
+
+				for( int i = 0; i < 5; i++ ){
+					station.add( new DefaultDockable( "inserted " + i ), 0 );
+				}
+			}
+		});
+		run( new Runnable(){
+			public void run(){
+				Assert.assertEquals( station.pane.getNumberOfButtons(), titles() );
+				station.setVirtualizedButtons( false );
+			}
+		});
+		run( new Runnable(){
+			public void run(){
+				Assert.assertEquals( station.getDockableCount(), titles() );
+				station.setVirtualizedButtons( true );
+			}
+		});
+		run( new Runnable(){
+			public void run(){
+				Assert.assertEquals( station.pane.getNumberOfButtons(), titles() );
+				Assert.assertTrue( station.pane.getNumberOfButtons() < station.getDockableCount() );
+				controller.kill();
+			}
+		});
+	}
+
+	@Test
+	public void preferredSizeDoesNotDependOnScrolling() throws InterruptedException, InvocationTargetException{
+		run( new Runnable(){
+			public void run(){
+				setUp( 30 );
+			}
+		});
+
+		// once every button was visible, the size must not change anymore
+		final int count = 30;
+		for( int i = 0; i < count; i++ ){
+			run( new Runnable(){
+				public void run(){
+					station.pane.scroll( 1 );
+				}
+			});
+		}
+
+		final Dimension[] size = new Dimension[1];
+		run( new Runnable(){
+			public void run(){
+				size[0] = station.pane.getPreferredSize();
+				station.pane.scroll( -count );
+			}
+		});
+		for( int i = 0; i < count; i += 3 ){
+			run( new Runnable(){
+				public void run(){
+					Assert.assertEquals( size[0], station.pane.getPreferredSize() );
+					station.pane.scroll( 3 );
+				}
+			});
+		}
+		run( new Runnable(){
+			public void run(){
+				Assert.assertEquals( size[0], station.pane.getPreferredSize() );
+				controller.kill();
+			}
+		});
+	}
+
+	/**
+	 * Creates a virtualized station with <code>count</code> children whose titles have different
+	 * lengths, the first child is visible. The titles are created once the events posted by this method
+	 * are processed.
+	 * @param count the number of children
+	 */
+	private void setUp( int count ){
+		controller = new DockController();
+		station = new PaneFlapDockStation();
+		station.setAutoDirection( false );
+		station.setDirection( Direction.SOUTH );
+		controller.add( station );
+		station.setVirtualizedButtons( true );
+
+		for( int i = 0; i < count; i++ ){
+			StringBuilder name = new StringBuilder( "dockable " );
+			for( int j = 0, n = (i * 7) % 11; j < n; j++ ){
+				name.append( 'x' );
+			}
+			station.add( new DefaultDockable( name.toString() ) );
+		}
+
+		station.pane.setSize( 800, 30 );
+		station.pane.doLayout();
+		// adding a child scrolls to the child
+		station.pane.scroll( -count );
+	}
+
+	/**
+	 * Counts how many children of {@link #station} currently have a title.
+	 * @return the number of titles
+	 */
+	private int titles(){
+		int count = 0;
+		for( int i = 0, n = station.getDockableCount(); i < n; i++ ){
+			if( station.getButton( i ) != null ){
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private void run( Runnable runnable ) throws InterruptedException, InvocationTargetException{
+		SwingUtilities.invokeAndWait( runnable );
+	}
+
+	/**
+	 * A {@link FlapDockStation} that grants access to its {@link ButtonPane}.
+	 */
+	private static class PaneFlapDockStation extends FlapDockStation{
+		private ButtonPane pane;
+
+		@Override
+		protected ButtonPane createButtonPane(){
+			pane = super.createButtonPane();
+			return pane;
+		}
+	}
+}